@@ -0,0 +1,42 @@
+package com.universal.reconciliation.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties bounding the memory used by {@code AGGREGATE} steps of source transformation
+ * plans. Groups beyond the in-memory budget are partitioned to disk and aggregated one partition at a time.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.transformations.aggregation")
+@Validated
+public class AggregationProperties {
+
+    /** Groups accumulated in memory before rows of further groups are spilled to disk. */
+    @Min(1)
+    private int maxGroupsInMemory = 100_000;
+
+    /** Directory for aggregation spill files. Defaults to the JVM temporary directory when unset. */
+    private String spillDirectory;
+
+    public int getMaxGroupsInMemory() {
+        return maxGroupsInMemory;
+    }
+
+    public void setMaxGroupsInMemory(int maxGroupsInMemory) {
+        if (maxGroupsInMemory <= 0) {
+            throw new IllegalArgumentException("maxGroupsInMemory must be greater than zero");
+        }
+        this.maxGroupsInMemory = maxGroupsInMemory;
+    }
+
+    public String getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public void setSpillDirectory(String spillDirectory) {
+        this.spillDirectory = spillDirectory == null || spillDirectory.isBlank() ? null : spillDirectory.trim();
+    }
+}
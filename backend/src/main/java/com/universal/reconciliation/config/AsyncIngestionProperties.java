@@ -0,0 +1,88 @@
+package com.universal.reconciliation.config;
+
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for asynchronous ingestion: the worker pool that loads accepted batches, how many
+ * of them a single reconciliation may load at once, and where payloads are staged until they are loaded.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.ingestion.async")
+@Validated
+public class AsyncIngestionProperties {
+
+    /** Batches loaded concurrently across all reconciliations. */
+    @Min(1)
+    private int workerThreads = 2;
+
+    /** Accepted batches that may wait for a worker before new submissions are rejected. */
+    @Min(0)
+    private int queueCapacity = 32;
+
+    /** Batches of one reconciliation loaded concurrently; further batches wait for one of them to finish. */
+    @Min(1)
+    private int maxConcurrentPerDefinition = 1;
+
+    /** Directory holding staged payloads until they are loaded. Defaults to the JVM temporary directory. */
+    private String stagingDirectory;
+
+    /** How long the live progress of a finished batch stays available before only its stored status remains. */
+    private Duration progressRetention = Duration.ofMinutes(10);
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        if (workerThreads <= 0) {
+            throw new IllegalArgumentException("workerThreads must be greater than zero");
+        }
+        this.workerThreads = workerThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity must not be negative");
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getMaxConcurrentPerDefinition() {
+        return maxConcurrentPerDefinition;
+    }
+
+    public void setMaxConcurrentPerDefinition(int maxConcurrentPerDefinition) {
+        if (maxConcurrentPerDefinition <= 0) {
+            throw new IllegalArgumentException("maxConcurrentPerDefinition must be greater than zero");
+        }
+        this.maxConcurrentPerDefinition = maxConcurrentPerDefinition;
+    }
+
+    public String getStagingDirectory() {
+        return stagingDirectory;
+    }
+
+    public void setStagingDirectory(String stagingDirectory) {
+        this.stagingDirectory =
+                stagingDirectory == null || stagingDirectory.isBlank() ? null : stagingDirectory.trim();
+    }
+
+    public Duration getProgressRetention() {
+        return progressRetention;
+    }
+
+    public void setProgressRetention(Duration progressRetention) {
+        if (progressRetention == null || progressRetention.isNegative()) {
+            throw new IllegalArgumentException("progressRetention must not be negative");
+        }
+        this.progressRetention = progressRetention;
+    }
+}
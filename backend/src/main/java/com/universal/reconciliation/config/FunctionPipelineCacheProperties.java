@@ -0,0 +1,46 @@
+package com.universal.reconciliation.config;
+
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties bounding the cache of compiled function pipelines. Preview and validation requests
+ * compile every draft they receive, so entries are evicted by count and by idle time.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.transformations.pipeline-cache")
+@Validated
+public class FunctionPipelineCacheProperties {
+
+    /** Compiled pipelines kept before the least recently used one is evicted. */
+    @Min(1)
+    private int maxEntries = 1_000;
+
+    /** How long a compiled pipeline may go unused before it is evicted. */
+    private Duration expireAfterIdle = Duration.ofMinutes(30);
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be greater than zero");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getExpireAfterIdle() {
+        return expireAfterIdle;
+    }
+
+    public void setExpireAfterIdle(Duration expireAfterIdle) {
+        if (expireAfterIdle == null || expireAfterIdle.isZero() || expireAfterIdle.isNegative()) {
+            throw new IllegalArgumentException("expireAfterIdle must be positive");
+        }
+        this.expireAfterIdle = expireAfterIdle;
+    }
+}
@@ -0,0 +1,46 @@
+package com.universal.reconciliation.config;
+
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties bounding the cache of compiled Groovy transformation scripts. Each cached
+ * script owns its class loader, so evicted scripts can be unloaded once no transformation still uses them.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.transformations.groovy-cache")
+@Validated
+public class GroovyScriptCacheProperties {
+
+    /** Compiled scripts kept before the least recently used one is evicted. */
+    @Min(1)
+    private int maxEntries = 500;
+
+    /** How long a compiled script may go unused before it is evicted. */
+    private Duration expireAfterIdle = Duration.ofMinutes(30);
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be greater than zero");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getExpireAfterIdle() {
+        return expireAfterIdle;
+    }
+
+    public void setExpireAfterIdle(Duration expireAfterIdle) {
+        if (expireAfterIdle == null || expireAfterIdle.isZero() || expireAfterIdle.isNegative()) {
+            throw new IllegalArgumentException("expireAfterIdle must be positive");
+        }
+        this.expireAfterIdle = expireAfterIdle;
+    }
+}
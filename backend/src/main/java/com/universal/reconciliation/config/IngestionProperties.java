@@ -0,0 +1,111 @@
+package com.universal.reconciliation.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties controlling how ingested source records are staged in the database.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.ingestion")
+@Validated
+public class IngestionProperties {
+
+    /**
+     * Raw rows read from a streaming adapter, transformed and staged together. Only plans that aggregate or
+     * run a dataset script need the whole input in memory.
+     */
+    @Min(1)
+    private int chunkSize = 10_000;
+
+    /**
+     * Ordered slices of each chunk projected concurrently, for sources that do not set their own ingestion
+     * parallelism. A value of one projects rows on the ingesting thread.
+     */
+    @Min(1)
+    private int projectionParallelism = 1;
+
+    /** Size of the worker pool shared by parallel row projection across concurrent ingests. */
+    @Min(1)
+    private int projectionThreads = 4;
+
+    /** Staged records buffered in memory before they are written to the database. */
+    @Min(1)
+    private int bulkBatchSize = 5_000;
+
+    /** Records inserted by each multi-row {@code INSERT} statement within a write. */
+    @Min(1)
+    private int rowsPerStatement = 100;
+
+    /**
+     * Streams staged records with {@code LOAD DATA LOCAL INFILE} when connected to MariaDB or MySQL. The
+     * JDBC URL must set {@code allowLocalInfile=true} and the server must permit {@code local_infile};
+     * other databases always use multi-row inserts.
+     */
+    private boolean loadDataLocalInfile = false;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be greater than zero");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public int getProjectionParallelism() {
+        return projectionParallelism;
+    }
+
+    public void setProjectionParallelism(int projectionParallelism) {
+        if (projectionParallelism <= 0) {
+            throw new IllegalArgumentException("projectionParallelism must be greater than zero");
+        }
+        this.projectionParallelism = projectionParallelism;
+    }
+
+    public int getProjectionThreads() {
+        return projectionThreads;
+    }
+
+    public void setProjectionThreads(int projectionThreads) {
+        if (projectionThreads <= 0) {
+            throw new IllegalArgumentException("projectionThreads must be greater than zero");
+        }
+        this.projectionThreads = projectionThreads;
+    }
+
+    public int getBulkBatchSize() {
+        return bulkBatchSize;
+    }
+
+    public void setBulkBatchSize(int bulkBatchSize) {
+        if (bulkBatchSize <= 0) {
+            throw new IllegalArgumentException("bulkBatchSize must be greater than zero");
+        }
+        this.bulkBatchSize = bulkBatchSize;
+    }
+
+    public int getRowsPerStatement() {
+        return rowsPerStatement;
+    }
+
+    public void setRowsPerStatement(int rowsPerStatement) {
+        if (rowsPerStatement <= 0) {
+            throw new IllegalArgumentException("rowsPerStatement must be greater than zero");
+        }
+        this.rowsPerStatement = rowsPerStatement;
+    }
+
+    public boolean isLoadDataLocalInfile() {
+        return loadDataLocalInfile;
+    }
+
+    public void setLoadDataLocalInfile(boolean loadDataLocalInfile) {
+        this.loadDataLocalInfile = loadDataLocalInfile;
+    }
+}
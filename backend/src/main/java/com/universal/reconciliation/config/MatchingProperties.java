@@ -0,0 +1,132 @@
+package com.universal.reconciliation.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties controlling how the matching engine executes a
+ * reconciliation run. Defaults keep the single-threaded engine so existing
+ * deployments behave exactly as before until parallelism is opted into.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.matching")
+@Validated
+public class MatchingProperties {
+
+    /** Number of key partitions evaluated concurrently. A value of one keeps the serial engine. */
+    @Min(1)
+    private int parallelism = 1;
+
+    /** Minimum number of canonical keys across all sources before a run is partitioned. */
+    @Min(0)
+    private int parallelThreshold = 50000;
+
+    /** In-memory representation used for staged source records during a run. */
+    private DatasetLayout datasetLayout = DatasetLayout.COLUMNAR;
+
+    /**
+     * Total staged records across a definition's latest batches from which {@code AUTO} definitions switch
+     * to the sort-merge engine. Zero disables the automatic switch.
+     */
+    @Min(0)
+    private long sortMergeThreshold = 5_000_000L;
+
+    /** Records buffered per sorted run before the sort-merge engine spills to disk. */
+    @Min(1)
+    private int sortRunSize = 100_000;
+
+    /** Directory for sort-merge spill files. Defaults to the JVM temporary directory when unset. */
+    private String spillDirectory;
+
+    /**
+     * Break candidates buffered before they are written in one JDBC batch; also bounds each parallel
+     * partition's hand-off queue.
+     */
+    @Min(1)
+    private int breakBatchSize = 1_000;
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be greater than zero");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("parallelThreshold must not be negative");
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public DatasetLayout getDatasetLayout() {
+        return datasetLayout;
+    }
+
+    public void setDatasetLayout(DatasetLayout datasetLayout) {
+        if (datasetLayout != null) {
+            this.datasetLayout = datasetLayout;
+        }
+    }
+
+    public long getSortMergeThreshold() {
+        return sortMergeThreshold;
+    }
+
+    public void setSortMergeThreshold(long sortMergeThreshold) {
+        if (sortMergeThreshold < 0) {
+            throw new IllegalArgumentException("sortMergeThreshold must not be negative");
+        }
+        this.sortMergeThreshold = sortMergeThreshold;
+    }
+
+    public int getSortRunSize() {
+        return sortRunSize;
+    }
+
+    public void setSortRunSize(int sortRunSize) {
+        if (sortRunSize <= 0) {
+            throw new IllegalArgumentException("sortRunSize must be greater than zero");
+        }
+        this.sortRunSize = sortRunSize;
+    }
+
+    public String getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public void setSpillDirectory(String spillDirectory) {
+        this.spillDirectory = spillDirectory == null || spillDirectory.isBlank() ? null : spillDirectory.trim();
+    }
+
+    public int getBreakBatchSize() {
+        return breakBatchSize;
+    }
+
+    public void setBreakBatchSize(int breakBatchSize) {
+        if (breakBatchSize <= 0) {
+            throw new IllegalArgumentException("breakBatchSize must be greater than zero");
+        }
+        this.breakBatchSize = breakBatchSize;
+    }
+
+    /**
+     * Supported in-memory layouts for staged source records.
+     */
+    public enum DatasetLayout {
+        /** One parsed payload map per record. */
+        MAP,
+        /** Typed, primitive-backed columns per canonical field. */
+        COLUMNAR
+    }
+}
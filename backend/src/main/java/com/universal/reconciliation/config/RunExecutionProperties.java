@@ -0,0 +1,89 @@
+package com.universal.reconciliation.config;
+
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for asynchronously executed reconciliation runs: the size of the dedicated
+ * worker pool and its queue, and how progress is published to clients.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.runs")
+@Validated
+public class RunExecutionProperties {
+
+    /** Runs executed concurrently. */
+    @Min(1)
+    private int workerThreads = 2;
+
+    /** Runs that may wait for a worker before new submissions are rejected. */
+    @Min(0)
+    private int queueCapacity = 16;
+
+    /** Interval between progress events sent to event-stream subscribers. */
+    private Duration progressInterval = Duration.ofSeconds(1);
+
+    /** How long the live progress of a finished run stays available before only its stored summary remains. */
+    private Duration progressRetention = Duration.ofMinutes(5);
+
+    /** Maximum lifetime of a progress event stream. */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        if (workerThreads <= 0) {
+            throw new IllegalArgumentException("workerThreads must be greater than zero");
+        }
+        this.workerThreads = workerThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity must not be negative");
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getProgressInterval() {
+        return progressInterval;
+    }
+
+    public void setProgressInterval(Duration progressInterval) {
+        if (progressInterval == null || progressInterval.isZero() || progressInterval.isNegative()) {
+            throw new IllegalArgumentException("progressInterval must be positive");
+        }
+        this.progressInterval = progressInterval;
+    }
+
+    public Duration getProgressRetention() {
+        return progressRetention;
+    }
+
+    public void setProgressRetention(Duration progressRetention) {
+        if (progressRetention == null || progressRetention.isNegative()) {
+            throw new IllegalArgumentException("progressRetention must not be negative");
+        }
+        this.progressRetention = progressRetention;
+    }
+
+    public Duration getStreamTimeout() {
+        return streamTimeout;
+    }
+
+    public void setStreamTimeout(Duration streamTimeout) {
+        if (streamTimeout == null || streamTimeout.isZero() || streamTimeout.isNegative()) {
+            throw new IllegalArgumentException("streamTimeout must be positive");
+        }
+        this.streamTimeout = streamTimeout;
+    }
+}
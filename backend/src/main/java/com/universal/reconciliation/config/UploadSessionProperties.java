@@ -0,0 +1,56 @@
+package com.universal.reconciliation.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for resumable upload sessions, whose chunks are staged on local disk until the
+ * session is committed and streamed into the source's ingestion adapter.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.ingestion.uploads")
+@Validated
+public class UploadSessionProperties {
+
+    /** Directory holding one sub-directory per open session. Defaults to the JVM temporary directory. */
+    private String directory;
+
+    /** Largest chunk a single request may upload. */
+    private DataSize maxChunkSize = DataSize.ofMegabytes(64);
+
+    /** How long a session may go without receiving a chunk before it is discarded with its chunks. */
+    private Duration expireAfterIdle = Duration.ofHours(24);
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory == null || directory.isBlank() ? null : directory.trim();
+    }
+
+    public DataSize getMaxChunkSize() {
+        return maxChunkSize;
+    }
+
+    public void setMaxChunkSize(DataSize maxChunkSize) {
+        if (maxChunkSize == null || maxChunkSize.toBytes() <= 0) {
+            throw new IllegalArgumentException("maxChunkSize must be positive");
+        }
+        this.maxChunkSize = maxChunkSize;
+    }
+
+    public Duration getExpireAfterIdle() {
+        return expireAfterIdle;
+    }
+
+    public void setExpireAfterIdle(Duration expireAfterIdle) {
+        if (expireAfterIdle == null || expireAfterIdle.isZero() || expireAfterIdle.isNegative()) {
+            throw new IllegalArgumentException("expireAfterIdle must be positive");
+        }
+        this.expireAfterIdle = expireAfterIdle;
+    }
+}
@@ -8,6 +8,7 @@ import com.universal.reconciliation.domain.dto.GridColumnDto;
 import com.universal.reconciliation.domain.dto.ReconciliationListItemDto;
 import com.universal.reconciliation.domain.dto.ReconciliationSummaryDto;
 import com.universal.reconciliation.domain.dto.RunDetailDto;
+import com.universal.reconciliation.domain.dto.RunProgressDto;
 import com.universal.reconciliation.domain.dto.TriggerRunRequest;
 import com.universal.reconciliation.domain.dto.BreakSelectionResponseDto;
 import com.universal.reconciliation.domain.enums.BreakStatus;
@@ -17,13 +18,16 @@ import com.universal.reconciliation.service.BreakSearchService;
 import com.universal.reconciliation.service.BreakFilterCriteria;
 import com.universal.reconciliation.service.BreakSearchCriteriaFactory;
 import com.universal.reconciliation.service.BreakSelectionService;
+import com.universal.reconciliation.service.RunExecutionService;
 import com.universal.reconciliation.service.search.BreakSearchCriteria;
 import com.universal.reconciliation.service.search.BreakSearchResult;
 import com.universal.reconciliation.service.search.BreakSearchRow;
 import jakarta.validation.Valid;
+import java.net.URI;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -33,6 +37,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Exposes endpoints for reconciliation discovery and execution.
@@ -46,18 +51,21 @@ public class ReconciliationController {
     private final BreakSearchService breakSearchService;
     private final BreakSearchCriteriaFactory breakSearchCriteriaFactory;
     private final BreakSelectionService breakSelectionService;
+    private final RunExecutionService runExecutionService;
 
     public ReconciliationController(
             ReconciliationService reconciliationService,
             UserContext userContext,
             BreakSearchService breakSearchService,
             BreakSearchCriteriaFactory breakSearchCriteriaFactory,
-            BreakSelectionService breakSelectionService) {
+            BreakSelectionService breakSelectionService,
+            RunExecutionService runExecutionService) {
         this.reconciliationService = reconciliationService;
         this.userContext = userContext;
         this.breakSearchService = breakSearchService;
         this.breakSearchCriteriaFactory = breakSearchCriteriaFactory;
         this.breakSelectionService = breakSelectionService;
+        this.runExecutionService = runExecutionService;
     }
 
     @GetMapping
@@ -83,11 +91,41 @@ public class ReconciliationController {
     public ResponseEntity<RunDetailDto> triggerRun(
             @PathVariable("id") Long reconciliationId, @Valid @RequestBody(required = false) TriggerRunRequest request) {
         TriggerRunRequest effectiveRequest =
-                request != null ? request : new TriggerRunRequest(null, null, null, null);
+                request != null ? request : new TriggerRunRequest(null, null, null, null, null);
         return ResponseEntity.ok(reconciliationService.triggerRun(
                 reconciliationId, userContext.getGroups(), userContext.getUsername(), effectiveRequest));
     }
 
+    /**
+     * Queues a run for asynchronous execution and returns its initial progress without waiting for it.
+     */
+    @PostMapping("/{id}/runs")
+    public ResponseEntity<RunProgressDto> queueRun(
+            @PathVariable("id") Long reconciliationId, @Valid @RequestBody(required = false) TriggerRunRequest request) {
+        TriggerRunRequest effectiveRequest =
+                request != null ? request : new TriggerRunRequest(null, null, null, null, null);
+        RunProgressDto progress = runExecutionService.submit(
+                reconciliationId, userContext.getGroups(), userContext.getUsername(), effectiveRequest);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reconciliations/runs/" + progress.runId() + "/progress"))
+                .body(progress);
+    }
+
+    @GetMapping("/runs/{runId}/progress")
+    public ResponseEntity<RunProgressDto> getRunProgress(@PathVariable Long runId) {
+        return ResponseEntity.ok(runExecutionService.progress(runId, userContext.getGroups()));
+    }
+
+    @GetMapping(value = "/runs/{runId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRunProgress(@PathVariable Long runId) {
+        return runExecutionService.stream(runId, userContext.getGroups());
+    }
+
+    @PostMapping("/runs/{runId}/cancel")
+    public ResponseEntity<RunProgressDto> cancelRun(@PathVariable Long runId) {
+        return ResponseEntity.accepted().body(runExecutionService.cancel(runId, userContext.getGroups()));
+    }
+
     @GetMapping("/{id}/runs/latest")
     public ResponseEntity<RunDetailDto> getLatestRun(
             @PathVariable("id") Long reconciliationId,
@@ -1,6 +1,7 @@
 package com.universal.reconciliation.controller.admin;
 
 import com.universal.reconciliation.domain.dto.admin.AdminIngestionBatchDto;
+import com.universal.reconciliation.domain.dto.admin.AdminIngestionBatchProgressDto;
 import com.universal.reconciliation.domain.dto.admin.AdminIngestionRequest;
 import com.universal.reconciliation.domain.dto.admin.AdminReconciliationDetailDto;
 import com.universal.reconciliation.domain.dto.admin.AdminReconciliationPageDto;
@@ -10,7 +11,12 @@ import com.universal.reconciliation.domain.dto.admin.AdminReconciliationSchemaDt
 import com.universal.reconciliation.domain.enums.ReconciliationLifecycleStatus;
 import com.universal.reconciliation.security.UserContext;
 import com.universal.reconciliation.service.admin.AdminReconciliationService;
+import com.universal.reconciliation.service.admin.IngestionExecutionService;
 import com.universal.reconciliation.service.ingestion.IngestionAdapterRequest;
+import com.universal.reconciliation.service.ingestion.PayloadDecompression;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.Part;
 import jakarta.validation.Valid;
 import java.io.IOException;
 import java.io.InputStream;
@@ -19,6 +25,7 @@ import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Supplier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -46,11 +53,15 @@ import org.springframework.web.multipart.MultipartFile;
 public class AdminReconciliationController {
 
     private final AdminReconciliationService adminReconciliationService;
+    private final IngestionExecutionService ingestionExecutionService;
     private final UserContext userContext;
 
     public AdminReconciliationController(
-            AdminReconciliationService adminReconciliationService, UserContext userContext) {
+            AdminReconciliationService adminReconciliationService,
+            IngestionExecutionService ingestionExecutionService,
+            UserContext userContext) {
         this.adminReconciliationService = adminReconciliationService;
+        this.ingestionExecutionService = ingestionExecutionService;
         this.userContext = userContext;
     }
 
@@ -105,25 +116,65 @@ public class AdminReconciliationController {
         return adminReconciliationService.exportSchema(id);
     }
 
+    /**
+     * Ingests a batch. With {@code async=true} the payload is staged and the batch is returned as
+     * {@code LOADING} with {@code 202 Accepted}; poll the batch status endpoint until it completes.
+     */
     @PostMapping(path = "/{id}/sources/{sourceCode}/batches", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public AdminIngestionBatchDto ingest(
+    public ResponseEntity<AdminIngestionBatchDto> ingest(
             @PathVariable Long id,
             @PathVariable String sourceCode,
             @Valid @RequestPart("metadata") AdminIngestionRequest metadata,
-            @RequestPart("file") MultipartFile file) {
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(name = "async", defaultValue = "false") boolean async,
+            HttpServletRequest servletRequest) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Batch payload file is required.");
         }
+        String contentEncoding = PayloadDecompression.requireSupported(partContentEncoding(servletRequest));
+        if (async) {
+            AdminIngestionBatchDto accepted = ingestionExecutionService.submit(
+                    id,
+                    sourceCode,
+                    metadata,
+                    target -> file.transferTo(target.toFile()),
+                    contentEncoding,
+                    buildIngestionOptions(metadata),
+                    userContext.getUsername());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(accepted);
+        }
         IngestionAdapterRequest ingestionRequest = new IngestionAdapterRequest(
-                asInputStreamSupplier(file), buildIngestionOptions(metadata));
-        return adminReconciliationService.ingest(
-                id, sourceCode, metadata, ingestionRequest, userContext.getUsername());
+                asInputStreamSupplier(file, contentEncoding), buildIngestionOptions(metadata));
+        return ResponseEntity.ok(adminReconciliationService.ingest(
+                id, sourceCode, metadata, ingestionRequest, userContext.getUsername()));
+    }
+
+    /**
+     * Status of a batch, with live row counters while it is loaded asynchronously.
+     */
+    @GetMapping("/{id}/sources/{sourceCode}/batches/{batchId}")
+    public AdminIngestionBatchProgressDto batchStatus(
+            @PathVariable Long id, @PathVariable String sourceCode, @PathVariable Long batchId) {
+        return ingestionExecutionService.status(id, sourceCode, batchId);
+    }
+
+    private String partContentEncoding(HttpServletRequest servletRequest) {
+        try {
+            Part part = servletRequest.getPart("file");
+            return part != null ? part.getHeader(HttpHeaders.CONTENT_ENCODING) : null;
+        } catch (IOException | ServletException ex) {
+            throw new IllegalArgumentException("Unable to read batch payload part.", ex);
+        }
     }
 
-    private Supplier<InputStream> asInputStreamSupplier(MultipartFile file) {
+    /**
+     * Opens the uploaded file, decompressing gzip or zstd payloads as they are read. The encoding comes from the
+     * part's {@code Content-Encoding} header or, when absent, from the payload's magic bytes.
+     */
+    private Supplier<InputStream> asInputStreamSupplier(MultipartFile file, String contentEncoding) {
         return () -> {
             try {
-                return file.getInputStream();
+                return PayloadDecompression.decode(file.getInputStream(), contentEncoding);
             } catch (IOException ex) {
                 throw new UncheckedIOException("Unable to read ingestion payload", ex);
             }
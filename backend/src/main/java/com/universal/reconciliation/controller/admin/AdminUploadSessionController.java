@@ -0,0 +1,102 @@
+package com.universal.reconciliation.controller.admin;
+
+import com.universal.reconciliation.domain.dto.admin.AdminIngestionBatchDto;
+import com.universal.reconciliation.domain.dto.admin.AdminUploadChunkDto;
+import com.universal.reconciliation.domain.dto.admin.AdminUploadCommitRequest;
+import com.universal.reconciliation.domain.dto.admin.AdminUploadSessionDto;
+import com.universal.reconciliation.domain.dto.admin.AdminUploadSessionRequest;
+import com.universal.reconciliation.security.UserContext;
+import com.universal.reconciliation.service.admin.AdminUploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Resumable upload sessions: open a session, upload numbered chunks in any order (and again after a
+ * failure), check which ranges arrived, then commit the session to ingest the concatenated chunks as one batch.
+ */
+@RestController
+@RequestMapping("/api/admin/reconciliations/{id}/sources/{sourceCode}/uploads")
+@PreAuthorize("hasRole('RECON_ADMIN')")
+public class AdminUploadSessionController {
+
+    static final String CHECKSUM_HEADER = "X-Chunk-SHA256";
+
+    private final AdminUploadSessionService uploadSessionService;
+    private final UserContext userContext;
+
+    public AdminUploadSessionController(AdminUploadSessionService uploadSessionService, UserContext userContext) {
+        this.uploadSessionService = uploadSessionService;
+        this.userContext = userContext;
+    }
+
+    @PostMapping
+    public ResponseEntity<AdminUploadSessionDto> open(
+            @PathVariable Long id,
+            @PathVariable String sourceCode,
+            @Valid @RequestBody AdminUploadSessionRequest request) {
+        AdminUploadSessionDto session =
+                uploadSessionService.open(id, sourceCode, request, userContext.getUsername());
+        return ResponseEntity.status(HttpStatus.CREATED).body(session);
+    }
+
+    @GetMapping("/{uploadId}")
+    public AdminUploadSessionDto get(
+            @PathVariable Long id, @PathVariable String sourceCode, @PathVariable String uploadId) {
+        return uploadSessionService.get(id, sourceCode, uploadId);
+    }
+
+    /** Stores the raw request body as chunk {@code index}; the body is streamed to disk, not buffered. */
+    @PutMapping("/{uploadId}/chunks/{index}")
+    public AdminUploadChunkDto putChunk(
+            @PathVariable Long id,
+            @PathVariable String sourceCode,
+            @PathVariable String uploadId,
+            @PathVariable int index,
+            @RequestHeader(CHECKSUM_HEADER) String sha256,
+            HttpServletRequest request) {
+        try (InputStream body = request.getInputStream()) {
+            return uploadSessionService.putChunk(id, sourceCode, uploadId, index, sha256, body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read chunk " + index, ex);
+        }
+    }
+
+    /**
+     * Ingests the uploaded chunks. With {@code async=true} the batch is returned as {@code LOADING} with
+     * {@code 202 Accepted} and the session is kept until the load completes.
+     */
+    @PostMapping("/{uploadId}/commit")
+    public ResponseEntity<AdminIngestionBatchDto> commit(
+            @PathVariable Long id,
+            @PathVariable String sourceCode,
+            @PathVariable String uploadId,
+            @RequestParam(name = "async", defaultValue = "false") boolean async,
+            @Valid @RequestBody AdminUploadCommitRequest request) {
+        AdminIngestionBatchDto batch = uploadSessionService.commit(
+                id, sourceCode, uploadId, request.chunkCount(), userContext.getUsername(), async);
+        return ResponseEntity.status(async ? HttpStatus.ACCEPTED : HttpStatus.OK).body(batch);
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abort(
+            @PathVariable Long id, @PathVariable String sourceCode, @PathVariable String uploadId) {
+        uploadSessionService.abort(id, sourceCode, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+}
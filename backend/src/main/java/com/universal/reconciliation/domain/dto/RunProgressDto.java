@@ -0,0 +1,22 @@
+package com.universal.reconciliation.domain.dto;
+
+import com.universal.reconciliation.domain.enums.RunPhase;
+import com.universal.reconciliation.domain.enums.RunStatus;
+import java.time.Instant;
+
+/**
+ * Point-in-time view of a reconciliation run's execution, returned when a run is queued and by the
+ * progress polling and event-stream endpoints.
+ */
+public record RunProgressDto(
+        Long runId,
+        Long definitionId,
+        RunStatus status,
+        RunPhase phase,
+        long keysProcessed,
+        long breaksPersisted,
+        boolean cancelRequested,
+        Instant queuedAt,
+        Instant startedAt,
+        Instant completedAt,
+        String message) {}
@@ -1,10 +1,15 @@
 package com.universal.reconciliation.domain.dto;
 
+import com.universal.reconciliation.domain.enums.RunMode;
 import com.universal.reconciliation.domain.enums.TriggerType;
 
 /**
- * Request used to trigger the matching engine via API.
+ * Request used to trigger the matching engine via API. A {@code null} mode runs a full reconciliation.
  */
 public record TriggerRunRequest(
-        TriggerType triggerType, String correlationId, String comments, String initiatedBy) {
+        TriggerType triggerType, String correlationId, String comments, String initiatedBy, RunMode mode) {
+
+    public TriggerRunRequest(TriggerType triggerType, String correlationId, String comments, String initiatedBy) {
+        this(triggerType, correlationId, comments, initiatedBy, null);
+    }
 }
@@ -0,0 +1,22 @@
+package com.universal.reconciliation.domain.dto.admin;
+
+import com.universal.reconciliation.domain.enums.DataBatchStatus;
+import java.time.Instant;
+
+/**
+ * Status of an ingestion batch returned by the batch status endpoint. While a batch is loaded asynchronously on
+ * this node, and for a while after, it also carries the live row counters and the failure reason; otherwise
+ * {@code rowsRead} is {@code null} and {@code rowsPersisted} is the stored record count.
+ */
+public record AdminIngestionBatchProgressDto(
+        Long id,
+        String label,
+        DataBatchStatus status,
+        Long recordCount,
+        String checksum,
+        Instant ingestedAt,
+        Long rowsRead,
+        Long rowsPersisted,
+        String failure,
+        Instant startedAt,
+        Instant completedAt) {}
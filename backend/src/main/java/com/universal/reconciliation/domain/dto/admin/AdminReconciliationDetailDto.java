@@ -1,5 +1,6 @@
 package com.universal.reconciliation.domain.dto.admin;
 
+import com.universal.reconciliation.domain.enums.MatchingStrategy;
 import com.universal.reconciliation.domain.enums.ReconciliationLifecycleStatus;
 import java.time.Instant;
 import java.util.List;
@@ -30,6 +31,7 @@ public record AdminReconciliationDetailDto(
         String autoTriggerCron,
         String autoTriggerTimezone,
         Integer autoTriggerGraceMinutes,
+        MatchingStrategy matchingStrategy,
         List<AdminSourceDto> sources,
         List<AdminCanonicalFieldDto> canonicalFields,
         List<AdminReportTemplateDto> reportTemplates,
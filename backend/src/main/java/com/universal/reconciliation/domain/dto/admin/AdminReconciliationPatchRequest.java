@@ -1,5 +1,6 @@
 package com.universal.reconciliation.domain.dto.admin;
 
+import com.universal.reconciliation.domain.enums.MatchingStrategy;
 import com.universal.reconciliation.domain.enums.ReconciliationLifecycleStatus;
 
 /**
@@ -14,5 +15,6 @@ public record AdminReconciliationPatchRequest(
         Boolean autoTriggerEnabled,
         String autoTriggerCron,
         String autoTriggerTimezone,
-        Integer autoTriggerGraceMinutes) {}
+        Integer autoTriggerGraceMinutes,
+        MatchingStrategy matchingStrategy) {}
 
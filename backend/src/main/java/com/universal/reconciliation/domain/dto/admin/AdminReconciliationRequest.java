@@ -1,5 +1,6 @@
 package com.universal.reconciliation.domain.dto.admin;
 
+import com.universal.reconciliation.domain.enums.MatchingStrategy;
 import com.universal.reconciliation.domain.enums.ReconciliationLifecycleStatus;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -23,6 +24,7 @@ public record AdminReconciliationRequest(
         String autoTriggerCron,
         String autoTriggerTimezone,
         Integer autoTriggerGraceMinutes,
+        MatchingStrategy matchingStrategy,
         Long version,
         @NotEmpty List<@Valid AdminSourceRequest> sources,
         @NotEmpty List<@Valid AdminCanonicalFieldRequest> canonicalFields,
@@ -24,4 +24,5 @@ public record AdminSourceDto(
         List<AdminSourceSchemaFieldDto> schemaFields,
         List<String> availableColumns,
         Instant createdAt,
-        Instant updatedAt) {}
+        Instant updatedAt,
+        Integer ingestionParallelism) {}
@@ -22,4 +22,37 @@ public record AdminSourceRequest(
         Integer arrivalSlaMinutes,
         String adapterOptions,
         SourceTransformationPlan transformationPlan,
-        List<AdminSourceSchemaFieldRequest> schemaFields) {}
+        List<AdminSourceSchemaFieldRequest> schemaFields,
+        Integer ingestionParallelism) {
+
+    public AdminSourceRequest(
+            Long id,
+            String code,
+            String displayName,
+            IngestionAdapterType adapterType,
+            boolean anchor,
+            String description,
+            String connectionConfig,
+            String arrivalExpectation,
+            String arrivalTimezone,
+            Integer arrivalSlaMinutes,
+            String adapterOptions,
+            SourceTransformationPlan transformationPlan,
+            List<AdminSourceSchemaFieldRequest> schemaFields) {
+        this(
+                id,
+                code,
+                displayName,
+                adapterType,
+                anchor,
+                description,
+                connectionConfig,
+                arrivalExpectation,
+                arrivalTimezone,
+                arrivalSlaMinutes,
+                adapterOptions,
+                transformationPlan,
+                schemaFields,
+                null);
+    }
+}
@@ -0,0 +1,6 @@
+package com.universal.reconciliation.domain.dto.admin;
+
+/**
+ * Receipt for a chunk stored in an upload session.
+ */
+public record AdminUploadChunkDto(int index, long size, String sha256) {}
@@ -0,0 +1,9 @@
+package com.universal.reconciliation.domain.dto.admin;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Commits an upload session; chunks {@code 0} to {@code chunkCount - 1} must all have been received.
+ */
+public record AdminUploadCommitRequest(@NotNull @Positive Integer chunkCount) {}
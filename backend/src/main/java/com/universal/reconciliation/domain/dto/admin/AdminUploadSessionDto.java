@@ -0,0 +1,26 @@
+package com.universal.reconciliation.domain.dto.admin;
+
+import com.universal.reconciliation.domain.enums.IngestionAdapterType;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * State of a resumable upload session, including the chunk ranges received so far.
+ */
+public record AdminUploadSessionDto(
+        String uploadId,
+        Long definitionId,
+        String sourceCode,
+        IngestionAdapterType adapterType,
+        String label,
+        String contentEncoding,
+        Long chunkSize,
+        List<ChunkRange> receivedRanges,
+        int receivedChunks,
+        long receivedBytes,
+        Instant createdAt,
+        Instant expiresAt) {
+
+    /** Inclusive range of consecutive chunk indexes that have been received. */
+    public record ChunkRange(int first, int last) {}
+}
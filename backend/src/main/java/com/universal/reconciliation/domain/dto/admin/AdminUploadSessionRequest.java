@@ -0,0 +1,23 @@
+package com.universal.reconciliation.domain.dto.admin;
+
+import com.universal.reconciliation.domain.enums.IngestionAdapterType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.util.Map;
+
+/**
+ * Opens a resumable upload session. The ingestion metadata matches {@link AdminIngestionRequest};
+ * {@code contentEncoding} declares how the concatenated chunks are compressed, and {@code chunkSize} is kept
+ * so a client resuming the session can split the payload the same way.
+ */
+public record AdminUploadSessionRequest(
+        @NotNull IngestionAdapterType adapterType,
+        Map<String, Object> options,
+        String label,
+        String contentEncoding,
+        @Positive Long chunkSize) {
+
+    public AdminIngestionRequest ingestionRequest() {
+        return new AdminIngestionRequest(adapterType, options, label);
+    }
+}
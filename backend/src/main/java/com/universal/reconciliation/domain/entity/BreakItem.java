@@ -67,6 +67,10 @@ public class BreakItem {
     @Column(name = "entity_name")
     private String entityName;
 
+    /** Canonical key of the records that produced the break. */
+    @Column(name = "canonical_key")
+    private String canonicalKey;
+
     @Lob
     @Column(name = "source_payload_json", columnDefinition = "LONGTEXT")
     private String sourcePayloadJson;
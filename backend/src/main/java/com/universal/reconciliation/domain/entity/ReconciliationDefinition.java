@@ -1,5 +1,6 @@
 package com.universal.reconciliation.domain.entity;
 
+import com.universal.reconciliation.domain.enums.MatchingStrategy;
 import com.universal.reconciliation.domain.enums.ReconciliationLifecycleStatus;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -71,6 +72,13 @@ public class ReconciliationDefinition {
     @Column(name = "auto_trigger_grace_minutes")
     private Integer autoTriggerGraceMinutes;
 
+    /**
+     * Matching strategy for this reconciliation; {@code null} behaves like {@link MatchingStrategy#AUTO}.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "matching_strategy")
+    private MatchingStrategy matchingStrategy;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
 
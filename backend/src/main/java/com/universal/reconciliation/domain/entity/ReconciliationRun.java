@@ -1,8 +1,11 @@
 package com.universal.reconciliation.domain.entity;
 
+import com.universal.reconciliation.domain.enums.RunMode;
 import com.universal.reconciliation.domain.enums.RunStatus;
 import com.universal.reconciliation.domain.enums.TriggerType;
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -11,10 +14,13 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.MapKeyColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import lombok.Getter;
 import lombok.Setter;
@@ -56,6 +62,16 @@ public class ReconciliationRun {
     @Column(name = "trigger_correlation_id")
     private String triggerCorrelationId;
 
+    /** Reason a run failed; {@code null} otherwise. */
+    @Column(name = "status_message", length = 1000)
+    private String statusMessage;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
     @Column(nullable = false)
     private int matchedCount;
 
@@ -65,6 +81,28 @@ public class ReconciliationRun {
     @Column(nullable = false)
     private int missingCount;
 
+    /** How the run was computed; {@code null} for runs recorded before incremental matching existed. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "run_mode")
+    private RunMode runMode;
+
+    /**
+     * Digest of the definition's key, compare, classifier and source layout at execution time. An
+     * incremental run only reuses this run's outcome while the layout is unchanged.
+     */
+    @Column(name = "match_signature", length = 64)
+    private String matchSignature;
+
+    /**
+     * Identifier of the batch matched for each source, keyed by source identifier. Incremental runs diff
+     * the current batches against these. Plain identifiers keep batch clean-up independent of run history.
+     */
+    @ElementCollection
+    @CollectionTable(name = "reconciliation_run_batches", joinColumns = @JoinColumn(name = "run_id"))
+    @MapKeyColumn(name = "source_id")
+    @Column(name = "batch_id", nullable = false)
+    private Map<Long, Long> inputBatchIds = new LinkedHashMap<>();
+
     @OneToMany(mappedBy = "run")
     private Set<BreakItem> breakItems = new LinkedHashSet<>();
 
@@ -78,6 +78,13 @@ public class ReconciliationSource {
     @Column(name = "transformation_plan", columnDefinition = "TEXT")
     private String transformationPlan;
 
+    /**
+     * Workers that project this source's rows in parallel during ingestion; {@code null} falls back to
+     * {@code app.ingestion.projection-parallelism}.
+     */
+    @Column(name = "ingestion_parallelism")
+    private Integer ingestionParallelism;
+
     @ElementCollection
     @CollectionTable(
             name = "reconciliation_source_schema_fields",
@@ -23,7 +23,8 @@ import lombok.Setter;
         name = "source_data_records",
         indexes = {
             @Index(name = "idx_source_record_batch", columnList = "batch_id"),
-            @Index(name = "idx_source_record_canonical_key", columnList = "canonical_key")
+            @Index(name = "idx_source_record_canonical_key", columnList = "canonical_key"),
+            @Index(name = "idx_source_record_batch_key", columnList = "batch_id, canonical_key")
         })
 @Getter
 @Setter
@@ -49,6 +50,24 @@ public class SourceDataRecord {
     @Column(name = "metadata_json", columnDefinition = "TEXT")
     private String metadataJson;
 
+    /**
+     * Digest of the normalised compare-field values, letting the database decide which keys agree
+     * across sources without parsing payloads. {@code null} when a value could not be parsed.
+     */
+    @Column(name = "match_fingerprint", length = 64)
+    private String matchFingerprint;
+
+    /** Signature of the comparison rules the fingerprint was computed with. */
+    @Column(name = "match_plan", length = 16)
+    private String matchPlan;
+
+    /**
+     * SHA-256 of {@link #payloadJson}, compared between batches so incremental runs only re-evaluate keys
+     * whose canonical payload changed.
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "ingested_at", nullable = false)
     private Instant ingestedAt = Instant.now();
 }
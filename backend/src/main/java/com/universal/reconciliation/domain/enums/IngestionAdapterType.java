@@ -11,6 +11,8 @@ public enum IngestionAdapterType {
     FIXED_WIDTH_FILE,
     XML_FILE,
     JSON_FILE,
+    JSON_LINES,
+    PARQUET_FILE,
     DATABASE,
     REST_API,
     MESSAGE_QUEUE,
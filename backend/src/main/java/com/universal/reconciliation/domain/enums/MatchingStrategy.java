@@ -0,0 +1,15 @@
+package com.universal.reconciliation.domain.enums;
+
+/**
+ * Selects how the matching engine processes a reconciliation's staged data.
+ */
+public enum MatchingStrategy {
+    /** Choose based on the size of the latest staged batches. */
+    AUTO,
+    /** Load every source into memory and match by hash lookup. */
+    IN_MEMORY,
+    /** Stream each source in canonical key order, spilling to disk, and merge-join. */
+    SORT_MERGE,
+    /** Let the database discard keys whose compare-field fingerprints agree, then match the rest in memory. */
+    PUSHDOWN
+}
@@ -0,0 +1,11 @@
+package com.universal.reconciliation.domain.enums;
+
+/**
+ * Controls how much of a reconciliation is recomputed when a run is triggered.
+ */
+public enum RunMode {
+    /** Compare every canonical key in the latest batches. */
+    FULL,
+    /** Re-evaluate only keys whose staged content changed since the previous successful run. */
+    INCREMENTAL
+}
@@ -0,0 +1,15 @@
+package com.universal.reconciliation.domain.enums;
+
+/**
+ * Step an asynchronously executed reconciliation run has reached.
+ */
+public enum RunPhase {
+    /** Waiting for a run worker. */
+    QUEUED,
+    /** Loading staged records, comparing keys and writing breaks. */
+    MATCHING,
+    /** Flushing the last breaks and recording the run summary. */
+    FINALISING,
+    /** The run reached a terminal status. */
+    COMPLETED
+}
@@ -4,6 +4,17 @@ package com.universal.reconciliation.domain.enums;
  * Captures overall state of a reconciliation run.
  */
 public enum RunStatus {
+    /** Accepted for asynchronous execution and waiting for a worker. */
+    QUEUED,
+    /** Matching is in progress. */
+    RUNNING,
     SUCCESS,
-    FAILED
+    FAILED,
+    /** Stopped on request before it completed; no breaks were kept. */
+    CANCELLED;
+
+    /** Whether the run can no longer change state. */
+    public boolean isTerminal() {
+        return this == SUCCESS || this == FAILED || this == CANCELLED;
+    }
 }
@@ -3,11 +3,15 @@ package com.universal.reconciliation.repository;
 import com.universal.reconciliation.domain.entity.BreakItem;
 import com.universal.reconciliation.domain.entity.ReconciliationRun;
 import com.universal.reconciliation.domain.enums.BreakStatus;
+import com.universal.reconciliation.domain.enums.BreakType;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Repository for break items.
@@ -17,7 +21,43 @@ public interface BreakItemRepository extends JpaRepository<BreakItem, Long>, Jpa
     @EntityGraph(attributePaths = {"comments", "workflowAudits", "classificationValues"})
     List<BreakItem> findByRunOrderByDetectedAtAsc(ReconciliationRun run);
 
+    List<BreakItem> findByRunOrderByIdAsc(ReconciliationRun run);
+
+    boolean existsByRunAndCanonicalKeyIsNull(ReconciliationRun run);
+
+    @Query("select b.canonicalKey from BreakItem b where b.run = :run and b.canonicalKey in :keys")
+    List<String> findCanonicalKeysByRunAndKeys(
+            @Param("run") ReconciliationRun run, @Param("keys") Collection<String> canonicalKeys);
+
+    /**
+     * Pages through a run's breaks in identifier order without attaching them to the persistence context.
+     */
+    @Query("select b.id as id, b.canonicalKey as canonicalKey, b.breakType as breakType,"
+            + " b.sourcePayloadJson as sourcePayloadJson, b.classificationJson as classificationJson,"
+            + " b.missingSourcesJson as missingSourcesJson"
+            + " from BreakItem b where b.run = :run and b.id > :afterId order by b.id")
+    List<BreakSnapshot> findSnapshotsByRunAfter(
+            @Param("run") ReconciliationRun run, @Param("afterId") long afterId, Pageable pageable);
+
     @EntityGraph(attributePaths = {"comments", "workflowAudits", "classificationValues"})
     List<BreakItem> findByRunDefinitionIdAndStatusOrderByDetectedAtAsc(
             Long definitionId, BreakStatus status, Pageable pageable);
+
+    /**
+     * Read-only view of the persisted outcome of a break.
+     */
+    interface BreakSnapshot {
+
+        Long getId();
+
+        String getCanonicalKey();
+
+        BreakType getBreakType();
+
+        String getSourcePayloadJson();
+
+        String getClassificationJson();
+
+        String getMissingSourcesJson();
+    }
 }
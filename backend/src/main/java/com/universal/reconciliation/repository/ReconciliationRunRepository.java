@@ -2,6 +2,7 @@ package com.universal.reconciliation.repository;
 
 import com.universal.reconciliation.domain.entity.ReconciliationDefinition;
 import com.universal.reconciliation.domain.entity.ReconciliationRun;
+import com.universal.reconciliation.domain.enums.RunStatus;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,4 +15,7 @@ public interface ReconciliationRunRepository extends JpaRepository<Reconciliatio
     List<ReconciliationRun> findByDefinitionOrderByRunDateTimeDesc(ReconciliationDefinition definition);
 
     Optional<ReconciliationRun> findTopByDefinitionOrderByRunDateTimeDesc(ReconciliationDefinition definition);
+
+    Optional<ReconciliationRun> findTopByDefinitionAndStatusOrderByRunDateTimeDesc(
+            ReconciliationDefinition definition, RunStatus status);
 }
@@ -2,6 +2,7 @@ package com.universal.reconciliation.repository;
 
 import com.universal.reconciliation.domain.entity.ReconciliationSource;
 import com.universal.reconciliation.domain.entity.SourceDataBatch;
+import com.universal.reconciliation.domain.enums.DataBatchStatus;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,4 +15,13 @@ public interface SourceDataBatchRepository extends JpaRepository<SourceDataBatch
     List<SourceDataBatch> findBySourceOrderByIngestedAtDesc(ReconciliationSource source);
 
     Optional<SourceDataBatch> findFirstBySourceOrderByIngestedAtDesc(ReconciliationSource source);
+
+    /**
+     * The latest batch in {@code status}; runs match the latest {@link DataBatchStatus#COMPLETE} batch so that
+     * batches still loading asynchronously, or that failed, are never read.
+     */
+    Optional<SourceDataBatch> findFirstBySourceAndStatusOrderByIngestedAtDesc(
+            ReconciliationSource source, DataBatchStatus status);
+
+    List<SourceDataBatch> findByStatus(DataBatchStatus status);
 }
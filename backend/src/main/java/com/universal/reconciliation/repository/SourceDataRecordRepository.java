@@ -2,10 +2,14 @@ package com.universal.reconciliation.repository;
 
 import com.universal.reconciliation.domain.entity.SourceDataBatch;
 import com.universal.reconciliation.domain.entity.SourceDataRecord;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 /**
@@ -19,4 +23,48 @@ public interface SourceDataRecordRepository extends JpaRepository<SourceDataReco
     Stream<SourceDataRecord> streamByBatch(@Param("batch") SourceDataBatch batch);
 
     List<SourceDataRecord> findByBatchAndCanonicalKeyIn(SourceDataBatch batch, List<String> canonicalKeys);
+
+    /**
+     * Streams just the canonical key and payload of each record. Being a projection, the rows are not
+     * attached to the persistence context, so arbitrarily large batches can be read in constant memory.
+     */
+    @Query("select r.canonicalKey as canonicalKey, r.payloadJson as payloadJson from SourceDataRecord r where r.batch = :batch")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<CanonicalPayload> streamPayloadsByBatch(@Param("batch") SourceDataBatch batch);
+
+    long countByBatch(SourceDataBatch batch);
+
+    /** Number of records in the batch that share their canonical key with an earlier record. */
+    @Query("select count(r) - count(distinct r.canonicalKey) from SourceDataRecord r where r.batch = :batch")
+    long countDuplicateKeysByBatch(@Param("batch") SourceDataBatch batch);
+
+    /**
+     * Streams the keys of {@code batch} whose content hash differs from, or is absent in, {@code baseline}.
+     * Swapping the arguments yields the keys that disappeared. Records without a hash always count as changed.
+     */
+    @Query("select r.canonicalKey from SourceDataRecord r where r.batch = :batch and not exists ("
+            + "select b.id from SourceDataRecord b where b.batch = :baseline"
+            + " and b.canonicalKey = r.canonicalKey and b.contentHash = r.contentHash)")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamKeysChangedSince(
+            @Param("batch") SourceDataBatch batch, @Param("baseline") SourceDataBatch baseline);
+
+    @Query("select r.canonicalKey as canonicalKey, r.payloadJson as payloadJson from SourceDataRecord r"
+            + " where r.batch = :batch and r.canonicalKey in :keys order by r.id")
+    List<CanonicalPayload> findPayloadsByBatchAndKeys(
+            @Param("batch") SourceDataBatch batch, @Param("keys") Collection<String> canonicalKeys);
+
+    @Query("select distinct r.canonicalKey from SourceDataRecord r where r.batch = :batch and r.canonicalKey in :keys")
+    List<String> findKeysByBatchAndKeys(
+            @Param("batch") SourceDataBatch batch, @Param("keys") Collection<String> canonicalKeys);
+
+    /**
+     * Lightweight view of a staged record used by streaming consumers.
+     */
+    interface CanonicalPayload {
+
+        String getCanonicalKey();
+
+        String getPayloadJson();
+    }
 }
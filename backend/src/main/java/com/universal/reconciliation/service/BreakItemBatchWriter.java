@@ -0,0 +1,238 @@
+package com.universal.reconciliation.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.config.MatchingProperties;
+import com.universal.reconciliation.domain.entity.ReconciliationRun;
+import com.universal.reconciliation.domain.enums.BreakStatus;
+import com.universal.reconciliation.service.matching.BreakCandidate;
+import com.universal.reconciliation.service.matching.BreakCandidateSink;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Persists break candidates as {@code break_items} rows, with their flattened classification values, using
+ * JDBC batches. Break identifiers are database-generated, which stops Hibernate from batching the inserts,
+ * so candidates are buffered and written with plain statements that join the caller's transaction, or that
+ * commit batch by batch for a buffer opened with {@link #openCommitting(ReconciliationRun)}.
+ */
+@Component
+public class BreakItemBatchWriter {
+
+    private static final String INSERT_BREAK = "insert into break_items (run_id, break_type, status, detected_at,"
+            + " product, sub_product, entity_name, canonical_key, source_payload_json, classification_json,"
+            + " missing_sources_json) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CLASSIFICATION =
+            "insert into break_classification_values (break_item_id, attribute_key, attribute_value) values (?, ?, ?)";
+    private static final String DELETE_CLASSIFICATIONS = "delete from break_classification_values where"
+            + " break_item_id in (select id from break_items where run_id = ?)";
+    private static final String DELETE_BREAKS = "delete from break_items where run_id = ?";
+    private static final List<String> INDEXED_CLASSIFICATIONS = List.of("product", "subProduct", "entity");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MatchingProperties matchingProperties;
+    private final TransactionTemplate batchTransaction;
+
+    public BreakItemBatchWriter(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            MatchingProperties matchingProperties,
+            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.matchingProperties = matchingProperties;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Opens a buffer for the breaks of {@code run}, which must already be persisted, whose writes join the
+     * caller's transaction. The caller must {@link Batch#flush() flush} it once matching completes.
+     */
+    public Batch open(ReconciliationRun run) {
+        return new Batch(run.getId(), matchingProperties.getBreakBatchSize(), null);
+    }
+
+    /**
+     * Opens a buffer for the breaks of {@code run}, which must already be committed, that writes each batch
+     * in a new transaction committed on its own. Breaks of a run that does not complete must be removed with
+     * {@link #deleteBreaks(long)}.
+     */
+    public Batch openCommitting(ReconciliationRun run) {
+        return new Batch(run.getId(), matchingProperties.getBreakBatchSize(), batchTransaction);
+    }
+
+    /**
+     * Deletes the breaks of a run and their classification values in the caller's transaction.
+     *
+     * @return the number of breaks deleted
+     */
+    public int deleteBreaks(long runId) {
+        jdbcTemplate.update(DELETE_CLASSIFICATIONS, runId);
+        return jdbcTemplate.update(DELETE_BREAKS, runId);
+    }
+
+    /**
+     * Buffers candidates for one run and writes them whenever the configured batch size is reached. Not
+     * thread-safe; engines hand candidates to their sink from a single thread.
+     */
+    public final class Batch implements BreakCandidateSink {
+
+        private final long runId;
+        private final int batchSize;
+        private final List<BreakCandidate> pending;
+        private final TransactionTemplate transaction;
+        private long written;
+
+        private Batch(long runId, int batchSize, TransactionTemplate transaction) {
+            this.runId = runId;
+            this.batchSize = batchSize;
+            this.pending = new ArrayList<>(batchSize);
+            this.transaction = transaction;
+        }
+
+        @Override
+        public void accept(BreakCandidate candidate) {
+            pending.add(candidate);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Writes any buffered candidates.
+         */
+        public void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            if (transaction != null) {
+                transaction.executeWithoutResult(status -> write());
+            } else {
+                write();
+            }
+            written += pending.size();
+            pending.clear();
+        }
+
+        /**
+         * Number of breaks written so far.
+         */
+        public long written() {
+            return written;
+        }
+
+        private void write() {
+            List<Long> ids = insertBreaks(runId, pending);
+            insertClassifications(ids, pending);
+        }
+    }
+
+    private List<Long> insertBreaks(long runId, List<BreakCandidate> candidates) {
+        Timestamp detectedAt = Timestamp.from(Instant.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_BREAK, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int index) throws SQLException {
+                        BreakCandidate candidate = candidates.get(index);
+                        Map<String, String> classifications = candidate.classifications();
+                        statement.setLong(1, runId);
+                        statement.setString(2, candidate.type().name());
+                        statement.setString(3, BreakStatus.OPEN.name());
+                        statement.setTimestamp(4, detectedAt);
+                        statement.setString(5, classification(classifications, "product"));
+                        statement.setString(6, classification(classifications, "subProduct"));
+                        statement.setString(7, classification(classifications, "entity"));
+                        statement.setString(8, candidate.canonicalKey());
+                        statement.setString(9, writeJson(candidate.sources()));
+                        statement.setString(10, writeJson(classifications));
+                        statement.setString(11, writeJson(candidate.missingSources()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return candidates.size();
+                    }
+                },
+                keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != candidates.size()) {
+            throw new IllegalStateException(
+                    "Expected " + candidates.size() + " generated break identifiers but received " + keys.size());
+        }
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (Map<String, Object> key : keys) {
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    /**
+     * Writes each break's classification entries plus the indexed product, sub-product and entity values,
+     * skipping duplicate key/value pairs.
+     */
+    private void insertClassifications(List<Long> ids, List<BreakCandidate> candidates) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int index = 0; index < candidates.size(); index++) {
+            Map<String, String> classifications = candidates.get(index).classifications();
+            if (classifications == null || classifications.isEmpty()) {
+                continue;
+            }
+            Set<Map.Entry<String, String>> values = new LinkedHashSet<>();
+            classifications.forEach(
+                    (key, value) -> values.add(new AbstractMap.SimpleImmutableEntry<>(key, value)));
+            for (String key : INDEXED_CLASSIFICATIONS) {
+                String value = classifications.get(key);
+                if (value != null && !value.isBlank()) {
+                    values.add(new AbstractMap.SimpleImmutableEntry<>(key, value));
+                }
+            }
+            for (Map.Entry<String, String> value : values) {
+                rows.add(new Object[] {ids.get(index), value.getKey(), value.getValue()});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CLASSIFICATION, rows);
+        }
+    }
+
+    private static String classification(Map<String, String> classifications, String key) {
+        return classifications != null ? classifications.get(key) : null;
+    }
+
+    private String writeJson(Object data) {
+        if (data == null) {
+            return "{}";
+        }
+        if (data instanceof Map<?, ?> map && map.isEmpty()) {
+            return "{}";
+        }
+        if (data instanceof List<?> list && list.isEmpty()) {
+            return "[]";
+        }
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize break payload", e);
+        }
+    }
+}
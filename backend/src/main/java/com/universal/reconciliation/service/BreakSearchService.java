@@ -12,6 +12,7 @@ import com.universal.reconciliation.domain.entity.ReconciliationRun;
 import com.universal.reconciliation.domain.enums.BreakStatus;
 import com.universal.reconciliation.domain.enums.FilterOperator;
 import com.universal.reconciliation.domain.enums.FieldDataType;
+import com.universal.reconciliation.domain.enums.RunStatus;
 import com.universal.reconciliation.domain.enums.TriggerType;
 import com.universal.reconciliation.repository.ReconciliationDefinitionRepository;
 import com.universal.reconciliation.repository.ReconciliationRunRepository;
@@ -90,6 +91,8 @@ public class BreakSearchService {
 
         List<Predicate> predicates = new ArrayList<>();
         predicates.add(cb.equal(runJoin.get("definition"), definition));
+        // Queued runs commit their breaks batch by batch; only those of completed runs are listed.
+        predicates.add(cb.equal(runJoin.get("status"), RunStatus.SUCCESS));
 
         if (!userGroups.isEmpty()) {
             // Use BreakAccessService to ensure entitlements (delegated to caller).
@@ -302,6 +305,7 @@ public class BreakSearchService {
 
         List<Predicate> predicates = new ArrayList<>();
         predicates.add(cb.equal(runJoin.get("definition"), definition));
+        predicates.add(cb.equal(runJoin.get("status"), RunStatus.SUCCESS));
         if (criteria.fromDate() != null) {
             predicates.add(cb.greaterThanOrEqualTo(runJoin.get("runDateTime"), criteria.fromDate()));
         }
@@ -1,7 +1,5 @@
 package com.universal.reconciliation.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.universal.reconciliation.domain.dto.ApprovalQueueDto;
 import com.universal.reconciliation.domain.dto.BreakItemDto;
 import com.universal.reconciliation.domain.dto.FilterMetadataDto;
@@ -9,14 +7,16 @@ import com.universal.reconciliation.domain.dto.ReconciliationListItemDto;
 import com.universal.reconciliation.domain.dto.ReconciliationSummaryDto;
 import com.universal.reconciliation.domain.dto.RunAnalyticsDto;
 import com.universal.reconciliation.domain.dto.RunDetailDto;
+import com.universal.reconciliation.domain.dto.RunProgressDto;
 import com.universal.reconciliation.domain.dto.TriggerRunRequest;
 import com.universal.reconciliation.domain.entity.AccessControlEntry;
-import com.universal.reconciliation.domain.entity.BreakClassificationValue;
 import com.universal.reconciliation.domain.entity.BreakItem;
 import com.universal.reconciliation.domain.entity.ReconciliationDefinition;
 import com.universal.reconciliation.domain.entity.ReconciliationRun;
 import com.universal.reconciliation.domain.enums.AccessRole;
 import com.universal.reconciliation.domain.enums.BreakStatus;
+import com.universal.reconciliation.domain.enums.RunMode;
+import com.universal.reconciliation.domain.enums.RunPhase;
 import com.universal.reconciliation.domain.enums.RunStatus;
 import com.universal.reconciliation.domain.enums.SystemEventType;
 import com.universal.reconciliation.domain.enums.TriggerType;
@@ -24,11 +24,11 @@ import com.universal.reconciliation.repository.AccessControlEntryRepository;
 import com.universal.reconciliation.repository.BreakItemRepository;
 import com.universal.reconciliation.repository.ReconciliationDefinitionRepository;
 import com.universal.reconciliation.repository.ReconciliationRunRepository;
-import com.universal.reconciliation.service.matching.BreakCandidate;
+import com.universal.reconciliation.service.matching.BreakCandidateSink;
+import com.universal.reconciliation.service.matching.IncrementalMatchingEngine;
+import com.universal.reconciliation.service.matching.MatchingCounts;
 import com.universal.reconciliation.service.matching.MatchingEngine;
-import com.universal.reconciliation.service.matching.MatchingResult;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.LinkedHashMap;
@@ -57,7 +57,8 @@ public class ReconciliationService {
     private final ReconciliationRunRepository runRepository;
     private final BreakItemRepository breakItemRepository;
     private final MatchingEngine matchingEngine;
-    private final ObjectMapper objectMapper;
+    private final IncrementalMatchingEngine incrementalMatchingEngine;
+    private final BreakItemBatchWriter breakItemBatchWriter;
     private final BreakMapper breakMapper;
     private final BreakAccessService breakAccessService;
     private final SystemActivityService systemActivityService;
@@ -70,7 +71,8 @@ public class ReconciliationService {
             ReconciliationRunRepository runRepository,
             BreakItemRepository breakItemRepository,
             MatchingEngine matchingEngine,
-            ObjectMapper objectMapper,
+            IncrementalMatchingEngine incrementalMatchingEngine,
+            BreakItemBatchWriter breakItemBatchWriter,
             BreakMapper breakMapper,
             BreakAccessService breakAccessService,
             SystemActivityService systemActivityService,
@@ -81,7 +83,8 @@ public class ReconciliationService {
         this.runRepository = runRepository;
         this.breakItemRepository = breakItemRepository;
         this.matchingEngine = matchingEngine;
-        this.objectMapper = objectMapper;
+        this.incrementalMatchingEngine = incrementalMatchingEngine;
+        this.breakItemBatchWriter = breakItemBatchWriter;
         this.breakMapper = breakMapper;
         this.breakAccessService = breakAccessService;
         this.systemActivityService = systemActivityService;
@@ -105,8 +108,9 @@ public class ReconciliationService {
     }
 
     /**
-     * Executes a reconciliation run end-to-end: validates access, invokes the matching engine, persists
-     * derived breaks, and emits a new {@link ReconciliationRun} summary for UI consumption.
+     * Executes a reconciliation run end-to-end: validates access, invokes the matching engine, streams the
+     * derived breaks into the database in batches, and emits a new {@link ReconciliationRun} summary for UI
+     * consumption.
      */
     @Transactional
     public RunDetailDto triggerRun(
@@ -116,57 +120,208 @@ public class ReconciliationService {
             TriggerRunRequest request) {
         ReconciliationDefinition definition = loadDefinition(definitionId);
         List<AccessControlEntry> entries = ensureAccess(definition, userGroups);
-        MatchingResult result = matchingEngine.execute(definition);
+        ReconciliationRun run = runRepository.save(newRun(definition, userGroups, initiatedBy, request));
+        run.setStatus(RunStatus.RUNNING);
+        run.setStartedAt(run.getRunDateTime());
+        run = executeRun(run, definition, request.mode(), breakItemBatchWriter.open(run), null);
+        return buildRunDetail(run, definition, entries, BreakFilterCriteria.none());
+    }
+
+    /**
+     * Validates access and records a {@link RunStatus#QUEUED} run for asynchronous execution. The run is
+     * committed before this method returns so that a worker can pick it up.
+     */
+    @Transactional
+    public ReconciliationRun queueRun(
+            Long definitionId,
+            List<String> userGroups,
+            String initiatedBy,
+            TriggerRunRequest request) {
+        ReconciliationDefinition definition = loadDefinition(definitionId);
+        ensureAccess(definition, userGroups);
+        return runRepository.save(newRun(definition, userGroups, initiatedBy, request));
+    }
+
+    /**
+     * Marks a queued run as running in its own transaction.
+     *
+     * @return {@code false} when the run is no longer queued
+     */
+    @Transactional
+    public boolean startQueuedRun(Long runId) {
+        ReconciliationRun run = loadRun(runId);
+        if (run.getStatus() != RunStatus.QUEUED) {
+            return false;
+        }
+        run.setStatus(RunStatus.RUNNING);
+        run.setStartedAt(Instant.now());
+        runRepository.save(run);
+        return true;
+    }
+
+    /**
+     * Matches a run previously started with {@link #startQueuedRun(Long)}. Each batch of breaks is committed
+     * in its own transaction as the engine produces it, and the summary is committed when matching completes.
+     * When matching fails or is cancelled the caller records the outcome with
+     * {@link #completeRun(Long, RunStatus, String)}, which removes the breaks already written.
+     */
+    @Transactional
+    public void executeQueuedRun(Long runId, RunMode mode, RunProgress progress) {
+        ReconciliationRun run = loadRun(runId);
+        executeRun(run, run.getDefinition(), mode, breakItemBatchWriter.openCommitting(run), progress);
+    }
+
+    /**
+     * Records the terminal status of a run that did not complete successfully, deleting any breaks it
+     * committed before stopping.
+     */
+    @Transactional
+    public void completeRun(Long runId, RunStatus status, String message) {
+        ReconciliationRun run = loadRun(runId);
+        int discarded = breakItemBatchWriter.deleteBreaks(runId);
+        if (discarded > 0) {
+            log.info("Discarded {} breaks of {} run {}", discarded, status, runId);
+        }
+        run.setStatus(status);
+        run.setStatusMessage(message != null && message.length() > 1000 ? message.substring(0, 1000) : message);
+        run.setCompletedAt(Instant.now());
+        runRepository.save(run);
+    }
+
+    /**
+     * Describes a run from its stored state, for runs whose live progress is not tracked on this node.
+     */
+    @Transactional(readOnly = true)
+    public RunProgressDto describeRun(Long runId, List<String> userGroups) {
+        ReconciliationRun run = loadRun(runId);
+        ensureAccess(run.getDefinition(), userGroups);
+        RunStatus status = run.getStatus();
+        long breaks = status == RunStatus.SUCCESS ? (long) run.getMismatchedCount() + run.getMissingCount() : 0;
+        return new RunProgressDto(
+                run.getId(),
+                run.getDefinition().getId(),
+                status,
+                switch (status) {
+                    case QUEUED -> RunPhase.QUEUED;
+                    case RUNNING -> RunPhase.MATCHING;
+                    default -> RunPhase.COMPLETED;
+                },
+                status == RunStatus.SUCCESS ? breaks + run.getMatchedCount() : 0,
+                breaks,
+                false,
+                run.getRunDateTime(),
+                run.getStartedAt(),
+                run.getCompletedAt(),
+                run.getStatusMessage());
+    }
 
+    private ReconciliationRun newRun(
+            ReconciliationDefinition definition,
+            List<String> userGroups,
+            String initiatedBy,
+            TriggerRunRequest request) {
+        TriggerType triggerType = request.triggerType() != null ? request.triggerType() : TriggerType.MANUAL_API;
         if (log.isInfoEnabled()) {
             log.info(
-                    "Reconciliation run requested: definition={} triggerType={} userGroups={} correlationId={}",
+                    "Reconciliation run requested: definition={} triggerType={} mode={} userGroups={} correlationId={}",
                     definition.getCode(),
-                    request.triggerType() != null ? request.triggerType() : TriggerType.MANUAL_API,
+                    triggerType,
+                    request.mode() != null ? request.mode() : RunMode.FULL,
                     String.join(",", userGroups),
                     request.correlationId());
         }
-
         ReconciliationRun run = new ReconciliationRun();
         run.setDefinition(definition);
         run.setRunDateTime(Instant.now());
-        TriggerType triggerType = request.triggerType() != null ? request.triggerType() : TriggerType.MANUAL_API;
         run.setTriggerType(triggerType);
         run.setTriggeredBy(resolveInitiator(request, initiatedBy));
         run.setTriggerCorrelationId(request.correlationId());
         run.setTriggerComments(request.comments());
-        run.setStatus(RunStatus.SUCCESS);
+        run.setStatus(RunStatus.QUEUED);
+        return run;
+    }
+
+    /**
+     * Matches {@code run}, which must already be persisted, writing its breaks to {@code breaks} as the engine
+     * produces them and recording the outcome. {@code progress} is {@code null} for synchronous runs.
+     */
+    private ReconciliationRun executeRun(
+            ReconciliationRun run,
+            ReconciliationDefinition definition,
+            RunMode requestedMode,
+            BreakItemBatchWriter.Batch breaks,
+            RunProgress progress) {
+        IncrementalMatchingEngine.RunInputs inputs = incrementalMatchingEngine.resolveInputs(definition);
+        ReconciliationRun baseline = requestedMode == RunMode.INCREMENTAL
+                ? runRepository.findTopByDefinitionAndStatusOrderByRunDateTimeDesc(definition, RunStatus.SUCCESS)
+                        .orElse(null)
+                : null;
+
+        BreakCandidateSink sink = progress != null ? progress.track(breaks) : breaks;
+        MatchingCounts result = baseline != null
+                ? incrementalMatchingEngine.execute(definition, inputs, baseline, sink).orElse(null)
+                : null;
+        RunMode runMode = result != null ? RunMode.INCREMENTAL : RunMode.FULL;
+        if (result == null) {
+            result = matchingEngine.execute(definition, sink);
+        }
+        if (progress != null) {
+            progress.checkCancelled();
+            progress.finalising();
+        }
+        breaks.flush();
+        if (progress != null) {
+            progress.breaksPersisted(breaks.written());
+        }
+
         run.setMatchedCount(result.matchedCount());
         run.setMismatchedCount(result.mismatchedCount());
         run.setMissingCount(result.missingCount());
+        run.setRunMode(runMode);
+        run.setStatus(RunStatus.SUCCESS);
+        run.setCompletedAt(Instant.now());
+        recordInputs(run, definition, inputs);
         run = runRepository.save(run);
 
-        persistBreaks(run, result.breaks());
-
         if (log.isInfoEnabled()) {
             log.info(
-                    "Reconciliation run persisted: definition={} runId={} matched={} mismatched={} missing={} breaks={}",
+                    "Reconciliation run persisted: definition={} runId={} mode={} matched={} mismatched={} missing={} breaks={}",
                     definition.getCode(),
                     run.getId(),
+                    runMode,
                     run.getMatchedCount(),
                     run.getMismatchedCount(),
                     run.getMissingCount(),
-                    result.breaks().size());
+                    breaks.written());
         }
 
         systemActivityService.recordEvent(
                 SystemEventType.RECONCILIATION_RUN,
                 String.format(
                         "Reconciliation %s executed via %s trigger by %s",
-                        definition.getCode(), triggerType.name(), run.getTriggeredBy()));
+                        definition.getCode(), run.getTriggerType().name(), run.getTriggeredBy()));
+        return run;
+    }
 
-        return buildRunDetail(run, definition, entries, BreakFilterCriteria.none());
+    /**
+     * Records the batches the run matched so a later incremental run can diff against them. Nothing is
+     * recorded when a batch arrived while matching, as the engine may have read either version.
+     */
+    private void recordInputs(
+            ReconciliationRun run, ReconciliationDefinition definition, IncrementalMatchingEngine.RunInputs inputs) {
+        if (!inputs.equals(incrementalMatchingEngine.resolveInputs(definition))) {
+            log.warn("Batches of {} changed during matching; run will not serve as an incremental baseline",
+                    definition.getCode());
+            return;
+        }
+        run.setMatchSignature(inputs.signature());
+        run.getInputBatchIds().putAll(inputs.batchIds());
     }
 
     public RunDetailDto fetchLatestRun(Long definitionId, List<String> userGroups, BreakFilterCriteria filter) {
         ReconciliationDefinition definition = loadDefinition(definitionId);
         List<AccessControlEntry> entries = ensureAccess(definition, userGroups);
-        return runRepository.findTopByDefinitionOrderByRunDateTimeDesc(definition)
+        return runRepository.findTopByDefinitionAndStatusOrderByRunDateTimeDesc(definition, RunStatus.SUCCESS)
                 .map(run -> buildRunDetail(run, definition, entries, filter))
                 .orElseGet(() -> new RunDetailDto(
                         new ReconciliationSummaryDto(
@@ -186,8 +341,7 @@ public class ReconciliationService {
     }
 
     public RunDetailDto fetchRunDetail(Long runId, List<String> userGroups, BreakFilterCriteria filter) {
-        ReconciliationRun run = runRepository.findById(runId)
-                .orElseThrow(() -> new IllegalArgumentException("Run not found"));
+        ReconciliationRun run = loadRun(runId);
         ReconciliationDefinition definition = run.getDefinition();
         List<AccessControlEntry> entries = ensureAccess(definition, userGroups);
         return buildRunDetail(run, definition, entries, filter);
@@ -246,6 +400,11 @@ public class ReconciliationService {
                 .orElseThrow(() -> new IllegalArgumentException("Reconciliation not found"));
     }
 
+    private ReconciliationRun loadRun(Long runId) {
+        return runRepository.findById(runId)
+                .orElseThrow(() -> new IllegalArgumentException("Run not found"));
+    }
+
     private List<AccessControlEntry> ensureAccess(ReconciliationDefinition definition, List<String> userGroups) {
         List<AccessControlEntry> entries = breakAccessService.findEntries(definition, userGroups);
         if (entries.isEmpty()) {
@@ -254,69 +413,6 @@ public class ReconciliationService {
         return entries;
     }
 
-    /**
-     * Converts transient {@link BreakCandidate} projections produced by the matching engine into persisted
-     * {@link BreakItem} aggregates, ensuring classifier metadata is captured both in JSON columns and the
-     * queryable child table.
-     */
-    private void persistBreaks(ReconciliationRun run, List<BreakCandidate> candidates) {
-        if (log.isDebugEnabled()) {
-            log.debug(
-                    "Persisting break candidates for run {}: count={} definition={}",
-                    run.getId(),
-                    candidates.size(),
-                    run.getDefinition().getCode());
-        }
-        List<BreakItem> items = new ArrayList<>();
-        for (BreakCandidate candidate : candidates) {
-            BreakItem breakItem = new BreakItem();
-            breakItem.setRun(run);
-            breakItem.setBreakType(candidate.type());
-            breakItem.setDetectedAt(Instant.now());
-            String product = candidate.classifications().get("product");
-            String subProduct = candidate.classifications().get("subProduct");
-            String entity = candidate.classifications().get("entity");
-            breakItem.setProduct(product);
-            breakItem.setSubProduct(subProduct);
-            breakItem.setEntityName(entity);
-            breakItem.setClassificationJson(writeJson(candidate.classifications()));
-            breakItem.setSourcePayloadJson(writeJson(candidate.sources()));
-            breakItem.setMissingSourcesJson(writeJson(candidate.missingSources()));
-
-            if (candidate.classifications() != null && !candidate.classifications().isEmpty()) {
-                candidate.classifications().forEach((key, value) -> {
-                    BreakClassificationValue classificationValue = new BreakClassificationValue();
-                    classificationValue.setBreakItem(breakItem);
-                    classificationValue.setAttributeKey(key);
-                    classificationValue.setAttributeValue(value);
-                    breakItem.getClassificationValues().add(classificationValue);
-                });
-            }
-
-            ensureClassificationValue(breakItem, "product", product);
-            ensureClassificationValue(breakItem, "subProduct", subProduct);
-            ensureClassificationValue(breakItem, "entity", entity);
-            items.add(breakItem);
-        }
-        breakItemRepository.saveAll(items);
-    }
-
-    private void ensureClassificationValue(BreakItem item, String key, String value) {
-        if (value == null || value.isBlank()) {
-            return;
-        }
-        boolean exists = item.getClassificationValues().stream()
-                .anyMatch(entry -> key.equals(entry.getAttributeKey()) && value.equals(entry.getAttributeValue()));
-        if (exists) {
-            return;
-        }
-        BreakClassificationValue classificationValue = new BreakClassificationValue();
-        classificationValue.setBreakItem(item);
-        classificationValue.setAttributeKey(key);
-        classificationValue.setAttributeValue(value);
-        item.getClassificationValues().add(classificationValue);
-    }
-
     private RunDetailDto buildRunDetail(
             ReconciliationRun run,
             ReconciliationDefinition definition,
@@ -373,23 +469,6 @@ public class ReconciliationService {
                 List.copyOf(EnumSet.allOf(BreakStatus.class)));
     }
 
-    private String writeJson(Object data) {
-        if (data == null) {
-            return "{}";
-        }
-        if (data instanceof Map<?, ?> map && map.isEmpty()) {
-            return "{}";
-        }
-        if (data instanceof List<?> list && list.isEmpty()) {
-            return "[]";
-        }
-        try {
-            return objectMapper.writeValueAsString(data);
-        } catch (JsonProcessingException e) {
-            throw new IllegalStateException("Unable to serialize break payload", e);
-        }
-    }
-
     private String resolveInitiator(TriggerRunRequest request, String defaultInitiator) {
         if (request.initiatedBy() != null && !request.initiatedBy().isBlank()) {
             return request.initiatedBy();
@@ -0,0 +1,12 @@
+package com.universal.reconciliation.service;
+
+/**
+ * Thrown from within a running reconciliation once cancellation has been requested, unwinding the matching
+ * transaction so none of the run's breaks are kept.
+ */
+public class RunCancelledException extends RuntimeException {
+
+    public RunCancelledException(Long runId) {
+        super("Run " + runId + " was cancelled");
+    }
+}
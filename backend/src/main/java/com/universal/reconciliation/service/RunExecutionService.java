@@ -0,0 +1,141 @@
+package com.universal.reconciliation.service;
+
+import com.universal.reconciliation.config.RunExecutionProperties;
+import com.universal.reconciliation.domain.dto.RunProgressDto;
+import com.universal.reconciliation.domain.dto.TriggerRunRequest;
+import com.universal.reconciliation.domain.entity.ReconciliationRun;
+import com.universal.reconciliation.domain.enums.RunMode;
+import com.universal.reconciliation.domain.enums.RunStatus;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Executes reconciliation runs off the request thread. Each submission is committed as a
+ * {@link RunStatus#QUEUED} run, picked up by a dedicated bounded worker pool, marked
+ * {@link RunStatus#RUNNING} in its own transaction and matched in a further one that commits each batch of
+ * breaks separately, so a request never holds a connection or transaction for the length of a run. Progress
+ * and cancellation are tracked in {@link RunProgressRegistry}.
+ */
+@Service
+public class RunExecutionService {
+
+    private static final Logger log = LoggerFactory.getLogger(RunExecutionService.class);
+
+    private final ReconciliationService reconciliationService;
+    private final RunProgressRegistry progressRegistry;
+    private final ThreadPoolExecutor workers;
+
+    public RunExecutionService(
+            ReconciliationService reconciliationService,
+            RunProgressRegistry progressRegistry,
+            RunExecutionProperties properties) {
+        this.reconciliationService = reconciliationService;
+        this.progressRegistry = progressRegistry;
+        int threads = properties.getWorkerThreads();
+        BlockingQueue<Runnable> queue = properties.getQueueCapacity() > 0
+                ? new ArrayBlockingQueue<>(properties.getQueueCapacity())
+                : new SynchronousQueue<>();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "reconciliation-run-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues a run and returns its initial progress.
+     *
+     * @throws ResponseStatusException with {@code 503} when every worker is busy and the queue is full
+     */
+    public RunProgressDto submit(
+            Long definitionId, List<String> userGroups, String initiatedBy, TriggerRunRequest request) {
+        ReconciliationRun run = reconciliationService.queueRun(definitionId, userGroups, initiatedBy, request);
+        RunProgress progress = progressRegistry.register(run.getId(), definitionId, run.getRunDateTime());
+        try {
+            workers.execute(() -> process(progress, request.mode()));
+        } catch (RejectedExecutionException ex) {
+            String message = "Run queue is full";
+            reconciliationService.completeRun(run.getId(), RunStatus.FAILED, message);
+            progress.completed(RunStatus.FAILED, message);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, message, ex);
+        }
+        return progress.snapshot();
+    }
+
+    public RunProgressDto progress(Long runId, List<String> userGroups) {
+        RunProgressDto stored = reconciliationService.describeRun(runId, userGroups);
+        return progressRegistry.find(runId).map(RunProgress::snapshot).orElse(stored);
+    }
+
+    /**
+     * Streams the run's progress as {@code progress} events until it completes.
+     */
+    public SseEmitter stream(Long runId, List<String> userGroups) {
+        RunProgressDto stored = reconciliationService.describeRun(runId, userGroups);
+        return progressRegistry.subscribe(runId, stored);
+    }
+
+    /**
+     * Requests cooperative cancellation. A queued run is cancelled before it starts; a running run stops the
+     * next time the matching engine reports a key and discards the breaks written so far.
+     *
+     * @throws ResponseStatusException with {@code 409} when the run already completed or is not executing on
+     *     this node
+     */
+    public RunProgressDto cancel(Long runId, List<String> userGroups) {
+        reconciliationService.describeRun(runId, userGroups);
+        RunProgress progress = progressRegistry.find(runId)
+                .filter(RunProgress::requestCancel)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "Run is not in progress"));
+        log.info("Cancellation requested for run {}", runId);
+        return progress.snapshot();
+    }
+
+    private void process(RunProgress progress, RunMode mode) {
+        Long runId = progress.runId();
+        try {
+            progress.checkCancelled();
+            if (!reconciliationService.startQueuedRun(runId)) {
+                progress.completed(RunStatus.FAILED, "Run was no longer queued");
+                return;
+            }
+            progress.started();
+            reconciliationService.executeQueuedRun(runId, mode, progress);
+            progress.completed(RunStatus.SUCCESS, null);
+        } catch (RunCancelledException ex) {
+            finish(progress, RunStatus.CANCELLED, null);
+        } catch (RuntimeException ex) {
+            log.error("Reconciliation run {} failed", runId, ex);
+            finish(progress, RunStatus.FAILED, ex.getMessage());
+        }
+    }
+
+    private void finish(RunProgress progress, RunStatus status, String message) {
+        try {
+            reconciliationService.completeRun(progress.runId(), status, message);
+        } catch (RuntimeException ex) {
+            log.error("Unable to record {} status of run {}", status, progress.runId(), ex);
+        }
+        progress.completed(status, message);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,131 @@
+package com.universal.reconciliation.service;
+
+import com.universal.reconciliation.domain.dto.RunProgressDto;
+import com.universal.reconciliation.domain.enums.RunPhase;
+import com.universal.reconciliation.domain.enums.RunStatus;
+import com.universal.reconciliation.service.matching.BreakCandidate;
+import com.universal.reconciliation.service.matching.BreakCandidateSink;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live, thread-safe progress of one asynchronously executed run. The run worker updates it while the
+ * progress endpoints read snapshots, and a cancellation request is observed cooperatively the next time the
+ * matching engine reports a key.
+ */
+public final class RunProgress {
+
+    private final Long runId;
+    private final Long definitionId;
+    private final Instant queuedAt;
+    private final AtomicLong keysProcessed = new AtomicLong();
+    private final AtomicLong breaksPersisted = new AtomicLong();
+    private volatile RunStatus status = RunStatus.QUEUED;
+    private volatile RunPhase phase = RunPhase.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile Instant startedAt;
+    private volatile Instant completedAt;
+    private volatile String message;
+
+    RunProgress(Long runId, Long definitionId, Instant queuedAt) {
+        this.runId = runId;
+        this.definitionId = definitionId;
+        this.queuedAt = queuedAt;
+    }
+
+    public Long runId() {
+        return runId;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public boolean isTerminal() {
+        return status.isTerminal();
+    }
+
+    Instant completedAt() {
+        return completedAt;
+    }
+
+    /**
+     * Asks the run to stop. Has no effect once the run reached a terminal status.
+     *
+     * @return whether the request was recorded
+     */
+    public boolean requestCancel() {
+        if (status.isTerminal()) {
+            return false;
+        }
+        cancelRequested = true;
+        return true;
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        status = RunStatus.RUNNING;
+        phase = RunPhase.MATCHING;
+    }
+
+    void finalising() {
+        phase = RunPhase.FINALISING;
+    }
+
+    void completed(RunStatus terminalStatus, String detail) {
+        message = detail;
+        completedAt = Instant.now();
+        phase = RunPhase.COMPLETED;
+        status = terminalStatus;
+    }
+
+    /**
+     * Throws {@link RunCancelledException} when cancellation has been requested.
+     */
+    public void checkCancelled() {
+        if (cancelRequested) {
+            throw new RunCancelledException(runId);
+        }
+    }
+
+    /**
+     * Wraps the sink that persists the run's breaks so that every reported key advances the progress
+     * counters and gives the run a chance to observe cancellation.
+     */
+    BreakCandidateSink track(BreakItemBatchWriter.Batch breaks) {
+        return new BreakCandidateSink() {
+            @Override
+            public void accept(BreakCandidate candidate) {
+                checkCancelled();
+                breaks.accept(candidate);
+                keysProcessed.incrementAndGet();
+                breaksPersisted.set(breaks.written());
+            }
+
+            @Override
+            public void matched(long count) {
+                checkCancelled();
+                keysProcessed.addAndGet(count);
+            }
+        };
+    }
+
+    void breaksPersisted(long count) {
+        breaksPersisted.set(count);
+    }
+
+    public RunProgressDto snapshot() {
+        return new RunProgressDto(
+                runId,
+                definitionId,
+                status,
+                phase,
+                keysProcessed.get(),
+                breaksPersisted.get(),
+                cancelRequested,
+                queuedAt,
+                startedAt,
+                completedAt,
+                message);
+    }
+}
@@ -0,0 +1,142 @@
+package com.universal.reconciliation.service;
+
+import com.universal.reconciliation.config.RunExecutionProperties;
+import com.universal.reconciliation.domain.dto.RunProgressDto;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Holds the live progress of asynchronously executed runs on this node and publishes it to event-stream
+ * subscribers at a fixed interval. Progress of a finished run is kept for
+ * {@code app.runs.progress-retention}; afterwards callers fall back to the stored run summary.
+ */
+@Component
+public class RunProgressRegistry {
+
+    private static final String PROGRESS_EVENT = "progress";
+
+    private static final Logger log = LoggerFactory.getLogger(RunProgressRegistry.class);
+
+    private final RunExecutionProperties properties;
+    private final Map<Long, RunProgress> runs = new ConcurrentHashMap<>();
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private ScheduledExecutorService publisher;
+
+    public RunProgressRegistry(RunExecutionProperties properties) {
+        this.properties = properties;
+    }
+
+    RunProgress register(Long runId, Long definitionId, Instant queuedAt) {
+        RunProgress progress = new RunProgress(runId, definitionId, queuedAt);
+        runs.put(runId, progress);
+        ensurePublisher();
+        return progress;
+    }
+
+    public Optional<RunProgress> find(Long runId) {
+        return Optional.ofNullable(runs.get(runId));
+    }
+
+    /**
+     * Opens an event stream that receives the run's progress until it completes. Runs that are not tracked
+     * here receive {@code fallback} once and the stream closes.
+     */
+    SseEmitter subscribe(Long runId, RunProgressDto fallback) {
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        RunProgress progress = runs.get(runId);
+        if (progress == null) {
+            if (send(emitter, fallback)) {
+                emitter.complete();
+            }
+            return emitter;
+        }
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(runId, id -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        Runnable remove = () -> emitters.remove(emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        send(emitter, progress.snapshot());
+        return emitter;
+    }
+
+    /**
+     * Sends every subscriber the latest snapshot of its run, closes streams of finished runs and forgets
+     * finished runs once their retention has elapsed.
+     */
+    void publish() {
+        subscribers.forEach((runId, emitters) -> {
+            RunProgress progress = runs.get(runId);
+            if (progress == null) {
+                emitters.forEach(SseEmitter::complete);
+                subscribers.remove(runId);
+                return;
+            }
+            RunProgressDto snapshot = progress.snapshot();
+            for (SseEmitter emitter : emitters) {
+                if (send(emitter, snapshot) && progress.isTerminal()) {
+                    emitter.complete();
+                }
+            }
+            if (progress.isTerminal()) {
+                subscribers.remove(runId);
+            }
+        });
+        Instant cutoff = Instant.now().minus(properties.getProgressRetention());
+        runs.values().removeIf(progress -> progress.isTerminal()
+                && !subscribers.containsKey(progress.runId())
+                && progress.completedAt().isBefore(cutoff));
+    }
+
+    private boolean send(SseEmitter emitter, RunProgressDto snapshot) {
+        try {
+            emitter.send(SseEmitter.event().name(PROGRESS_EVENT).data(snapshot));
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dropping progress subscriber of run {}: {}", snapshot.runId(), ex.getMessage());
+            emitter.completeWithError(ex);
+            return false;
+        }
+    }
+
+    private synchronized void ensurePublisher() {
+        if (publisher == null) {
+            publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "run-progress-publisher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = properties.getProgressInterval().toMillis();
+            publisher.scheduleWithFixedDelay(() -> {
+                try {
+                    publish();
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to publish run progress", ex);
+                }
+            }, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (publisher != null) {
+            publisher.shutdownNow();
+            publisher = null;
+        }
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+    }
+}
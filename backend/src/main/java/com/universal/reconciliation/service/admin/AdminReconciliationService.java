@@ -223,6 +223,10 @@ public class AdminReconciliationService {
             definition.setAutoTriggerGraceMinutes(request.autoTriggerGraceMinutes());
             changed = true;
         }
+        if (request.matchingStrategy() != null && request.matchingStrategy() != definition.getMatchingStrategy()) {
+            definition.setMatchingStrategy(request.matchingStrategy());
+            changed = true;
+        }
 
         if (!changed) {
             return mapDetail(definition);
@@ -302,22 +306,31 @@ public class AdminReconciliationService {
             AdminIngestionRequest ingestionMetadata,
             IngestionAdapterRequest ingestionRequest,
             String actor) {
-        ReconciliationDefinition definition = loadDefinition(definitionId);
-        if (definition.getStatus() == ReconciliationLifecycleStatus.RETIRED) {
-            throw new IllegalArgumentException("Reconciliation is retired and cannot accept new batches.");
-        }
-        ReconciliationSource source = definition.getSources().stream()
-                .filter(candidate -> candidate.getCode().equals(sourceCode))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Unknown source code " + sourceCode));
-
-        if (!source.getAdapterType().equals(ingestionMetadata.adapterType())) {
-            throw new IllegalArgumentException("Adapter type does not match configured source adapter.");
-        }
+        ReconciliationDefinition definition = validateIngestionTarget(definitionId, sourceCode, ingestionMetadata);
 
         var batch = sourceIngestionService.ingest(
                 definition, sourceCode, ingestionMetadata.adapterType(), ingestionRequest);
+        return accepted(definition, batch, actor);
+    }
+
+    /**
+     * Accepts a batch for asynchronous ingestion: records it as {@code LOADING} and returns it without reading
+     * the payload, which {@link IngestionExecutionService} loads afterwards.
+     */
+    public AdminIngestionBatchDto openIngestion(
+            Long definitionId,
+            String sourceCode,
+            AdminIngestionRequest ingestionMetadata,
+            IngestionAdapterRequest ingestionRequest,
+            String actor) {
+        ReconciliationDefinition definition = validateIngestionTarget(definitionId, sourceCode, ingestionMetadata);
+
+        var batch = sourceIngestionService.openBatch(
+                definition, sourceCode, ingestionMetadata.adapterType(), ingestionRequest);
+        return accepted(definition, batch, actor);
+    }
 
+    private AdminIngestionBatchDto accepted(ReconciliationDefinition definition, SourceDataBatch batch, String actor) {
         systemActivityService.recordEvent(
                 SystemEventType.INGESTION_BATCH_ACCEPTED,
                 String.format(
@@ -332,6 +345,27 @@ public class AdminReconciliationService {
                 batch.getIngestedAt());
     }
 
+    /**
+     * Checks that the definition accepts batches for {@code sourceCode} with the adapter named in the metadata,
+     * so upload sessions can be refused before any payload is transferred.
+     */
+    public ReconciliationDefinition validateIngestionTarget(
+            Long definitionId, String sourceCode, AdminIngestionRequest ingestionMetadata) {
+        ReconciliationDefinition definition = loadDefinition(definitionId);
+        if (definition.getStatus() == ReconciliationLifecycleStatus.RETIRED) {
+            throw new IllegalArgumentException("Reconciliation is retired and cannot accept new batches.");
+        }
+        ReconciliationSource source = definition.getSources().stream()
+                .filter(candidate -> candidate.getCode().equals(sourceCode))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown source code " + sourceCode));
+
+        if (!source.getAdapterType().equals(ingestionMetadata.adapterType())) {
+            throw new IllegalArgumentException("Adapter type does not match configured source adapter.");
+        }
+        return definition;
+    }
+
     private void applyRequest(ReconciliationDefinition definition, AdminReconciliationRequest request, String actor) {
         definition.setCode(request.code());
         definition.setName(request.name());
@@ -343,6 +377,7 @@ public class AdminReconciliationService {
         definition.setAutoTriggerCron(trimToNull(request.autoTriggerCron()));
         definition.setAutoTriggerTimezone(trimToNull(request.autoTriggerTimezone()));
         definition.setAutoTriggerGraceMinutes(request.autoTriggerGraceMinutes());
+        definition.setMatchingStrategy(request.matchingStrategy());
         definition.setUpdatedBy(actor);
         applyStatus(definition, request.status(), actor);
 
@@ -385,6 +420,7 @@ public class AdminReconciliationService {
             source.setArrivalSlaMinutes(request.arrivalSlaMinutes());
             source.setAdapterOptions(trimToNull(request.adapterOptions()));
             source.setTransformationPlan(transformationPlanMapper.serialize(request.transformationPlan()));
+            source.setIngestionParallelism(request.ingestionParallelism());
             applySchemaFields(source, request.schemaFields());
             source.touch();
             updated.add(source);
@@ -625,7 +661,8 @@ public class AdminReconciliationService {
                             mapSchemaFields(source.getSchemaFields()),
                             resolveAvailableColumns(source, plan),
                             source.getCreatedAt(),
-                            source.getUpdatedAt());
+                            source.getUpdatedAt(),
+                            source.getIngestionParallelism());
                 })
                 .toList();
 
@@ -740,6 +777,7 @@ public class AdminReconciliationService {
                 definition.getAutoTriggerCron(),
                 definition.getAutoTriggerTimezone(),
                 definition.getAutoTriggerGraceMinutes(),
+                definition.getMatchingStrategy(),
                 sources,
                 fields,
                 reportTemplates,
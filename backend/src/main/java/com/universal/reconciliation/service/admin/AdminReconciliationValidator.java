@@ -60,6 +60,10 @@ public class AdminReconciliationValidator {
                 throw new IllegalArgumentException(
                         "Arrival SLA minutes cannot be negative for source " + source.code());
             }
+            if (source.ingestionParallelism() != null && source.ingestionParallelism() < 1) {
+                throw new IllegalArgumentException(
+                        "Ingestion parallelism must be at least one for source " + source.code());
+            }
             transformationPlanProcessor.validate(source.transformationPlan());
             validateSchemaFields(source);
         }
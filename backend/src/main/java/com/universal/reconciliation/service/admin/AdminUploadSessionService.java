@@ -0,0 +1,476 @@
+package com.universal.reconciliation.service.admin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.config.UploadSessionProperties;
+import com.universal.reconciliation.domain.dto.admin.AdminIngestionBatchDto;
+import com.universal.reconciliation.domain.dto.admin.AdminIngestionRequest;
+import com.universal.reconciliation.domain.dto.admin.AdminUploadChunkDto;
+import com.universal.reconciliation.domain.dto.admin.AdminUploadSessionDto;
+import com.universal.reconciliation.domain.dto.admin.AdminUploadSessionRequest;
+import com.universal.reconciliation.service.ingestion.IngestionAdapterRequest;
+import com.universal.reconciliation.service.ingestion.PayloadDecompression;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Resumable upload sessions for batches too large to send in one request. Each session is a directory under
+ * {@code app.ingestion.uploads.directory} holding {@code session.json} and one file per received chunk, so
+ * sessions survive restarts. Chunks are verified against their SHA-256 checksum while they are written and
+ * moved into place atomically, so a stored chunk is always complete; re-sending a chunk replaces it. On commit
+ * the chunks are streamed in order, decompressed according to the session's content encoding, into the same
+ * ingest path as single-request uploads, and the session is deleted once the batch completes.
+ *
+ * <p>Sessions that receive nothing for {@code app.ingestion.uploads.expire-after-idle} are discarded, either
+ * when they are next looked up or when a new session is opened.</p>
+ */
+@Service
+public class AdminUploadSessionService {
+
+    private static final String SESSION_FILE = "session.json";
+    private static final String CHUNK_SUFFIX = ".chunk";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final AdminReconciliationService adminReconciliationService;
+    private final IngestionExecutionService ingestionExecutionService;
+    private final UploadSessionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Set<String> committing = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public AdminUploadSessionService(
+            AdminReconciliationService adminReconciliationService,
+            IngestionExecutionService ingestionExecutionService,
+            UploadSessionProperties properties,
+            ObjectMapper objectMapper) {
+        this(adminReconciliationService, ingestionExecutionService, properties, objectMapper, Clock.systemUTC());
+    }
+
+    AdminUploadSessionService(
+            AdminReconciliationService adminReconciliationService,
+            IngestionExecutionService ingestionExecutionService,
+            UploadSessionProperties properties,
+            ObjectMapper objectMapper,
+            Clock clock) {
+        this.adminReconciliationService = adminReconciliationService;
+        this.ingestionExecutionService = ingestionExecutionService;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    public AdminUploadSessionDto open(
+            Long definitionId, String sourceCode, AdminUploadSessionRequest request, String actor) {
+        AdminIngestionRequest metadata = request.ingestionRequest();
+        adminReconciliationService.validateIngestionTarget(definitionId, sourceCode, metadata);
+        String contentEncoding = PayloadDecompression.requireSupported(request.contentEncoding());
+        discardExpiredSessions();
+
+        StoredSession session = new StoredSession(
+                UUID.randomUUID().toString(),
+                definitionId,
+                sourceCode,
+                metadata,
+                contentEncoding.isEmpty() ? null : contentEncoding,
+                request.chunkSize(),
+                actor,
+                clock.instant());
+        Path directory = root().resolve(session.uploadId());
+        try {
+            Files.createDirectories(directory);
+            objectMapper.writeValue(directory.resolve(SESSION_FILE).toFile(), session);
+        } catch (IOException ex) {
+            FileSystemUtils.deleteRecursively(directory.toFile());
+            throw new UncheckedIOException("Unable to create upload session", ex);
+        }
+        return describe(session, directory);
+    }
+
+    public AdminUploadSessionDto get(Long definitionId, String sourceCode, String uploadId) {
+        StoredSession session = load(definitionId, sourceCode, uploadId);
+        return describe(session, directory(uploadId));
+    }
+
+    /**
+     * Streams one chunk to disk, rejecting it when it exceeds {@code app.ingestion.uploads.max-chunk-size} or
+     * its SHA-256 digest differs from {@code sha256} (hex encoded).
+     */
+    public AdminUploadChunkDto putChunk(
+            Long definitionId, String sourceCode, String uploadId, int index, String sha256, InputStream body) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Chunk index must not be negative.");
+        }
+        if (sha256 == null || sha256.isBlank()) {
+            throw new IllegalArgumentException("Chunk checksum is required.");
+        }
+        load(definitionId, sourceCode, uploadId);
+        if (committing.contains(uploadId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Upload session is being committed");
+        }
+        Path directory = directory(uploadId);
+        Path temporary = null;
+        try {
+            temporary = Files.createTempFile(directory, "." + index + "-", ".tmp");
+            MessageDigest digest = sha256();
+            long size = copy(body, temporary, digest);
+            String actual = HexFormat.of().formatHex(digest.digest());
+            if (!actual.equalsIgnoreCase(sha256.trim())) {
+                throw new IllegalArgumentException("Checksum mismatch for chunk " + index + ".");
+            }
+            moveIntoPlace(temporary, directory.resolve(index + CHUNK_SUFFIX));
+            temporary = null;
+            return new AdminUploadChunkDto(index, size, actual);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to store chunk " + index, ex);
+        } finally {
+            if (temporary != null) {
+                deleteQuietly(temporary);
+            }
+        }
+    }
+
+    /**
+     * Ingests chunks {@code 0} to {@code chunkCount - 1} as one batch. A failed ingest keeps the session, so
+     * the commit can be retried until the session expires.
+     */
+    public AdminIngestionBatchDto commit(
+            Long definitionId, String sourceCode, String uploadId, int chunkCount, String actor) {
+        return commit(definitionId, sourceCode, uploadId, chunkCount, actor, false);
+    }
+
+    /**
+     * Ingests the session's chunks as one batch. With {@code async} the batch is returned as {@code LOADING}
+     * and the session stays in place, read directly by the ingestion worker, until the batch completes.
+     */
+    public AdminIngestionBatchDto commit(
+            Long definitionId, String sourceCode, String uploadId, int chunkCount, String actor, boolean async) {
+        StoredSession session = load(definitionId, sourceCode, uploadId);
+        if (!committing.add(uploadId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Upload session is already being committed");
+        }
+        boolean handedOff = false;
+        try {
+            Path directory = directory(uploadId);
+            TreeMap<Integer, Long> chunks = receivedChunks(directory);
+            List<Path> parts = new ArrayList<>(chunkCount);
+            List<Integer> missing = new ArrayList<>();
+            for (int index = 0; index < chunkCount; index++) {
+                if (chunks.containsKey(index)) {
+                    parts.add(directory.resolve(index + CHUNK_SUFFIX));
+                } else {
+                    missing.add(index);
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw new ResponseStatusException(
+                        HttpStatus.CONFLICT, "Upload is missing chunks " + describeRanges(missing));
+            }
+            if (!chunks.tailMap(chunkCount).isEmpty()) {
+                throw new IllegalArgumentException("Upload holds chunks beyond the declared chunk count of "
+                        + chunkCount + ".");
+            }
+            IngestionAdapterRequest ingestionRequest = new IngestionAdapterRequest(
+                    () -> open(parts, session.contentEncoding()), options(session.metadata()));
+            if (async) {
+                handedOff = true;
+                return ingestionExecutionService.submit(
+                        definitionId, sourceCode, session.metadata(), ingestionRequest, actor, succeeded -> {
+                            if (succeeded) {
+                                FileSystemUtils.deleteRecursively(directory.toFile());
+                            }
+                            committing.remove(uploadId);
+                        });
+            }
+            AdminIngestionBatchDto batch = adminReconciliationService.ingest(
+                    definitionId, sourceCode, session.metadata(), ingestionRequest, actor);
+            FileSystemUtils.deleteRecursively(directory.toFile());
+            return batch;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read upload session " + uploadId, ex);
+        } finally {
+            if (!handedOff) {
+                committing.remove(uploadId);
+            }
+        }
+    }
+
+    public void abort(Long definitionId, String sourceCode, String uploadId) {
+        load(definitionId, sourceCode, uploadId);
+        if (committing.contains(uploadId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Upload session is being committed");
+        }
+        FileSystemUtils.deleteRecursively(directory(uploadId).toFile());
+    }
+
+    private StoredSession load(Long definitionId, String sourceCode, String uploadId) {
+        Path directory = directory(uploadId);
+        StoredSession session;
+        try {
+            session = objectMapper.readValue(directory.resolve(SESSION_FILE).toFile(), StoredSession.class);
+        } catch (NoSuchFileException ex) {
+            throw notFound();
+        } catch (IOException ex) {
+            if (!Files.exists(directory.resolve(SESSION_FILE))) {
+                throw notFound();
+            }
+            throw new UncheckedIOException("Unable to read upload session " + uploadId, ex);
+        }
+        if (!session.definitionId().equals(definitionId) || !session.sourceCode().equals(sourceCode)) {
+            throw notFound();
+        }
+        if (!committing.contains(uploadId) && isExpired(directory)) {
+            FileSystemUtils.deleteRecursively(directory.toFile());
+            throw notFound();
+        }
+        return session;
+    }
+
+    private AdminUploadSessionDto describe(StoredSession session, Path directory) {
+        TreeMap<Integer, Long> chunks;
+        Instant lastActivity;
+        try {
+            chunks = receivedChunks(directory);
+            lastActivity = lastActivity(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read upload session " + session.uploadId(), ex);
+        }
+        long receivedBytes = chunks.values().stream().mapToLong(Long::longValue).sum();
+        return new AdminUploadSessionDto(
+                session.uploadId(),
+                session.definitionId(),
+                session.sourceCode(),
+                session.metadata().adapterType(),
+                session.metadata().label(),
+                session.contentEncoding(),
+                session.chunkSize(),
+                ranges(new ArrayList<>(chunks.keySet())),
+                chunks.size(),
+                receivedBytes,
+                session.createdAt(),
+                lastActivity.plus(properties.getExpireAfterIdle()));
+    }
+
+    private InputStream open(List<Path> parts, String contentEncoding) {
+        Iterator<Path> remaining = parts.iterator();
+        InputStream concatenated = new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return remaining.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                try {
+                    return Files.newInputStream(remaining.next());
+                } catch (IOException ex) {
+                    throw new UncheckedIOException("Unable to read upload chunk", ex);
+                }
+            }
+        }) {
+            // GZIPInputStream only looks for a further member when bytes are available, which a file at its end
+            // never reports; count the chunks still to come so independently compressed chunks decode in full.
+            @Override
+            public int available() throws IOException {
+                int available = super.available();
+                return available == 0 && remaining.hasNext() ? 1 : available;
+            }
+        };
+        try {
+            return PayloadDecompression.decode(
+                    new BufferedInputStream(concatenated, COPY_BUFFER_SIZE), contentEncoding);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read uploaded payload", ex);
+        }
+    }
+
+    private long copy(InputStream body, Path target, MessageDigest digest) throws IOException {
+        long limit = properties.getMaxChunkSize().toBytes();
+        long size = 0;
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        try (OutputStream output = Files.newOutputStream(target)) {
+            for (int read = body.read(buffer); read != -1; read = body.read(buffer)) {
+                size += read;
+                if (size > limit) {
+                    throw new IllegalArgumentException(
+                            "Chunk exceeds the maximum size of " + limit + " bytes.");
+                }
+                digest.update(buffer, 0, read);
+                output.write(buffer, 0, read);
+            }
+        }
+        return size;
+    }
+
+    private void discardExpiredSessions() {
+        Path root = root();
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> directories = Files.list(root)) {
+            directories.filter(Files::isDirectory)
+                    .filter(directory -> !committing.contains(directory.getFileName().toString()))
+                    .filter(this::isExpired)
+                    .forEach(directory -> FileSystemUtils.deleteRecursively(directory.toFile()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to list upload sessions", ex);
+        }
+    }
+
+    private boolean isExpired(Path directory) {
+        try {
+            return lastActivity(directory).plus(properties.getExpireAfterIdle()).isBefore(clock.instant());
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /** The latest modification time of the session file or any stored chunk. */
+    private static Instant lastActivity(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            Instant latest = Instant.EPOCH;
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Instant modified = Files.getLastModifiedTime(file).toInstant();
+                if (modified.isAfter(latest)) {
+                    latest = modified;
+                }
+            }
+            return latest;
+        }
+    }
+
+    private static TreeMap<Integer, Long> receivedChunks(Path directory) throws IOException {
+        TreeMap<Integer, Long> chunks = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(CHUNK_SUFFIX)) {
+                    chunks.put(Integer.parseInt(name.substring(0, name.length() - CHUNK_SUFFIX.length())),
+                            Files.size(file));
+                }
+            }
+        }
+        return chunks;
+    }
+
+    private static List<AdminUploadSessionDto.ChunkRange> ranges(List<Integer> indexes) {
+        if (indexes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<AdminUploadSessionDto.ChunkRange> ranges = new ArrayList<>();
+        int first = indexes.get(0);
+        int last = first;
+        for (int position = 1; position < indexes.size(); position++) {
+            int index = indexes.get(position);
+            if (index != last + 1) {
+                ranges.add(new AdminUploadSessionDto.ChunkRange(first, last));
+                first = index;
+            }
+            last = index;
+        }
+        ranges.add(new AdminUploadSessionDto.ChunkRange(first, last));
+        return ranges;
+    }
+
+    private static String describeRanges(List<Integer> indexes) {
+        List<String> parts = new ArrayList<>();
+        for (AdminUploadSessionDto.ChunkRange range : ranges(indexes)) {
+            parts.add(range.first() == range.last() ? String.valueOf(range.first()) : range.first() + "-" + range.last());
+        }
+        return String.join(", ", parts);
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Map<String, Object> options(AdminIngestionRequest metadata) {
+        Map<String, Object> options = metadata.options() == null
+                ? new LinkedHashMap<>()
+                : new LinkedHashMap<>(metadata.options());
+        if (metadata.label() != null) {
+            options.putIfAbsent("label", metadata.label());
+        }
+        return options;
+    }
+
+    private Path directory(String uploadId) {
+        try {
+            return root().resolve(UUID.fromString(uploadId).toString());
+        } catch (IllegalArgumentException ex) {
+            throw notFound();
+        }
+    }
+
+    private Path root() {
+        String configured = properties.getDirectory();
+        return configured != null
+                ? Path.of(configured)
+                : Path.of(System.getProperty("java.io.tmpdir"), "recon-uploads");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // A leftover temporary file is removed with its session.
+        }
+    }
+
+    private static ResponseStatusException notFound() {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Upload session not found");
+    }
+
+    /** Contents of {@code session.json}. */
+    record StoredSession(
+            String uploadId,
+            Long definitionId,
+            String sourceCode,
+            AdminIngestionRequest metadata,
+            String contentEncoding,
+            Long chunkSize,
+            String createdBy,
+            Instant createdAt) {}
+}
@@ -0,0 +1,387 @@
+package com.universal.reconciliation.service.admin;
+
+import com.universal.reconciliation.config.AsyncIngestionProperties;
+import com.universal.reconciliation.domain.dto.admin.AdminIngestionBatchDto;
+import com.universal.reconciliation.domain.dto.admin.AdminIngestionBatchProgressDto;
+import com.universal.reconciliation.domain.dto.admin.AdminIngestionRequest;
+import com.universal.reconciliation.domain.entity.SourceDataBatch;
+import com.universal.reconciliation.service.ingestion.IngestionAdapterRequest;
+import com.universal.reconciliation.service.ingestion.PayloadDecompression;
+import com.universal.reconciliation.service.ingestion.SourceIngestionService;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Loads batches off the request thread. A submission is committed as a {@link
+ * com.universal.reconciliation.domain.enums.DataBatchStatus#LOADING LOADING} batch and returned straight away;
+ * a bounded worker pool then reads, transforms and stages the payload in its own transaction and marks the
+ * batch {@code COMPLETE}, or {@code FAILED} when the load throws. At most
+ * {@code app.ingestion.async.max-concurrent-per-definition} batches of one reconciliation load at a time, so a
+ * burst for one reconciliation cannot occupy every worker; the others wait in submission order.
+ *
+ * <p>Live row counters are kept on this node for {@code app.ingestion.async.progress-retention} after a batch
+ * finishes; afterwards the status endpoint reports the stored batch only.</p>
+ *
+ * <p>Loads dropped by a shutdown are marked {@code FAILED} and their staged payloads deleted. Loads cut off by
+ * a crash are caught at the next startup, which fails batches left {@code LOADING} and deletes payloads that
+ * no current submission staged; like the worker pool itself, this assumes one node loads batches.</p>
+ */
+@Service
+public class IngestionExecutionService implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionExecutionService.class);
+
+    private final AdminReconciliationService adminReconciliationService;
+    private final SourceIngestionService sourceIngestionService;
+    private final AsyncIngestionProperties properties;
+    private final ThreadPoolExecutor workers;
+    private final Map<Long, IngestionProgress> progress = new ConcurrentHashMap<>();
+    private final Map<Long, Lane> lanes = new HashMap<>();
+    private final Set<Path> staged = ConcurrentHashMap.newKeySet();
+    private int admitted;
+
+    public IngestionExecutionService(
+            AdminReconciliationService adminReconciliationService,
+            SourceIngestionService sourceIngestionService,
+            AsyncIngestionProperties properties) {
+        this.adminReconciliationService = adminReconciliationService;
+        this.sourceIngestionService = sourceIngestionService;
+        this.properties = properties;
+        int threads = properties.getWorkerThreads();
+        AtomicInteger threadIndex = new AtomicInteger();
+        // Admission is bounded in submit(), so the pool's own queue never rejects work handed over by a lane.
+        this.workers = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "ingestion-worker-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Stages {@code payload} under {@code app.ingestion.async.staging-directory} and submits it. The staged copy
+     * keeps its original encoding and is decompressed while it is loaded, then deleted.
+     */
+    public AdminIngestionBatchDto submit(
+            Long definitionId,
+            String sourceCode,
+            AdminIngestionRequest metadata,
+            StagedPayload payload,
+            String contentEncoding,
+            Map<String, Object> options,
+            String actor) {
+        Path staged = stage(payload);
+        IngestionAdapterRequest request = new IngestionAdapterRequest(() -> {
+            try {
+                return PayloadDecompression.decode(Files.newInputStream(staged), contentEncoding);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to read staged payload", ex);
+            }
+        }, options);
+        return submit(definitionId, sourceCode, metadata, request, actor, succeeded -> delete(staged));
+    }
+
+    /**
+     * Accepts a batch whose payload stays readable until {@code completion} is called, and queues its load.
+     * {@code completion} receives whether the batch completed and is called exactly once, also when the
+     * submission itself is refused.
+     *
+     * @throws ResponseStatusException with {@code 503} when every worker is busy and the queue is full
+     */
+    public AdminIngestionBatchDto submit(
+            Long definitionId,
+            String sourceCode,
+            AdminIngestionRequest metadata,
+            IngestionAdapterRequest request,
+            String actor,
+            Consumer<Boolean> completion) {
+        discardExpiredProgress();
+        if (!tryAdmit()) {
+            notify(completion, false);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Ingestion queue is full");
+        }
+        AdminIngestionBatchDto accepted;
+        try {
+            accepted = adminReconciliationService.openIngestion(definitionId, sourceCode, metadata, request, actor);
+        } catch (RuntimeException ex) {
+            release(definitionId, false);
+            notify(completion, false);
+            throw ex;
+        }
+        IngestionProgress batchProgress = new IngestionProgress(accepted.id());
+        progress.put(accepted.id(), batchProgress);
+        dispatch(new LoadTask(definitionId, batchProgress, request, completion));
+        return accepted;
+    }
+
+    /**
+     * Fails batches an earlier process left {@code LOADING} and deletes the payloads it staged. Batches and
+     * payloads of submissions this service has already accepted are left alone.
+     */
+    @Override
+    public void run(String... args) {
+        List<Long> orphaned = sourceIngestionService.failLoadingBatchesExcept(Set.copyOf(progress.keySet()));
+        if (!orphaned.isEmpty()) {
+            log.warn("Marked {} batches interrupted by a restart as FAILED: {}", orphaned.size(), orphaned);
+        }
+        Path directory = stagingDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> payloads = Files.newDirectoryStream(directory, "batch-*.payload")) {
+            for (Path payload : payloads) {
+                if (!staged.contains(payload)) {
+                    delete(payload);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Unable to clean staging directory {}", directory, ex);
+        }
+    }
+
+    /**
+     * @throws ResponseStatusException with {@code 404} when the batch does not belong to the source
+     */
+    public AdminIngestionBatchProgressDto status(Long definitionId, String sourceCode, Long batchId) {
+        discardExpiredProgress();
+        SourceDataBatch batch = sourceIngestionService.findBatch(definitionId, sourceCode, batchId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Batch not found"));
+        IngestionProgress live = progress.get(batchId);
+        return new AdminIngestionBatchProgressDto(
+                batch.getId(),
+                batch.getLabel(),
+                batch.getStatus(),
+                batch.getRecordCount(),
+                batch.getChecksum(),
+                batch.getIngestedAt(),
+                live != null ? live.rowsRead() : null,
+                live != null ? live.rowsPersisted() : batch.getRecordCount(),
+                live != null ? live.failure() : null,
+                live != null ? live.startedAt() : null,
+                live != null ? live.completedAt() : null);
+    }
+
+    private void process(LoadTask task) {
+        Long batchId = task.batchProgress.batchId();
+        boolean succeeded = false;
+        try {
+            task.batchProgress.started();
+            sourceIngestionService.load(batchId, task.request, task.batchProgress);
+            task.batchProgress.completed();
+            succeeded = true;
+        } catch (RuntimeException ex) {
+            log.error("Asynchronous ingestion of batch {} failed", batchId, ex);
+            fail(task, ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName());
+        } finally {
+            notify(task.completion, succeeded);
+        }
+    }
+
+    /** Fails a load that will never run and hands its payload back through the completion callback. */
+    private void abandon(LoadTask task, String reason) {
+        log.warn("Batch {} of reconciliation {} was not loaded: {}",
+                task.batchProgress.batchId(), task.definitionId, reason);
+        fail(task, reason);
+        notify(task.completion, false);
+    }
+
+    private void fail(LoadTask task, String reason) {
+        Long batchId = task.batchProgress.batchId();
+        task.batchProgress.failed(reason);
+        try {
+            sourceIngestionService.markFailed(batchId);
+        } catch (RuntimeException markFailure) {
+            log.error("Unable to record FAILED status of batch {}", batchId, markFailure);
+        }
+    }
+
+    private synchronized boolean tryAdmit() {
+        if (admitted >= properties.getWorkerThreads() + properties.getQueueCapacity()) {
+            return false;
+        }
+        admitted++;
+        return true;
+    }
+
+    /** Runs {@code task} now if the definition is below its limit, otherwise once one of its loads finishes. */
+    private synchronized void dispatch(LoadTask task) {
+        Lane lane = lanes.computeIfAbsent(task.definitionId, id -> new Lane());
+        if (lane.running < properties.getMaxConcurrentPerDefinition()) {
+            lane.running++;
+            execute(task);
+        } else {
+            lane.waiting.add(task);
+        }
+    }
+
+    private void execute(LoadTask task) {
+        try {
+            workers.execute(task);
+        } catch (RejectedExecutionException ex) {
+            abandon(task, "Ingestion worker pool is shut down");
+            release(task.definitionId, true);
+        }
+    }
+
+    private synchronized void release(Long definitionId, boolean dispatched) {
+        admitted--;
+        if (!dispatched) {
+            return;
+        }
+        Lane lane = lanes.get(definitionId);
+        LoadTask next = lane.waiting.poll();
+        if (next != null) {
+            execute(next);
+            return;
+        }
+        lane.running--;
+        if (lane.running == 0) {
+            lanes.remove(definitionId);
+        }
+    }
+
+    private void discardExpiredProgress() {
+        Instant cutoff = Instant.now().minus(properties.getProgressRetention());
+        progress.values().removeIf(batchProgress -> batchProgress.isTerminal()
+                && batchProgress.completedAt().isBefore(cutoff));
+    }
+
+    private Path stagingDirectory() {
+        return properties.getStagingDirectory() != null
+                ? Path.of(properties.getStagingDirectory())
+                : Path.of(System.getProperty("java.io.tmpdir"), "recon-ingestion");
+    }
+
+    private Path stage(StagedPayload payload) {
+        try {
+            Path directory = stagingDirectory();
+            Files.createDirectories(directory);
+            Path target = Files.createTempFile(directory, "batch-", ".payload");
+            staged.add(target);
+            try {
+                payload.transferTo(target);
+            } catch (IOException | RuntimeException ex) {
+                delete(target);
+                throw ex;
+            }
+            return target;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to stage ingestion payload", ex);
+        }
+    }
+
+    private void delete(Path payload) {
+        try {
+            Files.deleteIfExists(payload);
+        } catch (IOException ex) {
+            log.warn("Unable to delete staged payload {}", payload, ex);
+        } finally {
+            staged.remove(payload);
+        }
+    }
+
+    private static void notify(Consumer<Boolean> completion, boolean succeeded) {
+        try {
+            completion.accept(succeeded);
+        } catch (RuntimeException ex) {
+            log.warn("Ingestion completion callback failed", ex);
+        }
+    }
+
+    /**
+     * Stops the workers and fails every load that has not started: those queued in the pool and those waiting
+     * for their reconciliation's lane. Running loads are interrupted and fail or finish on their own.
+     */
+    @PreDestroy
+    public void shutdown() {
+        List<Runnable> queued = workers.shutdownNow();
+        List<LoadTask> waiting = new ArrayList<>();
+        synchronized (this) {
+            lanes.values().forEach(lane -> {
+                waiting.addAll(lane.waiting);
+                lane.waiting.clear();
+            });
+        }
+        for (Runnable runnable : queued) {
+            LoadTask task = (LoadTask) runnable;
+            abandon(task, "Ingestion stopped before the batch was loaded");
+            release(task.definitionId, true);
+        }
+        for (LoadTask task : waiting) {
+            abandon(task, "Ingestion stopped before the batch was loaded");
+            release(task.definitionId, false);
+        }
+    }
+
+    /**
+     * Writes an uploaded payload to its staging file. {@code MultipartFile#transferTo(File)} moves a part the
+     * servlet container already spooled to disk instead of copying it.
+     */
+    @FunctionalInterface
+    public interface StagedPayload {
+
+        void transferTo(Path target) throws IOException;
+    }
+
+    /** Loads of one reconciliation: how many are running and which wait for a free slot. */
+    private static final class Lane {
+
+        private int running;
+        private final Queue<LoadTask> waiting = new ArrayDeque<>();
+    }
+
+    /** One accepted batch; runs on a worker and then frees its reconciliation's slot for the next load. */
+    private final class LoadTask implements Runnable {
+
+        private final Long definitionId;
+        private final IngestionProgress batchProgress;
+        private final IngestionAdapterRequest request;
+        private final Consumer<Boolean> completion;
+
+        private LoadTask(
+                Long definitionId,
+                IngestionProgress batchProgress,
+                IngestionAdapterRequest request,
+                Consumer<Boolean> completion) {
+            this.definitionId = definitionId;
+            this.batchProgress = batchProgress;
+            this.request = request;
+            this.completion = completion;
+        }
+
+        @Override
+        public void run() {
+            try {
+                process(this);
+            } finally {
+                release(definitionId, true);
+            }
+        }
+    }
+}
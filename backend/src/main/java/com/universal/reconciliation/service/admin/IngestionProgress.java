@@ -0,0 +1,74 @@
+package com.universal.reconciliation.service.admin;
+
+import com.universal.reconciliation.domain.enums.DataBatchStatus;
+import com.universal.reconciliation.service.ingestion.IngestionProgressListener;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live, thread-safe progress of one asynchronously loaded batch. The ingestion worker updates it while the
+ * batch status endpoint reads it.
+ */
+final class IngestionProgress implements IngestionProgressListener {
+
+    private final Long batchId;
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsPersisted = new AtomicLong();
+    private volatile DataBatchStatus status = DataBatchStatus.LOADING;
+    private volatile Instant startedAt;
+    private volatile Instant completedAt;
+    private volatile String failure;
+
+    IngestionProgress(Long batchId) {
+        this.batchId = batchId;
+    }
+
+    Long batchId() {
+        return batchId;
+    }
+
+    long rowsRead() {
+        return rowsRead.get();
+    }
+
+    long rowsPersisted() {
+        return rowsPersisted.get();
+    }
+
+    String failure() {
+        return failure;
+    }
+
+    Instant startedAt() {
+        return startedAt;
+    }
+
+    Instant completedAt() {
+        return completedAt;
+    }
+
+    boolean isTerminal() {
+        return status != DataBatchStatus.LOADING;
+    }
+
+    @Override
+    public void progressed(long read, long persisted) {
+        rowsRead.set(read);
+        rowsPersisted.set(persisted);
+    }
+
+    void started() {
+        startedAt = Instant.now();
+    }
+
+    void completed() {
+        completedAt = Instant.now();
+        status = DataBatchStatus.COMPLETE;
+    }
+
+    void failed(String reason) {
+        failure = reason;
+        completedAt = Instant.now();
+        status = DataBatchStatus.FAILED;
+    }
+}
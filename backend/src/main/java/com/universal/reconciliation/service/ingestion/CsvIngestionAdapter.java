@@ -5,12 +5,19 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
@@ -22,12 +29,17 @@ import org.springframework.util.StringUtils;
  * implementation relies on Apache Commons CSV so quoted values and
  * embedded delimiters are handled correctly while keeping the
  * orchestration layer agnostic of the underlying parser.
+ *
+ * <p>Sources that set the {@code fastReader} option are parsed with {@link FastCsvReader} instead, which
+ * scans the raw bytes and exposes each row as a view over a header index shared by the whole file, copied
+ * on its first write. It falls back to Commons CSV for charsets or delimiters it cannot scan byte by byte.</p>
  */
 @Component
 public class CsvIngestionAdapter implements IngestionAdapter {
 
     private static final String OPTION_DELIMITER = "delimiter";
     private static final String OPTION_CHARSET = "charset";
+    static final String OPTION_FAST_READER = "fastReader";
 
     @Override
     public IngestionAdapterType getType() {
@@ -36,7 +48,21 @@ public class CsvIngestionAdapter implements IngestionAdapter {
 
     @Override
     public List<Map<String, Object>> readRecords(IngestionAdapterRequest request) {
+        try (Stream<Map<String, Object>> rows = streamRecords(request)) {
+            return rows.collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    /**
+     * Parses rows lazily as the stream is consumed; closing the stream closes the parser and input.
+     */
+    @Override
+    public Stream<Map<String, Object>> streamRecords(IngestionAdapterRequest request) {
         char delimiter = resolveDelimiter(request.options());
+        Charset charset = resolveCharset(request.options());
+        if (resolveFastReader(request.options()) && FastCsvReader.supports(charset, delimiter)) {
+            return streamFast(request, charset, delimiter);
+        }
         CSVFormat csvFormat = CSVFormat.DEFAULT
                 .builder()
                 .setHeader()
@@ -45,30 +71,74 @@ public class CsvIngestionAdapter implements IngestionAdapter {
                 .setIgnoreEmptyLines(true)
                 .setDelimiter(delimiter)
                 .build();
-        try (InputStream inputStream = request.inputStreamSupplier().get();
-                Reader reader = new InputStreamReader(inputStream, resolveCharset(request.options()));
-                CSVParser parser = new CSVParser(reader, csvFormat)) {
-            List<String> headers = parser.getHeaderNames();
-            if (headers == null || headers.isEmpty()) {
-                return List.of();
+        InputStream inputStream = request.inputStreamSupplier().get();
+        CSVParser parser;
+        try {
+            Reader reader = new InputStreamReader(inputStream, charset);
+            parser = new CSVParser(reader, csvFormat);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(inputStream, e);
+            if (e instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Failed to read CSV input", e);
+        }
+        List<String> headers = parser.getHeaderNames();
+        Stream<Map<String, Object>> rows = headers == null || headers.isEmpty()
+                ? Stream.empty()
+                : parser.stream().map(record -> toRow(record, headers)).filter(row -> !row.isEmpty());
+        return rows.onClose(() -> {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to close CSV input", e);
             }
-            List<Map<String, Object>> rows = new ArrayList<>();
-            for (CSVRecord record : parser) {
-                Map<String, Object> row = new LinkedHashMap<>();
-                for (String header : headers) {
-                    if (!record.isMapped(header) || !record.isSet(header)) {
-                        continue;
-                    }
-                    row.put(header, record.get(header));
-                }
-                if (!row.isEmpty()) {
-                    rows.add(row);
-                }
+        });
+    }
+
+    private Stream<Map<String, Object>> streamFast(IngestionAdapterRequest request, Charset charset, char delimiter) {
+        InputStream inputStream = request.inputStreamSupplier().get();
+        FastCsvReader reader = new FastCsvReader(inputStream, charset, delimiter);
+        FastCsvReader.Header header;
+        try {
+            String[] headerRecord = reader.readRecord();
+            header = new FastCsvReader.Header(headerRecord == null ? List.of() : List.of(headerRecord));
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(inputStream, e);
+            if (e instanceof RuntimeException runtime) {
+                throw runtime;
             }
-            return rows;
-        } catch (IOException e) {
             throw new IllegalStateException("Failed to read CSV input", e);
         }
+        Stream<Map<String, Object>> rows = header.names().isEmpty()
+                ? Stream.empty()
+                : StreamSupport.stream(new FastRecords(reader, header), false);
+        return rows.onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to close CSV input", e);
+            }
+        });
+    }
+
+    private Map<String, Object> toRow(CSVRecord record, List<String> headers) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String header : headers) {
+            if (!record.isMapped(header) || !record.isSet(header)) {
+                continue;
+            }
+            row.put(header, record.get(header));
+        }
+        return row;
+    }
+
+    private void closeQuietly(InputStream inputStream, Exception failure) {
+        try {
+            inputStream.close();
+        } catch (IOException closeFailure) {
+            failure.addSuppressed(closeFailure);
+        }
     }
 
     private Charset resolveCharset(Map<String, Object> options) {
@@ -85,6 +155,17 @@ public class CsvIngestionAdapter implements IngestionAdapter {
         return StandardCharsets.UTF_8;
     }
 
+    private boolean resolveFastReader(Map<String, Object> options) {
+        if (options == null) {
+            return false;
+        }
+        Object value = options.get(OPTION_FAST_READER);
+        if (value instanceof Boolean enabled) {
+            return enabled;
+        }
+        return value instanceof String text && Boolean.parseBoolean(text.trim());
+    }
+
     private char resolveDelimiter(Map<String, Object> options) {
         if (options == null) {
             return ',';
@@ -98,4 +179,32 @@ public class CsvIngestionAdapter implements IngestionAdapter {
         }
         return ',';
     }
+
+    /** Rows of a fast-read file, decoded one record per advance. */
+    private static final class FastRecords extends Spliterators.AbstractSpliterator<Map<String, Object>> {
+
+        private final FastCsvReader reader;
+        private final FastCsvReader.Header header;
+
+        private FastRecords(FastCsvReader reader, FastCsvReader.Header header) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.reader = reader;
+            this.header = header;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map<String, Object>> action) {
+            String[] values;
+            try {
+                values = reader.readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (values == null) {
+                return false;
+            }
+            action.accept(header.row(values));
+            return true;
+        }
+    }
 }
@@ -4,14 +4,23 @@ import com.universal.reconciliation.domain.enums.IngestionAdapterType;
 import com.universal.reconciliation.service.transform.TransformationEvaluationException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.DataFormatter;
@@ -27,6 +36,10 @@ import org.springframework.util.StringUtils;
 /**
  * Excel ingestion adapter capable of reading one or many worksheets while honouring
  * the same parsing options exposed by the admin configurator preview pipeline.
+ *
+ * <p>XLSX workbooks are streamed row by row with {@link XlsxStreamingReader}, reporting the formula
+ * results cached in the file. Legacy XLS workbooks, and XLSX workbooks ingested with
+ * {@code evaluateFormulas}, are loaded into the workbook model and have their formulas re-evaluated.</p>
  */
 @Component
 public class ExcelIngestionAdapter implements IngestionAdapter {
@@ -39,6 +52,7 @@ public class ExcelIngestionAdapter implements IngestionAdapter {
     static final String OPTION_INCLUDE_SHEET_COLUMN = "includeSheetNameColumn";
     static final String OPTION_SHEET_COLUMN_NAME = "sheetNameColumn";
     static final String OPTION_SKIP_ROWS = "skipRows";
+    static final String OPTION_EVALUATE_FORMULAS = "evaluateFormulas";
     static final String DEFAULT_SHEET_COLUMN = "_sheet";
 
     @Override
@@ -48,25 +62,60 @@ public class ExcelIngestionAdapter implements IngestionAdapter {
 
     @Override
     public List<Map<String, Object>> readRecords(IngestionAdapterRequest request) {
-        try (InputStream stream = request.inputStreamSupplier().get();
-                Workbook workbook = WorkbookFactory.create(stream)) {
-            ExcelParsingOptions options = parseOptions(request.options());
-            List<Sheet> sheets = resolveSheets(workbook, options);
-            if (sheets.isEmpty()) {
-                throw new TransformationEvaluationException("No worksheets matched the configured criteria");
+        try (Stream<Map<String, Object>> rows = streamRecords(request)) {
+            return rows.collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    /**
+     * Streams XLSX rows lazily as the stream is consumed; closing the stream deletes the workbook's
+     * temporary copy. Workbooks read through the workbook model are read in full first.
+     */
+    @Override
+    public Stream<Map<String, Object>> streamRecords(IngestionAdapterRequest request) {
+        ExcelParsingOptions options = parseOptions(request.options());
+        try (InputStream stream = FileMagic.prepareToCheckMagic(request.inputStreamSupplier().get())) {
+            if (!options.evaluateFormulas() && XlsxStreamingReader.isXlsx(stream)) {
+                return streamWorkbook(XlsxStreamingReader.open(stream), options);
             }
-            DataFormatter formatter = new DataFormatter(Locale.ENGLISH);
-            FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
-            List<Map<String, Object>> rows = new ArrayList<>();
-            for (Sheet sheet : sheets) {
-                rows.addAll(readSheet(sheet, options, formatter, evaluator));
+            try (Workbook workbook = WorkbookFactory.create(stream)) {
+                return readWorkbook(workbook, options).stream();
             }
-            return rows;
         } catch (IOException ex) {
             throw new TransformationEvaluationException("Failed to read Excel payload", ex);
         }
     }
 
+    private Stream<Map<String, Object>> streamWorkbook(XlsxStreamingReader reader, ExcelParsingOptions options) {
+        List<Integer> sheets = resolveSheets(reader.sheetNames(), options);
+        if (sheets.isEmpty()) {
+            closeQuietly(reader);
+            throw new TransformationEvaluationException("No worksheets matched the configured criteria");
+        }
+        Iterator<Map<String, Object>> records = new StreamedRecords(reader, sheets, options);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> closeQuietly(reader));
+    }
+
+    private List<Map<String, Object>> readWorkbook(Workbook workbook, ExcelParsingOptions options) {
+        List<String> sheetNames = new ArrayList<>();
+        for (int index = 0; index < workbook.getNumberOfSheets(); index++) {
+            sheetNames.add(workbook.getSheetName(index));
+        }
+        List<Integer> sheets = resolveSheets(sheetNames, options);
+        if (sheets.isEmpty()) {
+            throw new TransformationEvaluationException("No worksheets matched the configured criteria");
+        }
+        DataFormatter formatter = new DataFormatter(Locale.ENGLISH);
+        FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int index : sheets) {
+            rows.addAll(readSheet(workbook.getSheetAt(index), options, formatter, evaluator));
+        }
+        return rows;
+    }
+
     private List<Map<String, Object>> readSheet(
             Sheet sheet, ExcelParsingOptions options, DataFormatter formatter, FormulaEvaluator evaluator) {
         List<Map<String, Object>> records = new ArrayList<>();
@@ -191,6 +240,7 @@ public class ExcelIngestionAdapter implements IngestionAdapter {
         int skipRows = toInteger(options.get(OPTION_SKIP_ROWS), 0);
         List<String> sheetNames = toStringList(options.get(OPTION_SHEET_NAMES));
         String sheetName = toString(options.get(OPTION_SHEET_NAME));
+        boolean evaluateFormulas = toBoolean(options.get(OPTION_EVALUATE_FORMULAS), false);
         return new ExcelParsingOptions(
                 hasHeader,
                 includeAllSheets,
@@ -198,32 +248,36 @@ public class ExcelIngestionAdapter implements IngestionAdapter {
                 sheetColumn,
                 skipRows,
                 sheetName,
-                sheetNames);
+                sheetNames,
+                evaluateFormulas);
     }
 
-    private List<Sheet> resolveSheets(Workbook workbook, ExcelParsingOptions options) {
-        int total = workbook.getNumberOfSheets();
-        List<Sheet> resolved = new ArrayList<>();
+    /**
+     * Indexes of the sheets to read, in workbook order for {@code includeAllSheets} and in request order for
+     * {@code sheetNames}. Names match ignoring case, as the workbook model's sheet lookup does.
+     */
+    private List<Integer> resolveSheets(List<String> sheetNames, ExcelParsingOptions options) {
+        int total = sheetNames.size();
+        List<Integer> resolved = new ArrayList<>();
         if (total <= 0) {
             return resolved;
         }
         if (options.includeAllSheets()) {
             for (int index = 0; index < total; index++) {
-                resolved.add(workbook.getSheetAt(index));
+                resolved.add(index);
             }
             return resolved;
         }
         if (!options.sheetNames().isEmpty()) {
-            Map<String, Sheet> lookup = new LinkedHashMap<>();
+            Map<String, Integer> lookup = new LinkedHashMap<>();
             for (int index = 0; index < total; index++) {
-                Sheet sheet = workbook.getSheetAt(index);
-                lookup.put(sheet.getSheetName().trim().toLowerCase(Locale.ENGLISH), sheet);
+                lookup.put(sheetNames.get(index).trim().toLowerCase(Locale.ENGLISH), index);
             }
             for (String requested : options.sheetNames()) {
                 if (!StringUtils.hasText(requested)) {
                     continue;
                 }
-                Sheet matched = lookup.get(requested.trim().toLowerCase(Locale.ENGLISH));
+                Integer matched = lookup.get(requested.trim().toLowerCase(Locale.ENGLISH));
                 if (matched != null && !resolved.contains(matched)) {
                     resolved.add(matched);
                 }
@@ -231,13 +285,15 @@ public class ExcelIngestionAdapter implements IngestionAdapter {
             return resolved;
         }
         if (StringUtils.hasText(options.sheetName())) {
-            Sheet matched = workbook.getSheet(options.sheetName());
-            if (matched != null) {
-                resolved.add(matched);
+            for (int index = 0; index < total; index++) {
+                if (sheetNames.get(index).equalsIgnoreCase(options.sheetName())) {
+                    resolved.add(index);
+                    break;
+                }
             }
             return resolved;
         }
-        resolved.add(workbook.getSheetAt(0));
+        resolved.add(0);
         return resolved;
     }
 
@@ -300,6 +356,116 @@ public class ExcelIngestionAdapter implements IngestionAdapter {
         return List.of(candidate.toString().trim());
     }
 
+    private Object readCellValue(XlsxStreamingReader.XlsxCell cell, DataFormatter formatter) {
+        return switch (cell.kind()) {
+            case BOOLEAN -> cell.booleanValue();
+            case NUMERIC -> cell.isDateFormatted() ? cell.formatted(formatter) : cell.numericValue();
+            case STRING, ERROR -> {
+                String text = cell.formatted(formatter);
+                yield StringUtils.hasText(text) ? text : null;
+            }
+        };
+    }
+
+    private static void closeQuietly(XlsxStreamingReader reader) {
+        try {
+            reader.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to release Excel payload", ex);
+        }
+    }
+
+    /**
+     * Records of the selected sheets, read one row at a time with the same header, skip-row and sheet-column
+     * handling as {@link #readSheet}.
+     */
+    private final class StreamedRecords implements Iterator<Map<String, Object>> {
+
+        private final XlsxStreamingReader reader;
+        private final Iterator<Integer> sheets;
+        private final ExcelParsingOptions options;
+        private final DataFormatter formatter = new DataFormatter(Locale.ENGLISH);
+        private Iterator<XlsxStreamingReader.XlsxRow> rows = Collections.emptyIterator();
+        private String sheetName;
+        private List<String> headers;
+        private int skipped;
+        private Map<String, Object> next;
+
+        private StreamedRecords(XlsxStreamingReader reader, List<Integer> sheets, ExcelParsingOptions options) {
+            this.reader = reader;
+            this.sheets = sheets.iterator();
+            this.options = options;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (!rows.hasNext()) {
+                    if (!sheets.hasNext()) {
+                        return false;
+                    }
+                    int sheet = sheets.next();
+                    rows = reader.rows(sheet);
+                    sheetName = reader.sheetNames().get(sheet);
+                    headers = new ArrayList<>();
+                    skipped = 0;
+                    continue;
+                }
+                next = toRecord(rows.next());
+            }
+            return true;
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map<String, Object> record = next;
+            next = null;
+            return record;
+        }
+
+        private Map<String, Object> toRecord(XlsxStreamingReader.XlsxRow row) {
+            if (options.hasHeader() && headers.isEmpty()) {
+                for (int index = 0; index < row.width(); index++) {
+                    XlsxStreamingReader.XlsxCell cell = row.cell(index);
+                    String header = cell == null ? null : cell.formatted(formatter);
+                    headers.add(StringUtils.hasText(header) ? header : "COLUMN_" + (index + 1));
+                }
+                return null;
+            }
+            if (skipped < options.skipRows()) {
+                skipped++;
+                return null;
+            }
+            if (!options.hasHeader() && headers.isEmpty()) {
+                headers = generateHeaders(row.width());
+            } else {
+                expandHeaders(headers, row.width());
+            }
+            Map<String, Object> record = new LinkedHashMap<>();
+            for (int index = 0; index < headers.size(); index++) {
+                String header = headers.get(index);
+                XlsxStreamingReader.XlsxCell cell = row.cell(index);
+                if (!StringUtils.hasText(header) || cell == null) {
+                    continue;
+                }
+                Object value = readCellValue(cell, formatter);
+                if (value != null) {
+                    record.put(header, value);
+                }
+            }
+            if (record.isEmpty()) {
+                return null;
+            }
+            if (options.includeSheetColumn()) {
+                record.put(options.sheetColumnName(), sheetName);
+            }
+            return record;
+        }
+    }
+
     private record ExcelParsingOptions(
             boolean hasHeader,
             boolean includeAllSheets,
@@ -307,7 +473,8 @@ public class ExcelIngestionAdapter implements IngestionAdapter {
             String sheetColumnName,
             int skipRows,
             String sheetName,
-            List<String> sheetNames) {
+            List<String> sheetNames,
+            boolean evaluateFormulas) {
 
         ExcelParsingOptions {
             sheetNames = sheetNames == null ? List.of() : List.copyOf(sheetNames);
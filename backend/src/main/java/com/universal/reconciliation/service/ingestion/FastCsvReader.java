@@ -0,0 +1,409 @@
+package com.universal.reconciliation.service.ingestion;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Byte-level CSV reader behind the {@code fastReader} option of {@link CsvIngestionAdapter}. Input is read in
+ * 64KB blocks and scanned for delimiters, quotes and line breaks directly on the encoded bytes; each value is
+ * decoded with a single {@link String} construction, straight from the block when it does not straddle a block
+ * boundary.
+ *
+ * <p>Parsing follows the adapter's commons-csv format: RFC 4180 quoting with doubled quotes as the only escape,
+ * CR, LF or CRLF record separators (also inside quoted values), empty lines skipped and values trimmed. Only
+ * charsets in which the structural characters are single bytes that never occur inside other characters are
+ * supported; see {@link #supports(Charset, char)}.</p>
+ */
+final class FastCsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte QUOTE = '"';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    private final InputStream input;
+    private final Charset charset;
+    private final byte delimiter;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private byte[] scratch = new byte[256];
+    private int scratchLength;
+    private String[] values = new String[16];
+    private long lineNumber = 1;
+
+    FastCsvReader(InputStream input, Charset charset, char delimiter) {
+        if (!supports(charset, delimiter)) {
+            throw new IllegalArgumentException("Fast CSV reading requires an ASCII delimiter and a UTF-8, "
+                    + "US-ASCII or ISO-8859-1 charset");
+        }
+        this.input = input;
+        this.charset = charset;
+        this.delimiter = (byte) delimiter;
+    }
+
+    /**
+     * Whether the byte-level reader can parse input in {@code charset} split on {@code delimiter}.
+     */
+    static boolean supports(Charset charset, char delimiter) {
+        return delimiter < 0x80
+                && delimiter != '"'
+                && delimiter != '\r'
+                && delimiter != '\n'
+                && (StandardCharsets.UTF_8.equals(charset)
+                        || StandardCharsets.US_ASCII.equals(charset)
+                        || StandardCharsets.ISO_8859_1.equals(charset));
+    }
+
+    /**
+     * Reads the next record, skipping empty lines.
+     *
+     * @return the record's trimmed values, or {@code null} once the input is exhausted
+     */
+    String[] readRecord() throws IOException {
+        if (!skipEmptyLines()) {
+            return null;
+        }
+        int count = 0;
+        while (true) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            boolean more = fetch() && buffer[position] == QUOTE ? readQuoted(count) : readUnquoted(count);
+            count++;
+            if (!more) {
+                return Arrays.copyOf(values, count);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    /** Consumes record separators; returns {@code false} when nothing but line breaks remained. */
+    private boolean skipEmptyLines() throws IOException {
+        while (fetch()) {
+            byte current = buffer[position];
+            if (current != CR && current != LF) {
+                return true;
+            }
+            position++;
+            consumeLineBreak(current);
+        }
+        return false;
+    }
+
+    /**
+     * Reads an unquoted value into {@code values[index]}; returns {@code true} when a delimiter followed it.
+     */
+    private boolean readUnquoted(int index) throws IOException {
+        scratchLength = 0;
+        while (true) {
+            int start = position;
+            int end = start;
+            while (end < limit) {
+                byte current = buffer[end];
+                if (current == delimiter || current == CR || current == LF) {
+                    break;
+                }
+                end++;
+            }
+            if (end < limit) {
+                byte terminator = buffer[end];
+                position = end + 1;
+                if (scratchLength == 0) {
+                    values[index] = decodeTrimmed(buffer, start, end);
+                } else {
+                    append(start, end);
+                    values[index] = decodeTrimmed(scratch, 0, scratchLength);
+                }
+                if (terminator == delimiter) {
+                    return true;
+                }
+                consumeLineBreak(terminator);
+                return false;
+            }
+            append(start, end);
+            position = end;
+            if (!fetch()) {
+                values[index] = decodeTrimmed(scratch, 0, scratchLength);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Reads a quoted value, starting at its opening quote, into {@code values[index]}; returns {@code true} when
+     * a delimiter followed it.
+     */
+    private boolean readQuoted(int index) throws IOException {
+        long startLine = lineNumber;
+        position++;
+        scratchLength = 0;
+        while (true) {
+            if (!fetch()) {
+                throw new IOException("(startline " + startLine + ") EOF reached before encapsulated token finished");
+            }
+            int start = position;
+            int end = start;
+            while (end < limit && buffer[end] != QUOTE) {
+                if (buffer[end] == LF || (buffer[end] == CR && (end + 1 >= limit || buffer[end + 1] != LF))) {
+                    lineNumber++;
+                }
+                end++;
+            }
+            append(start, end);
+            position = end;
+            if (end == limit) {
+                continue;
+            }
+            position++;
+            if (fetch() && buffer[position] == QUOTE) {
+                append(position, position + 1);
+                position++;
+                continue;
+            }
+            values[index] = decodeTrimmed(scratch, 0, scratchLength);
+            return afterClosingQuote();
+        }
+    }
+
+    /** Skips whitespace after a closing quote up to the delimiter or line break that ends the value. */
+    private boolean afterClosingQuote() throws IOException {
+        while (fetch()) {
+            byte current = buffer[position++];
+            if (current == delimiter) {
+                return true;
+            }
+            if (current == CR || current == LF) {
+                consumeLineBreak(current);
+                return false;
+            }
+            if (!Character.isWhitespace(current)) {
+                throw new IOException("(line " + lineNumber + ") invalid char between encapsulated token and delimiter");
+            }
+        }
+        return false;
+    }
+
+    /** Completes a line break whose first byte was just consumed, treating CRLF as one separator. */
+    private void consumeLineBreak(byte first) throws IOException {
+        if (first == CR && fetch() && buffer[position] == LF) {
+            position++;
+        }
+        lineNumber++;
+    }
+
+    /** Ensures a byte is available at {@code position}, refilling the block; {@code false} at end of input. */
+    private boolean fetch() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        if (endOfInput) {
+            return false;
+        }
+        position = 0;
+        limit = 0;
+        while (limit == 0) {
+            int read = input.read(buffer, 0, buffer.length);
+            if (read < 0) {
+                endOfInput = true;
+                return false;
+            }
+            limit = read;
+        }
+        return true;
+    }
+
+    private void append(int start, int end) {
+        int length = end - start;
+        if (scratchLength + length > scratch.length) {
+            scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, scratchLength + length));
+        }
+        System.arraycopy(buffer, start, scratch, scratchLength, length);
+        scratchLength += length;
+    }
+
+    /** Decodes {@code bytes[start, end)} without the leading and trailing characters {@link String#trim()} drops. */
+    private String decodeTrimmed(byte[] bytes, int start, int end) {
+        while (start < end && (bytes[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (bytes[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+        return start == end ? "" : new String(bytes, start, end - start, charset);
+    }
+
+    /**
+     * Column lookup shared by every row of a file: each distinct header name maps to the last column carrying it,
+     * as commons-csv resolves duplicate headers.
+     */
+    static final class Header {
+
+        private final String[] names;
+        private final int[] columns;
+        private final Map<String, Integer> slots;
+
+        Header(List<String> headerRecord) {
+            Map<String, Integer> slotByName = new HashMap<>();
+            String[] distinct = new String[headerRecord.size()];
+            int[] lastColumn = new int[headerRecord.size()];
+            int count = 0;
+            for (int column = 0; column < headerRecord.size(); column++) {
+                String name = headerRecord.get(column);
+                if (name == null || name.isBlank()) {
+                    throw new IllegalArgumentException("A header name is missing in " + headerRecord);
+                }
+                Integer slot = slotByName.get(name);
+                if (slot == null) {
+                    slot = count++;
+                    slotByName.put(name, slot);
+                    distinct[slot] = name;
+                }
+                lastColumn[slot] = column;
+            }
+            this.names = Arrays.copyOf(distinct, count);
+            this.columns = Arrays.copyOf(lastColumn, count);
+            this.slots = slotByName;
+        }
+
+        List<String> names() {
+            return List.of(names);
+        }
+
+        Row row(String[] values) {
+            return new Row(this, values);
+        }
+    }
+
+    /**
+     * Record view over the shared {@link Header} and the record's values. Columns missing from short records are
+     * absent from the map, matching the commons-csv path. The first write copies the row into a private
+     * {@link LinkedHashMap}, so scripts may modify it as they would a commons-csv row.
+     */
+    static final class Row extends AbstractMap<String, Object> {
+
+        private final Header header;
+        private final String[] values;
+        private Set<Entry<String, Object>> entries;
+        private Map<String, Object> copy;
+
+        private Row(Header header, String[] values) {
+            this.header = header;
+            this.values = values;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (copy != null) {
+                return copy.get(key);
+            }
+            Integer slot = header.slots.get(key);
+            if (slot == null) {
+                return null;
+            }
+            int column = header.columns[slot];
+            return column < values.length ? values[column] : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if (copy != null) {
+                return copy.containsKey(key);
+            }
+            Integer slot = header.slots.get(key);
+            return slot != null && header.columns[slot] < values.length;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            if (copy != null) {
+                return copy.entrySet();
+            }
+            if (entries == null) {
+                entries = new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<String, Object>> iterator() {
+                        return new Iterator<>() {
+                            private int slot = advance(0);
+
+                            @Override
+                            public boolean hasNext() {
+                                return slot < header.names.length;
+                            }
+
+                            @Override
+                            public Entry<String, Object> next() {
+                                if (!hasNext()) {
+                                    throw new NoSuchElementException();
+                                }
+                                Entry<String, Object> entry = new SimpleImmutableEntry<>(
+                                        header.names[slot], values[header.columns[slot]]);
+                                slot = advance(slot + 1);
+                                return entry;
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        int size = 0;
+                        for (int column : header.columns) {
+                            if (column < values.length) {
+                                size++;
+                            }
+                        }
+                        return size;
+                    }
+                };
+            }
+            return entries;
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return copied().put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return copied().remove(key);
+        }
+
+        @Override
+        public void clear() {
+            copied().clear();
+        }
+
+        private Map<String, Object> copied() {
+            if (copy == null) {
+                copy = new LinkedHashMap<>(this);
+            }
+            return copy;
+        }
+
+        private int advance(int slot) {
+            while (slot < header.names.length && header.columns[slot] >= values.length) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.universal.reconciliation.service.ingestion;
 import com.universal.reconciliation.domain.enums.IngestionAdapterType;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Contract for pluggable ingestion adapters. Each adapter is responsible for
@@ -14,4 +15,13 @@ public interface IngestionAdapter {
     IngestionAdapterType getType();
 
     List<Map<String, Object>> readRecords(IngestionAdapterRequest request);
+
+    /**
+     * Streams raw records so large inputs can be ingested in bounded chunks. Callers must close the stream,
+     * which releases the underlying input. Adapters that read their whole input anyway keep the default,
+     * which streams the result of {@link #readRecords(IngestionAdapterRequest)}.
+     */
+    default Stream<Map<String, Object>> streamRecords(IngestionAdapterRequest request) {
+        return readRecords(request).stream();
+    }
 }
@@ -2,12 +2,26 @@ package com.universal.reconciliation.service.ingestion;
 
 import java.io.InputStream;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 
 /**
  * Wrapper for adapter-specific input. Using a supplier allows the adapter to
  * control resource lifecycle.
+ *
+ * <p>{@code requiredColumns} names every raw column the ingest may read, or is {@code null} when any column
+ * may be read. Columnar adapters use it to skip decoding the others; row adapters ignore it.</p>
  */
 public record IngestionAdapterRequest(
         Supplier<InputStream> inputStreamSupplier,
-        Map<String, Object> options) {}
+        Map<String, Object> options,
+        Set<String> requiredColumns) {
+
+    public IngestionAdapterRequest(Supplier<InputStream> inputStreamSupplier, Map<String, Object> options) {
+        this(inputStreamSupplier, options, null);
+    }
+
+    public IngestionAdapterRequest withRequiredColumns(Set<String> columns) {
+        return new IngestionAdapterRequest(inputStreamSupplier, options, columns == null ? null : Set.copyOf(columns));
+    }
+}
@@ -0,0 +1,18 @@
+package com.universal.reconciliation.service.ingestion;
+
+/**
+ * Observes an ingest as it reads and stages rows, so asynchronous ingests can report how far they have got.
+ */
+@FunctionalInterface
+public interface IngestionProgressListener {
+
+    IngestionProgressListener NONE = (rowsRead, rowsPersisted) -> {};
+
+    /**
+     * Called after each chunk is read and again once it is written.
+     *
+     * @param rowsRead      raw rows read from the adapter so far
+     * @param rowsPersisted staged records written so far
+     */
+    void progressed(long rowsRead, long rowsPersisted);
+}
@@ -0,0 +1,264 @@
+package com.universal.reconciliation.service.ingestion;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.universal.reconciliation.domain.enums.IngestionAdapterType;
+import com.universal.reconciliation.service.transform.TransformationEvaluationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * JSON Lines (NDJSON) ingestion adapter reading one record per top-level JSON value with Jackson's streaming
+ * parser, so no document tree is built. Numbers and booleans keep their JSON types: integers become
+ * {@link Integer}, {@link Long} or {@link java.math.BigInteger}, decimals become {@link java.math.BigDecimal}.
+ * Nested objects are flattened into dotted column names, arrays are kept as lists and {@code null} members are
+ * omitted.
+ *
+ * <p>The {@code recordPath} option (a JSON Pointer such as {@code /payload/trade}, or the dotted form
+ * {@code payload.trade}) selects the record inside each wrapper value; values without that path are skipped.
+ * When the selected value, or a top-level value, is an array, each object element becomes a record.</p>
+ */
+@Component
+public class JsonLinesIngestionAdapter implements IngestionAdapter {
+
+    static final String OPTION_RECORD_PATH = "recordPath";
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Override
+    public IngestionAdapterType getType() {
+        return IngestionAdapterType.JSON_LINES;
+    }
+
+    @Override
+    public List<Map<String, Object>> readRecords(IngestionAdapterRequest request) {
+        try (Stream<Map<String, Object>> rows = streamRecords(request)) {
+            return rows.collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    /**
+     * Parses records lazily as the stream is consumed; closing the stream closes the parser and input.
+     */
+    @Override
+    public Stream<Map<String, Object>> streamRecords(IngestionAdapterRequest request) {
+        List<String> recordPath = resolveRecordPath(request.options());
+        InputStream inputStream = request.inputStreamSupplier().get();
+        JsonParser parser;
+        try {
+            parser = jsonFactory.createParser(inputStream);
+        } catch (IOException | RuntimeException e) {
+            try {
+                inputStream.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw new TransformationEvaluationException("Failed to read JSON Lines payload", e);
+        }
+        return StreamSupport.stream(new JsonRecords(parser, recordPath), false).onClose(() -> {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to close JSON Lines input", e);
+            }
+        });
+    }
+
+    private List<String> resolveRecordPath(Map<String, Object> options) {
+        Object value = options == null ? null : options.get(OPTION_RECORD_PATH);
+        if (!(value instanceof String path) || !StringUtils.hasText(path)) {
+            return List.of();
+        }
+        List<String> segments = new ArrayList<>();
+        String trimmed = path.trim();
+        if (trimmed.startsWith("/")) {
+            for (JsonPointer pointer = JsonPointer.compile(trimmed); !pointer.matches(); pointer = pointer.tail()) {
+                segments.add(pointer.getMatchingProperty());
+            }
+        } else {
+            for (String segment : trimmed.split("\\.")) {
+                if (StringUtils.hasText(segment)) {
+                    segments.add(segment.trim());
+                }
+            }
+        }
+        return List.copyOf(segments);
+    }
+
+    /**
+     * Records of the payload, read one at a time; each top-level value is navigated along the record path,
+     * skipping sibling members without materialising them.
+     */
+    private static final class JsonRecords extends Spliterators.AbstractSpliterator<Map<String, Object>> {
+
+        private final JsonParser parser;
+        private final List<String> recordPath;
+        private boolean insideArray;
+
+        private JsonRecords(JsonParser parser, List<String> recordPath) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.parser = parser;
+            this.recordPath = recordPath;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map<String, Object>> action) {
+            try {
+                Map<String, Object> record = nextRecord();
+                if (record == null) {
+                    return false;
+                }
+                action.accept(record);
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to parse JSON Lines record near line "
+                        + parser.currentLocation().getLineNr(), e);
+            }
+        }
+
+        private Map<String, Object> nextRecord() throws IOException {
+            while (true) {
+                JsonToken token = parser.nextToken();
+                if (insideArray) {
+                    if (token == JsonToken.END_ARRAY) {
+                        insideArray = false;
+                        finishWrapper();
+                        continue;
+                    }
+                    if (token == JsonToken.START_OBJECT) {
+                        Map<String, Object> record = readObject();
+                        if (!record.isEmpty()) {
+                            return record;
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                    continue;
+                }
+                if (token == null) {
+                    return null;
+                }
+                if (!recordPath.isEmpty() && token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (!recordPath.isEmpty() && !navigate(0)) {
+                    continue;
+                }
+                token = parser.currentToken();
+                if (token == JsonToken.START_OBJECT) {
+                    Map<String, Object> record = readObject();
+                    finishWrapper();
+                    if (!record.isEmpty()) {
+                        return record;
+                    }
+                } else if (token == JsonToken.START_ARRAY) {
+                    insideArray = true;
+                } else {
+                    parser.skipChildren();
+                    finishWrapper();
+                }
+            }
+        }
+
+        /**
+         * Descends from the object at the current token to the member named by {@code recordPath[depth]}; on
+         * success the parser sits on that member's value. On failure the wrapper has been consumed entirely.
+         */
+        private boolean navigate(int depth) throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!name.equals(recordPath.get(depth))) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (depth + 1 == recordPath.size()) {
+                    return true;
+                }
+                if (value == JsonToken.START_OBJECT && navigate(depth + 1)) {
+                    return true;
+                }
+                parser.skipChildren();
+                skipRemainingMembers();
+                return false;
+            }
+            return false;
+        }
+
+        /** Consumes the members enclosing a record selected by the record path, once it has been read. */
+        private void finishWrapper() throws IOException {
+            for (int depth = 0; depth < recordPath.size(); depth++) {
+                skipRemainingMembers();
+            }
+        }
+
+        private void skipRemainingMembers() throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                parser.nextToken();
+                parser.skipChildren();
+            }
+        }
+
+        private Map<String, Object> readObject() throws IOException {
+            Map<String, Object> record = new LinkedHashMap<>();
+            readMembers(record, "");
+            return record;
+        }
+
+        private void readMembers(Map<String, Object> record, String prefix) throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = prefix + parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_OBJECT) {
+                    readMembers(record, name + ".");
+                } else {
+                    Object value = readValue(token);
+                    if (value != null) {
+                        record.put(name, value);
+                    }
+                }
+            }
+        }
+
+        private Object readValue(JsonToken token) throws IOException {
+            return switch (token) {
+                case VALUE_STRING -> parser.getText();
+                case VALUE_NUMBER_INT -> parser.getNumberValue();
+                case VALUE_NUMBER_FLOAT -> parser.getDecimalValue();
+                case VALUE_TRUE -> Boolean.TRUE;
+                case VALUE_FALSE -> Boolean.FALSE;
+                case START_ARRAY -> readArray();
+                case START_OBJECT -> {
+                    Map<String, Object> nested = new LinkedHashMap<>();
+                    readMembers(nested, "");
+                    yield nested;
+                }
+                default -> null;
+            };
+        }
+
+        private List<Object> readArray() throws IOException {
+            List<Object> values = new ArrayList<>();
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                values.add(readValue(token));
+            }
+            return values;
+        }
+    }
+}
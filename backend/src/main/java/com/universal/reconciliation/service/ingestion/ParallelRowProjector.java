@@ -0,0 +1,162 @@
+package com.universal.reconciliation.service.ingestion;
+
+import com.universal.reconciliation.config.IngestionProperties;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+
+/**
+ * Projects ingestion rows, optionally fanning a chunk out to a shared bounded worker pool as contiguous
+ * slices and concatenating the results back in input order. A failing row stops every slice that follows
+ * it; slices before it still finish, so the reported row is always the earliest failing one.
+ */
+@Component
+public class ParallelRowProjector {
+
+    /** Smallest slice worth handing to a worker. */
+    static final int MIN_SLICE_ROWS = 256;
+
+    private final IngestionProperties properties;
+    private ExecutorService workerPool;
+
+    public ParallelRowProjector(IngestionProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Applies {@code projector} to every row and returns the results in input order.
+     *
+     * @param firstRowNumber row number reported for the first element of {@code rows}
+     * @param parallelism maximum number of slices projected concurrently
+     * @throws IllegalArgumentException prefixed with the failing row number when a row cannot be projected
+     */
+    public <T> List<T> project(
+            List<Map<String, Object>> rows,
+            long firstRowNumber,
+            int parallelism,
+            Function<Map<String, Object>, T> projector) {
+        int slices = Math.min(parallelism, (rows.size() + MIN_SLICE_ROWS - 1) / MIN_SLICE_ROWS);
+        if (slices <= 1) {
+            try {
+                return projectSlice(rows, 0, rows.size(), firstRowNumber, projector, new AtomicLong(Long.MAX_VALUE));
+            } catch (RowFailure failure) {
+                throw failure.unwrap();
+            }
+        }
+        AtomicLong firstFailedRow = new AtomicLong(Long.MAX_VALUE);
+        int sliceSize = (rows.size() + slices - 1) / slices;
+        List<Future<List<T>>> futures = new ArrayList<>(slices);
+        for (int from = 0; from < rows.size(); from += sliceSize) {
+            int start = from;
+            int end = Math.min(rows.size(), from + sliceSize);
+            futures.add(workerPool().submit(
+                    () -> projectSlice(rows, start, end, firstRowNumber, projector, firstFailedRow)));
+        }
+        List<T> results = new ArrayList<>(rows.size());
+        RowFailure earliest = null;
+        for (Future<List<T>> future : futures) {
+            try {
+                List<T> slice = future.get();
+                if (earliest == null) {
+                    results.addAll(slice);
+                }
+            } catch (ExecutionException ex) {
+                RowFailure failure = ex.getCause() instanceof RowFailure rowFailure
+                        ? rowFailure
+                        : new RowFailure(-1, ex.getCause());
+                if (earliest == null || failure.rowNumber < earliest.rowNumber) {
+                    earliest = failure;
+                }
+            } catch (InterruptedException ex) {
+                futures.forEach(pending -> pending.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while projecting ingestion rows", ex);
+            }
+        }
+        if (earliest != null) {
+            throw earliest.unwrap();
+        }
+        return results;
+    }
+
+    private static <T> List<T> projectSlice(
+            List<Map<String, Object>> rows,
+            int from,
+            int to,
+            long firstRowNumber,
+            Function<Map<String, Object>, T> projector,
+            AtomicLong firstFailedRow) {
+        List<T> results = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            long rowNumber = firstRowNumber + index;
+            if (rowNumber > firstFailedRow.get()) {
+                break;
+            }
+            try {
+                results.add(projector.apply(rows.get(index)));
+            } catch (RuntimeException ex) {
+                firstFailedRow.accumulateAndGet(rowNumber, Math::min);
+                throw new RowFailure(rowNumber, ex);
+            }
+        }
+        return results;
+    }
+
+    private synchronized ExecutorService workerPool() {
+        if (workerPool == null) {
+            AtomicInteger threadIndex = new AtomicInteger();
+            workerPool = Executors.newFixedThreadPool(properties.getProjectionThreads(), runnable -> {
+                Thread thread = new Thread(runnable, "ingestion-projection-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return workerPool;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (workerPool != null) {
+            workerPool.shutdown();
+            workerPool = null;
+        }
+    }
+
+    /**
+     * Carries a row's failure, and its row number, out of a worker.
+     */
+    private static final class RowFailure extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long rowNumber;
+
+        private RowFailure(long rowNumber, Throwable cause) {
+            super(cause.getMessage(), cause, false, false);
+            this.rowNumber = rowNumber;
+        }
+
+        private RuntimeException unwrap() {
+            Throwable cause = getCause();
+            if (cause instanceof IllegalArgumentException && rowNumber > 0) {
+                return new IllegalArgumentException("Row " + rowNumber + ": " + cause.getMessage(), cause);
+            }
+            if (cause instanceof RuntimeException runtime) {
+                return runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            return new IllegalStateException(cause);
+        }
+    }
+}
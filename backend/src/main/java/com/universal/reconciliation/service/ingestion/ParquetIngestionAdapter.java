@@ -0,0 +1,440 @@
+package com.universal.reconciliation.service.ingestion;
+
+import com.universal.reconciliation.domain.enums.IngestionAdapterType;
+import com.universal.reconciliation.service.transform.TransformationEvaluationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.springframework.stereotype.Component;
+
+/**
+ * Apache Parquet ingestion adapter. The payload is copied to a temporary file, because the footer holding the
+ * schema and row-group index sits at its end, and rows are then read one row group at a time. When the request
+ * carries {@link IngestionAdapterRequest#requiredColumns() required columns}, only those columns are requested
+ * from the reader, so the pages of every other column are neither read nor decoded.
+ *
+ * <p>Logical types map to values canonical fields take without parsing: {@code DECIMAL} to {@link BigDecimal},
+ * {@code DATE} to {@link LocalDate}, {@code TIMESTAMP} and legacy {@code INT96} timestamps to UTC
+ * {@link LocalDateTime}, {@code TIME} to {@link LocalTime}, signed integers to {@link Integer} or {@link Long},
+ * unsigned 64-bit integers to {@link BigInteger}, and strings, enums, JSON and unannotated binaries to
+ * {@link String}. Nested groups flatten into dotted column names; repeated fields (lists and maps) are not
+ * read.</p>
+ */
+@Component
+public class ParquetIngestionAdapter implements IngestionAdapter {
+
+    private static final long JULIAN_DAY_OF_EPOCH = 2_440_588L;
+
+    @Override
+    public IngestionAdapterType getType() {
+        return IngestionAdapterType.PARQUET_FILE;
+    }
+
+    @Override
+    public List<Map<String, Object>> readRecords(IngestionAdapterRequest request) {
+        try (Stream<Map<String, Object>> rows = streamRecords(request)) {
+            return rows.collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    /**
+     * Reads row groups lazily as the stream is consumed; closing the stream closes the reader and deletes the
+     * temporary copy of the payload.
+     */
+    @Override
+    public Stream<Map<String, Object>> streamRecords(IngestionAdapterRequest request) {
+        Path file;
+        ParquetFileReader reader;
+        try {
+            file = Files.createTempFile("recon-parquet-", ".parquet");
+        } catch (IOException ex) {
+            throw new TransformationEvaluationException("Failed to read Parquet payload", ex);
+        }
+        try (InputStream input = request.inputStreamSupplier().get()) {
+            Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+            reader = ParquetFileReader.open(
+                    new LocalInputFile(file), ParquetReadOptions.builder(new PlainParquetConfiguration()).build());
+        } catch (IOException | RuntimeException ex) {
+            deleteQuietly(file, ex);
+            throw new TransformationEvaluationException("Failed to read Parquet payload", ex);
+        }
+        MessageType fileSchema = reader.getFooter().getFileMetaData().getSchema();
+        MessageType projection = project(fileSchema, request.requiredColumns());
+        reader.setRequestedSchema(projection);
+        Stream<Map<String, Object>> rows = projection.getFieldCount() == 0
+                ? Stream.empty()
+                : StreamSupport.stream(new ParquetRecords(reader, fileSchema, projection), false);
+        return rows.onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException ex) {
+                throw new IllegalStateException("Failed to close Parquet input", ex);
+            } finally {
+                deleteQuietly(file, null);
+            }
+        });
+    }
+
+    /**
+     * The file schema restricted to readable columns named in {@code requiredColumns}, or to every readable
+     * column when none is named or none of the named columns exists.
+     */
+    static MessageType project(MessageType fileSchema, Set<String> requiredColumns) {
+        List<Type> fields = new ArrayList<>();
+        for (Type field : fileSchema.getFields()) {
+            Type pruned = prune(field, "", requiredColumns);
+            if (pruned != null) {
+                fields.add(pruned);
+            }
+        }
+        if (fields.isEmpty() && requiredColumns != null) {
+            return project(fileSchema, null);
+        }
+        return new MessageType(fileSchema.getName(), fields);
+    }
+
+    private static Type prune(Type type, String prefix, Set<String> requiredColumns) {
+        if (type.isRepetition(Type.Repetition.REPEATED)) {
+            return null;
+        }
+        String name = prefix + type.getName();
+        if (type.isPrimitive()) {
+            return requiredColumns == null || requiredColumns.contains(name) ? type : null;
+        }
+        GroupType group = type.asGroupType();
+        List<Type> children = new ArrayList<>();
+        for (Type child : group.getFields()) {
+            Type pruned = prune(child, name + ".", requiredColumns);
+            if (pruned != null) {
+                children.add(pruned);
+            }
+        }
+        return children.isEmpty() ? null : group.withNewFields(children);
+    }
+
+    private static void deleteQuietly(Path file, Exception failure) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            if (failure != null) {
+                failure.addSuppressed(ex);
+            }
+        }
+    }
+
+    /** Rows of the projected columns, decoding the next row group when the current one is exhausted. */
+    private static final class ParquetRecords extends Spliterators.AbstractSpliterator<Map<String, Object>> {
+
+        private final ParquetFileReader reader;
+        private final MessageColumnIO columnIO;
+        private final RowMaterializer materializer;
+        private RecordReader<Map<String, Object>> rows;
+        private long remaining;
+
+        private ParquetRecords(ParquetFileReader reader, MessageType fileSchema, MessageType projection) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.reader = reader;
+            this.columnIO = new ColumnIOFactory().getColumnIO(projection, fileSchema);
+            this.materializer = new RowMaterializer(projection);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map<String, Object>> action) {
+            while (true) {
+                if (remaining == 0) {
+                    PageReadStore rowGroup;
+                    try {
+                        rowGroup = reader.readNextRowGroup();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException("Failed to read Parquet row group", ex);
+                    }
+                    if (rowGroup == null) {
+                        return false;
+                    }
+                    rows = columnIO.getRecordReader(rowGroup, materializer);
+                    remaining = rowGroup.getRowCount();
+                    continue;
+                }
+                remaining--;
+                Map<String, Object> row = rows.read();
+                if (row != null && !row.isEmpty()) {
+                    action.accept(row);
+                    return true;
+                }
+            }
+        }
+    }
+
+    /** Assembles each row into a map keyed by (dotted) column name, omitting null values. */
+    private static final class RowMaterializer extends RecordMaterializer<Map<String, Object>> {
+
+        private final GroupConverter root;
+        private final int columnCount;
+        private Map<String, Object> current;
+
+        private RowMaterializer(MessageType schema) {
+            this.columnCount = schema.getColumns().size();
+            this.root = new FieldsConverter(schema, "", true);
+        }
+
+        @Override
+        public Map<String, Object> getCurrentRecord() {
+            return current;
+        }
+
+        @Override
+        public GroupConverter getRootConverter() {
+            return root;
+        }
+
+        private final class FieldsConverter extends GroupConverter {
+
+            private final Converter[] fields;
+            private final boolean record;
+
+            private FieldsConverter(GroupType type, String prefix, boolean record) {
+                this.record = record;
+                this.fields = new Converter[type.getFieldCount()];
+                for (int index = 0; index < fields.length; index++) {
+                    Type field = type.getType(index);
+                    String name = prefix + field.getName();
+                    fields[index] = field.isPrimitive()
+                            ? new ColumnConverter(name, field.asPrimitiveType())
+                            : new FieldsConverter(field.asGroupType(), name + ".", false);
+                }
+            }
+
+            @Override
+            public Converter getConverter(int fieldIndex) {
+                return fields[fieldIndex];
+            }
+
+            @Override
+            public void start() {
+                if (record) {
+                    current = new LinkedHashMap<>(columnCount * 2);
+                }
+            }
+
+            @Override
+            public void end() {
+            }
+        }
+
+        /** Converts one column's values according to its physical and logical type. */
+        private final class ColumnConverter extends PrimitiveConverter {
+
+            private final String name;
+            private final PrimitiveType.PrimitiveTypeName physicalType;
+            private final ValueKind kind;
+            private final int scale;
+            private Object[] dictionary;
+
+            private ColumnConverter(String name, PrimitiveType type) {
+                this.name = name;
+                this.physicalType = type.getPrimitiveTypeName();
+                this.kind = ValueKind.of(type);
+                this.scale = type.getLogicalTypeAnnotation()
+                                instanceof LogicalTypeAnnotation.DecimalLogicalTypeAnnotation decimal
+                        ? decimal.getScale()
+                        : 0;
+            }
+
+            @Override
+            public void addBoolean(boolean value) {
+                current.put(name, value);
+            }
+
+            @Override
+            public void addInt(int value) {
+                current.put(name, fromInt(value));
+            }
+
+            @Override
+            public void addLong(long value) {
+                current.put(name, fromLong(value));
+            }
+
+            @Override
+            public void addFloat(float value) {
+                current.put(name, value);
+            }
+
+            @Override
+            public void addDouble(double value) {
+                current.put(name, value);
+            }
+
+            @Override
+            public void addBinary(Binary value) {
+                current.put(name, fromBinary(value));
+            }
+
+            @Override
+            public boolean hasDictionarySupport() {
+                return true;
+            }
+
+            /** Converts each dictionary entry once, so dictionary-encoded pages cost one lookup per value. */
+            @Override
+            public void setDictionary(Dictionary entries) {
+                dictionary = new Object[entries.getMaxId() + 1];
+                for (int id = 0; id < dictionary.length; id++) {
+                    dictionary[id] = switch (physicalType) {
+                        case INT32 -> fromInt(entries.decodeToInt(id));
+                        case INT64 -> fromLong(entries.decodeToLong(id));
+                        case FLOAT -> entries.decodeToFloat(id);
+                        case DOUBLE -> entries.decodeToDouble(id);
+                        case BOOLEAN -> entries.decodeToBoolean(id);
+                        default -> fromBinary(entries.decodeToBinary(id));
+                    };
+                }
+            }
+
+            @Override
+            public void addValueFromDictionary(int dictionaryId) {
+                current.put(name, dictionary[dictionaryId]);
+            }
+
+            private Object fromInt(int value) {
+                return switch (kind) {
+                    case DATE -> LocalDate.ofEpochDay(value);
+                    case DECIMAL -> BigDecimal.valueOf(value, scale);
+                    case UNSIGNED -> Integer.toUnsignedLong(value);
+                    case TIME_MILLIS -> LocalTime.ofNanoOfDay(value * 1_000_000L);
+                    default -> value;
+                };
+            }
+
+            private Object fromLong(long value) {
+                return switch (kind) {
+                    case DECIMAL -> BigDecimal.valueOf(value, scale);
+                    case UNSIGNED -> new BigInteger(Long.toUnsignedString(value));
+                    case TIME_MICROS -> LocalTime.ofNanoOfDay(value * 1_000L);
+                    case TIME_NANOS -> LocalTime.ofNanoOfDay(value);
+                    case TIMESTAMP_MILLIS -> timestamp(value, 1_000L);
+                    case TIMESTAMP_MICROS -> timestamp(value, 1_000_000L);
+                    case TIMESTAMP_NANOS -> timestamp(value, 1_000_000_000L);
+                    default -> value;
+                };
+            }
+
+            private Object fromBinary(Binary value) {
+                return switch (kind) {
+                    case DECIMAL -> new BigDecimal(new BigInteger(value.getBytes()), scale);
+                    case UUID_BYTES -> {
+                        ByteBuffer bytes = value.toByteBuffer();
+                        yield new UUID(bytes.getLong(bytes.position()), bytes.getLong(bytes.position() + 8)).toString();
+                    }
+                    case INT96_TIMESTAMP -> {
+                        ByteBuffer bytes = value.toByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+                        long nanosOfDay = bytes.getLong(bytes.position());
+                        long julianDay = bytes.getInt(bytes.position() + 8);
+                        yield LocalDate.ofEpochDay(julianDay - JULIAN_DAY_OF_EPOCH).atStartOfDay().plusNanos(nanosOfDay);
+                    }
+                    default -> value.toStringUsingUTF8();
+                };
+            }
+
+            private LocalDateTime timestamp(long value, long unitsPerSecond) {
+                long nanosPerUnit = 1_000_000_000L / unitsPerSecond;
+                return LocalDateTime.ofEpochSecond(
+                        Math.floorDiv(value, unitsPerSecond),
+                        (int) (Math.floorMod(value, unitsPerSecond) * nanosPerUnit),
+                        ZoneOffset.UTC);
+            }
+        }
+    }
+
+    /** How a column's physical values convert, derived from its logical type annotation. */
+    private enum ValueKind {
+        PLAIN,
+        DECIMAL,
+        DATE,
+        UNSIGNED,
+        TIME_MILLIS,
+        TIME_MICROS,
+        TIME_NANOS,
+        TIMESTAMP_MILLIS,
+        TIMESTAMP_MICROS,
+        TIMESTAMP_NANOS,
+        INT96_TIMESTAMP,
+        UUID_BYTES;
+
+        private static ValueKind of(PrimitiveType type) {
+            if (type.getPrimitiveTypeName() == PrimitiveType.PrimitiveTypeName.INT96) {
+                return INT96_TIMESTAMP;
+            }
+            LogicalTypeAnnotation annotation = type.getLogicalTypeAnnotation();
+            if (annotation instanceof LogicalTypeAnnotation.DecimalLogicalTypeAnnotation) {
+                return DECIMAL;
+            }
+            if (annotation instanceof LogicalTypeAnnotation.DateLogicalTypeAnnotation) {
+                return DATE;
+            }
+            if (annotation instanceof LogicalTypeAnnotation.IntLogicalTypeAnnotation integer && !integer.isSigned()) {
+                return UNSIGNED;
+            }
+            if (annotation instanceof LogicalTypeAnnotation.UUIDLogicalTypeAnnotation) {
+                return UUID_BYTES;
+            }
+            if (annotation instanceof LogicalTypeAnnotation.TimeLogicalTypeAnnotation time) {
+                return switch (time.getUnit()) {
+                    case MILLIS -> TIME_MILLIS;
+                    case MICROS -> TIME_MICROS;
+                    case NANOS -> TIME_NANOS;
+                };
+            }
+            if (annotation instanceof LogicalTypeAnnotation.TimestampLogicalTypeAnnotation timestamp) {
+                return switch (timestamp.getUnit()) {
+                    case MILLIS -> TIMESTAMP_MILLIS;
+                    case MICROS -> TIMESTAMP_MICROS;
+                    case NANOS -> TIMESTAMP_NANOS;
+                };
+            }
+            return PLAIN;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.universal.reconciliation.service.ingestion;
+
+import com.github.luben.zstd.ZstdInputStreamNoFinalizer;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decompresses uploaded payloads while they are read, so adapters always see the plain file. The encoding is
+ * taken from the upload's {@code Content-Encoding} ({@code gzip}, {@code x-gzip}, {@code zstd} or
+ * {@code identity}); when none is declared, gzip and zstd payloads are recognised by their magic bytes and
+ * anything else is passed through unchanged.
+ */
+public final class PayloadDecompression {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] GZIP_MAGIC = {(byte) 0x1f, (byte) 0x8b};
+    private static final byte[] ZSTD_MAGIC = {(byte) 0x28, (byte) 0xb5, (byte) 0x2f, (byte) 0xfd};
+
+    private PayloadDecompression() {}
+
+    /**
+     * Wraps {@code input} in a streaming decoder for its encoding. Closing the returned stream closes
+     * {@code input}.
+     *
+     * @throws IllegalArgumentException when {@code contentEncoding} names an unsupported encoding
+     */
+    public static InputStream decode(InputStream input, String contentEncoding) throws IOException {
+        return switch (requireSupported(contentEncoding)) {
+            case "identity" -> input;
+            case "gzip", "x-gzip" -> gzip(input);
+            case "zstd" -> zstd(input);
+            default -> sniff(new BufferedInputStream(input, BUFFER_SIZE));
+        };
+    }
+
+    /**
+     * Normalises {@code contentEncoding} to lower case, or to the empty string when none is declared, so uploads
+     * can be rejected before their payload is read.
+     *
+     * @throws IllegalArgumentException when {@code contentEncoding} names an unsupported encoding
+     */
+    public static String requireSupported(String contentEncoding) {
+        String encoding = contentEncoding == null ? "" : contentEncoding.trim().toLowerCase(Locale.ROOT);
+        return switch (encoding) {
+            case "", "identity", "gzip", "x-gzip", "zstd" -> encoding;
+            default -> throw new IllegalArgumentException("Unsupported content encoding: " + contentEncoding);
+        };
+    }
+
+    private static InputStream sniff(BufferedInputStream input) throws IOException {
+        input.mark(ZSTD_MAGIC.length);
+        byte[] head = input.readNBytes(ZSTD_MAGIC.length);
+        input.reset();
+        if (startsWith(head, ZSTD_MAGIC)) {
+            return zstd(input);
+        }
+        if (startsWith(head, GZIP_MAGIC)) {
+            return gzip(input);
+        }
+        return input;
+    }
+
+    private static InputStream gzip(InputStream input) throws IOException {
+        try {
+            return new GZIPInputStream(input, BUFFER_SIZE);
+        } catch (IOException | RuntimeException ex) {
+            closeAfterFailure(input, ex);
+            throw ex;
+        }
+    }
+
+    private static InputStream zstd(InputStream input) throws IOException {
+        try {
+            return new BufferedInputStream(new ZstdInputStreamNoFinalizer(input), BUFFER_SIZE);
+        } catch (IOException | RuntimeException ex) {
+            closeAfterFailure(input, ex);
+            throw ex;
+        }
+    }
+
+    private static boolean startsWith(byte[] head, byte[] magic) {
+        if (head.length < magic.length) {
+            return false;
+        }
+        for (int index = 0; index < magic.length; index++) {
+            if (head[index] != magic[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void closeAfterFailure(InputStream input, Exception failure) {
+        try {
+            input.close();
+        } catch (IOException closeFailure) {
+            failure.addSuppressed(closeFailure);
+        }
+    }
+}
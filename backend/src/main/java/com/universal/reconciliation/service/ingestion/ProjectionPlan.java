@@ -0,0 +1,316 @@
+package com.universal.reconciliation.service.ingestion;
+
+import com.universal.reconciliation.domain.entity.CanonicalField;
+import com.universal.reconciliation.domain.entity.CanonicalFieldMapping;
+import com.universal.reconciliation.domain.enums.FieldDataType;
+import com.universal.reconciliation.domain.enums.FieldRole;
+import com.universal.reconciliation.service.matching.ComparisonPlan;
+import com.universal.reconciliation.service.transform.DataTransformationService;
+import com.universal.reconciliation.service.transform.TransformationChain;
+import com.universal.reconciliation.service.transform.TransformationEvaluationException;
+import com.universal.reconciliation.util.ParsingUtils;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.util.StringUtils;
+
+/**
+ * Projection of raw rows onto a definition's canonical fields, compiled once per ingest. Each field's
+ * mapping, default value, active transformation chain, date formatters and target type are resolved up
+ * front, so projecting a row is a single pass over pre-built field projections.
+ */
+public final class ProjectionPlan {
+
+    private final FieldProjection[] fields;
+    private final String[] keyNames;
+    private final ComparisonPlan comparisonPlan;
+
+    private ProjectionPlan(FieldProjection[] fields, String[] keyNames, ComparisonPlan comparisonPlan) {
+        this.fields = fields;
+        this.keyNames = keyNames;
+        this.comparisonPlan = comparisonPlan;
+    }
+
+    /**
+     * Compiles the projection for {@code canonicalFields}, in display order, using each field's mapping
+     * from {@code mappingByFieldId}. Fields without a mapping project to {@code null}.
+     */
+    public static ProjectionPlan compile(
+            List<CanonicalField> canonicalFields,
+            Map<Long, CanonicalFieldMapping> mappingByFieldId,
+            DataTransformationService transformationService) {
+        FieldProjection[] fields = new FieldProjection[canonicalFields.size()];
+        for (int index = 0; index < fields.length; index++) {
+            CanonicalField field = canonicalFields.get(index);
+            CanonicalFieldMapping mapping = mappingByFieldId.get(field.getId());
+            fields[index] = new FieldProjection(
+                    field,
+                    mapping,
+                    mapping != null ? transformationService.compile(mapping) : null,
+                    mapping != null ? DateNormaliser.of(mapping, field) : null);
+        }
+        String[] keyNames = canonicalFields.stream()
+                .filter(field -> FieldRole.KEY.equals(field.getRole()))
+                .map(CanonicalField::getCanonicalName)
+                .toArray(String[]::new);
+        ComparisonPlan comparisonPlan = ComparisonPlan.compile(canonicalFields.stream()
+                .filter(field -> FieldRole.COMPARE.equals(field.getRole()))
+                .toList());
+        return new ProjectionPlan(fields, keyNames, comparisonPlan);
+    }
+
+    /**
+     * Projects a raw row onto the canonical fields.
+     *
+     * @throws IllegalArgumentException when a value cannot be transformed, parsed or is required but missing
+     */
+    public Map<String, Object> project(Map<String, Object> rawRecord) {
+        Map<String, Object> payload = new LinkedHashMap<>(fields.length * 2);
+        for (FieldProjection field : fields) {
+            payload.put(field.name, field.project(rawRecord));
+        }
+        return payload;
+    }
+
+    /**
+     * Joins the key field values of a projected payload with {@code |}.
+     */
+    public String canonicalKey(Map<String, Object> payload) {
+        if (keyNames.length == 1) {
+            return stringValue(payload.get(keyNames[0]));
+        }
+        StringBuilder key = new StringBuilder();
+        for (int index = 0; index < keyNames.length; index++) {
+            if (index > 0) {
+                key.append('|');
+            }
+            key.append(stringValue(payload.get(keyNames[index])));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Resolve the external reference identifier for a raw record.
+     *
+     * <p>The plan first prefers the value of the first configured {@link FieldRole#KEY}
+     * field after canonical transformation. If that field is null, it falls back to a
+     * raw column literally named {@code externalReference}.</p>
+     */
+    public String externalReference(Map<String, Object> payload, Map<String, Object> rawRecord) {
+        if (keyNames.length > 0) {
+            Object value = payload.get(keyNames[0]);
+            if (value != null) {
+                return value.toString();
+            }
+        }
+        Object candidate = rawRecord.get("externalReference");
+        return candidate != null ? candidate.toString() : null;
+    }
+
+    /**
+     * Raw columns the projection reads: each mapped source column plus {@code externalReference}. Empty when
+     * a mapping has active transformations, since Groovy, Excel formula and pipeline rules may read any column.
+     */
+    public Optional<Set<String>> sourceColumns() {
+        Set<String> columns = new LinkedHashSet<>();
+        for (FieldProjection field : fields) {
+            if (field.transformations == null) {
+                continue;
+            }
+            if (!field.transformations.isEmpty()) {
+                return Optional.empty();
+            }
+            if (field.sourceColumn != null) {
+                columns.add(field.sourceColumn);
+            }
+        }
+        columns.add("externalReference");
+        return Optional.of(columns);
+    }
+
+    public ComparisonPlan comparisonPlan() {
+        return comparisonPlan;
+    }
+
+    private static String stringValue(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static final class FieldProjection {
+
+        private final String name;
+        private final FieldDataType dataType;
+        private final boolean required;
+        private final String sourceColumn;
+        private final String defaultValue;
+        private final TransformationChain transformations;
+        private final DateNormaliser dateNormaliser;
+
+        private FieldProjection(
+                CanonicalField field,
+                CanonicalFieldMapping mapping,
+                TransformationChain transformations,
+                DateNormaliser dateNormaliser) {
+            this.name = field.getCanonicalName();
+            this.dataType = field.getDataType();
+            this.required = field.isRequired();
+            this.sourceColumn = mapping != null ? mapping.getSourceColumn() : null;
+            this.defaultValue = mapping != null ? mapping.getDefaultValue() : null;
+            this.transformations = transformations;
+            this.dateNormaliser = dateNormaliser;
+        }
+
+        private Object project(Map<String, Object> rawRecord) {
+            Object rawValue = null;
+            if (transformations != null) {
+                rawValue = rawRecord.get(sourceColumn);
+                if (defaultValue != null
+                        && (rawValue == null || (rawValue instanceof String str && !StringUtils.hasText(str)))) {
+                    rawValue = defaultValue;
+                }
+                if (!transformations.isEmpty()) {
+                    try {
+                        rawValue = transformations.apply(rawValue, rawRecord);
+                    } catch (TransformationEvaluationException ex) {
+                        throw new IllegalArgumentException(
+                                "Transformation failed for field " + name + ": " + ex.getMessage(), ex);
+                    }
+                }
+                if (dateNormaliser != null && rawValue != null && !(rawValue instanceof Temporal)) {
+                    rawValue = dateNormaliser.normalise(rawValue, name);
+                }
+            }
+            return convert(rawValue);
+        }
+
+        private Object convert(Object rawValue) {
+            if (rawValue == null) {
+                if (required) {
+                    throw new IllegalArgumentException("Missing required value for canonical field " + name);
+                }
+                return null;
+            }
+            if (rawValue instanceof String rawString) {
+                if (!StringUtils.hasText(rawString)) {
+                    return null;
+                }
+                rawValue = rawString.trim();
+            }
+            return switch (dataType) {
+                case STRING -> rawValue.toString();
+                case DECIMAL, INTEGER -> toBigDecimal(rawValue);
+                case DATE -> rawValue instanceof LocalDate date
+                        ? date
+                        : rawValue instanceof LocalDateTime dateTime ? dateTime.toLocalDate() : parseDate(rawValue.toString());
+                case DATETIME -> rawValue instanceof LocalDateTime dateTime
+                        ? dateTime
+                        : rawValue instanceof LocalDate date ? date.atStartOfDay() : parseDateTime(rawValue.toString());
+                case BOOLEAN -> ParsingUtils.parseFlexibleBoolean(rawValue);
+            };
+        }
+
+        /** Typed values from columnar and JSON adapters convert without a round trip through text. */
+        private static BigDecimal toBigDecimal(Object value) {
+            if (value instanceof BigDecimal decimal) {
+                return decimal;
+            }
+            if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                return BigDecimal.valueOf(((Number) value).longValue());
+            }
+            if (value instanceof BigInteger integer) {
+                return new BigDecimal(integer);
+            }
+            return new BigDecimal(value.toString());
+        }
+
+        private static LocalDate parseDate(String value) {
+            try {
+                return LocalDate.parse(value, DateTimeFormatter.ISO_LOCAL_DATE);
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException("Unable to parse date value: " + value, ex);
+            }
+        }
+
+        private static LocalDateTime parseDateTime(String value) {
+            try {
+                return LocalDateTime.parse(value, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException("Unable to parse datetime value: " + value, ex);
+            }
+        }
+    }
+
+    /**
+     * Re-formats DATE and DATETIME values from a mapping's source format into its target format (ISO by
+     * default). An invalid pattern is reported when the first value is normalised, as before compilation.
+     */
+    private static final class DateNormaliser {
+
+        private final boolean dateTime;
+        private final String sourceFormat;
+        private final DateTimeFormatter input;
+        private final DateTimeFormatter output;
+        private final IllegalArgumentException invalidPattern;
+
+        private DateNormaliser(boolean dateTime, String sourceFormat, String targetFormat) {
+            this.dateTime = dateTime;
+            this.sourceFormat = sourceFormat;
+            DateTimeFormatter parsedInput = null;
+            DateTimeFormatter parsedOutput = null;
+            IllegalArgumentException failure = null;
+            try {
+                parsedInput = DateTimeFormatter.ofPattern(sourceFormat);
+                parsedOutput = StringUtils.hasText(targetFormat)
+                        ? DateTimeFormatter.ofPattern(targetFormat)
+                        : dateTime ? DateTimeFormatter.ISO_LOCAL_DATE_TIME : DateTimeFormatter.ISO_LOCAL_DATE;
+            } catch (IllegalArgumentException ex) {
+                failure = ex;
+            }
+            this.input = parsedInput;
+            this.output = parsedOutput;
+            this.invalidPattern = failure;
+        }
+
+        private static DateNormaliser of(CanonicalFieldMapping mapping, CanonicalField field) {
+            if (!StringUtils.hasText(mapping.getSourceDateFormat())) {
+                return null;
+            }
+            FieldDataType dataType = field.getDataType();
+            if (dataType != FieldDataType.DATE && dataType != FieldDataType.DATETIME) {
+                return null;
+            }
+            return new DateNormaliser(
+                    dataType == FieldDataType.DATETIME, mapping.getSourceDateFormat(), mapping.getTargetDateFormat());
+        }
+
+        private Object normalise(Object rawValue, String fieldName) {
+            if (invalidPattern != null) {
+                throw invalidPattern;
+            }
+            try {
+                return dateTime
+                        ? LocalDateTime.parse(rawValue.toString(), input).format(output)
+                        : LocalDate.parse(rawValue.toString(), input).format(output);
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException(
+                        "Unable to normalise date value '"
+                                + rawValue
+                                + "' for field "
+                                + fieldName
+                                + " using format "
+                                + sourceFormat,
+                        ex);
+            }
+        }
+    }
+}
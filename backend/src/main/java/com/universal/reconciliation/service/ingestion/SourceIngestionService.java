@@ -2,42 +2,42 @@ package com.universal.reconciliation.service.ingestion;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.config.IngestionProperties;
 import com.universal.reconciliation.domain.entity.CanonicalField;
 import com.universal.reconciliation.domain.entity.CanonicalFieldMapping;
 import com.universal.reconciliation.domain.entity.ReconciliationDefinition;
 import com.universal.reconciliation.domain.entity.ReconciliationSource;
 import com.universal.reconciliation.domain.entity.SourceDataBatch;
-import com.universal.reconciliation.domain.entity.SourceDataRecord;
 import com.universal.reconciliation.domain.enums.DataBatchStatus;
-import com.universal.reconciliation.domain.enums.FieldDataType;
-import com.universal.reconciliation.domain.enums.FieldRole;
 import com.universal.reconciliation.domain.enums.IngestionAdapterType;
+import com.universal.reconciliation.domain.transform.SourceTransformationPlan;
 import com.universal.reconciliation.repository.CanonicalFieldMappingRepository;
 import com.universal.reconciliation.repository.CanonicalFieldRepository;
 import com.universal.reconciliation.repository.ReconciliationSourceRepository;
 import com.universal.reconciliation.repository.SourceDataBatchRepository;
-import com.universal.reconciliation.repository.SourceDataRecordRepository;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import com.universal.reconciliation.service.matching.ComparisonPlan;
 import com.universal.reconciliation.service.transform.DataTransformationService;
 import com.universal.reconciliation.service.transform.SourceTransformationPlanMapper;
 import com.universal.reconciliation.service.transform.SourceTransformationPlanProcessor;
-import com.universal.reconciliation.service.transform.TransformationEvaluationException;
-import com.universal.reconciliation.util.ParsingUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -53,34 +53,40 @@ public class SourceIngestionService {
     private final CanonicalFieldRepository canonicalFieldRepository;
     private final CanonicalFieldMappingRepository mappingRepository;
     private final SourceDataBatchRepository batchRepository;
-    private final SourceDataRecordRepository recordRepository;
+    private final SourceRecordBulkWriter recordWriter;
     private final Map<IngestionAdapterType, IngestionAdapter> adapters;
     private final ObjectMapper objectMapper;
     private final DataTransformationService transformationService;
     private final SourceTransformationPlanMapper transformationPlanMapper;
     private final SourceTransformationPlanProcessor transformationPlanProcessor;
+    private final IngestionProperties ingestionProperties;
+    private final ParallelRowProjector rowProjector;
 
     public SourceIngestionService(
             ReconciliationSourceRepository sourceRepository,
             CanonicalFieldRepository canonicalFieldRepository,
             CanonicalFieldMappingRepository mappingRepository,
             SourceDataBatchRepository batchRepository,
-            SourceDataRecordRepository recordRepository,
+            SourceRecordBulkWriter recordWriter,
             List<IngestionAdapter> adapters,
             ObjectMapper objectMapper,
             DataTransformationService transformationService,
             SourceTransformationPlanMapper transformationPlanMapper,
-            SourceTransformationPlanProcessor transformationPlanProcessor) {
+            SourceTransformationPlanProcessor transformationPlanProcessor,
+            IngestionProperties ingestionProperties,
+            ParallelRowProjector rowProjector) {
         this.sourceRepository = sourceRepository;
         this.canonicalFieldRepository = canonicalFieldRepository;
         this.mappingRepository = mappingRepository;
         this.batchRepository = batchRepository;
-        this.recordRepository = recordRepository;
+        this.recordWriter = recordWriter;
         this.adapters = adapters.stream().collect(Collectors.toMap(IngestionAdapter::getType, Function.identity()));
         this.objectMapper = objectMapper;
         this.transformationService = transformationService;
         this.transformationPlanMapper = transformationPlanMapper;
         this.transformationPlanProcessor = transformationPlanProcessor;
+        this.ingestionProperties = ingestionProperties;
+        this.rowProjector = rowProjector;
     }
 
     @Transactional
@@ -89,6 +95,21 @@ public class SourceIngestionService {
             String sourceCode,
             IngestionAdapterType adapterType,
             IngestionAdapterRequest request) {
+        SourceDataBatch batch = openBatch(definition, sourceCode, adapterType, request);
+        return load(batch, request, IngestionProgressListener.NONE);
+    }
+
+    /**
+     * Records a {@link DataBatchStatus#LOADING} batch for the source without reading the payload, so an
+     * asynchronous ingest can hand out its id before {@link #load(Long, IngestionAdapterRequest,
+     * IngestionProgressListener) loading} it.
+     */
+    @Transactional
+    public SourceDataBatch openBatch(
+            ReconciliationDefinition definition,
+            String sourceCode,
+            IngestionAdapterType adapterType,
+            IngestionAdapterRequest request) {
         ReconciliationSource source = sourceRepository
                 .findByDefinitionAndCode(definition, sourceCode)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown source code " + sourceCode));
@@ -96,200 +117,183 @@ public class SourceIngestionService {
             throw new IllegalArgumentException(
                     "Configured adapter " + source.getAdapterType() + " does not match requested type " + adapterType);
         }
-
-        IngestionAdapter adapter = Optional.ofNullable(adapters.get(adapterType))
-                .orElseThrow(() -> new IllegalStateException("No adapter registered for " + adapterType));
-
-        List<Map<String, Object>> rawRecords = adapter.readRecords(request);
-        var transformationPlan = transformationPlanMapper.deserialize(source.getTransformationPlan()).orElse(null);
-        List<Map<String, Object>> preparedRecords = transformationPlanProcessor.apply(transformationPlan, rawRecords);
-        List<CanonicalField> canonicalFields = canonicalFieldRepository.findByDefinitionOrderByDisplayOrderAsc(definition);
-        Map<Long, CanonicalFieldMapping> mappingByFieldId = mappingRepository.findBySource(source).stream()
-                .collect(Collectors.toMap(mapping -> mapping.getCanonicalField().getId(), Function.identity()));
+        adapter(adapterType);
 
         SourceDataBatch batch = new SourceDataBatch();
         batch.setSource(source);
         batch.setStatus(DataBatchStatus.LOADING);
         batch.setLabel(resolveBatchLabel(request));
-        batch = batchRepository.save(batch);
-
-        List<CanonicalField> keyFields = canonicalFields.stream()
-                .filter(field -> FieldRole.KEY.equals(field.getRole()))
-                .toList();
-
-        List<SourceDataRecord> records = new ArrayList<>();
-        for (Map<String, Object> rawRecord : preparedRecords) {
-            Map<String, Object> canonicalPayload = projectRecord(canonicalFields, mappingByFieldId, rawRecord);
-            String canonicalKey = buildCanonicalKey(keyFields, canonicalPayload);
+        return batchRepository.save(batch);
+    }
 
-            SourceDataRecord record = new SourceDataRecord();
-            record.setBatch(batch);
-            record.setCanonicalKey(canonicalKey);
-            record.setExternalReference(resolveExternalReference(keyFields, canonicalPayload, rawRecord));
-            record.setPayloadJson(writeJson(canonicalPayload));
-            record.setMetadataJson(writeJson(rawRecord));
-            records.add(record);
+    /**
+     * Reads, transforms and stages the payload of a batch opened by {@link #openBatch}, completing it. The load
+     * is one transaction, so the batch's record count is only written on completion; {@code listener} receives
+     * the running counts.
+     */
+    @Transactional
+    public SourceDataBatch load(Long batchId, IngestionAdapterRequest request, IngestionProgressListener listener) {
+        SourceDataBatch batch = batchRepository.findById(batchId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown batch " + batchId));
+        if (batch.getStatus() != DataBatchStatus.LOADING) {
+            throw new IllegalStateException("Batch " + batchId + " is " + batch.getStatus() + ", not LOADING");
         }
-
-        recordRepository.saveAll(records);
-
-        batch.setStatus(DataBatchStatus.COMPLETE);
-        batch.setRecordCount((long) records.size());
-        batch.setChecksum(UUID.randomUUID().toString());
-        batch = batchRepository.save(batch);
-        source.getBatches().add(batch);
-        return batch;
+        return load(batch, request, listener);
     }
 
-    private String resolveBatchLabel(IngestionAdapterRequest request) {
-        if (request.options() == null) {
-            return "batch-" + Instant.now();
-        }
-        Object label = request.options().get("label");
-        if (label instanceof String text && StringUtils.hasText(text)) {
-            return text;
-        }
-        return "batch-" + Instant.now();
+    @Transactional
+    public void markFailed(Long batchId) {
+        batchRepository.findById(batchId).ifPresent(batch -> {
+            batch.setStatus(DataBatchStatus.FAILED);
+            batchRepository.save(batch);
+        });
     }
 
-    private Map<String, Object> projectRecord(
-            List<CanonicalField> canonicalFields,
-            Map<Long, CanonicalFieldMapping> mappingByFieldId,
-            Map<String, Object> rawRecord) {
-        Map<String, Object> payload = new LinkedHashMap<>();
-        for (CanonicalField field : canonicalFields) {
-            CanonicalFieldMapping mapping = mappingByFieldId.get(field.getId());
-            Object rawValue = null;
-            if (mapping != null) {
-                rawValue = rawRecord.get(mapping.getSourceColumn());
-                if ((rawValue == null || (rawValue instanceof String str && !StringUtils.hasText(str)))
-                        && mapping.getDefaultValue() != null) {
-                    rawValue = mapping.getDefaultValue();
-                }
-                try {
-                    rawValue = transformationService.applyTransformations(mapping, rawValue, rawRecord);
-                } catch (TransformationEvaluationException ex) {
-                    throw new IllegalArgumentException(
-                            "Transformation failed for field " + field.getCanonicalName() + ": " + ex.getMessage(), ex);
-                }
-                rawValue = normalizeDateWithMapping(rawValue, mapping, field);
+    /**
+     * Marks batches still {@link DataBatchStatus#LOADING}, other than {@code live}, as
+     * {@link DataBatchStatus#FAILED}; used at startup for loads a previous process did not finish.
+     *
+     * @return the ids of the failed batches
+     */
+    @Transactional
+    public List<Long> failLoadingBatchesExcept(Set<Long> live) {
+        List<Long> failed = new ArrayList<>();
+        for (SourceDataBatch batch : batchRepository.findByStatus(DataBatchStatus.LOADING)) {
+            if (live.contains(batch.getId())) {
+                continue;
             }
-            Object normalised = convert(rawValue, field);
-            payload.put(field.getCanonicalName(), normalised);
+            batch.setStatus(DataBatchStatus.FAILED);
+            failed.add(batch.getId());
         }
-        return payload;
+        return failed;
     }
 
-    private Object normalizeDateWithMapping(Object rawValue, CanonicalFieldMapping mapping, CanonicalField field) {
-        if (rawValue == null || mapping == null) {
-            return rawValue;
-        }
-        if (!StringUtils.hasText(mapping.getSourceDateFormat())) {
-            return rawValue;
-        }
-        FieldDataType dataType = field.getDataType();
-        String sourceFormat = mapping.getSourceDateFormat();
-        try {
-            if (dataType == FieldDataType.DATE) {
-                DateTimeFormatter input = DateTimeFormatter.ofPattern(sourceFormat);
-                DateTimeFormatter output = StringUtils.hasText(mapping.getTargetDateFormat())
-                        ? DateTimeFormatter.ofPattern(mapping.getTargetDateFormat())
-                        : DateTimeFormatter.ISO_LOCAL_DATE;
-                LocalDate parsed = LocalDate.parse(rawValue.toString(), input);
-                return parsed.format(output);
-            }
-            if (dataType == FieldDataType.DATETIME) {
-                DateTimeFormatter input = DateTimeFormatter.ofPattern(sourceFormat);
-                DateTimeFormatter output = StringUtils.hasText(mapping.getTargetDateFormat())
-                        ? DateTimeFormatter.ofPattern(mapping.getTargetDateFormat())
-                        : DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-                LocalDateTime parsed = LocalDateTime.parse(rawValue.toString(), input);
-                return parsed.format(output);
-            }
-        } catch (DateTimeParseException ex) {
-            throw new IllegalArgumentException(
-                    "Unable to normalise date value '"
-                            + rawValue
-                            + "' for field "
-                            + field.getCanonicalName()
-                            + " using format "
-                            + sourceFormat,
-                    ex);
-        }
-        return rawValue;
+    /**
+     * @return the batch when it belongs to {@code sourceCode} of the definition
+     */
+    @Transactional(readOnly = true)
+    public Optional<SourceDataBatch> findBatch(Long definitionId, String sourceCode, Long batchId) {
+        return batchRepository.findById(batchId).filter(batch -> {
+            ReconciliationSource source = batch.getSource();
+            return source.getCode().equals(sourceCode) && source.getDefinition().getId().equals(definitionId);
+        });
     }
 
-    private Object convert(Object rawValue, CanonicalField field) {
-        if (rawValue == null) {
-            if (field.isRequired()) {
-                throw new IllegalArgumentException(
-                        "Missing required value for canonical field " + field.getCanonicalName());
-            }
-            return null;
-        }
-        if (rawValue instanceof String rawString) {
-            if (!StringUtils.hasText(rawString)) {
-                return null;
+    private SourceDataBatch load(
+            SourceDataBatch batch, IngestionAdapterRequest request, IngestionProgressListener listener) {
+        ReconciliationSource source = batch.getSource();
+        ReconciliationDefinition definition = source.getDefinition();
+        IngestionAdapter adapter = adapter(source.getAdapterType());
+
+        var transformationPlan = transformationPlanMapper.deserialize(source.getTransformationPlan()).orElse(null);
+        List<CanonicalField> canonicalFields = canonicalFieldRepository.findByDefinitionOrderByDisplayOrderAsc(definition);
+        Map<Long, CanonicalFieldMapping> mappingByFieldId = mappingRepository.findBySource(source).stream()
+                .collect(Collectors.toMap(mapping -> mapping.getCanonicalField().getId(), Function.identity()));
+
+        ProjectionPlan projection = ProjectionPlan.compile(canonicalFields, mappingByFieldId, transformationService);
+        int parallelism = Optional.ofNullable(source.getIngestionParallelism())
+                .orElse(ingestionProperties.getProjectionParallelism());
+
+        SourceRecordBulkWriter.Batch records = recordWriter.open(batch);
+        IngestionAdapterRequest adapterRequest =
+                request.withRequiredColumns(requiredColumns(projection, transformationPlan).orElse(null));
+        try (Stream<Map<String, Object>> rawRecords = adapter.streamRecords(adapterRequest)) {
+            if (transformationPlanProcessor.isRowLocal(transformationPlan)) {
+                int chunkSize = ingestionProperties.getChunkSize();
+                List<Map<String, Object>> chunk = new ArrayList<>(Math.min(chunkSize, 1024));
+                Iterator<Map<String, Object>> iterator = rawRecords.iterator();
+                long rowsRead = 0;
+                while (iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                    rowsRead++;
+                    if (chunk.size() >= chunkSize || !iterator.hasNext()) {
+                        listener.progressed(rowsRead, records.written());
+                        stage(transformationPlanProcessor.apply(transformationPlan, chunk), projection, parallelism, records);
+                        listener.progressed(rowsRead, records.written());
+                        chunk.clear();
+                    }
+                }
+            } else {
+                AtomicLong rowsRead = new AtomicLong();
+                List<Map<String, Object>> transformed = transformationPlanProcessor.apply(
+                        transformationPlan, rawRecords.peek(row -> rowsRead.incrementAndGet()));
+                listener.progressed(rowsRead.get(), 0);
+                int chunkSize = ingestionProperties.getChunkSize();
+                for (int from = 0; from < transformed.size(); from += chunkSize) {
+                    stage(transformed.subList(from, Math.min(from + chunkSize, transformed.size())),
+                            projection,
+                            parallelism,
+                            records);
+                    listener.progressed(rowsRead.get(), records.written());
+                }
             }
-            rawValue = rawString.trim();
         }
-        FieldDataType dataType = field.getDataType();
-        return switch (dataType) {
-            case STRING -> rawValue.toString();
-            case DECIMAL, INTEGER -> new java.math.BigDecimal(rawValue.toString());
-            case DATE -> parseDate(rawValue.toString());
-            case DATETIME -> parseDateTime(rawValue.toString());
-            case BOOLEAN -> parseBoolean(rawValue);
-        };
+
+        batch.setStatus(DataBatchStatus.COMPLETE);
+        batch.setRecordCount(records.written());
+        batch.setChecksum(UUID.randomUUID().toString());
+        batch = batchRepository.save(batch);
+        source.getBatches().add(batch);
+        return batch;
     }
 
-    private LocalDate parseDate(String value) {
-        try {
-            return LocalDate.parse(value, DateTimeFormatter.ISO_LOCAL_DATE);
-        } catch (DateTimeParseException ex) {
-            throw new IllegalArgumentException("Unable to parse date value: " + value, ex);
-        }
+    private IngestionAdapter adapter(IngestionAdapterType adapterType) {
+        return Optional.ofNullable(adapters.get(adapterType))
+                .orElseThrow(() -> new IllegalStateException("No adapter registered for " + adapterType));
     }
 
-    private LocalDateTime parseDateTime(String value) {
-        try {
-            return LocalDateTime.parse(value, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        } catch (DateTimeParseException ex) {
-            throw new IllegalArgumentException("Unable to parse datetime value: " + value, ex);
+    /**
+     * Raw columns the ingest reads, so columnar adapters can skip the rest; empty when any column may be read.
+     */
+    private Optional<Set<String>> requiredColumns(ProjectionPlan projection, SourceTransformationPlan plan) {
+        Optional<Set<String>> projected = projection.sourceColumns();
+        Optional<Set<String>> transformed = transformationPlanProcessor.referencedColumns(plan);
+        if (projected.isEmpty() || transformed.isEmpty()) {
+            return Optional.empty();
         }
+        Set<String> columns = new LinkedHashSet<>(projected.get());
+        columns.addAll(transformed.get());
+        return Optional.of(columns);
     }
 
-    private Boolean parseBoolean(Object value) {
-        return ParsingUtils.parseFlexibleBoolean(value);
+    /**
+     * Projects, keys and stages transformed rows, flushing them so each chunk is written before the next is
+     * read. Rows are numbered from one across the whole ingest when reporting a failure.
+     */
+    private void stage(
+            List<Map<String, Object>> preparedRecords,
+            ProjectionPlan projection,
+            int parallelism,
+            SourceRecordBulkWriter.Batch records) {
+        List<SourceRecordBulkWriter.StagedRecord> staged = rowProjector.project(
+                preparedRecords, records.written() + 1, parallelism, rawRecord -> stageRecord(projection, rawRecord));
+        staged.forEach(records::add);
+        records.flush();
     }
 
-    private String buildCanonicalKey(List<CanonicalField> keyFields, Map<String, Object> payload) {
-        return keyFields.stream()
-                .map(field -> Objects.toString(payload.get(field.getCanonicalName()), ""))
-                .collect(Collectors.joining("|"));
+    private SourceRecordBulkWriter.StagedRecord stageRecord(ProjectionPlan projection, Map<String, Object> rawRecord) {
+        ComparisonPlan comparisonPlan = projection.comparisonPlan();
+        Map<String, Object> canonicalPayload = projection.project(rawRecord);
+        String payloadJson = writeJson(canonicalPayload);
+        return new SourceRecordBulkWriter.StagedRecord(
+                projection.canonicalKey(canonicalPayload),
+                projection.externalReference(canonicalPayload, rawRecord),
+                payloadJson,
+                writeJson(rawRecord),
+                contentHash(payloadJson),
+                comparisonPlan.fingerprint(canonicalPayload),
+                comparisonPlan.signature());
     }
 
-    /**
-     * Resolve the external reference identifier for a raw record.
-     *
-     * <p>The service first prefers the value of the first configured {@link FieldRole#KEY}
-     * field after canonical transformation. If that field is null or blank, the
-     * method falls back to a raw column literally named {@code externalReference}.
-     * Documenting the implicit fallback helps future maintainers understand why
-     * the raw payload is consulted when canonical data is unavailable.</p>
-     */
-    private String resolveExternalReference(
-            List<CanonicalField> keyFields,
-            Map<String, Object> payload,
-            Map<String, Object> rawRecord) {
-        if (!keyFields.isEmpty()) {
-            Object value = payload.get(keyFields.get(0).getCanonicalName());
-            if (value != null) {
-                return value.toString();
-            }
+    private String resolveBatchLabel(IngestionAdapterRequest request) {
+        if (request.options() == null) {
+            return "batch-" + Instant.now();
+        }
+        Object label = request.options().get("label");
+        if (label instanceof String text && StringUtils.hasText(text)) {
+            return text;
         }
-        Object candidate = rawRecord.get("externalReference");
-        return candidate != null ? candidate.toString() : null;
+        return "batch-" + Instant.now();
     }
 
     private String writeJson(Object data) {
@@ -299,4 +303,13 @@ public class SourceIngestionService {
             throw new IllegalStateException("Failed to serialise ingestion payload", e);
         }
     }
+
+    private String contentHash(String payloadJson) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(payloadJson.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
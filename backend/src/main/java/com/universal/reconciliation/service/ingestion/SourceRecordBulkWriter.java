@@ -0,0 +1,266 @@
+package com.universal.reconciliation.service.ingestion;
+
+import com.universal.reconciliation.config.IngestionProperties;
+import com.universal.reconciliation.domain.entity.SourceDataBatch;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stages ingested records as {@code source_data_records} rows without going through the persistence
+ * context. Record identifiers are database-generated, which stops Hibernate from batching inserts, so records
+ * are buffered and written with multi-row {@code INSERT} statements sent as JDBC batches, or streamed with
+ * {@code LOAD DATA LOCAL INFILE} on MariaDB when enabled. Writes join the caller's transaction.
+ */
+@Component
+public class SourceRecordBulkWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(SourceRecordBulkWriter.class);
+
+    private static final String COLUMNS = "batch_id, external_reference, canonical_key, payload_json, metadata_json,"
+            + " match_fingerprint, match_plan, content_hash, ingested_at";
+    private static final int COLUMN_COUNT = 9;
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String LOAD_DATA = "LOAD DATA LOCAL INFILE 'source_data_records.tsv'"
+            + " INTO TABLE source_data_records CHARACTER SET utf8mb4"
+            + " FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' (" + COLUMNS + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IngestionProperties properties;
+    private volatile Boolean localInfileSupported;
+
+    public SourceRecordBulkWriter(JdbcTemplate jdbcTemplate, IngestionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Opens a buffer for the records of {@code batch}, which must already be persisted. The caller must
+     * {@link Batch#flush() flush} it once every record has been added.
+     */
+    public Batch open(SourceDataBatch batch) {
+        return new Batch(batch.getId(), properties.getBulkBatchSize(), properties.getRowsPerStatement());
+    }
+
+    /**
+     * Canonicalised values of one record ready to be staged.
+     */
+    public record StagedRecord(
+            String canonicalKey,
+            String externalReference,
+            String payloadJson,
+            String metadataJson,
+            String contentHash,
+            String matchFingerprint,
+            String matchPlan) {}
+
+    /**
+     * Buffers records for one batch and writes them whenever the configured size is reached. Not thread-safe.
+     */
+    public final class Batch {
+
+        private final long batchId;
+        private final int bufferSize;
+        private final int rowsPerStatement;
+        private final String fullStatement;
+        private final List<StagedRecord> pending;
+        private long written;
+
+        private Batch(long batchId, int bufferSize, int rowsPerStatement) {
+            this.batchId = batchId;
+            this.bufferSize = bufferSize;
+            this.rowsPerStatement = rowsPerStatement;
+            this.fullStatement = insertStatement(rowsPerStatement);
+            this.pending = new ArrayList<>(bufferSize);
+        }
+
+        public void add(StagedRecord record) {
+            pending.add(record);
+            if (pending.size() >= bufferSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Writes any buffered records.
+         */
+        public void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Timestamp ingestedAt = Timestamp.from(Instant.now());
+            if (!properties.isLoadDataLocalInfile() || !loadData(batchId, pending, ingestedAt)) {
+                insert(pending, ingestedAt);
+            }
+            written += pending.size();
+            pending.clear();
+        }
+
+        /**
+         * Number of records written so far.
+         */
+        public long written() {
+            return written;
+        }
+
+        private void insert(List<StagedRecord> records, Timestamp ingestedAt) {
+            int statements = records.size() / rowsPerStatement;
+            if (statements > 0) {
+                jdbcTemplate.batchUpdate(fullStatement, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int index) throws SQLException {
+                        bind(statement, batchId, records, index * rowsPerStatement, rowsPerStatement, ingestedAt);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return statements;
+                    }
+                });
+            }
+            int offset = statements * rowsPerStatement;
+            int remainder = records.size() - offset;
+            if (remainder > 0) {
+                jdbcTemplate.update(
+                        insertStatement(remainder),
+                        statement -> bind(statement, batchId, records, offset, remainder, ingestedAt));
+            }
+        }
+    }
+
+    private static String insertStatement(int rows) {
+        StringBuilder sql = new StringBuilder("insert into source_data_records (")
+                .append(COLUMNS)
+                .append(") values ");
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
+
+    private static void bind(
+            PreparedStatement statement,
+            long batchId,
+            List<StagedRecord> records,
+            int offset,
+            int count,
+            Timestamp ingestedAt)
+            throws SQLException {
+        for (int row = 0; row < count; row++) {
+            StagedRecord record = records.get(offset + row);
+            int base = row * COLUMN_COUNT;
+            statement.setLong(base + 1, batchId);
+            statement.setString(base + 2, record.externalReference());
+            statement.setString(base + 3, record.canonicalKey());
+            statement.setString(base + 4, record.payloadJson());
+            statement.setString(base + 5, record.metadataJson());
+            statement.setString(base + 6, record.matchFingerprint());
+            statement.setString(base + 7, record.matchPlan());
+            statement.setString(base + 8, record.contentHash());
+            statement.setTimestamp(base + 9, ingestedAt);
+        }
+    }
+
+    /**
+     * Streams the records through {@code LOAD DATA LOCAL INFILE}. Returns {@code false}, leaving the records
+     * to the insert path, when the connection is not MariaDB/MySQL or its driver cannot supply the stream.
+     */
+    private boolean loadData(long batchId, List<StagedRecord> records, Timestamp ingestedAt) {
+        if (Boolean.FALSE.equals(localInfileSupported)) {
+            return false;
+        }
+        byte[] content = tabSeparated(batchId, records, ingestedAt);
+        Boolean loaded = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!supportsLocalInfile(connection)) {
+                return false;
+            }
+            try (Statement statement = connection.createStatement()) {
+                Statement driverStatement = statement.unwrap(Statement.class);
+                Method setter = driverStatement.getClass()
+                        .getMethod("setLocalInfileInputStream", InputStream.class);
+                setter.invoke(driverStatement, new ByteArrayInputStream(content));
+                int rows = statement.executeUpdate(LOAD_DATA);
+                if (rows != records.size()) {
+                    throw new IllegalStateException(
+                            "Expected to load " + records.size() + " source records but loaded " + rows);
+                }
+                return true;
+            } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException ex) {
+                log.warn("JDBC driver cannot stream LOAD DATA LOCAL INFILE; falling back to batched inserts", ex);
+                localInfileSupported = false;
+                return false;
+            }
+        });
+        return Boolean.TRUE.equals(loaded);
+    }
+
+    private boolean supportsLocalInfile(Connection connection) throws SQLException {
+        Boolean supported = localInfileSupported;
+        if (supported == null) {
+            String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+            supported = product.contains("mariadb") || product.contains("mysql");
+            if (!supported) {
+                log.info("LOAD DATA LOCAL INFILE is not available on {}; using batched inserts", product);
+            }
+            localInfileSupported = supported;
+        }
+        return supported;
+    }
+
+    private static byte[] tabSeparated(long batchId, List<StagedRecord> records, Timestamp ingestedAt) {
+        StringBuilder content = new StringBuilder(records.size() * 256);
+        String batch = Long.toString(batchId);
+        String timestamp = ingestedAt.toString();
+        for (StagedRecord record : records) {
+            content.append(batch).append('\t');
+            appendField(content, record.externalReference());
+            appendField(content, record.canonicalKey());
+            appendField(content, record.payloadJson());
+            appendField(content, record.metadataJson());
+            appendField(content, record.matchFingerprint());
+            appendField(content, record.matchPlan());
+            appendField(content, record.contentHash());
+            content.append(timestamp).append('\n');
+        }
+        return content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendField(StringBuilder content, String value) {
+        if (value == null) {
+            content.append("\\N");
+        } else {
+            for (int index = 0; index < value.length(); index++) {
+                char character = value.charAt(index);
+                switch (character) {
+                    case '\\' -> content.append("\\\\");
+                    case '\t' -> content.append("\\t");
+                    case '\n' -> content.append("\\n");
+                    case '\r' -> content.append("\\r");
+                    case '\0' -> content.append("\\0");
+                    default -> content.append(character);
+                }
+            }
+        }
+        content.append('\t');
+    }
+}
@@ -0,0 +1,444 @@
+package com.universal.reconciliation.service.ingestion;
+
+import com.universal.reconciliation.service.transform.TransformationEvaluationException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+/**
+ * Reads XLSX worksheets row by row through POI's event API instead of building the workbook object
+ * model. The package is opened from a temporary copy of the input, so only the shared strings table and
+ * the styles are held in memory while the sheet XML is pulled one row at a time. Formula cells report the
+ * result cached in the file; nothing is re-evaluated.
+ */
+public final class XlsxStreamingReader implements Closeable {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLHelper.newXMLInputFactory();
+
+    private final Path file;
+    private final OPCPackage workbookPackage;
+    private final XSSFReader reader;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final boolean date1904;
+    private final List<String> sheetNames;
+    private final Map<Integer, CellFormat> formats = new HashMap<>();
+    private final List<SheetCursor> openCursors = new ArrayList<>();
+
+    private XlsxStreamingReader(Path file) throws IOException {
+        this.file = file;
+        OPCPackage opened = null;
+        try {
+            opened = OPCPackage.open(file.toFile(), PackageAccess.READ);
+            this.reader = new XSSFReader(opened);
+            this.sharedStrings = new ReadOnlySharedStringsTable(opened, false);
+            this.styles = reader.getStylesTable();
+            this.date1904 = readDate1904(reader);
+            this.sheetNames = readSheetNames(reader);
+            this.workbookPackage = opened;
+        } catch (OpenXML4JException | SAXException | XMLStreamException | RuntimeException ex) {
+            if (opened != null) {
+                opened.revert();
+            }
+            throw new IOException("Unable to open XLSX workbook", ex);
+        }
+    }
+
+    /**
+     * Whether {@code input} starts with the OOXML (zip) signature. The stream must support mark/reset; wrap
+     * it with {@link FileMagic#prepareToCheckMagic(InputStream)} first.
+     */
+    public static boolean isXlsx(InputStream input) throws IOException {
+        return FileMagic.valueOf(input) == FileMagic.OOXML;
+    }
+
+    /**
+     * Copies {@code input} to a temporary file and opens it as an XLSX workbook. The caller still closes
+     * {@code input}; closing the reader deletes the copy.
+     */
+    public static XlsxStreamingReader open(InputStream input) throws IOException {
+        Path copy = Files.createTempFile("recon-xlsx-", ".xlsx");
+        try {
+            Files.copy(input, copy, StandardCopyOption.REPLACE_EXISTING);
+            return new XlsxStreamingReader(copy);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(copy);
+            throw ex;
+        }
+    }
+
+    /** Sheet names in workbook order. */
+    public List<String> sheetNames() {
+        return sheetNames;
+    }
+
+    /**
+     * Opens a cursor over the rows of the sheet at {@code sheetIndex}. Rows are returned in file order,
+     * including rows that hold no values; absent rows are skipped, as in the workbook model.
+     */
+    public Iterator<XlsxRow> rows(int sheetIndex) {
+        if (sheetIndex < 0 || sheetIndex >= sheetNames.size()) {
+            throw new IndexOutOfBoundsException("No sheet at index " + sheetIndex);
+        }
+        try {
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            for (int index = 0; index < sheetIndex; index++) {
+                sheets.next().close();
+            }
+            SheetCursor cursor = new SheetCursor(sheets.next());
+            openCursors.add(cursor);
+            return cursor;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read XLSX sheet " + sheetNames.get(sheetIndex), ex);
+        } catch (OpenXML4JException | XMLStreamException ex) {
+            throw new TransformationEvaluationException("Unable to read XLSX sheet " + sheetNames.get(sheetIndex), ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            for (SheetCursor cursor : openCursors) {
+                cursor.close();
+            }
+            openCursors.clear();
+            workbookPackage.revert();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static boolean readDate1904(XSSFReader reader)
+            throws IOException, OpenXML4JException, XMLStreamException {
+        try (InputStream workbook = reader.getWorkbookData()) {
+            XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(workbook);
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT) {
+                        String name = xml.getLocalName();
+                        if ("workbookPr".equals(name)) {
+                            String value = xml.getAttributeValue(null, "date1904");
+                            return "1".equals(value) || "true".equalsIgnoreCase(value);
+                        }
+                        if ("sheets".equals(name)) {
+                            return false;
+                        }
+                    }
+                }
+                return false;
+            } finally {
+                xml.close();
+            }
+        }
+    }
+
+    private static List<String> readSheetNames(XSSFReader reader) throws IOException, OpenXML4JException {
+        List<String> names = new ArrayList<>();
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            sheets.next().close();
+            names.add(sheets.getSheetName());
+        }
+        return List.copyOf(names);
+    }
+
+    private CellFormat format(String styleAttribute) {
+        int styleIndex = styleAttribute == null ? 0 : Integer.parseInt(styleAttribute);
+        return formats.computeIfAbsent(styleIndex, index -> {
+            if (styles == null || index >= styles.getNumCellStyles()) {
+                return CellFormat.GENERAL;
+            }
+            XSSFCellStyle style = styles.getStyleAt(index);
+            String formatString = style.getDataFormatString();
+            return new CellFormat(
+                    style.getDataFormat(), formatString != null ? formatString : BuiltinFormats.getBuiltinFormat(0));
+        });
+    }
+
+    /** Zero-based column index of an A1-style cell reference. */
+    private static int columnIndex(String reference) {
+        int column = 0;
+        for (int index = 0; index < reference.length(); index++) {
+            char letter = reference.charAt(index);
+            if (letter < 'A' || letter > 'Z') {
+                break;
+            }
+            column = column * 26 + (letter - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private record CellFormat(short index, String formatString) {
+        private static final CellFormat GENERAL = new CellFormat((short) 0, BuiltinFormats.getBuiltinFormat(0));
+    }
+
+    /**
+     * One worksheet row. {@link #width()} counts every cell element up to the last one, like
+     * {@code Row.getLastCellNum()}; cells without a value read as {@code null}.
+     */
+    public static final class XlsxRow {
+
+        private final int rowNumber;
+        private final XlsxCell[] cells;
+
+        private XlsxRow(int rowNumber, XlsxCell[] cells) {
+            this.rowNumber = rowNumber;
+            this.cells = cells;
+        }
+
+        /** One-based row number as shown in Excel. */
+        public int rowNumber() {
+            return rowNumber;
+        }
+
+        public int width() {
+            return cells.length;
+        }
+
+        public XlsxCell cell(int column) {
+            return column < cells.length ? cells[column] : null;
+        }
+    }
+
+    /** A cell value as cached in the file, with the number format needed to present it. */
+    public static final class XlsxCell {
+
+        /** Value kinds stored in sheet XML. */
+        public enum Kind {
+            BOOLEAN,
+            NUMERIC,
+            STRING,
+            ERROR
+        }
+
+        private final Kind kind;
+        private final String text;
+        private final double number;
+        private final CellFormat format;
+        private final boolean date1904;
+
+        private XlsxCell(Kind kind, String text, double number, CellFormat format, boolean date1904) {
+            this.kind = kind;
+            this.text = text;
+            this.number = number;
+            this.format = format;
+            this.date1904 = date1904;
+        }
+
+        public Kind kind() {
+            return kind;
+        }
+
+        public boolean booleanValue() {
+            return number != 0;
+        }
+
+        public double numericValue() {
+            return number;
+        }
+
+        /** The text of a string cell, or the error code (such as {@code #DIV/0!}) of an error cell. */
+        public String stringValue() {
+            return text;
+        }
+
+        /** Whether this is a numeric cell whose number format displays a date or time. */
+        public boolean isDateFormatted() {
+            return kind == Kind.NUMERIC
+                    && DateUtil.isValidExcelDate(number)
+                    && DateUtil.isADateFormat(format.index(), format.formatString());
+        }
+
+        public LocalDateTime localDateTimeValue() {
+            return DateUtil.getLocalDateTime(number, date1904);
+        }
+
+        /** The value as Excel displays it, matching {@link DataFormatter#formatCellValue}. */
+        public String formatted(DataFormatter formatter) {
+            return switch (kind) {
+                case BOOLEAN -> booleanValue() ? "TRUE" : "FALSE";
+                case NUMERIC -> formatter.formatRawCellContents(
+                        number, format.index(), format.formatString(), date1904);
+                case STRING, ERROR -> text;
+            };
+        }
+    }
+
+    /** Pull cursor over the rows of one sheet part. */
+    private final class SheetCursor implements Iterator<XlsxRow>, Closeable {
+
+        private final InputStream input;
+        private final XMLStreamReader xml;
+        private final List<XlsxCell> cells = new ArrayList<>();
+        private XlsxRow next;
+        private int lastRowNumber;
+        private boolean exhausted;
+
+        private SheetCursor(InputStream input) throws XMLStreamException {
+            this.input = input;
+            this.xml = XML_INPUT_FACTORY.createXMLStreamReader(input);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !exhausted) {
+                try {
+                    next = readRow();
+                } catch (XMLStreamException ex) {
+                    throw new TransformationEvaluationException("Malformed XLSX worksheet", ex);
+                }
+                if (next == null) {
+                    exhausted = true;
+                    close();
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public XlsxRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            XlsxRow row = next;
+            next = null;
+            return row;
+        }
+
+        @Override
+        public void close() {
+            exhausted = true;
+            try {
+                xml.close();
+                input.close();
+            } catch (XMLStreamException | IOException ignored) {
+                // the package is reverted when the reader closes
+            }
+        }
+
+        private XlsxRow readRow() throws XMLStreamException {
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                    String reference = xml.getAttributeValue(null, "r");
+                    lastRowNumber = reference != null ? Integer.parseInt(reference) : lastRowNumber + 1;
+                    return readCells(lastRowNumber);
+                }
+                if (event == XMLStreamConstants.END_ELEMENT && "sheetData".equals(xml.getLocalName())) {
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        private XlsxRow readCells(int rowNumber) throws XMLStreamException {
+            cells.clear();
+            int column = -1;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                    String reference = xml.getAttributeValue(null, "r");
+                    column = reference != null ? columnIndex(reference) : column + 1;
+                    while (cells.size() < column) {
+                        cells.add(null);
+                    }
+                    cells.add(readCell());
+                } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+            return new XlsxRow(rowNumber, cells.toArray(XlsxCell[]::new));
+        }
+
+        /** Reads the current {@code <c>} element up to its end tag; returns {@code null} for an empty cell. */
+        private XlsxCell readCell() throws XMLStreamException {
+            String type = xml.getAttributeValue(null, "t");
+            String style = xml.getAttributeValue(null, "s");
+            String value = null;
+            StringBuilder inline = null;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "v" -> value = xml.getElementText();
+                        case "t" -> {
+                            if (inline == null) {
+                                inline = new StringBuilder();
+                            }
+                            inline.append(xml.getElementText());
+                        }
+                        case "f" -> xml.getElementText();
+                        case "rPh" -> skipElement();
+                        default -> {
+                            // inline string runs and extensions carry no value of their own
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+            if ("inlineStr".equals(type)) {
+                return inline == null ? null : stringCell(inline.toString());
+            }
+            if (value == null) {
+                return null;
+            }
+            if (type == null || "n".equals(type)) {
+                return value.isEmpty()
+                        ? null
+                        : new XlsxCell(XlsxCell.Kind.NUMERIC, null, Double.parseDouble(value), format(style), date1904);
+            }
+            return switch (type) {
+                case "s" -> stringCell(sharedStrings.getItemAt(Integer.parseInt(value)).getString());
+                case "b" -> new XlsxCell(
+                        XlsxCell.Kind.BOOLEAN, null, "1".equals(value) || "true".equals(value) ? 1 : 0, null, date1904);
+                case "e" -> new XlsxCell(XlsxCell.Kind.ERROR, value, 0, null, date1904);
+                default -> stringCell(value);
+            };
+        }
+
+        private XlsxCell stringCell(String text) {
+            return new XlsxCell(XlsxCell.Kind.STRING, text, 0, null, date1904);
+        }
+
+        private void skipElement() throws XMLStreamException {
+            int depth = 1;
+            while (depth > 0 && xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.universal.reconciliation.service.matching;
+
+/**
+ * {@link ComparisonSlots} backed by arrays owned by a single record.
+ */
+final class ArrayComparisonSlots extends ComparisonSlots {
+
+    private final byte[] states;
+    private final long[] values;
+    private final int[] scales;
+    private final Object[] references;
+
+    ArrayComparisonSlots(int slotCount) {
+        this.states = new byte[slotCount];
+        this.values = new long[slotCount];
+        this.scales = new int[slotCount];
+        this.references = new Object[slotCount];
+    }
+
+    @Override
+    byte state(int slot) {
+        return states[slot];
+    }
+
+    @Override
+    long value(int slot) {
+        return values[slot];
+    }
+
+    @Override
+    int scale(int slot) {
+        return scales[slot];
+    }
+
+    @Override
+    Object reference(int slot) {
+        return references[slot];
+    }
+
+    @Override
+    void setCompact(int slot, long value, int scale) {
+        states[slot] = COMPACT;
+        values[slot] = value;
+        scales[slot] = scale;
+    }
+
+    @Override
+    void setReference(int slot, Object reference) {
+        states[slot] = REFERENCE;
+        references[slot] = reference;
+    }
+
+    @Override
+    void setInvalid(int slot, RuntimeException failure) {
+        states[slot] = INVALID;
+        references[slot] = failure;
+    }
+}
@@ -8,6 +8,7 @@ import java.util.Map;
  * Represents a potential break produced by the matching engine prior to persistence.
  */
 public record BreakCandidate(
+        String canonicalKey,
         BreakType type,
         Map<String, Map<String, Object>> sources,
         Map<String, String> classifications,
@@ -0,0 +1,153 @@
+package com.universal.reconciliation.service.matching;
+
+import com.universal.reconciliation.domain.entity.CanonicalField;
+import com.universal.reconciliation.domain.enums.BreakType;
+import com.universal.reconciliation.domain.enums.FieldRole;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Turns the records found for one canonical key into a {@link BreakCandidate}. Shared by the matching
+ * engines so that every execution strategy classifies and snapshots breaks identically, regardless of
+ * how the records for a key were located.
+ */
+final class BreakCandidateEvaluator {
+
+    private final ComparisonPlan plan;
+    private final String anchorCode;
+    private final List<String> otherCodes;
+    private final List<CanonicalField> classifierFields;
+
+    BreakCandidateEvaluator(
+            ComparisonPlan plan, String anchorCode, List<String> otherCodes, List<CanonicalField> classifierFields) {
+        this.plan = plan;
+        this.anchorCode = anchorCode;
+        this.otherCodes = List.copyOf(otherCodes);
+        this.classifierFields = classifierFields;
+    }
+
+    static BreakCandidateEvaluator forContext(DynamicReconciliationContext context) {
+        return new BreakCandidateEvaluator(
+                context.comparisonPlan(),
+                context.anchor().source().getCode(),
+                context.otherSources().stream().map(dataset -> dataset.source().getCode()).toList(),
+                context.classifierFields());
+    }
+
+    /**
+     * Evaluates a single anchor record against every non-anchor source.
+     *
+     * @param candidates resolves the record of the non-anchor source at the given position, or {@code null}
+     *                   when that source has no record for the key
+     * @return the resulting break candidate, or {@code null} when every source agrees with the anchor.
+     */
+    BreakCandidate evaluateAnchor(
+            String canonicalKey, Map<String, Object> anchorRecord, IntFunction<Map<String, Object>> candidates) {
+        Map<String, Map<String, Object>> sourcesSnapshot = new LinkedHashMap<>();
+        sourcesSnapshot.put(anchorCode, anchorRecord);
+
+        List<String> missingSources = new ArrayList<>();
+        boolean differenceDetected = false;
+        ComparisonSlots anchorSlots = null;
+
+        for (int index = 0; index < otherCodes.size(); index++) {
+            String sourceCode = otherCodes.get(index);
+            Map<String, Object> candidate = candidates.apply(index);
+            if (candidate == null) {
+                missingSources.add(sourceCode);
+                sourcesSnapshot.put(sourceCode, Map.of());
+                differenceDetected = true;
+                continue;
+            }
+
+            sourcesSnapshot.put(sourceCode, candidate);
+            if (anchorSlots == null) {
+                anchorSlots = comparisonSlots(anchorRecord, true);
+            }
+            if (!plan.matches(anchorSlots, comparisonSlots(candidate, false))) {
+                differenceDetected = true;
+            }
+        }
+
+        if (!differenceDetected) {
+            return null;
+        }
+        BreakType breakType = missingSources.isEmpty() ? BreakType.MISMATCH : BreakType.SOURCE_MISSING;
+        Map<String, String> classifications = resolveClassifications(sourcesSnapshot);
+        return new BreakCandidate(
+                canonicalKey,
+                breakType,
+                immutableSnapshot(sourcesSnapshot),
+                Map.copyOf(classifications),
+                List.copyOf(missingSources));
+    }
+
+    /**
+     * Builds the candidate for a key that only exists in non-anchor sources.
+     *
+     * @param presentSources records keyed by source code, in non-anchor source order
+     */
+    BreakCandidate anchorMissing(String canonicalKey, Map<String, Map<String, Object>> presentSources) {
+        Map<String, Map<String, Object>> sourcesSnapshot = new LinkedHashMap<>(presentSources);
+        sourcesSnapshot.put(anchorCode, Map.of());
+        Map<String, String> classifications = resolveClassifications(sourcesSnapshot);
+        return new BreakCandidate(
+                canonicalKey,
+                BreakType.ANCHOR_MISSING,
+                immutableSnapshot(sourcesSnapshot),
+                Map.copyOf(classifications),
+                List.of(anchorCode));
+    }
+
+    private Map<String, Map<String, Object>> immutableSnapshot(Map<String, Map<String, Object>> snapshot) {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(snapshot));
+    }
+
+    private Map<String, String> resolveClassifications(Map<String, Map<String, Object>> sourcesSnapshot) {
+        Map<String, String> classifications = new LinkedHashMap<>();
+        for (CanonicalField field : classifierFields) {
+            Object value = findFirstNonNull(sourcesSnapshot, field.getCanonicalName());
+            if (value != null) {
+                String key = field.getClassifierTag() != null ? field.getClassifierTag() : canonicalClassifierKey(field.getRole());
+                if (key != null) {
+                    classifications.put(key, Objects.toString(value, null));
+                }
+            }
+        }
+        return classifications;
+    }
+
+    private String canonicalClassifierKey(FieldRole role) {
+        return switch (role) {
+            case PRODUCT -> "product";
+            case SUB_PRODUCT -> "subProduct";
+            case ENTITY -> "entity";
+            default -> null;
+        };
+    }
+
+    private Object findFirstNonNull(Map<String, Map<String, Object>> sourcesSnapshot, String canonicalName) {
+        for (Map<String, Object> payload : sourcesSnapshot.values()) {
+            if (payload == null) {
+                continue;
+            }
+            Object value = payload.get(canonicalName);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private ComparisonSlots comparisonSlots(Map<String, Object> record, boolean anchor) {
+        if (record instanceof ComparableRecord comparable) {
+            return comparable.comparisonSlots();
+        }
+        return plan.encode(record, anchor);
+    }
+}
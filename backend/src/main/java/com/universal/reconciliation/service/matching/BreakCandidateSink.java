@@ -0,0 +1,18 @@
+package com.universal.reconciliation.service.matching;
+
+/**
+ * Receives break candidates one at a time as a matching engine produces them, so callers can persist or
+ * aggregate breaks without the engine materialising the full break set.
+ */
+@FunctionalInterface
+public interface BreakCandidateSink {
+
+    void accept(BreakCandidate candidate);
+
+    /**
+     * Notifies the sink that {@code count} further canonical keys agreed across every source. Engines report
+     * matches as they find them, so the notifications double as progress; the default ignores them.
+     */
+    default void matched(long count) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.universal.reconciliation.service.matching;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing dictionary assigning dense row numbers to canonical keys in
+ * insertion order. Unlike a {@code HashMap<String, Integer>} it holds no entry
+ * objects or boxed integers: just the key array and an {@code int} probe table.
+ */
+final class CanonicalKeyDictionary {
+
+    private String[] keys;
+    private int[] table;
+    private int size;
+
+    CanonicalKeyDictionary(int expectedSize) {
+        this.keys = new String[Math.max(expectedSize, 16)];
+        this.table = new int[tableCapacityFor(Math.max(expectedSize, 16))];
+    }
+
+    int size() {
+        return size;
+    }
+
+    String key(int row) {
+        return keys[row];
+    }
+
+    /**
+     * @return the row assigned to {@code key}, or {@code -1} when it is unknown.
+     */
+    int find(Object key) {
+        if (key == null) {
+            return -1;
+        }
+        int mask = table.length - 1;
+        int index = spread(key.hashCode()) & mask;
+        while (true) {
+            int entry = table[index];
+            if (entry == 0) {
+                return -1;
+            }
+            if (keys[entry - 1].equals(key)) {
+                return entry - 1;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * @return the row of {@code key}, assigning the next row when it has not been seen before.
+     */
+    int findOrAdd(String key) {
+        int existing = find(key);
+        if (existing >= 0) {
+            return existing;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, keys.length + (keys.length >> 1));
+        }
+        if ((size + 1) * 4L > table.length * 3L) {
+            rehash(table.length << 1);
+        }
+        int row = size++;
+        keys[row] = key;
+        insert(row);
+        return row;
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        for (int row = 0; row < size; row++) {
+            insert(row);
+        }
+    }
+
+    private void insert(int row) {
+        int mask = table.length - 1;
+        int index = spread(keys[row].hashCode()) & mask;
+        while (table[index] != 0) {
+            index = (index + 1) & mask;
+        }
+        table[index] = row + 1;
+    }
+
+    private static int tableCapacityFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize * 2, 2) - 1) << 1;
+        return Math.max(capacity, 32);
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x9E3779B1;
+    }
+}
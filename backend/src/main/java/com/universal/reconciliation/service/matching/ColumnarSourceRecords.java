@@ -0,0 +1,644 @@
+package com.universal.reconciliation.service.matching;
+
+import com.universal.reconciliation.domain.entity.CanonicalField;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Column-oriented, primitive-backed store for the staged records of one source.
+ *
+ * <p>Canonical keys are assigned dense row numbers by a {@link CanonicalKeyDictionary}
+ * and every canonical field gets a typed column: decimals as scaled longs with a
+ * sparse {@link BigDecimal} overflow side-table, dates as epoch-day ints, booleans
+ * as bytes, and strings dictionary-encoded. Compare-field values are additionally
+ * kept in slot columns parsed by the definition's {@link ComparisonPlan}, so the
+ * matching engine compares rows without materialising them.</p>
+ *
+ * <p>The store implements {@code Map<String, Map<String, Object>>} in key insertion
+ * order. {@link #get(Object)} returns a lightweight row view that rebuilds values on
+ * access with the same Java types the JSON payload produced; values that do not fit
+ * their column's encoding, and rows whose field layout differs from the canonical
+ * field list, are retained verbatim so snapshots are always identical to the
+ * map-based dataset.</p>
+ */
+public final class ColumnarSourceRecords extends AbstractMap<String, Map<String, Object>> {
+
+    private final String[] fieldNames;
+    private final Map<String, Integer> fieldIndex;
+    private final FieldColumn[] columns;
+    private final CanonicalKeyDictionary keys;
+    private final SlotColumns slotColumns;
+    private final BitSet irregular;
+    private final Map<Integer, Map<String, Object>> irregularRows;
+
+    private ColumnarSourceRecords(Builder builder) {
+        this.fieldNames = builder.fieldNames;
+        this.fieldIndex = builder.fieldIndex;
+        this.columns = builder.columns;
+        this.keys = builder.keys;
+        this.slotColumns = builder.slotColumns;
+        this.irregular = builder.irregular;
+        this.irregularRows = builder.irregularRows;
+    }
+
+    /**
+     * Creates a builder for a source's records.
+     *
+     * @param canonicalFields the definition's canonical fields in payload order
+     * @param plan the compiled compare-field plan
+     * @param anchor whether the records belong to the anchor source
+     * @param expectedRows sizing hint, typically the batch record count
+     */
+    public static Builder builder(
+            List<CanonicalField> canonicalFields, ComparisonPlan plan, boolean anchor, int expectedRows) {
+        return new Builder(canonicalFields, plan, anchor, expectedRows);
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return keys.find(key) >= 0;
+    }
+
+    @Override
+    public Map<String, Object> get(Object key) {
+        int row = keys.find(key);
+        return row < 0 ? null : new Row(row);
+    }
+
+    @Override
+    public Set<Entry<String, Map<String, Object>>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Map<String, Object>>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < keys.size();
+                    }
+
+                    @Override
+                    public Entry<String, Map<String, Object>> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int row = next++;
+                        return new SimpleImmutableEntry<>(keys.key(row), new Row(row));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.size();
+            }
+        };
+    }
+
+    /**
+     * Read-only view of one stored row.
+     */
+    private final class Row extends AbstractMap<String, Object> implements ComparableRecord {
+
+        private final int row;
+
+        Row(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public ComparisonSlots comparisonSlots() {
+            return slotColumns.at(row);
+        }
+
+        @Override
+        public Object get(Object key) {
+            Map<String, Object> irregular = irregular();
+            if (irregular != null) {
+                return irregular.get(key);
+            }
+            Integer index = fieldIndex.get(key);
+            return index == null ? null : columns[index].get(row);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            Map<String, Object> irregular = irregular();
+            return irregular != null ? irregular.containsKey(key) : fieldIndex.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            Map<String, Object> irregular = irregular();
+            return irregular != null ? irregular.size() : fieldNames.length;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            Map<String, Object> irregular = irregular();
+            if (irregular != null) {
+                return Collections.unmodifiableMap(irregular).entrySet();
+            }
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < fieldNames.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int field = next++;
+                            return new SimpleImmutableEntry<>(fieldNames[field], columns[field].get(row));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return fieldNames.length;
+                }
+            };
+        }
+
+        /** The verbatim values of a row with a non-canonical layout; the bit check avoids boxing the row index. */
+        private Map<String, Object> irregular() {
+            return irregular.get(row) ? irregularRows.get(row) : null;
+        }
+    }
+
+    /**
+     * Accumulates rows for a {@link ColumnarSourceRecords} store. Adding a key that was
+     * already seen replaces its values in place, mirroring {@code LinkedHashMap#put}.
+     */
+    public static final class Builder {
+
+        private final String[] fieldNames;
+        private final Map<String, Integer> fieldIndex;
+        private final FieldColumn[] columns;
+        private final CanonicalKeyDictionary keys;
+        private final SlotColumns slotColumns;
+        private final BitSet irregular = new BitSet();
+        private final Map<Integer, Map<String, Object>> irregularRows = new HashMap<>();
+        private final ComparisonPlan plan;
+        private final boolean anchor;
+        private int capacity;
+        private boolean built;
+
+        private Builder(List<CanonicalField> canonicalFields, ComparisonPlan plan, boolean anchor, int expectedRows) {
+            this.capacity = Math.max(expectedRows, 16);
+            this.fieldNames = new String[canonicalFields.size()];
+            this.fieldIndex = new HashMap<>();
+            this.columns = new FieldColumn[canonicalFields.size()];
+            for (int index = 0; index < canonicalFields.size(); index++) {
+                CanonicalField field = canonicalFields.get(index);
+                fieldNames[index] = field.getCanonicalName();
+                fieldIndex.putIfAbsent(field.getCanonicalName(), index);
+                columns[index] = FieldColumn.forField(field, capacity);
+            }
+            this.keys = new CanonicalKeyDictionary(expectedRows);
+            this.slotColumns = new SlotColumns(plan.slotCount(), capacity);
+            this.plan = plan;
+            this.anchor = anchor;
+        }
+
+        public Builder add(String canonicalKey, Map<String, Object> payload) {
+            if (built) {
+                throw new IllegalStateException("Columnar records have already been built");
+            }
+            int row = keys.findOrAdd(canonicalKey);
+            if (row == capacity) {
+                capacity = capacity + (capacity >> 1);
+                for (FieldColumn column : columns) {
+                    column.grow(capacity);
+                }
+                slotColumns.grow(capacity);
+            }
+
+            if (hasCanonicalLayout(payload)) {
+                if (irregular.get(row)) {
+                    irregular.clear(row);
+                    irregularRows.remove(row);
+                }
+                for (int index = 0; index < columns.length; index++) {
+                    columns[index].set(row, payload.get(fieldNames[index]));
+                }
+            } else {
+                irregular.set(row);
+                irregularRows.put(row, new LinkedHashMap<>(payload));
+                for (FieldColumn column : columns) {
+                    column.set(row, null);
+                }
+            }
+            slotColumns.clear(row);
+            plan.encodeInto(payload, anchor, slotColumns.at(row));
+            return this;
+        }
+
+        public ColumnarSourceRecords build() {
+            built = true;
+            for (FieldColumn column : columns) {
+                column.seal();
+            }
+            return new ColumnarSourceRecords(this);
+        }
+
+        private boolean hasCanonicalLayout(Map<String, Object> payload) {
+            if (payload.size() != fieldNames.length || fieldIndex.size() != fieldNames.length) {
+                return false;
+            }
+            int index = 0;
+            for (String key : payload.keySet()) {
+                if (!fieldNames[index++].equals(key)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Typed storage for one canonical field. Values outside the column's native
+     * encoding are kept verbatim in a sparse overflow table.
+     */
+    private abstract static class FieldColumn {
+
+        final BitSet nulls = new BitSet();
+        final Map<Integer, Object> overflow = new HashMap<>();
+
+        static FieldColumn forField(CanonicalField field, int capacity) {
+            return switch (field.getDataType()) {
+                case DECIMAL, INTEGER -> new DecimalColumn(capacity);
+                case DATE -> new EpochDayColumn(capacity);
+                case BOOLEAN -> new BooleanColumn(capacity);
+                case STRING, DATETIME -> new DictionaryColumn(capacity);
+            };
+        }
+
+        final void set(int row, Object value) {
+            overflow.remove(row);
+            if (value == null) {
+                nulls.set(row);
+                return;
+            }
+            nulls.clear(row);
+            if (!setEncoded(row, value)) {
+                overflow.put(row, value);
+            }
+        }
+
+        final Object get(int row) {
+            if (nulls.get(row)) {
+                return null;
+            }
+            Object verbatim = overflow.isEmpty() ? null : overflow.get(row);
+            return verbatim != null ? verbatim : getEncoded(row);
+        }
+
+        void seal() {}
+
+        abstract boolean setEncoded(int row, Object value);
+
+        abstract Object getEncoded(int row);
+
+        abstract void grow(int capacity);
+    }
+
+    private static final class DecimalColumn extends FieldColumn {
+
+        private static final byte INTEGER = 1;
+        private static final byte LONG = 2;
+        private static final byte DOUBLE = 3;
+        private static final byte BIG_DECIMAL = 4;
+
+        private long[] unscaled;
+        private byte[] scales;
+        private byte[] kinds;
+
+        DecimalColumn(int capacity) {
+            this.unscaled = new long[capacity];
+            this.scales = new byte[capacity];
+            this.kinds = new byte[capacity];
+        }
+
+        @Override
+        boolean setEncoded(int row, Object value) {
+            if (value instanceof Integer integer) {
+                return store(row, integer, 0, INTEGER);
+            }
+            if (value instanceof Long longValue) {
+                return store(row, longValue, 0, LONG);
+            }
+            if (value instanceof Double doubleValue) {
+                if (!Double.isFinite(doubleValue)) {
+                    return false;
+                }
+                BigDecimal decimal = new BigDecimal(doubleValue.toString());
+                if (Double.compare(decimal.doubleValue(), doubleValue) != 0) {
+                    return false;
+                }
+                return storeDecimal(row, decimal, DOUBLE);
+            }
+            if (value instanceof BigDecimal decimal) {
+                return storeDecimal(row, decimal, BIG_DECIMAL);
+            }
+            return false;
+        }
+
+        private boolean storeDecimal(int row, BigDecimal decimal, byte kind) {
+            if (decimal.unscaledValue().bitLength() >= Long.SIZE
+                    || decimal.scale() < Byte.MIN_VALUE
+                    || decimal.scale() > Byte.MAX_VALUE) {
+                return false;
+            }
+            return store(row, decimal.unscaledValue().longValue(), decimal.scale(), kind);
+        }
+
+        private boolean store(int row, long value, int scale, byte kind) {
+            unscaled[row] = value;
+            scales[row] = (byte) scale;
+            kinds[row] = kind;
+            return true;
+        }
+
+        @Override
+        Object getEncoded(int row) {
+            return switch (kinds[row]) {
+                case INTEGER -> (int) unscaled[row];
+                case LONG -> unscaled[row];
+                case DOUBLE -> BigDecimal.valueOf(unscaled[row], scales[row]).doubleValue();
+                default -> BigDecimal.valueOf(unscaled[row], scales[row]);
+            };
+        }
+
+        @Override
+        void grow(int capacity) {
+            unscaled = Arrays.copyOf(unscaled, capacity);
+            scales = Arrays.copyOf(scales, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+        }
+    }
+
+    /**
+     * ISO dates as epoch days. Only strings that round-trip exactly through
+     * {@link LocalDate#toString()} are encoded.
+     */
+    private static final class EpochDayColumn extends FieldColumn {
+
+        private int[] epochDays;
+
+        EpochDayColumn(int capacity) {
+            this.epochDays = new int[capacity];
+        }
+
+        @Override
+        boolean setEncoded(int row, Object value) {
+            if (!(value instanceof String text)) {
+                return false;
+            }
+            try {
+                LocalDate date = LocalDate.parse(text);
+                if (!date.toString().equals(text)) {
+                    return false;
+                }
+                epochDays[row] = Math.toIntExact(date.toEpochDay());
+                return true;
+            } catch (DateTimeParseException | ArithmeticException ex) {
+                return false;
+            }
+        }
+
+        @Override
+        Object getEncoded(int row) {
+            return LocalDate.ofEpochDay(epochDays[row]).toString();
+        }
+
+        @Override
+        void grow(int capacity) {
+            epochDays = Arrays.copyOf(epochDays, capacity);
+        }
+    }
+
+    private static final class BooleanColumn extends FieldColumn {
+
+        private byte[] values;
+
+        BooleanColumn(int capacity) {
+            this.values = new byte[capacity];
+        }
+
+        @Override
+        boolean setEncoded(int row, Object value) {
+            if (!(value instanceof Boolean bool)) {
+                return false;
+            }
+            values[row] = (byte) (bool ? 1 : 0);
+            return true;
+        }
+
+        @Override
+        Object getEncoded(int row) {
+            return values[row] == 1 ? Boolean.TRUE : Boolean.FALSE;
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    /**
+     * Strings as codes into a per-column dictionary of distinct values.
+     */
+    private static final class DictionaryColumn extends FieldColumn {
+
+        private int[] codes;
+        private String[] dictionary = new String[16];
+        private Map<String, Integer> codesByValue = new HashMap<>();
+
+        DictionaryColumn(int capacity) {
+            this.codes = new int[capacity];
+        }
+
+        @Override
+        boolean setEncoded(int row, Object value) {
+            if (!(value instanceof String text)) {
+                return false;
+            }
+            Integer code = codesByValue.get(text);
+            if (code == null) {
+                code = codesByValue.size();
+                if (code == dictionary.length) {
+                    dictionary = Arrays.copyOf(dictionary, dictionary.length << 1);
+                }
+                dictionary[code] = text;
+                codesByValue.put(text, code);
+            }
+            codes[row] = code;
+            return true;
+        }
+
+        @Override
+        Object getEncoded(int row) {
+            return dictionary[codes[row]];
+        }
+
+        @Override
+        void grow(int capacity) {
+            codes = Arrays.copyOf(codes, capacity);
+        }
+
+        @Override
+        void seal() {
+            dictionary = Arrays.copyOf(dictionary, codesByValue.size());
+            codesByValue = null;
+        }
+    }
+
+    /**
+     * Column-major storage for {@link ComparisonSlots}. Value, scale and reference
+     * arrays are only allocated for slots that actually use them.
+     */
+    private static final class SlotColumns {
+
+        private final byte[][] states;
+        private final long[][] values;
+        private final int[][] scales;
+        private final Object[][] references;
+        private int capacity;
+
+        SlotColumns(int slotCount, int capacity) {
+            this.capacity = capacity;
+            this.states = new byte[slotCount][];
+            this.values = new long[slotCount][];
+            this.scales = new int[slotCount][];
+            this.references = new Object[slotCount][];
+            for (int slot = 0; slot < slotCount; slot++) {
+                states[slot] = new byte[capacity];
+            }
+        }
+
+        ComparisonSlots at(int row) {
+            return new ColumnSlots(this, row);
+        }
+
+        void clear(int row) {
+            for (int slot = 0; slot < states.length; slot++) {
+                states[slot][row] = ComparisonSlots.NULL;
+                if (references[slot] != null) {
+                    references[slot][row] = null;
+                }
+            }
+        }
+
+        void grow(int newCapacity) {
+            capacity = newCapacity;
+            for (int slot = 0; slot < states.length; slot++) {
+                states[slot] = Arrays.copyOf(states[slot], newCapacity);
+                if (values[slot] != null) {
+                    values[slot] = Arrays.copyOf(values[slot], newCapacity);
+                }
+                if (scales[slot] != null) {
+                    scales[slot] = Arrays.copyOf(scales[slot], newCapacity);
+                }
+                if (references[slot] != null) {
+                    references[slot] = Arrays.copyOf(references[slot], newCapacity);
+                }
+            }
+        }
+    }
+
+    private static final class ColumnSlots extends ComparisonSlots {
+
+        private final SlotColumns columns;
+        private final int row;
+
+        ColumnSlots(SlotColumns columns, int row) {
+            this.columns = columns;
+            this.row = row;
+        }
+
+        @Override
+        byte state(int slot) {
+            return columns.states[slot][row];
+        }
+
+        @Override
+        long value(int slot) {
+            long[] values = columns.values[slot];
+            return values == null ? 0L : values[row];
+        }
+
+        @Override
+        int scale(int slot) {
+            int[] scales = columns.scales[slot];
+            return scales == null ? 0 : scales[row];
+        }
+
+        @Override
+        Object reference(int slot) {
+            Object[] references = columns.references[slot];
+            return references == null ? null : references[row];
+        }
+
+        @Override
+        void setCompact(int slot, long value, int scale) {
+            columns.states[slot][row] = COMPACT;
+            if (columns.values[slot] == null) {
+                columns.values[slot] = new long[columns.capacity];
+            }
+            columns.values[slot][row] = value;
+            if (scale != 0 && columns.scales[slot] == null) {
+                columns.scales[slot] = new int[columns.capacity];
+            }
+            if (columns.scales[slot] != null) {
+                columns.scales[slot][row] = scale;
+            }
+        }
+
+        @Override
+        void setReference(int slot, Object reference) {
+            columns.states[slot][row] = REFERENCE;
+            references(slot)[row] = reference;
+        }
+
+        @Override
+        void setInvalid(int slot, RuntimeException failure) {
+            columns.states[slot][row] = INVALID;
+            references(slot)[row] = failure;
+        }
+
+        private Object[] references(int slot) {
+            if (columns.references[slot] == null) {
+                columns.references[slot] = new Object[columns.capacity];
+            }
+            return columns.references[slot];
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.universal.reconciliation.service.matching;
+
+/**
+ * Record view whose compare-field values have already been parsed by the
+ * definition's {@link ComparisonPlan}.
+ */
+interface ComparableRecord {
+
+    ComparisonSlots comparisonSlots();
+}
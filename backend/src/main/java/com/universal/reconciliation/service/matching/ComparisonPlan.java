@@ -0,0 +1,528 @@
+package com.universal.reconciliation.service.matching;
+
+import com.universal.reconciliation.domain.entity.CanonicalField;
+import com.universal.reconciliation.util.ParsingUtils;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compare-field rules compiled once per reconciliation definition.
+ *
+ * <p>Each {@link CanonicalField} with the {@code COMPARE} role is resolved into a
+ * specialised comparator for its {@code ComparisonLogic}/{@code FieldDataType}
+ * pair. Record values are parsed a single time into {@link ComparisonSlots}
+ * (scaled decimals, epoch days, booleans or normalised references) so the
+ * per-pair comparison loop never looks fields up by name, re-parses values, or
+ * allocates on its fast paths.</p>
+ *
+ * <p>Semantics match the original map-based comparison exactly: two absent
+ * values are equal, an absent value never equals a present one, and values
+ * that cannot be parsed only fail the run when they are actually compared.</p>
+ */
+public final class ComparisonPlan {
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+    private static final long[] POWERS_OF_TEN = {
+        1L,
+        10L,
+        100L,
+        1_000L,
+        10_000L,
+        100_000L,
+        1_000_000L,
+        10_000_000L,
+        100_000_000L,
+        1_000_000_000L,
+        10_000_000_000L,
+        100_000_000_000L,
+        1_000_000_000_000L,
+        10_000_000_000_000L,
+        100_000_000_000_000L,
+        1_000_000_000_000_000L,
+        10_000_000_000_000_000L,
+        100_000_000_000_000_000L,
+        1_000_000_000_000_000_000L
+    };
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final FieldComparator[] comparators;
+    private final int slotCount;
+    private final String signature;
+
+    private ComparisonPlan(FieldComparator[] comparators, int slotCount) {
+        this.comparators = comparators;
+        this.slotCount = slotCount;
+        MessageDigest digest = sha256();
+        for (FieldComparator comparator : comparators) {
+            update(digest, comparator.descriptor());
+        }
+        this.signature = HEX.formatHex(digest.digest(), 0, 8);
+    }
+
+    public static ComparisonPlan compile(List<CanonicalField> compareFields) {
+        List<FieldComparator> comparators = new ArrayList<>(compareFields.size());
+        int slot = 0;
+        for (CanonicalField field : compareFields) {
+            String name = field.getCanonicalName();
+            FieldComparator comparator = switch (field.getComparisonLogic()) {
+                case EXACT_MATCH -> switch (field.getDataType()) {
+                    case DECIMAL, INTEGER -> new DecimalComparator(name, slot);
+                    case DATE -> new DateComparator(name, slot);
+                    case DATETIME -> new DateTimeComparator(name, slot);
+                    case BOOLEAN -> new BooleanComparator(name, slot);
+                    case STRING -> new StringComparator(name, slot, false);
+                };
+                case CASE_INSENSITIVE -> new StringComparator(name, slot, true);
+                case NUMERIC_THRESHOLD -> new ThresholdComparator(name, slot, field.getThresholdPercentage());
+                case DATE_ONLY -> new DateComparator(name, slot);
+            };
+            comparators.add(comparator);
+            slot += comparator.slotWidth();
+        }
+        return new ComparisonPlan(comparators.toArray(FieldComparator[]::new), slot);
+    }
+
+    /**
+     * Parses the compare-field values of a canonical payload into typed slots.
+     *
+     * @param anchor whether the payload belongs to the anchor source; anchor-relative
+     *               tolerances are only pre-computed for anchor records.
+     */
+    public ComparisonSlots encode(Map<String, Object> payload, boolean anchor) {
+        ComparisonSlots slots = new ArrayComparisonSlots(slotCount);
+        encodeInto(payload, anchor, slots);
+        return slots;
+    }
+
+    /**
+     * Parses the compare-field values of a canonical payload into caller-provided slots whose
+     * states are all {@code NULL}.
+     */
+    void encodeInto(Map<String, Object> payload, boolean anchor, ComparisonSlots slots) {
+        for (FieldComparator comparator : comparators) {
+            comparator.encode(payload.get(comparator.canonicalName), slots, anchor);
+        }
+    }
+
+    int slotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Short digest of the compiled rules. It changes whenever a compare field is added, removed,
+     * renamed or given a different type, comparison logic or threshold.
+     */
+    public String signature() {
+        return signature;
+    }
+
+    /**
+     * Digest of the normalised compare-field values of a canonical payload. Two payloads with the
+     * same fingerprint under the same {@link #signature()} are guaranteed to {@link #matches match};
+     * the converse does not hold, because tolerance comparisons are reduced to exact equality.
+     *
+     * @return the hex-encoded digest, or {@code null} when a value cannot be parsed for its field.
+     */
+    public String fingerprint(Map<String, Object> payload) {
+        MessageDigest digest = sha256();
+        update(digest, signature);
+        for (FieldComparator comparator : comparators) {
+            Object value = payload.get(comparator.canonicalName);
+            if (value == null) {
+                digest.update((byte) 0);
+                continue;
+            }
+            String normalised;
+            try {
+                normalised = comparator.normalise(value);
+            } catch (RuntimeException ex) {
+                return null;
+            }
+            digest.update((byte) 1);
+            update(digest, normalised);
+        }
+        return HEX.formatHex(digest.digest());
+    }
+
+    /**
+     * Returns {@code true} when every compare field of {@code candidate} agrees with the anchor record.
+     */
+    public boolean matches(ComparisonSlots anchor, ComparisonSlots candidate) {
+        for (FieldComparator comparator : comparators) {
+            if (!comparator.compare(anchor, candidate)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private abstract static class FieldComparator {
+
+        final String canonicalName;
+        final int slot;
+
+        FieldComparator(String canonicalName, int slot) {
+            this.canonicalName = canonicalName;
+            this.slot = slot;
+        }
+
+        int slotWidth() {
+            return 1;
+        }
+
+        final void encode(Object value, ComparisonSlots slots, boolean anchor) {
+            if (value == null) {
+                return;
+            }
+            try {
+                encodePresent(value, slots, anchor);
+            } catch (RuntimeException ex) {
+                slots.setInvalid(slot, ex);
+            }
+        }
+
+        final boolean compare(ComparisonSlots left, ComparisonSlots right) {
+            byte leftState = left.state(slot);
+            byte rightState = right.state(slot);
+            if (leftState == ComparisonSlots.NULL || rightState == ComparisonSlots.NULL) {
+                return leftState == rightState;
+            }
+            if (leftState == ComparisonSlots.INVALID) {
+                throw left.failure(slot);
+            }
+            if (rightState == ComparisonSlots.INVALID) {
+                throw right.failure(slot);
+            }
+            return comparePresent(left, right);
+        }
+
+        String descriptor() {
+            return getClass().getSimpleName() + ':' + canonicalName;
+        }
+
+        abstract void encodePresent(Object value, ComparisonSlots slots, boolean anchor);
+
+        abstract boolean comparePresent(ComparisonSlots left, ComparisonSlots right);
+
+        /** Canonical text of a present value; equal text must imply {@link #comparePresent} is true. */
+        abstract String normalise(Object value);
+    }
+
+    private static final class StringComparator extends FieldComparator {
+
+        private final boolean ignoreCase;
+
+        StringComparator(String canonicalName, int slot, boolean ignoreCase) {
+            super(canonicalName, slot);
+            this.ignoreCase = ignoreCase;
+        }
+
+        @Override
+        void encodePresent(Object value, ComparisonSlots slots, boolean anchor) {
+            slots.setReference(slot, value.toString());
+        }
+
+        @Override
+        boolean comparePresent(ComparisonSlots left, ComparisonSlots right) {
+            String leftValue = (String) left.reference(slot);
+            String rightValue = (String) right.reference(slot);
+            return ignoreCase ? leftValue.equalsIgnoreCase(rightValue) : leftValue.equals(rightValue);
+        }
+
+        @Override
+        String descriptor() {
+            return super.descriptor() + ':' + ignoreCase;
+        }
+
+        @Override
+        String normalise(Object value) {
+            String text = value.toString();
+            if (!ignoreCase) {
+                return text;
+            }
+            // same per-character folding as String#equalsIgnoreCase
+            char[] folded = text.toCharArray();
+            for (int index = 0; index < folded.length; index++) {
+                folded[index] = Character.toLowerCase(Character.toUpperCase(folded[index]));
+            }
+            return new String(folded);
+        }
+    }
+
+    /**
+     * Exact numeric equality. Values are stored with trailing zeros stripped, which
+     * gives every number a unique (unscaled, scale) form, so two compact slots are
+     * equal exactly when both longs match and a compact slot can never equal an
+     * overflowed one.
+     */
+    private static final class DecimalComparator extends FieldComparator {
+
+        DecimalComparator(String canonicalName, int slot) {
+            super(canonicalName, slot);
+        }
+
+        @Override
+        void encodePresent(Object value, ComparisonSlots slots, boolean anchor) {
+            storeDecimal(slots, slot, toBigDecimal(value).stripTrailingZeros());
+        }
+
+        @Override
+        boolean comparePresent(ComparisonSlots left, ComparisonSlots right) {
+            byte leftState = left.state(slot);
+            if (leftState != right.state(slot)) {
+                return false;
+            }
+            if (leftState == ComparisonSlots.COMPACT) {
+                return left.value(slot) == right.value(slot) && left.scale(slot) == right.scale(slot);
+            }
+            return ((BigDecimal) left.reference(slot)).compareTo((BigDecimal) right.reference(slot)) == 0;
+        }
+
+        @Override
+        String normalise(Object value) {
+            return toBigDecimal(value).stripTrailingZeros().toString();
+        }
+    }
+
+    /**
+     * Tolerance comparison relative to the anchor value. The anchor tolerance is
+     * computed once at encode time into a second slot; comparisons align the three
+     * scaled longs and fall back to {@link BigDecimal} arithmetic only on overflow.
+     */
+    private static final class ThresholdComparator extends FieldComparator {
+
+        private final BigDecimal threshold;
+        private final int toleranceSlot;
+
+        ThresholdComparator(String canonicalName, int slot, BigDecimal configuredThreshold) {
+            super(canonicalName, slot);
+            this.threshold = configuredThreshold != null ? configuredThreshold : BigDecimal.ZERO;
+            this.toleranceSlot = slot + 1;
+        }
+
+        @Override
+        int slotWidth() {
+            return 2;
+        }
+
+        @Override
+        void encodePresent(Object value, ComparisonSlots slots, boolean anchor) {
+            BigDecimal decimal = toBigDecimal(value);
+            storeDecimal(slots, slot, decimal);
+            if (anchor) {
+                storeDecimal(slots, toleranceSlot, tolerance(decimal));
+            }
+        }
+
+        @Override
+        boolean comparePresent(ComparisonSlots left, ComparisonSlots right) {
+            if (left.state(slot) == ComparisonSlots.COMPACT
+                    && right.state(slot) == ComparisonSlots.COMPACT
+                    && left.state(toleranceSlot) == ComparisonSlots.COMPACT) {
+                try {
+                    int scale = Math.max(Math.max(left.scale(slot), right.scale(slot)), left.scale(toleranceSlot));
+                    long leftValue = rescale(left.value(slot), left.scale(slot), scale);
+                    long rightValue = rescale(right.value(slot), right.scale(slot), scale);
+                    long tolerance = rescale(left.value(toleranceSlot), left.scale(toleranceSlot), scale);
+                    return Math.absExact(Math.subtractExact(leftValue, rightValue)) <= tolerance;
+                } catch (ArithmeticException overflow) {
+                    // fall through to exact BigDecimal arithmetic
+                }
+            }
+            BigDecimal leftValue = decimal(left, slot);
+            BigDecimal rightValue = decimal(right, slot);
+            BigDecimal tolerance = left.state(toleranceSlot) == ComparisonSlots.NULL
+                    ? tolerance(leftValue)
+                    : decimal(left, toleranceSlot);
+            return leftValue.subtract(rightValue).abs().compareTo(tolerance) <= 0;
+        }
+
+        @Override
+        String descriptor() {
+            return super.descriptor() + ':' + threshold.stripTrailingZeros().toPlainString();
+        }
+
+        @Override
+        String normalise(Object value) {
+            if (threshold.signum() < 0) {
+                // a negative tolerance rejects even identical values, so equality proves nothing
+                throw new IllegalStateException("Negative threshold cannot be fingerprinted");
+            }
+            return toBigDecimal(value).stripTrailingZeros().toString();
+        }
+
+        private BigDecimal tolerance(BigDecimal anchorValue) {
+            return anchorValue.abs().multiply(threshold).divide(ONE_HUNDRED, MathContext.DECIMAL64);
+        }
+    }
+
+    private static final class DateComparator extends FieldComparator {
+
+        DateComparator(String canonicalName, int slot) {
+            super(canonicalName, slot);
+        }
+
+        @Override
+        void encodePresent(Object value, ComparisonSlots slots, boolean anchor) {
+            slots.setCompact(slot, asLocalDate(value).toEpochDay(), 0);
+        }
+
+        @Override
+        boolean comparePresent(ComparisonSlots left, ComparisonSlots right) {
+            return left.value(slot) == right.value(slot);
+        }
+
+        @Override
+        String normalise(Object value) {
+            return Long.toString(asLocalDate(value).toEpochDay());
+        }
+    }
+
+    private static final class DateTimeComparator extends FieldComparator {
+
+        DateTimeComparator(String canonicalName, int slot) {
+            super(canonicalName, slot);
+        }
+
+        @Override
+        void encodePresent(Object value, ComparisonSlots slots, boolean anchor) {
+            slots.setReference(slot, asLocalDateTime(value));
+        }
+
+        @Override
+        boolean comparePresent(ComparisonSlots left, ComparisonSlots right) {
+            return left.reference(slot).equals(right.reference(slot));
+        }
+
+        @Override
+        String normalise(Object value) {
+            return asLocalDateTime(value).toString();
+        }
+    }
+
+    private static final class BooleanComparator extends FieldComparator {
+
+        BooleanComparator(String canonicalName, int slot) {
+            super(canonicalName, slot);
+        }
+
+        @Override
+        void encodePresent(Object value, ComparisonSlots slots, boolean anchor) {
+            slots.setCompact(slot, asBoolean(value) ? 1L : 0L, 0);
+        }
+
+        @Override
+        boolean comparePresent(ComparisonSlots left, ComparisonSlots right) {
+            return left.value(slot) == right.value(slot);
+        }
+
+        @Override
+        String normalise(Object value) {
+            return asBoolean(value) ? "1" : "0";
+        }
+    }
+
+    private static void storeDecimal(ComparisonSlots slots, int slot, BigDecimal value) {
+        if (value.unscaledValue().bitLength() < Long.SIZE) {
+            slots.setCompact(slot, value.unscaledValue().longValue(), value.scale());
+        } else {
+            slots.setReference(slot, value);
+        }
+    }
+
+    private static BigDecimal decimal(ComparisonSlots slots, int slot) {
+        if (slots.state(slot) == ComparisonSlots.COMPACT) {
+            return BigDecimal.valueOf(slots.value(slot), slots.scale(slot));
+        }
+        return (BigDecimal) slots.reference(slot);
+    }
+
+    private static long rescale(long unscaled, int fromScale, int toScale) {
+        int shift = toScale - fromScale;
+        if (shift >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("Scale difference too large for long arithmetic");
+        }
+        return Math.multiplyExact(unscaled, POWERS_OF_TEN[shift]);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    private static LocalDate asLocalDate(Object value) {
+        if (value instanceof LocalDate localDate) {
+            return localDate;
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime.toLocalDate();
+        }
+        if (value instanceof java.util.Date legacyDate) {
+            return legacyDate.toInstant().atZone(ZoneOffset.UTC).toLocalDate();
+        }
+        try {
+            return LocalDate.parse(value.toString());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalStateException("Unable to parse date value: " + value, ex);
+        }
+    }
+
+    private static LocalDateTime asLocalDateTime(Object value) {
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime;
+        }
+        if (value instanceof LocalDate localDate) {
+            return localDate.atStartOfDay();
+        }
+        if (value instanceof java.util.Date legacyDate) {
+            return legacyDate.toInstant().atZone(ZoneOffset.UTC).toLocalDateTime();
+        }
+        try {
+            return LocalDateTime.parse(value.toString());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalStateException("Unable to parse datetime value: " + value, ex);
+        }
+    }
+
+    private static boolean asBoolean(Object value) {
+        try {
+            return ParsingUtils.parseFlexibleBoolean(value);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+}
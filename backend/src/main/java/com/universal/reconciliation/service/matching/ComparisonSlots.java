@@ -0,0 +1,44 @@
+package com.universal.reconciliation.service.matching;
+
+/**
+ * Typed, pre-parsed compare-field values for a single record laid out in the
+ * slot order of a {@link ComparisonPlan}. Primitive encodings (scaled
+ * decimals, epoch days, booleans) are exposed through {@link #value(int)} and
+ * {@link #scale(int)}; everything else is held as an already-normalised
+ * reference so comparisons never re-parse or allocate.
+ *
+ * <p>Slots are either backed by per-record arrays ({@link ArrayComparisonSlots})
+ * or by a row of a {@link ColumnarSourceRecords} store.</p>
+ */
+public abstract class ComparisonSlots {
+
+    static final byte NULL = 0;
+    static final byte COMPACT = 1;
+    static final byte REFERENCE = 2;
+    static final byte INVALID = 3;
+
+    ComparisonSlots() {}
+
+    abstract byte state(int slot);
+
+    abstract long value(int slot);
+
+    abstract int scale(int slot);
+
+    abstract Object reference(int slot);
+
+    abstract void setCompact(int slot, long value, int scale);
+
+    abstract void setReference(int slot, Object reference);
+
+    /**
+     * Records a value that could not be parsed. The failure is deferred until the
+     * slot is actually compared so unparseable values on unmatched keys behave as
+     * they always have.
+     */
+    abstract void setInvalid(int slot, RuntimeException failure);
+
+    RuntimeException failure(int slot) {
+        return (RuntimeException) reference(slot);
+    }
+}
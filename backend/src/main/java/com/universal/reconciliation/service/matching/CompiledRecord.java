@@ -0,0 +1,48 @@
+package com.universal.reconciliation.service.matching;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only view over a canonical payload that also carries the record's
+ * pre-parsed {@link ComparisonSlots}. It behaves exactly like the wrapped map
+ * for snapshotting and serialisation while letting the matching engine skip
+ * per-comparison parsing.
+ */
+final class CompiledRecord extends AbstractMap<String, Object> implements ComparableRecord {
+
+    private final Map<String, Object> payload;
+    private final ComparisonSlots slots;
+
+    CompiledRecord(Map<String, Object> payload, ComparisonSlots slots) {
+        this.payload = payload;
+        this.slots = slots;
+    }
+
+    @Override
+    public ComparisonSlots comparisonSlots() {
+        return slots;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return payload.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return payload.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return payload.size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return Collections.unmodifiableMap(payload).entrySet();
+    }
+}
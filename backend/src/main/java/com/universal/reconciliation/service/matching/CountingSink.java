@@ -0,0 +1,40 @@
+package com.universal.reconciliation.service.matching;
+
+import com.universal.reconciliation.domain.enums.BreakType;
+
+/**
+ * Forwards candidates and match notifications to a downstream sink while tallying them, so every engine
+ * derives its counts the same way: {@link BreakType#MISMATCH} candidates are mismatches and every other break
+ * counts as missing.
+ */
+final class CountingSink implements BreakCandidateSink {
+
+    private final BreakCandidateSink delegate;
+    private long matched;
+    private int mismatched;
+    private int missing;
+
+    CountingSink(BreakCandidateSink delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void accept(BreakCandidate candidate) {
+        if (candidate.type() == BreakType.MISMATCH) {
+            mismatched++;
+        } else {
+            missing++;
+        }
+        delegate.accept(candidate);
+    }
+
+    @Override
+    public void matched(long count) {
+        matched += count;
+        delegate.matched(count);
+    }
+
+    MatchingCounts counts() {
+        return new MatchingCounts(Math.toIntExact(matched), mismatched, missing);
+    }
+}
@@ -1,26 +1,19 @@
 package com.universal.reconciliation.service.matching;
 
-import com.universal.reconciliation.domain.entity.CanonicalField;
-import com.universal.reconciliation.domain.enums.BreakType;
-import com.universal.reconciliation.domain.enums.ComparisonLogic;
-import com.universal.reconciliation.domain.enums.FieldDataType;
-import com.universal.reconciliation.domain.enums.FieldRole;
-import java.math.BigDecimal;
-import java.math.MathContext;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeParseException;
+import com.universal.reconciliation.config.MatchingProperties;
+import jakarta.annotation.PreDestroy;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
-
-import com.universal.reconciliation.util.ParsingUtils;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -35,74 +28,69 @@ public class DynamicMatchingEngine implements MatchingEngine {
     private static final Logger log = LoggerFactory.getLogger(DynamicMatchingEngine.class);
 
     private final DynamicReconciliationContextLoader contextLoader;
+    private final MatchingProperties properties;
+    private ForkJoinPool workerPool;
 
-    public DynamicMatchingEngine(DynamicReconciliationContextLoader contextLoader) {
+    public DynamicMatchingEngine(DynamicReconciliationContextLoader contextLoader, MatchingProperties properties) {
         this.contextLoader = contextLoader;
+        this.properties = properties;
     }
 
     @Override
-    public MatchingResult execute(com.universal.reconciliation.domain.entity.ReconciliationDefinition definition) {
+    public MatchingCounts execute(
+            com.universal.reconciliation.domain.entity.ReconciliationDefinition definition, BreakCandidateSink sink) {
         DynamicReconciliationContext context = contextLoader.load(definition);
-        return execute(context);
+        return execute(context, sink);
     }
 
     /**
      * Compares the anchor dataset against every configured source to derive break candidates while capturing
-     * matched, mismatched, and missing statistics for the calling service.
+     * matched, mismatched, and missing statistics for the calling service. Large runs are hash-partitioned
+     * by canonical key when parallelism is configured; both paths emit the same candidates in the same order.
      */
-    private MatchingResult execute(DynamicReconciliationContext context) {
-        Map<String, Map<String, Object>> anchorRecords = context.anchor().recordsByKey();
-        List<DynamicSourceDataset> otherSources = context.otherSources();
-        List<BreakCandidate> breakCandidates = new ArrayList<>();
-        int matched = 0;
-        int mismatched = 0;
-        int missing = 0;
+    MatchingCounts execute(DynamicReconciliationContext context, BreakCandidateSink sink) {
+        int shardCount = resolveShardCount(context);
+        BreakCandidateEvaluator evaluator = BreakCandidateEvaluator.forContext(context);
+        CountingSink counter = new CountingSink(sink);
+        if (shardCount > 1) {
+            executePartitioned(context, evaluator, shardCount, counter);
+        } else {
+            executeSerial(context, evaluator, counter);
+        }
+        MatchingCounts counts = counter.counts();
 
-        for (Map.Entry<String, Map<String, Object>> anchorEntry : anchorRecords.entrySet()) {
-            String canonicalKey = anchorEntry.getKey();
-            Map<String, Object> anchorRecord = anchorEntry.getValue();
-            Map<String, Map<String, Object>> sourcesSnapshot = new LinkedHashMap<>();
-            sourcesSnapshot.put(context.anchor().source().getCode(), anchorRecord);
-
-            List<String> missingSources = new ArrayList<>();
-            boolean differenceDetected = false;
-
-            for (DynamicSourceDataset dataset : otherSources) {
-                Map<String, Object> candidate = dataset.recordsByKey().get(canonicalKey);
-                if (candidate == null) {
-                    missingSources.add(dataset.source().getCode());
-                    sourcesSnapshot.put(dataset.source().getCode(), Map.of());
-                    differenceDetected = true;
-                    continue;
-                }
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Matching completed: definition={} matched={} mismatched={} missing={} breaks={} anchor={} otherSources={} shards={}",
+                    context.definition().getCode(),
+                    counts.matchedCount(),
+                    counts.mismatchedCount(),
+                    counts.missingCount(),
+                    counts.mismatchedCount() + counts.missingCount(),
+                    context.anchor().source().getCode(),
+                    context.otherSources().stream().map(dataset -> dataset.source().getCode()).toList(),
+                    shardCount);
+        }
+        return counts;
+    }
 
-                sourcesSnapshot.put(dataset.source().getCode(), candidate);
-                if (!recordsMatch(anchorRecord, candidate, context.compareFields())) {
-                    differenceDetected = true;
-                }
-            }
+    private void executeSerial(
+            DynamicReconciliationContext context, BreakCandidateEvaluator evaluator, CountingSink sink) {
+        Map<String, Map<String, Object>> anchorRecords = context.anchor().recordsByKey();
 
-            if (differenceDetected) {
-                BreakType breakType = missingSources.isEmpty() ? BreakType.MISMATCH : BreakType.SOURCE_MISSING;
-                if (missingSources.isEmpty()) {
-                    mismatched++;
-                } else {
-                    missing++;
-                }
-                Map<String, String> classifications = resolveClassifications(sourcesSnapshot, context.classifierFields());
-                breakCandidates.add(new BreakCandidate(
-                        breakType,
-                        immutableSnapshot(sourcesSnapshot),
-                        Map.copyOf(classifications),
-                        List.copyOf(missingSources)));
+        for (Map.Entry<String, Map<String, Object>> anchorEntry : anchorRecords.entrySet()) {
+            BreakCandidate candidate =
+                    evaluateAnchorRecord(context, evaluator, anchorEntry.getKey(), anchorEntry.getValue());
+            if (candidate == null) {
+                sink.matched(1);
             } else {
-                matched++;
+                sink.accept(candidate);
             }
         }
 
         // identify records that exist in non-anchor sources but not in the anchor dataset
         Map<String, Map<String, Map<String, Object>>> missingInAnchor = new LinkedHashMap<>();
-        for (DynamicSourceDataset dataset : otherSources) {
+        for (DynamicSourceDataset dataset : context.otherSources()) {
             for (Map.Entry<String, Map<String, Object>> entry : dataset.recordsByKey().entrySet()) {
                 if (!anchorRecords.containsKey(entry.getKey())) {
                     missingInAnchor
@@ -113,177 +101,308 @@ public class DynamicMatchingEngine implements MatchingEngine {
         }
 
         for (Map.Entry<String, Map<String, Map<String, Object>>> entry : missingInAnchor.entrySet()) {
-            Map<String, Map<String, Object>> sourcesSnapshot = new LinkedHashMap<>(entry.getValue());
-            sourcesSnapshot.put(context.anchor().source().getCode(), Map.of());
-            Map<String, String> classifications = resolveClassifications(sourcesSnapshot, context.classifierFields());
-            List<String> missingSources = List.of(context.anchor().source().getCode());
-            missing++;
-            breakCandidates.add(new BreakCandidate(
-                    BreakType.ANCHOR_MISSING,
-                    immutableSnapshot(sourcesSnapshot),
-                    Map.copyOf(classifications),
-                    missingSources));
+            sink.accept(evaluator.anchorMissing(entry.getKey(), entry.getValue()));
         }
+    }
 
-        if (log.isDebugEnabled()) {
-            log.debug(
-                    "Matching completed: definition={} matched={} mismatched={} missing={} breaks={} anchor={} otherSources={}",
-                    context.definition().getCode(),
-                    matched,
-                    mismatched,
-                    missing,
-                    breakCandidates.size(),
-                    context.anchor().source().getCode(),
-                    otherSources.stream().map(dataset -> dataset.source().getCode()).toList());
+    /**
+     * Splits the canonical key space into {@code shardCount} hash partitions and evaluates them on the
+     * engine's worker pool. Every candidate carries the ordinal it would have had in the serial walk
+     * (anchor iteration order, then first appearance across the non-anchor sources). Partitions hand their
+     * candidates over through bounded queues that the calling thread merges by ordinal, so the sink sees
+     * exactly the serial ordering while at most {@code app.matching.break-batch-size} candidates per
+     * partition are buffered.
+     */
+    private void executePartitioned(
+            DynamicReconciliationContext context,
+            BreakCandidateEvaluator evaluator,
+            int shardCount,
+            CountingSink sink) {
+        Map<String, Map<String, Object>> anchorRecords = context.anchor().recordsByKey();
+        List<DynamicSourceDataset> otherSources = context.otherSources();
+
+        String[] anchorKeys = anchorRecords.keySet().toArray(String[]::new);
+        int[][] anchorPartitions = partition(anchorKeys, shardCount);
+
+        List<String[]> otherKeys = new ArrayList<>(otherSources.size());
+        List<int[][]> otherPartitions = new ArrayList<>(otherSources.size());
+        long[] ordinalOffsets = new long[otherSources.size()];
+        long offset = 0;
+        for (int index = 0; index < otherSources.size(); index++) {
+            String[] keys = otherSources.get(index).recordsByKey().keySet().toArray(String[]::new);
+            otherKeys.add(keys);
+            otherPartitions.add(partition(keys, shardCount));
+            ordinalOffsets[index] = offset;
+            offset += keys.length;
         }
 
-        return new MatchingResult(matched, mismatched, missing, breakCandidates);
-    }
+        List<BlockingQueue<ShardEvent>> queues = new ArrayList<>(shardCount);
+        List<Future<?>> shards = new ArrayList<>(shardCount);
+        AtomicBoolean abandoned = new AtomicBoolean();
+        try {
+            for (int shard = 0; shard < shardCount; shard++) {
+                int shardIndex = shard;
+                BlockingQueue<ShardEvent> queue = new ArrayBlockingQueue<>(properties.getBreakBatchSize());
+                queues.add(queue);
+                shards.add(workerPool().submit(() -> {
+                    try {
+                        long matched = 0;
+                        for (int keyIndex : anchorPartitions[shardIndex]) {
+                            String canonicalKey = anchorKeys[keyIndex];
+                            BreakCandidate candidate = evaluateAnchorRecord(
+                                    context, evaluator, canonicalKey, anchorRecords.get(canonicalKey));
+                            if (candidate == null) {
+                                matched++;
+                            } else if (!handOff(queue, ShardEvent.anchor(keyIndex, candidate), abandoned)) {
+                                return null;
+                            }
+                        }
 
-    private Map<String, Map<String, Object>> immutableSnapshot(Map<String, Map<String, Object>> snapshot) {
-        return Collections.unmodifiableMap(new LinkedHashMap<>(snapshot));
+                        Map<String, OrderedSnapshot> missingInAnchor = new LinkedHashMap<>();
+                        for (int sourceIndex = 0; sourceIndex < otherSources.size(); sourceIndex++) {
+                            DynamicSourceDataset dataset = otherSources.get(sourceIndex);
+                            String[] keys = otherKeys.get(sourceIndex);
+                            long sourceOffset = ordinalOffsets[sourceIndex];
+                            for (int keyIndex : otherPartitions.get(sourceIndex)[shardIndex]) {
+                                String canonicalKey = keys[keyIndex];
+                                if (!anchorRecords.containsKey(canonicalKey)) {
+                                    missingInAnchor
+                                            .computeIfAbsent(canonicalKey, k -> new OrderedSnapshot(sourceOffset + keyIndex))
+                                            .sources()
+                                            .put(dataset.source().getCode(), dataset.recordsByKey().get(canonicalKey));
+                                }
+                            }
+                        }
+                        for (Map.Entry<String, OrderedSnapshot> entry : missingInAnchor.entrySet()) {
+                            OrderedSnapshot snapshot = entry.getValue();
+                            ShardEvent event = ShardEvent.anchorMissing(
+                                    snapshot.ordinal(), evaluator.anchorMissing(entry.getKey(), snapshot.sources()));
+                            if (!handOff(queue, event, abandoned)) {
+                                return null;
+                            }
+                        }
+                        handOff(queue, ShardEvent.completed(matched), abandoned);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException | Error ex) {
+                        try {
+                            handOff(queue, ShardEvent.failed(ex), abandoned);
+                        } catch (InterruptedException interrupted) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            mergeShards(queues, sink);
+        } finally {
+            abandoned.set(true);
+            shards.forEach(shard -> shard.cancel(true));
+        }
     }
 
-    private Map<String, String> resolveClassifications(
-            Map<String, Map<String, Object>> sourcesSnapshot, List<CanonicalField> classifierFields) {
-        Map<String, String> classifications = new LinkedHashMap<>();
-        for (CanonicalField field : classifierFields) {
-            Object value = findFirstNonNull(sourcesSnapshot, field.getCanonicalName());
-            if (value != null) {
-                String key = field.getClassifierTag() != null ? field.getClassifierTag() : canonicalClassifierKey(field.getRole());
-                if (key != null) {
-                    classifications.put(key, Objects.toString(value, null));
+    /**
+     * Repeatedly forwards the pending candidate with the lowest serial position across all partitions.
+     * A partition's next candidate is always at a higher position than its previous one, so the output
+     * is ordered once every partition has either offered a candidate or completed.
+     */
+    private static void mergeShards(List<BlockingQueue<ShardEvent>> queues, CountingSink sink) {
+        ShardEvent[] heads = new ShardEvent[queues.size()];
+        for (int shard = 0; shard < heads.length; shard++) {
+            heads[shard] = take(queues.get(shard));
+        }
+        while (true) {
+            int next = -1;
+            for (int shard = 0; shard < heads.length; shard++) {
+                ShardEvent head = heads[shard];
+                if (head.candidate() != null && (next < 0 || head.precedes(heads[next]))) {
+                    next = shard;
                 }
             }
+            if (next < 0) {
+                break;
+            }
+            sink.accept(heads[next].candidate());
+            heads[next] = take(queues.get(next));
+        }
+        for (ShardEvent head : heads) {
+            sink.matched(head.matched());
         }
-        return classifications;
     }
 
-    private String canonicalClassifierKey(FieldRole role) {
-        return switch (role) {
-            case PRODUCT -> "product";
-            case SUB_PRODUCT -> "subProduct";
-            case ENTITY -> "entity";
-            default -> null;
-        };
+    /**
+     * Puts {@code event} on a partition's hand-off queue, waiting while the queue is full. The wait is
+     * managed by the pool, which starts a spare worker while this one is blocked so partitions still waiting
+     * for a worker, of this run or a concurrent one, can start and the merge keeps draining.
+     *
+     * @return {@code false} when the merge was abandoned and the partition should stop
+     */
+    private static boolean handOff(BlockingQueue<ShardEvent> queue, ShardEvent event, AtomicBoolean abandoned)
+            throws InterruptedException {
+        HandOff handOff = new HandOff(queue, event, abandoned);
+        ForkJoinPool.managedBlock(handOff);
+        return handOff.handedOff;
     }
 
-    private Object findFirstNonNull(Map<String, Map<String, Object>> sourcesSnapshot, String canonicalName) {
-        for (Map<String, Object> payload : sourcesSnapshot.values()) {
-            if (payload == null) {
-                continue;
+    private static final class HandOff implements ForkJoinPool.ManagedBlocker {
+
+        private final BlockingQueue<ShardEvent> queue;
+        private final ShardEvent event;
+        private final AtomicBoolean abandoned;
+        private boolean handedOff;
+
+        private HandOff(BlockingQueue<ShardEvent> queue, ShardEvent event, AtomicBoolean abandoned) {
+            this.queue = queue;
+            this.event = event;
+            this.abandoned = abandoned;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            while (!isReleasable()) {
+                handedOff = queue.offer(event, 10, TimeUnit.MILLISECONDS);
             }
-            Object value = payload.get(canonicalName);
-            if (value != null) {
-                return value;
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            if (!handedOff && !abandoned.get()) {
+                handedOff = queue.offer(event);
             }
+            return handedOff || abandoned.get();
         }
-        return null;
     }
 
-    private boolean recordsMatch(
-            Map<String, Object> anchorRecord, Map<String, Object> candidate, List<CanonicalField> compareFields) {
-        for (CanonicalField field : compareFields) {
-            Object left = anchorRecord.get(field.getCanonicalName());
-            Object right = candidate.get(field.getCanonicalName());
-            if (!compareValues(left, right, field)) {
-                return false;
-            }
+    private static ShardEvent take(BlockingQueue<ShardEvent> queue) {
+        ShardEvent event;
+        try {
+            event = queue.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Matching was interrupted", ex);
+        }
+        if (event.failure() instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (event.failure() instanceof Error error) {
+            throw error;
         }
-        return true;
+        return event;
     }
 
-    private boolean compareValues(Object left, Object right, CanonicalField field) {
-        if (left == null || right == null) {
-            return Objects.equals(left, right);
+    private int resolveShardCount(DynamicReconciliationContext context) {
+        int parallelism = properties.getParallelism();
+        if (parallelism <= 1) {
+            return 1;
         }
-        ComparisonLogic logic = field.getComparisonLogic();
-        return switch (logic) {
-            case EXACT_MATCH -> normalizedEquals(left, right, field.getDataType());
-            case CASE_INSENSITIVE -> left.toString().equalsIgnoreCase(right.toString());
-            case NUMERIC_THRESHOLD -> compareNumericWithThreshold(left, right, field.getThresholdPercentage());
-            case DATE_ONLY -> Objects.equals(asLocalDate(left), asLocalDate(right));
-        };
+        long totalKeys = context.anchor().recordsByKey().size();
+        for (DynamicSourceDataset dataset : context.otherSources()) {
+            totalKeys += dataset.recordsByKey().size();
+        }
+        return totalKeys >= properties.getParallelThreshold() ? parallelism : 1;
+    }
+
+    private static int[][] partition(String[] keys, int shardCount) {
+        int[] shardOf = new int[keys.length];
+        int[] sizes = new int[shardCount];
+        for (int index = 0; index < keys.length; index++) {
+            int shard = Math.floorMod(spread(keys[index].hashCode()), shardCount);
+            shardOf[index] = shard;
+            sizes[shard]++;
+        }
+        int[][] partitions = new int[shardCount][];
+        for (int shard = 0; shard < shardCount; shard++) {
+            partitions[shard] = new int[sizes[shard]];
+        }
+        int[] cursor = new int[shardCount];
+        for (int index = 0; index < keys.length; index++) {
+            int shard = shardOf[index];
+            partitions[shard][cursor[shard]++] = index;
+        }
+        return partitions;
     }
 
-    private boolean normalizedEquals(Object left, Object right, FieldDataType dataType) {
-        return switch (dataType) {
-            case DECIMAL, INTEGER -> toBigDecimal(left).compareTo(toBigDecimal(right)) == 0;
-            case DATE -> Objects.equals(asLocalDate(left), asLocalDate(right));
-            case DATETIME -> Objects.equals(asLocalDateTime(left), asLocalDateTime(right));
-            case BOOLEAN -> Objects.equals(asBoolean(left), asBoolean(right));
-            case STRING -> Objects.equals(left.toString(), right.toString());
-        };
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
     }
 
     /**
-     * Compare numeric values using the anchor record's value to derive the tolerance.
-     *
-     * <p>The tolerance is calculated from the {@code left} value because the anchor
-     * dataset defines the point of reference. As a result the comparison is not
-     * symmetric: {@code compareNumericWithThreshold(A, B)} may yield a different
-     * outcome from {@code compareNumericWithThreshold(B, A)} if the anchor switches.
-     * This matches the business expectation that tolerances are configured relative
-     * to the anchor source but should be revisited if bidirectional comparisons are
-     * ever required.</p>
+     * A pool running at most {@code app.matching.parallelism} partitions at once across all runs. Partitions
+     * of concurrent runs queue for a worker; a partition blocked on its hand-off queue releases its slot
+     * through {@link #handOff}, so queued partitions still start and every merge makes progress.
      */
-    private boolean compareNumericWithThreshold(Object left, Object right, BigDecimal configuredThreshold) {
-        BigDecimal leftValue = toBigDecimal(left);
-        BigDecimal rightValue = toBigDecimal(right);
-        BigDecimal threshold = configuredThreshold != null ? configuredThreshold : BigDecimal.ZERO;
-        BigDecimal tolerance = leftValue.abs().multiply(threshold).divide(BigDecimal.valueOf(100), MathContext.DECIMAL64);
-        return leftValue.subtract(rightValue).abs().compareTo(tolerance) <= 0;
+    private synchronized ForkJoinPool workerPool() {
+        if (workerPool == null) {
+            AtomicInteger threadIndex = new AtomicInteger();
+            workerPool = new ForkJoinPool(
+                    properties.getParallelism(),
+                    pool -> {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                        thread.setName("matching-worker-" + threadIndex.incrementAndGet());
+                        return thread;
+                    },
+                    null,
+                    false);
+        }
+        return workerPool;
     }
 
-    private BigDecimal toBigDecimal(Object value) {
-        if (value instanceof BigDecimal decimal) {
-            return decimal;
+    @PreDestroy
+    public synchronized void shutdownWorkerPool() {
+        if (workerPool != null) {
+            workerPool.shutdown();
+            workerPool = null;
         }
-        if (value instanceof Number number) {
-            return new BigDecimal(number.toString());
-        }
-        return new BigDecimal(value.toString());
     }
 
-    private LocalDate asLocalDate(Object value) {
-        if (value instanceof LocalDate localDate) {
-            return localDate;
-        }
-        if (value instanceof LocalDateTime localDateTime) {
-            return localDateTime.toLocalDate();
-        }
-        if (value instanceof java.util.Date legacyDate) {
-            return legacyDate.toInstant().atZone(ZoneOffset.UTC).toLocalDate();
-        }
-        try {
-            return LocalDate.parse(value.toString());
-        } catch (DateTimeParseException ex) {
-            throw new IllegalStateException("Unable to parse date value: " + value, ex);
+    /**
+     * Evaluates a single anchor record against every non-anchor source.
+     *
+     * @return the resulting break candidate, or {@code null} when every source agrees with the anchor.
+     */
+    private BreakCandidate evaluateAnchorRecord(
+            DynamicReconciliationContext context,
+            BreakCandidateEvaluator evaluator,
+            String canonicalKey,
+            Map<String, Object> anchorRecord) {
+        List<DynamicSourceDataset> otherSources = context.otherSources();
+        return evaluator.evaluateAnchor(
+                canonicalKey, anchorRecord, index -> otherSources.get(index).recordsByKey().get(canonicalKey));
+    }
+
+    /** Snapshot of a key missing from the anchor, tagged with its position in the serial walk. */
+    private record OrderedSnapshot(long ordinal, Map<String, Map<String, Object>> sources) {
+
+        OrderedSnapshot(long ordinal) {
+            this(ordinal, new LinkedHashMap<>());
         }
     }
 
-    private LocalDateTime asLocalDateTime(Object value) {
-        if (value instanceof LocalDateTime localDateTime) {
-            return localDateTime;
+    /**
+     * Hand-off from a partition to the merging thread: a candidate tagged with its serial position, the
+     * partition's matched count once it has completed, or the failure that stopped it.
+     */
+    private record ShardEvent(int phase, long ordinal, BreakCandidate candidate, long matched, Throwable failure) {
+
+        static ShardEvent anchor(long ordinal, BreakCandidate candidate) {
+            return new ShardEvent(0, ordinal, candidate, 0, null);
         }
-        if (value instanceof LocalDate localDate) {
-            return localDate.atStartOfDay();
+
+        static ShardEvent anchorMissing(long ordinal, BreakCandidate candidate) {
+            return new ShardEvent(1, ordinal, candidate, 0, null);
         }
-        if (value instanceof java.util.Date legacyDate) {
-            return legacyDate.toInstant().atZone(ZoneOffset.UTC).toLocalDateTime();
+
+        static ShardEvent completed(long matched) {
+            return new ShardEvent(Integer.MAX_VALUE, Long.MAX_VALUE, null, matched, null);
         }
-        try {
-            return LocalDateTime.parse(value.toString());
-        } catch (DateTimeParseException ex) {
-            throw new IllegalStateException("Unable to parse datetime value: " + value, ex);
+
+        static ShardEvent failed(Throwable failure) {
+            return new ShardEvent(Integer.MAX_VALUE, Long.MAX_VALUE, null, 0, failure);
         }
-    }
 
-    private Boolean asBoolean(Object value) {
-        try {
-            return ParsingUtils.parseFlexibleBoolean(value);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalStateException(ex.getMessage(), ex);
+        boolean precedes(ShardEvent other) {
+            return phase != other.phase ? phase < other.phase : ordinal < other.ordinal;
         }
     }
 }
@@ -15,4 +15,28 @@ public record DynamicReconciliationContext(
         List<CanonicalField> compareFields,
         List<CanonicalField> classifierFields,
         DynamicSourceDataset anchor,
-        List<DynamicSourceDataset> otherSources) {}
+        List<DynamicSourceDataset> otherSources,
+        ComparisonPlan comparisonPlan) {
+
+    /**
+     * Creates a context whose comparison plan is compiled from {@code compareFields}.
+     */
+    public DynamicReconciliationContext(
+            ReconciliationDefinition definition,
+            List<CanonicalField> canonicalFields,
+            List<CanonicalField> keyFields,
+            List<CanonicalField> compareFields,
+            List<CanonicalField> classifierFields,
+            DynamicSourceDataset anchor,
+            List<DynamicSourceDataset> otherSources) {
+        this(
+                definition,
+                canonicalFields,
+                keyFields,
+                compareFields,
+                classifierFields,
+                anchor,
+                otherSources,
+                ComparisonPlan.compile(compareFields));
+    }
+}
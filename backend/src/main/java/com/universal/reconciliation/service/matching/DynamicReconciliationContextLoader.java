@@ -2,11 +2,13 @@ package com.universal.reconciliation.service.matching;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.config.MatchingProperties;
 import com.universal.reconciliation.domain.entity.CanonicalField;
 import com.universal.reconciliation.domain.entity.ReconciliationDefinition;
 import com.universal.reconciliation.domain.entity.ReconciliationSource;
 import com.universal.reconciliation.domain.entity.SourceDataBatch;
 import com.universal.reconciliation.domain.entity.SourceDataRecord;
+import com.universal.reconciliation.domain.enums.DataBatchStatus;
 import com.universal.reconciliation.domain.enums.FieldRole;
 import com.universal.reconciliation.repository.CanonicalFieldRepository;
 import com.universal.reconciliation.repository.ReconciliationSourceRepository;
@@ -17,7 +19,6 @@ import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -25,7 +26,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Builds {@link DynamicReconciliationContext} instances from persisted
- * configuration and staged source data.
+ * configuration and staged source data. Compare fields are compiled into a
+ * {@link ComparisonPlan} and every payload is parsed into its typed slots
+ * while the batch is streamed in.
  */
 @Component
 public class DynamicReconciliationContextLoader {
@@ -37,22 +40,48 @@ public class DynamicReconciliationContextLoader {
     private final SourceDataBatchRepository batchRepository;
     private final SourceDataRecordRepository recordRepository;
     private final ObjectMapper objectMapper;
+    private final MatchingProperties matchingProperties;
 
     public DynamicReconciliationContextLoader(
             CanonicalFieldRepository canonicalFieldRepository,
             ReconciliationSourceRepository sourceRepository,
             SourceDataBatchRepository batchRepository,
             SourceDataRecordRepository recordRepository,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            MatchingProperties matchingProperties) {
         this.canonicalFieldRepository = canonicalFieldRepository;
         this.sourceRepository = sourceRepository;
         this.batchRepository = batchRepository;
         this.recordRepository = recordRepository;
         this.objectMapper = objectMapper;
+        this.matchingProperties = matchingProperties;
     }
 
     @Transactional(readOnly = true)
     public DynamicReconciliationContext load(ReconciliationDefinition definition) {
+        DefinitionLayout layout = resolveLayout(definition);
+        DynamicSourceDataset anchorDataset = loadDataset(definition, layout, layout.anchorSource(), true);
+        List<DynamicSourceDataset> otherDatasets = new ArrayList<>();
+        for (ReconciliationSource source : layout.otherSources()) {
+            otherDatasets.add(loadDataset(definition, layout, source, false));
+        }
+
+        return new DynamicReconciliationContext(
+                definition,
+                layout.canonicalFields(),
+                layout.keyFields(),
+                layout.compareFields(),
+                layout.classifierFields(),
+                anchorDataset,
+                otherDatasets,
+                layout.comparisonPlan());
+    }
+
+    /**
+     * Resolves and validates the canonical fields and sources of a definition without touching any staged
+     * records, so engines that stream the data themselves can share the same configuration rules.
+     */
+    DefinitionLayout resolveLayout(ReconciliationDefinition definition) {
         List<CanonicalField> canonicalFields = canonicalFieldRepository.findByDefinitionOrderByDisplayOrderAsc(definition);
         if (canonicalFields.isEmpty()) {
             throw new IllegalStateException("Reconciliation definition lacks canonical field configuration");
@@ -82,48 +111,80 @@ public class DynamicReconciliationContextLoader {
             throw new IllegalStateException("Reconciliation definition has no configured sources");
         }
 
-        Optional<ReconciliationSource> anchorSource = sources.stream().filter(ReconciliationSource::isAnchor).findFirst();
-        if (anchorSource.isEmpty()) {
-            throw new IllegalStateException("Reconciliation definition must designate an anchor source");
-        }
-
-        List<DynamicSourceDataset> datasets = new ArrayList<>();
-        for (ReconciliationSource source : sources) {
-            SourceDataBatch batch = batchRepository
-                    .findFirstBySourceOrderByIngestedAtDesc(source)
-                    .orElse(null);
-            Map<String, Map<String, Object>> records = new LinkedHashMap<>();
-            if (batch != null) {
-                try (var dataRecords = recordRepository.streamByBatch(batch)) {
-                    dataRecords.forEach(record -> {
-                        Map<String, Object> payload = parsePayload(record);
-                        records.put(record.getCanonicalKey(), payload);
-                    });
-                }
-            } else {
-                log.warn(
-                        "No data batch found for source {} in definition {}", source.getCode(), definition.getCode());
-            }
-            datasets.add(new DynamicSourceDataset(source, batch, records));
-        }
-
-        DynamicSourceDataset anchorDataset = datasets.stream()
-                .filter(dataset -> dataset.source().getId().equals(anchorSource.get().getId()))
+        ReconciliationSource anchorSource = sources.stream()
+                .filter(ReconciliationSource::isAnchor)
                 .findFirst()
-                .orElseThrow(() -> new IllegalStateException("Anchor dataset could not be resolved"));
-
-        List<DynamicSourceDataset> otherDatasets = datasets.stream()
-                .filter(dataset -> !dataset.source().getId().equals(anchorDataset.source().getId()))
+                .orElseThrow(() -> new IllegalStateException("Reconciliation definition must designate an anchor source"));
+        List<ReconciliationSource> otherSources = sources.stream()
+                .filter(source -> !source.getId().equals(anchorSource.getId()))
                 .toList();
 
-        return new DynamicReconciliationContext(
-                definition,
+        return new DefinitionLayout(
                 canonicalFields,
                 keyFields,
                 compareFields,
                 classifierFields,
-                anchorDataset,
-                otherDatasets);
+                anchorSource,
+                otherSources,
+                ComparisonPlan.compile(compareFields));
+    }
+
+    /**
+     * @return the most recently completed batch for {@code source}, or {@code null} when nothing has been staged.
+     */
+    SourceDataBatch latestBatch(ReconciliationDefinition definition, ReconciliationSource source) {
+        SourceDataBatch batch = batchRepository
+                .findFirstBySourceAndStatusOrderByIngestedAtDesc(source, DataBatchStatus.COMPLETE)
+                .orElse(null);
+        if (batch == null) {
+            log.warn("No data batch found for source {} in definition {}", source.getCode(), definition.getCode());
+        }
+        return batch;
+    }
+
+    private DynamicSourceDataset loadDataset(
+            ReconciliationDefinition definition, DefinitionLayout layout, ReconciliationSource source, boolean anchor) {
+        SourceDataBatch batch = latestBatch(definition, source);
+        Map<String, Map<String, Object>> records;
+        if (batch == null) {
+            records = new LinkedHashMap<>();
+        } else if (matchingProperties.getDatasetLayout() == MatchingProperties.DatasetLayout.COLUMNAR) {
+            records = loadColumnar(batch, layout.canonicalFields(), layout.comparisonPlan(), anchor);
+        } else {
+            records = loadMaps(batch, layout.comparisonPlan(), anchor);
+        }
+        return new DynamicSourceDataset(source, batch, records);
+    }
+
+    private Map<String, Map<String, Object>> loadMaps(
+            SourceDataBatch batch, ComparisonPlan comparisonPlan, boolean anchor) {
+        Map<String, Map<String, Object>> records = new LinkedHashMap<>();
+        try (var dataRecords = recordRepository.streamByBatch(batch)) {
+            dataRecords.forEach(record -> {
+                Map<String, Object> payload = parsePayload(record);
+                records.put(
+                        record.getCanonicalKey(),
+                        new CompiledRecord(payload, comparisonPlan.encode(payload, anchor)));
+            });
+        }
+        return records;
+    }
+
+    /**
+     * Streams a batch straight into a {@link ColumnarSourceRecords} store so each parsed payload map is
+     * garbage as soon as its row has been encoded.
+     */
+    private Map<String, Map<String, Object>> loadColumnar(
+            SourceDataBatch batch, List<CanonicalField> canonicalFields, ComparisonPlan comparisonPlan, boolean anchor) {
+        int expectedRows = batch.getRecordCount() != null
+                ? (int) Math.min(batch.getRecordCount(), Integer.MAX_VALUE - 8)
+                : 0;
+        ColumnarSourceRecords.Builder builder =
+                ColumnarSourceRecords.builder(canonicalFields, comparisonPlan, anchor, expectedRows);
+        try (var dataRecords = recordRepository.streamByBatch(batch)) {
+            dataRecords.forEach(record -> builder.add(record.getCanonicalKey(), parsePayload(record)));
+        }
+        return builder.build();
     }
 
     private Map<String, Object> parsePayload(SourceDataRecord record) {
@@ -134,4 +195,14 @@ public class DynamicReconciliationContextLoader {
                     "Unable to parse canonical payload for record " + record.getId(), e);
         }
     }
+
+    /** Canonical field roles, sources and compiled comparison plan of a definition. */
+    record DefinitionLayout(
+            List<CanonicalField> canonicalFields,
+            List<CanonicalField> keyFields,
+            List<CanonicalField> compareFields,
+            List<CanonicalField> classifierFields,
+            ReconciliationSource anchorSource,
+            List<ReconciliationSource> otherSources,
+            ComparisonPlan comparisonPlan) {}
 }
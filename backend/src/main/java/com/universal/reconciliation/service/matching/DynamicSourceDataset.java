@@ -5,7 +5,9 @@ import com.universal.reconciliation.domain.entity.SourceDataBatch;
 import java.util.Map;
 
 /**
- * Represents the staged records for a configured reconciliation source.
+ * Represents the staged records for a configured reconciliation source. The
+ * records map is either a plain map of payloads or a
+ * {@link ColumnarSourceRecords} store, depending on the configured layout.
  */
 public record DynamicSourceDataset(
         ReconciliationSource source,
@@ -0,0 +1,341 @@
+package com.universal.reconciliation.service.matching;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.config.MatchingProperties;
+import com.universal.reconciliation.domain.entity.CanonicalField;
+import com.universal.reconciliation.domain.entity.ReconciliationDefinition;
+import com.universal.reconciliation.domain.entity.ReconciliationRun;
+import com.universal.reconciliation.domain.entity.ReconciliationSource;
+import com.universal.reconciliation.domain.entity.SourceDataBatch;
+import com.universal.reconciliation.domain.enums.DataBatchStatus;
+import com.universal.reconciliation.repository.BreakItemRepository;
+import com.universal.reconciliation.repository.SourceDataBatchRepository;
+import com.universal.reconciliation.repository.SourceDataRecordRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Re-evaluates only the canonical keys whose staged content changed since a previous successful run and
+ * carries the outcome of every other key forward.
+ *
+ * <p>Each staged record carries a content hash of its canonical payload. For every source whose latest
+ * batch differs from the one the baseline run matched, the keys whose hash differs in either direction
+ * are collected in SQL. Only the records of those keys are loaded and evaluated by
+ * {@link DynamicMatchingEngine}; the baseline's breaks for all other keys are re-emitted unchanged and its
+ * matched count is adjusted by the changed keys' previous and new outcomes.</p>
+ *
+ * <p>A key's outcome depends only on its own records and on the definition layout, so the result equals a
+ * full run. When that cannot be guaranteed (the layout changed, a baseline batch is gone, a changed batch
+ * holds duplicate keys, or the baseline predates break keys) {@link #execute} returns empty and the caller
+ * runs a full reconciliation instead.</p>
+ */
+@Component
+public class IncrementalMatchingEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(IncrementalMatchingEngine.class);
+    private static final int KEY_CHUNK_SIZE = 1000;
+    private static final TypeReference<LinkedHashMap<String, Map<String, Object>>> SOURCES_TYPE =
+            new TypeReference<>() {};
+    private static final TypeReference<LinkedHashMap<String, String>> CLASSIFICATIONS_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<String>> MISSING_SOURCES_TYPE = new TypeReference<>() {};
+    private static final TypeReference<LinkedHashMap<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    private final DynamicReconciliationContextLoader contextLoader;
+    private final DynamicMatchingEngine inMemoryEngine;
+    private final SourceDataBatchRepository batchRepository;
+    private final SourceDataRecordRepository recordRepository;
+    private final BreakItemRepository breakItemRepository;
+    private final ObjectMapper objectMapper;
+    private final MatchingProperties matchingProperties;
+
+    public IncrementalMatchingEngine(
+            DynamicReconciliationContextLoader contextLoader,
+            DynamicMatchingEngine inMemoryEngine,
+            SourceDataBatchRepository batchRepository,
+            SourceDataRecordRepository recordRepository,
+            BreakItemRepository breakItemRepository,
+            ObjectMapper objectMapper,
+            MatchingProperties matchingProperties) {
+        this.contextLoader = contextLoader;
+        this.inMemoryEngine = inMemoryEngine;
+        this.batchRepository = batchRepository;
+        this.recordRepository = recordRepository;
+        this.breakItemRepository = breakItemRepository;
+        this.objectMapper = objectMapper;
+        this.matchingProperties = matchingProperties;
+    }
+
+    /**
+     * Captures the layout signature and latest batch of every source that a run of {@code definition}
+     * would match right now. Sources without a batch are omitted.
+     */
+    @Transactional(readOnly = true)
+    public RunInputs resolveInputs(ReconciliationDefinition definition) {
+        DynamicReconciliationContextLoader.DefinitionLayout layout = contextLoader.resolveLayout(definition);
+        Map<Long, Long> batchIds = new LinkedHashMap<>();
+        for (ReconciliationSource source : sources(layout)) {
+            batchRepository.findFirstBySourceAndStatusOrderByIngestedAtDesc(source, DataBatchStatus.COMPLETE)
+                    .ifPresent(batch -> batchIds.put(source.getId(), batch.getId()));
+        }
+        return new RunInputs(signature(layout), batchIds);
+    }
+
+    /**
+     * Matches {@code inputs} against the outcome of {@code baseline}, streaming carried-forward and
+     * re-evaluated break candidates to {@code sink}. Nothing is emitted when empty is returned.
+     *
+     * @return the combined counts, or empty when the baseline cannot be reused and a full run is required
+     */
+    @Transactional(readOnly = true)
+    public Optional<MatchingCounts> execute(
+            ReconciliationDefinition definition,
+            RunInputs inputs,
+            ReconciliationRun baseline,
+            BreakCandidateSink sink) {
+        DynamicReconciliationContextLoader.DefinitionLayout layout = contextLoader.resolveLayout(definition);
+        String reason = ineligibility(layout, inputs, baseline);
+        if (reason != null) {
+            log.debug("Definition {} cannot run incrementally: {}", definition.getCode(), reason);
+            return Optional.empty();
+        }
+
+        Set<String> changedKeys = new HashSet<>();
+        for (ReconciliationSource source : sources(layout)) {
+            Long currentId = inputs.batchIds().get(source.getId());
+            Long baselineId = baseline.getInputBatchIds().get(source.getId());
+            if (currentId.equals(baselineId)) {
+                continue;
+            }
+            SourceDataBatch current = batchRepository.getReferenceById(currentId);
+            SourceDataBatch previous = batchRepository.getReferenceById(baselineId);
+            if (recordRepository.countDuplicateKeysByBatch(current) > 0
+                    || recordRepository.countDuplicateKeysByBatch(previous) > 0) {
+                log.debug("Definition {} cannot run incrementally: source {} stages duplicate keys",
+                        definition.getCode(), source.getCode());
+                return Optional.empty();
+            }
+            try (Stream<String> added = recordRepository.streamKeysChangedSince(current, previous)) {
+                added.forEach(changedKeys::add);
+            }
+            try (Stream<String> removed = recordRepository.streamKeysChangedSince(previous, current)) {
+                removed.forEach(changedKeys::add);
+            }
+        }
+
+        CountingSink counter = new CountingSink(sink);
+        long previouslyMatched = 0;
+        if (!changedKeys.isEmpty()) {
+            SourceDataBatch baselineAnchor =
+                    batchRepository.getReferenceById(baseline.getInputBatchIds().get(layout.anchorSource().getId()));
+            for (List<String> chunk : chunks(changedKeys)) {
+                Set<String> baselineBreakKeys = new HashSet<>(breakItemRepository.findCanonicalKeysByRunAndKeys(baseline, chunk));
+                previouslyMatched += recordRepository.findKeysByBatchAndKeys(baselineAnchor, chunk).stream()
+                        .filter(key -> !baselineBreakKeys.contains(key))
+                        .count();
+            }
+        }
+        counter.matched(baseline.getMatchedCount() - previouslyMatched);
+
+        int carriedBreaks = carryForward(baseline, changedKeys, counter);
+        if (!changedKeys.isEmpty()) {
+            inMemoryEngine.execute(residualContext(definition, layout, inputs, changedKeys), counter);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Incremental matching: definition={} baselineRun={} changedKeys={} carriedBreaks={}",
+                    definition.getCode(),
+                    baseline.getId(),
+                    changedKeys.size(),
+                    carriedBreaks);
+        }
+        return Optional.of(counter.counts());
+    }
+
+    /**
+     * Re-emits the baseline's breaks for unchanged keys, reading them page by page as unmanaged projections.
+     */
+    private int carryForward(ReconciliationRun baseline, Set<String> changedKeys, BreakCandidateSink sink) {
+        int carried = 0;
+        long lastId = 0;
+        PageRequest page = PageRequest.of(0, matchingProperties.getBreakBatchSize());
+        List<BreakItemRepository.BreakSnapshot> snapshots;
+        do {
+            snapshots = breakItemRepository.findSnapshotsByRunAfter(baseline, lastId, page);
+            for (BreakItemRepository.BreakSnapshot snapshot : snapshots) {
+                lastId = snapshot.getId();
+                if (!changedKeys.contains(snapshot.getCanonicalKey())) {
+                    sink.accept(toCandidate(snapshot));
+                    carried++;
+                }
+            }
+        } while (snapshots.size() == page.getPageSize());
+        return carried;
+    }
+
+    private String ineligibility(
+            DynamicReconciliationContextLoader.DefinitionLayout layout, RunInputs inputs, ReconciliationRun baseline) {
+        if (baseline == null) {
+            return "no previous successful run";
+        }
+        if (!inputs.signature().equals(baseline.getMatchSignature())) {
+            return "layout changed since run " + baseline.getId();
+        }
+        if (breakItemRepository.existsByRunAndCanonicalKeyIsNull(baseline)) {
+            return "run " + baseline.getId() + " predates keyed breaks";
+        }
+        for (ReconciliationSource source : sources(layout)) {
+            Long currentId = inputs.batchIds().get(source.getId());
+            Long baselineId = baseline.getInputBatchIds().get(source.getId());
+            if (currentId == null || baselineId == null) {
+                return "source " + source.getCode() + " has no batch in the current or previous run";
+            }
+            if (!currentId.equals(baselineId) && !batchRepository.existsById(baselineId)) {
+                return "batch " + baselineId + " of run " + baseline.getId() + " no longer exists";
+            }
+        }
+        return null;
+    }
+
+    private DynamicReconciliationContext residualContext(
+            ReconciliationDefinition definition,
+            DynamicReconciliationContextLoader.DefinitionLayout layout,
+            RunInputs inputs,
+            Set<String> changedKeys) {
+        DynamicSourceDataset anchor = loadChanged(layout.anchorSource(), inputs, layout, changedKeys, true);
+        List<DynamicSourceDataset> others = new ArrayList<>(layout.otherSources().size());
+        for (ReconciliationSource source : layout.otherSources()) {
+            others.add(loadChanged(source, inputs, layout, changedKeys, false));
+        }
+        return new DynamicReconciliationContext(
+                definition,
+                layout.canonicalFields(),
+                layout.keyFields(),
+                layout.compareFields(),
+                layout.classifierFields(),
+                anchor,
+                others,
+                layout.comparisonPlan());
+    }
+
+    private DynamicSourceDataset loadChanged(
+            ReconciliationSource source,
+            RunInputs inputs,
+            DynamicReconciliationContextLoader.DefinitionLayout layout,
+            Set<String> changedKeys,
+            boolean anchor) {
+        SourceDataBatch batch = batchRepository.getReferenceById(inputs.batchIds().get(source.getId()));
+        ComparisonPlan plan = layout.comparisonPlan();
+        Map<String, Map<String, Object>> records = new LinkedHashMap<>();
+        for (List<String> chunk : chunks(changedKeys)) {
+            for (SourceDataRecordRepository.CanonicalPayload row : recordRepository.findPayloadsByBatchAndKeys(batch, chunk)) {
+                Map<String, Object> payload = readJson(row.getPayloadJson(), PAYLOAD_TYPE);
+                records.put(row.getCanonicalKey(), new CompiledRecord(payload, plan.encode(payload, anchor)));
+            }
+        }
+        return new DynamicSourceDataset(source, batch, records);
+    }
+
+    private BreakCandidate toCandidate(BreakItemRepository.BreakSnapshot snapshot) {
+        return new BreakCandidate(
+                snapshot.getCanonicalKey(),
+                snapshot.getBreakType(),
+                readJson(snapshot.getSourcePayloadJson(), SOURCES_TYPE),
+                readJson(snapshot.getClassificationJson(), CLASSIFICATIONS_TYPE),
+                readJson(snapshot.getMissingSourcesJson(), MISSING_SOURCES_TYPE));
+    }
+
+    private <T> T readJson(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to parse stored matching payload", e);
+        }
+    }
+
+    private static List<ReconciliationSource> sources(DynamicReconciliationContextLoader.DefinitionLayout layout) {
+        List<ReconciliationSource> sources = new ArrayList<>(layout.otherSources().size() + 1);
+        sources.add(layout.anchorSource());
+        sources.addAll(layout.otherSources());
+        return sources;
+    }
+
+    private static List<List<String>> chunks(Set<String> keys) {
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> chunk = new ArrayList<>(Math.min(keys.size(), KEY_CHUNK_SIZE));
+        for (String key : keys) {
+            chunk.add(key);
+            if (chunk.size() == KEY_CHUNK_SIZE) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(KEY_CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * Digest of everything besides the staged records that decides a key's outcome: the anchor and other
+     * sources, the key and classifier fields, and the comparison rules.
+     */
+    static String signature(DynamicReconciliationContextLoader.DefinitionLayout layout) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        Consumer<String> update = value -> {
+            byte[] bytes = Objects.toString(value, "").getBytes(StandardCharsets.UTF_8);
+            digest.update((byte) (bytes.length >>> 24));
+            digest.update((byte) (bytes.length >>> 16));
+            digest.update((byte) (bytes.length >>> 8));
+            digest.update((byte) bytes.length);
+            digest.update(bytes);
+        };
+        for (ReconciliationSource source : sources(layout)) {
+            update.accept(source.getCode());
+        }
+        update.accept("keys");
+        layout.keyFields().forEach(field -> update.accept(field.getCanonicalName()));
+        update.accept("classifiers");
+        for (CanonicalField field : layout.classifierFields()) {
+            update.accept(field.getCanonicalName());
+            update.accept(field.getClassifierTag());
+            update.accept(Objects.toString(field.getRole(), null));
+        }
+        update.accept(layout.comparisonPlan().signature());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Layout signature and batch identifiers (keyed by source identifier) that a run matched.
+     */
+    public record RunInputs(String signature, Map<Long, Long> batchIds) {
+
+        public RunInputs {
+            batchIds = Map.copyOf(batchIds);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.universal.reconciliation.service.matching;
+
+/**
+ * Outcome totals of a matching execution whose break candidates were streamed to a {@link BreakCandidateSink}.
+ */
+public record MatchingCounts(int matchedCount, int mismatchedCount, int missingCount) {
+}
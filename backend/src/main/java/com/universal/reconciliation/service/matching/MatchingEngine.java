@@ -1,11 +1,25 @@
 package com.universal.reconciliation.service.matching;
 
 import com.universal.reconciliation.domain.entity.ReconciliationDefinition;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Simple interface for matching implementations.
  */
 public interface MatchingEngine {
 
-    MatchingResult execute(ReconciliationDefinition definition);
+    /**
+     * Runs the reconciliation, handing each break candidate to {@code sink} as soon as it is known.
+     */
+    MatchingCounts execute(ReconciliationDefinition definition, BreakCandidateSink sink);
+
+    /**
+     * Runs the reconciliation and collects every break candidate in memory.
+     */
+    default MatchingResult execute(ReconciliationDefinition definition) {
+        List<BreakCandidate> breaks = new ArrayList<>();
+        MatchingCounts counts = execute(definition, breaks::add);
+        return new MatchingResult(counts.matchedCount(), counts.mismatchedCount(), counts.missingCount(), breaks);
+    }
 }
@@ -0,0 +1,87 @@
+package com.universal.reconciliation.service.matching;
+
+import com.universal.reconciliation.config.MatchingProperties;
+import com.universal.reconciliation.domain.entity.ReconciliationDefinition;
+import com.universal.reconciliation.domain.entity.ReconciliationSource;
+import com.universal.reconciliation.domain.enums.DataBatchStatus;
+import com.universal.reconciliation.domain.enums.MatchingStrategy;
+import com.universal.reconciliation.repository.ReconciliationSourceRepository;
+import com.universal.reconciliation.repository.SourceDataBatchRepository;
+import com.universal.reconciliation.repository.SourceDataRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default {@link MatchingEngine} that delegates each run to the in-memory hash engine, the sort-merge
+ * engine or the database pushdown engine. An explicit {@link MatchingStrategy} on the definition wins;
+ * otherwise the sort-merge engine is chosen once the definition's latest batches hold at least
+ * {@code app.matching.sort-merge-threshold} records in total.
+ */
+@Primary
+@Component
+public class MatchingEngineRouter implements MatchingEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchingEngineRouter.class);
+
+    private final DynamicMatchingEngine inMemoryEngine;
+    private final SortMergeMatchingEngine sortMergeEngine;
+    private final PushdownMatchingEngine pushdownEngine;
+    private final ReconciliationSourceRepository sourceRepository;
+    private final SourceDataBatchRepository batchRepository;
+    private final SourceDataRecordRepository recordRepository;
+    private final MatchingProperties properties;
+
+    public MatchingEngineRouter(
+            DynamicMatchingEngine inMemoryEngine,
+            SortMergeMatchingEngine sortMergeEngine,
+            PushdownMatchingEngine pushdownEngine,
+            ReconciliationSourceRepository sourceRepository,
+            SourceDataBatchRepository batchRepository,
+            SourceDataRecordRepository recordRepository,
+            MatchingProperties properties) {
+        this.inMemoryEngine = inMemoryEngine;
+        this.sortMergeEngine = sortMergeEngine;
+        this.pushdownEngine = pushdownEngine;
+        this.sourceRepository = sourceRepository;
+        this.batchRepository = batchRepository;
+        this.recordRepository = recordRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    public MatchingCounts execute(ReconciliationDefinition definition, BreakCandidateSink sink) {
+        MatchingStrategy strategy = resolveStrategy(definition);
+        log.debug("Matching definition {} with {} strategy", definition.getCode(), strategy);
+        return switch (strategy) {
+            case SORT_MERGE -> sortMergeEngine.execute(definition, sink);
+            case PUSHDOWN -> pushdownEngine.execute(definition, sink);
+            default -> inMemoryEngine.execute(definition, sink);
+        };
+    }
+
+    MatchingStrategy resolveStrategy(ReconciliationDefinition definition) {
+        MatchingStrategy configured = definition.getMatchingStrategy();
+        if (configured != null && configured != MatchingStrategy.AUTO) {
+            return configured;
+        }
+        long threshold = properties.getSortMergeThreshold();
+        if (threshold <= 0) {
+            return MatchingStrategy.IN_MEMORY;
+        }
+        long stagedRecords = 0;
+        for (ReconciliationSource source : sourceRepository.findByDefinition(definition)) {
+            stagedRecords += batchRepository
+                    .findFirstBySourceAndStatusOrderByIngestedAtDesc(source, DataBatchStatus.COMPLETE)
+                    .map(batch -> batch.getRecordCount() != null
+                            ? batch.getRecordCount().longValue()
+                            : recordRepository.countByBatch(batch))
+                    .orElse(0L);
+            if (stagedRecords >= threshold) {
+                return MatchingStrategy.SORT_MERGE;
+            }
+        }
+        return MatchingStrategy.IN_MEMORY;
+    }
+}
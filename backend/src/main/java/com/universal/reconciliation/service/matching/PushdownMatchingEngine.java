@@ -0,0 +1,194 @@
+package com.universal.reconciliation.service.matching;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.domain.entity.ReconciliationDefinition;
+import com.universal.reconciliation.domain.entity.ReconciliationSource;
+import com.universal.reconciliation.domain.entity.SourceDataBatch;
+import com.universal.reconciliation.repository.SourceDataRecordRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Matching engine that lets the database discard agreeing keys before any payload is transferred.
+ *
+ * <p>Every staged record carries a fingerprint of its normalised compare-field values (see
+ * {@link ComparisonPlan#fingerprint(Map)}). An anchor record whose key exists in every other source's
+ * latest batch with the same fingerprint, computed under the current {@link ComparisonPlan#signature()},
+ * is matched by definition; those keys are only counted in SQL. The JVM receives just the remaining anchor
+ * rows and the non-anchor rows whose key is not fully matched, and evaluates them with
+ * {@link DynamicMatchingEngine}. Tolerance and date-only fields therefore stay exact: fingerprints only
+ * prove equality, and every key they cannot prove is compared in full.</p>
+ *
+ * <p>The semi-joins are plain correlated {@code EXISTS} subqueries, so the same statements run on H2 and
+ * MariaDB. Batches without a counterpart or with duplicate canonical keys are delegated to the in-memory
+ * engine, whose last-record-wins handling cannot be expressed as a join.</p>
+ */
+@Component
+public class PushdownMatchingEngine implements MatchingEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(PushdownMatchingEngine.class);
+    private static final int FETCH_SIZE = 1000;
+
+    private final DynamicReconciliationContextLoader contextLoader;
+    private final DynamicMatchingEngine inMemoryEngine;
+    private final SourceDataRecordRepository recordRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public PushdownMatchingEngine(
+            DynamicReconciliationContextLoader contextLoader,
+            DynamicMatchingEngine inMemoryEngine,
+            SourceDataRecordRepository recordRepository,
+            EntityManager entityManager,
+            ObjectMapper objectMapper) {
+        this.contextLoader = contextLoader;
+        this.inMemoryEngine = inMemoryEngine;
+        this.recordRepository = recordRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MatchingCounts execute(ReconciliationDefinition definition, BreakCandidateSink sink) {
+        DynamicReconciliationContextLoader.DefinitionLayout layout = contextLoader.resolveLayout(definition);
+        List<ReconciliationSource> otherSources = layout.otherSources();
+
+        SourceDataBatch anchorBatch = contextLoader.latestBatch(definition, layout.anchorSource());
+        List<SourceDataBatch> otherBatches = new ArrayList<>(otherSources.size());
+        for (ReconciliationSource source : otherSources) {
+            otherBatches.add(contextLoader.latestBatch(definition, source));
+        }
+        if (!supportsPushdown(anchorBatch, otherBatches)) {
+            log.debug("Definition {} is not eligible for pushdown matching; using the in-memory engine", definition.getCode());
+            return inMemoryEngine.execute(definition, sink);
+        }
+
+        ComparisonPlan plan = layout.comparisonPlan();
+        String matchedPredicate = fullyMatchedPredicate(otherBatches.size());
+
+        TypedQuery<Long> countQuery = entityManager.createQuery(
+                "select count(a) from SourceDataRecord a where a.batch = :batch0 and " + matchedPredicate, Long.class);
+        bindBatches(countQuery, anchorBatch, otherBatches, plan);
+        long pushedDownMatches = countQuery.getSingleResult();
+        sink.matched(pushedDownMatches);
+
+        TypedQuery<Object[]> anchorQuery = entityManager.createQuery(
+                "select a.canonicalKey, a.payloadJson from SourceDataRecord a where a.batch = :batch0 and not ("
+                        + matchedPredicate + ") order by a.id",
+                Object[].class);
+        bindBatches(anchorQuery, anchorBatch, otherBatches, plan);
+        DynamicSourceDataset anchorDataset = new DynamicSourceDataset(
+                layout.anchorSource(), anchorBatch, materialise(anchorQuery, plan, true));
+
+        List<DynamicSourceDataset> otherDatasets = new ArrayList<>(otherSources.size());
+        for (int index = 0; index < otherSources.size(); index++) {
+            TypedQuery<Object[]> otherQuery = entityManager.createQuery(
+                    "select o.canonicalKey, o.payloadJson from SourceDataRecord o where o.batch = :own and not exists ("
+                            + "select a.id from SourceDataRecord a where a.batch = :batch0"
+                            + " and a.canonicalKey = o.canonicalKey and " + matchedPredicate + ") order by o.id",
+                    Object[].class);
+            bindBatches(otherQuery, anchorBatch, otherBatches, plan);
+            otherQuery.setParameter("own", otherBatches.get(index));
+            otherDatasets.add(new DynamicSourceDataset(
+                    otherSources.get(index), otherBatches.get(index), materialise(otherQuery, plan, false)));
+        }
+
+        DynamicReconciliationContext residual = new DynamicReconciliationContext(
+                definition,
+                layout.canonicalFields(),
+                layout.keyFields(),
+                layout.compareFields(),
+                layout.classifierFields(),
+                anchorDataset,
+                otherDatasets,
+                plan);
+        MatchingCounts result = inMemoryEngine.execute(residual, sink);
+
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Pushdown matching: definition={} matchedInDatabase={} anchorCandidates={} otherCandidates={}",
+                    definition.getCode(),
+                    pushedDownMatches,
+                    anchorDataset.recordsByKey().size(),
+                    otherDatasets.stream().map(dataset -> dataset.recordsByKey().size()).toList());
+        }
+        return new MatchingCounts(
+                Math.toIntExact(result.matchedCount() + pushedDownMatches),
+                result.mismatchedCount(),
+                result.missingCount());
+    }
+
+    private boolean supportsPushdown(SourceDataBatch anchorBatch, List<SourceDataBatch> otherBatches) {
+        if (anchorBatch == null || otherBatches.isEmpty() || otherBatches.contains(null)) {
+            return false;
+        }
+        if (recordRepository.countDuplicateKeysByBatch(anchorBatch) > 0) {
+            return false;
+        }
+        for (SourceDataBatch batch : otherBatches) {
+            if (recordRepository.countDuplicateKeysByBatch(batch) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * JPQL condition, over anchor alias {@code a}, that holds when every other source stages the same key
+     * with the same fingerprint. Each term is null-safe so that negating the condition never drops rows.
+     */
+    static String fullyMatchedPredicate(int otherSourceCount) {
+        StringBuilder predicate = new StringBuilder(
+                "(a.matchFingerprint is not null and a.matchPlan is not null and a.matchPlan = :plan");
+        for (int index = 1; index <= otherSourceCount; index++) {
+            predicate.append(" and exists (select s%1$d.id from SourceDataRecord s%1$d where s%1$d.batch = :batch%1$d"
+                    .formatted(index))
+                    .append(" and s%1$d.canonicalKey = a.canonicalKey and s%1$d.matchFingerprint = a.matchFingerprint)"
+                            .formatted(index));
+        }
+        return predicate.append(')').toString();
+    }
+
+    private void bindBatches(
+            TypedQuery<?> query, SourceDataBatch anchorBatch, List<SourceDataBatch> otherBatches, ComparisonPlan plan) {
+        query.setParameter("batch0", anchorBatch);
+        for (int index = 0; index < otherBatches.size(); index++) {
+            query.setParameter("batch" + (index + 1), otherBatches.get(index));
+        }
+        query.setParameter("plan", plan.signature());
+    }
+
+    private Map<String, Map<String, Object>> materialise(TypedQuery<Object[]> query, ComparisonPlan plan, boolean anchor) {
+        Map<String, Map<String, Object>> records = new LinkedHashMap<>();
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        try (Stream<Object[]> rows = query.getResultStream()) {
+            rows.forEach(row -> {
+                String canonicalKey = (String) row[0];
+                Map<String, Object> payload = parsePayload(canonicalKey, (String) row[1]);
+                records.put(canonicalKey, new CompiledRecord(payload, plan.encode(payload, anchor)));
+            });
+        }
+        return records;
+    }
+
+    private Map<String, Object> parsePayload(String canonicalKey, String payloadJson) {
+        try {
+            return objectMapper.readValue(payloadJson, Map.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to parse canonical payload for key " + canonicalKey, e);
+        }
+    }
+}
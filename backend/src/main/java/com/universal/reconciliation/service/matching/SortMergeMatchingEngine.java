@@ -0,0 +1,183 @@
+package com.universal.reconciliation.service.matching;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.config.MatchingProperties;
+import com.universal.reconciliation.domain.entity.ReconciliationDefinition;
+import com.universal.reconciliation.domain.entity.ReconciliationSource;
+import com.universal.reconciliation.domain.entity.SourceDataBatch;
+import com.universal.reconciliation.repository.SourceDataRecordRepository;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Out-of-core matching engine. Rather than materialising every source in memory, each source's latest
+ * batch is streamed from the database into a {@link SpillingRecordSorter}, which orders it by canonical
+ * key and spills sorted runs to disk once its buffer is full. The sorted sources are then merge-joined
+ * one key at a time, so the heap needed is bounded by the sort buffer rather than by the batch sizes.
+ *
+ * <p>Counts and break candidates are identical to {@link DynamicMatchingEngine}; candidates are streamed to
+ * the sink in canonical key order as the join reaches them.</p>
+ */
+@Component
+public class SortMergeMatchingEngine implements MatchingEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(SortMergeMatchingEngine.class);
+
+    private final DynamicReconciliationContextLoader contextLoader;
+    private final SourceDataRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final MatchingProperties properties;
+
+    public SortMergeMatchingEngine(
+            DynamicReconciliationContextLoader contextLoader,
+            SourceDataRecordRepository recordRepository,
+            ObjectMapper objectMapper,
+            MatchingProperties properties) {
+        this.contextLoader = contextLoader;
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MatchingCounts execute(ReconciliationDefinition definition, BreakCandidateSink sink) {
+        DynamicReconciliationContextLoader.DefinitionLayout layout = contextLoader.resolveLayout(definition);
+        List<ReconciliationSource> sources = new ArrayList<>(layout.otherSources().size() + 1);
+        sources.add(layout.anchorSource());
+        sources.addAll(layout.otherSources());
+
+        BreakCandidateEvaluator evaluator = new BreakCandidateEvaluator(
+                layout.comparisonPlan(),
+                layout.anchorSource().getCode(),
+                layout.otherSources().stream().map(ReconciliationSource::getCode).toList(),
+                layout.classifierFields());
+
+        Path spillDirectory = resolveSpillDirectory();
+        List<SpillingRecordSorter> sorters = new ArrayList<>(sources.size());
+        try {
+            SpillingRecordSorter.Cursor[] cursors = new SpillingRecordSorter.Cursor[sources.size()];
+            int spilledRuns = 0;
+            for (int index = 0; index < sources.size(); index++) {
+                SpillingRecordSorter sorter = new SpillingRecordSorter(spillDirectory, properties.getSortRunSize());
+                sorters.add(sorter);
+                SourceDataBatch batch = contextLoader.latestBatch(definition, sources.get(index));
+                if (batch != null) {
+                    try (var payloads = recordRepository.streamPayloadsByBatch(batch)) {
+                        payloads.forEach(record -> sorter.add(record.getCanonicalKey(), record.getPayloadJson()));
+                    }
+                }
+                cursors[index] = sorter.finish();
+                spilledRuns += sorter.spilledRuns();
+            }
+
+            CountingSink counter = new CountingSink(sink);
+            mergeJoin(sources, cursors, evaluator, counter);
+            MatchingCounts result = counter.counts();
+            if (log.isDebugEnabled()) {
+                log.debug(
+                        "Sort-merge matching completed: definition={} matched={} mismatched={} missing={} breaks={} anchor={} otherSources={} spilledRuns={}",
+                        definition.getCode(),
+                        result.matchedCount(),
+                        result.mismatchedCount(),
+                        result.missingCount(),
+                        result.mismatchedCount() + result.missingCount(),
+                        layout.anchorSource().getCode(),
+                        layout.otherSources().stream().map(ReconciliationSource::getCode).toList(),
+                        spilledRuns);
+            }
+            return result;
+        } finally {
+            for (SpillingRecordSorter sorter : sorters) {
+                try {
+                    sorter.close();
+                } catch (UncheckedIOException ex) {
+                    log.warn("Unable to clean up matching spill files: {}", ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Walks all sorted sources in lock step. Position zero is the anchor; at each step the smallest
+     * current key is evaluated with the records of every source positioned on it.
+     */
+    @SuppressWarnings("unchecked")
+    private void mergeJoin(
+            List<ReconciliationSource> sources,
+            SpillingRecordSorter.Cursor[] cursors,
+            BreakCandidateEvaluator evaluator,
+            CountingSink sink) {
+        int sourceCount = cursors.length;
+        String[] heads = new String[sourceCount];
+        for (int index = 0; index < sourceCount; index++) {
+            heads[index] = cursors[index].next() ? cursors[index].key() : null;
+        }
+
+        Map<String, Object>[] current = new Map[sourceCount];
+
+        while (true) {
+            String canonicalKey = null;
+            for (String head : heads) {
+                if (head != null && (canonicalKey == null || head.compareTo(canonicalKey) < 0)) {
+                    canonicalKey = head;
+                }
+            }
+            if (canonicalKey == null) {
+                break;
+            }
+
+            for (int index = 0; index < sourceCount; index++) {
+                current[index] = canonicalKey.equals(heads[index])
+                        ? parsePayload(cursors[index], sources.get(index))
+                        : null;
+            }
+
+            if (current[0] != null) {
+                BreakCandidate candidate = evaluator.evaluateAnchor(canonicalKey, current[0], index -> current[index + 1]);
+                if (candidate == null) {
+                    sink.matched(1);
+                } else {
+                    sink.accept(candidate);
+                }
+            } else {
+                Map<String, Map<String, Object>> presentSources = new LinkedHashMap<>();
+                for (int index = 1; index < sourceCount; index++) {
+                    if (current[index] != null) {
+                        presentSources.put(sources.get(index).getCode(), current[index]);
+                    }
+                }
+                sink.accept(evaluator.anchorMissing(canonicalKey, presentSources));
+            }
+
+            for (int index = 0; index < sourceCount; index++) {
+                if (current[index] != null) {
+                    heads[index] = cursors[index].next() ? cursors[index].key() : null;
+                }
+            }
+        }
+    }
+
+    private Map<String, Object> parsePayload(SpillingRecordSorter.Cursor cursor, ReconciliationSource source) {
+        try {
+            return objectMapper.readValue(cursor.payloadJson(), Map.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(
+                    "Unable to parse canonical payload for key " + cursor.key() + " in source " + source.getCode(), e);
+        }
+    }
+
+    private Path resolveSpillDirectory() {
+        String configured = properties.getSpillDirectory();
+        return Path.of(configured != null ? configured : System.getProperty("java.io.tmpdir"));
+    }
+}
@@ -0,0 +1,384 @@
+package com.universal.reconciliation.service.matching;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * External sort of staged records by canonical key. Records are buffered until {@code runSize} of them
+ * have been collected, at which point the buffer is sorted and written to a spill file under the
+ * configured directory. {@link #finish()} then exposes the records as a single ascending cursor by
+ * merging the spilled runs, so at most one buffer of records is ever held in memory.
+ *
+ * <p>When a canonical key occurs more than once the record added last wins, mirroring how the
+ * in-memory engine overwrites earlier entries for the same key. Input that already arrives in key order
+ * is detected and written out without sorting.</p>
+ */
+final class SpillingRecordSorter implements Closeable {
+
+    /** Maximum number of runs merged at once; larger run sets are merged in several passes. */
+    static final int MERGE_FAN_IN = 64;
+
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator.comparing(Entry::key);
+
+    private final Path baseDirectory;
+    private final int runSize;
+    private final List<Path> runs = new ArrayList<>();
+    private final List<Closeable> openResources = new ArrayList<>();
+    private Entry[] buffer;
+    private int buffered;
+    private boolean bufferSorted = true;
+    private Path spillDirectory;
+    private boolean finished;
+
+    SpillingRecordSorter(Path baseDirectory, int runSize) {
+        if (runSize <= 0) {
+            throw new IllegalArgumentException("runSize must be greater than zero");
+        }
+        this.baseDirectory = baseDirectory;
+        this.runSize = runSize;
+        this.buffer = new Entry[Math.min(runSize, 1024)];
+    }
+
+    void add(String canonicalKey, String payloadJson) {
+        if (finished) {
+            throw new IllegalStateException("Records cannot be added after the sorter has been finished");
+        }
+        if (buffered == buffer.length) {
+            if (buffered == runSize) {
+                spillBuffer();
+            } else {
+                buffer = Arrays.copyOf(buffer, (int) Math.min((long) buffer.length << 1, runSize));
+            }
+        }
+        Entry entry = new Entry(canonicalKey, payloadJson);
+        if (bufferSorted && buffered > 0 && buffer[buffered - 1].key().compareTo(canonicalKey) > 0) {
+            bufferSorted = false;
+        }
+        buffer[buffered++] = entry;
+    }
+
+    /** @return the number of runs written to disk so far. */
+    int spilledRuns() {
+        return runs.size();
+    }
+
+    /**
+     * Completes the sort. Data that fits in a single buffer is served straight from memory; otherwise the
+     * remaining buffer is spilled and the runs are merged.
+     */
+    Cursor finish() {
+        if (finished) {
+            throw new IllegalStateException("Sorter has already been finished");
+        }
+        finished = true;
+        if (runs.isEmpty()) {
+            sortBuffer();
+            Entry[] entries = Arrays.copyOf(buffer, buffered);
+            buffer = null;
+            return new BufferCursor(entries);
+        }
+        if (buffered > 0) {
+            spillBuffer();
+        }
+        buffer = null;
+        List<Path> pending = new ArrayList<>(runs);
+        while (pending.size() > MERGE_FAN_IN) {
+            List<Path> merged = new ArrayList<>();
+            for (int start = 0; start < pending.size(); start += MERGE_FAN_IN) {
+                List<Path> group = pending.subList(start, Math.min(start + MERGE_FAN_IN, pending.size()));
+                merged.add(group.size() == 1 ? group.get(0) : mergeToRun(group));
+            }
+            pending = merged;
+        }
+        MergeCursor cursor = openMerge(pending);
+        openResources.add(cursor);
+        return cursor;
+    }
+
+    /** Closes any open run readers and deletes the spill directory. */
+    @Override
+    public void close() {
+        buffer = null;
+        for (Closeable resource : openResources) {
+            closeQuietly(resource);
+        }
+        openResources.clear();
+        if (spillDirectory != null) {
+            try (var files = Files.list(spillDirectory)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+                Files.deleteIfExists(spillDirectory);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to delete matching spill directory " + spillDirectory, ex);
+            }
+            spillDirectory = null;
+        }
+    }
+
+    private void sortBuffer() {
+        if (!bufferSorted) {
+            // stable, so later duplicates stay behind earlier ones
+            Arrays.sort(buffer, 0, buffered, ENTRY_ORDER);
+        }
+    }
+
+    private void spillBuffer() {
+        sortBuffer();
+        Path run = newRunFile();
+        try (DataOutputStream output = openOutput(run)) {
+            for (int index = 0; index < buffered; index++) {
+                Entry entry = buffer[index];
+                if (index + 1 < buffered && buffer[index + 1].key().equals(entry.key())) {
+                    continue;
+                }
+                writeEntry(output, entry.key(), entry.payloadJson());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to write matching spill file " + run, ex);
+        }
+        runs.add(run);
+        Arrays.fill(buffer, 0, buffered, null);
+        buffered = 0;
+        bufferSorted = true;
+    }
+
+    private Path mergeToRun(List<Path> group) {
+        Path run = newRunFile();
+        try (MergeCursor cursor = openMerge(group); DataOutputStream output = openOutput(run)) {
+            while (cursor.next()) {
+                writeEntry(output, cursor.key(), cursor.payloadJson());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to merge matching spill files into " + run, ex);
+        }
+        for (Path input : group) {
+            try {
+                Files.deleteIfExists(input);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to delete matching spill file " + input, ex);
+            }
+        }
+        return run;
+    }
+
+    private MergeCursor openMerge(List<Path> inputs) {
+        List<RunReader> readers = new ArrayList<>(inputs.size());
+        try {
+            for (int index = 0; index < inputs.size(); index++) {
+                readers.add(new RunReader(inputs.get(index), index));
+            }
+        } catch (IOException ex) {
+            readers.forEach(SpillingRecordSorter::closeQuietly);
+            throw new UncheckedIOException("Unable to open matching spill files", ex);
+        }
+        return new MergeCursor(readers);
+    }
+
+    private Path newRunFile() {
+        try {
+            if (spillDirectory == null) {
+                Files.createDirectories(baseDirectory);
+                spillDirectory = Files.createTempDirectory(baseDirectory, "recon-sort-");
+            }
+            return Files.createTempFile(spillDirectory, "run-", ".bin");
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to create matching spill file under " + baseDirectory, ex);
+        }
+    }
+
+    private static DataOutputStream openOutput(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER_SIZE));
+    }
+
+    private static void writeEntry(DataOutputStream output, String key, String payloadJson) throws IOException {
+        writeString(output, key);
+        writeString(output, payloadJson);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // best effort while cleaning up
+        }
+    }
+
+    /**
+     * Ascending, duplicate-free view over the sorted records.
+     */
+    interface Cursor {
+
+        /** Advances to the next canonical key, returning {@code false} once the records are exhausted. */
+        boolean next();
+
+        String key();
+
+        String payloadJson();
+    }
+
+    private record Entry(String key, String payloadJson) {}
+
+    private static final class BufferCursor implements Cursor {
+
+        private final Entry[] entries;
+        private int position = -1;
+
+        private BufferCursor(Entry[] entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public boolean next() {
+            if (position >= 0 && position < entries.length) {
+                entries[position] = null;
+            }
+            position++;
+            while (position + 1 < entries.length && entries[position + 1].key().equals(entries[position].key())) {
+                entries[position++] = null;
+            }
+            return position < entries.length;
+        }
+
+        @Override
+        public String key() {
+            return entries[position].key();
+        }
+
+        @Override
+        public String payloadJson() {
+            return entries[position].payloadJson();
+        }
+    }
+
+    /** Sequential reader over one spill file; every key in a run is already unique. */
+    private static final class RunReader implements Closeable {
+
+        private final DataInputStream input;
+        private final int order;
+        private String key;
+        private String payloadJson;
+
+        private RunReader(Path file, int order) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), IO_BUFFER_SIZE));
+            this.order = order;
+        }
+
+        boolean advance() throws IOException {
+            int length;
+            try {
+                length = input.readInt();
+            } catch (EOFException ex) {
+                key = null;
+                payloadJson = null;
+                return false;
+            }
+            key = readString(length);
+            payloadJson = readString(input.readInt());
+            return true;
+        }
+
+        private String readString(int length) throws IOException {
+            byte[] bytes = new byte[length];
+            input.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+
+    /**
+     * K-way merge over spill runs. When several runs hold the same key, the run written last wins.
+     */
+    private static final class MergeCursor implements Cursor, Closeable {
+
+        private final List<RunReader> readers;
+        private final PriorityQueue<RunReader> heads;
+        private String key;
+        private String payloadJson;
+
+        private MergeCursor(List<RunReader> readers) {
+            this.readers = readers;
+            this.heads = new PriorityQueue<>(
+                    Math.max(readers.size(), 1),
+                    Comparator.comparing((RunReader reader) -> reader.key).thenComparingInt(reader -> reader.order));
+            try {
+                for (RunReader reader : readers) {
+                    if (reader.advance()) {
+                        heads.add(reader);
+                    }
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to read matching spill file", ex);
+            }
+        }
+
+        @Override
+        public boolean next() {
+            if (heads.isEmpty()) {
+                key = null;
+                payloadJson = null;
+                return false;
+            }
+            try {
+                RunReader reader = heads.poll();
+                key = reader.key;
+                payloadJson = reader.payloadJson;
+                requeue(reader);
+                while (!heads.isEmpty() && heads.peek().key.equals(key)) {
+                    RunReader duplicate = heads.poll();
+                    payloadJson = duplicate.payloadJson;
+                    requeue(duplicate);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to read matching spill file", ex);
+            }
+            return true;
+        }
+
+        private void requeue(RunReader reader) throws IOException {
+            if (reader.advance()) {
+                heads.add(reader);
+            }
+        }
+
+        @Override
+        public String key() {
+            return key;
+        }
+
+        @Override
+        public String payloadJson() {
+            return payloadJson;
+        }
+
+        @Override
+        public void close() {
+            readers.forEach(SpillingRecordSorter::closeQuietly);
+        }
+    }
+}
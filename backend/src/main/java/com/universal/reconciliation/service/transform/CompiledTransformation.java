@@ -0,0 +1,21 @@
+package com.universal.reconciliation.service.transform;
+
+import java.util.Map;
+
+/**
+ * A transformation rule resolved ahead of evaluation, applied to a value in the context of its raw record.
+ */
+@FunctionalInterface
+interface CompiledTransformation {
+
+    CompiledTransformation IDENTITY = (value, rawRecord) -> value;
+
+    Object apply(Object value, Map<String, Object> rawRecord);
+
+    /**
+     * Returns a transformation that feeds this one's result into {@code next}.
+     */
+    default CompiledTransformation andThen(CompiledTransformation next) {
+        return (value, rawRecord) -> next.apply(apply(value, rawRecord), rawRecord);
+    }
+}
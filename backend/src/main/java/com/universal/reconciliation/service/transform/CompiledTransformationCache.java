@@ -0,0 +1,130 @@
+package com.universal.reconciliation.service.transform;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Least-recently-used cache of compiled transformations, bounded by entry count and idle time. Compilation
+ * runs outside the lock; when two threads compile the same key concurrently the first result is kept.
+ * Idle entries are swept while the cache is in use. Publishes {@code transformation.<kind>.cache.*}
+ * hit, miss, eviction and size meters and a {@code transformation.<kind>.compile} timer.
+ */
+final class CompiledTransformationCache<V> {
+
+    private final int maxEntries;
+    private final long idleNanos;
+    private final long sweepIntervalNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter idleEvictions;
+    private final Timer compileTimer;
+    private long lastSweep;
+
+    /**
+     * @param kind the transformation type in meter names, such as {@code groovy}
+     */
+    CompiledTransformationCache(
+            String kind, int maxEntries, long idleNanos, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.idleNanos = idleNanos;
+        this.sweepIntervalNanos = Math.max(1, idleNanos / 8);
+        this.clock = clock;
+        this.lastSweep = clock.getAsLong();
+        this.hits = Counter.builder("transformation." + kind + ".cache.gets")
+                .tag("result", "hit")
+                .description("Compiled transformation lookups served from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("transformation." + kind + ".cache.gets")
+                .tag("result", "miss")
+                .description("Compiled transformation lookups that required compilation")
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder("transformation." + kind + ".cache.evictions")
+                .tag("cause", "size")
+                .register(meterRegistry);
+        this.idleEvictions = Counter.builder("transformation." + kind + ".cache.evictions")
+                .tag("cause", "idle")
+                .register(meterRegistry);
+        this.compileTimer = Timer.builder("transformation." + kind + ".compile")
+                .description("Time spent compiling transformations")
+                .register(meterRegistry);
+        Gauge.builder("transformation." + kind + ".cache.size", this, CompiledTransformationCache::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached value for {@code key}, compiling it with {@code compiler} on a miss. Failed
+     * compilations are not cached.
+     */
+    V get(String key, Function<String, V> compiler) {
+        synchronized (this) {
+            long now = clock.getAsLong();
+            sweepIfDue(now);
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                entry.lastAccess = now;
+                hits.increment();
+                return entry.value;
+            }
+        }
+        misses.increment();
+        long started = System.nanoTime();
+        V value = compiler.apply(key);
+        compileTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        synchronized (this) {
+            long now = clock.getAsLong();
+            Entry<V> existing = entries.get(key);
+            if (existing != null) {
+                existing.lastAccess = now;
+                return existing.value;
+            }
+            entries.put(key, new Entry<>(value, now));
+            while (entries.size() > maxEntries) {
+                Iterator<Map.Entry<String, Entry<V>>> eldest = entries.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+                sizeEvictions.increment();
+            }
+            return value;
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void sweepIfDue(long now) {
+        if (now - lastSweep < sweepIntervalNanos) {
+            return;
+        }
+        lastSweep = now;
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().lastAccess >= idleNanos) {
+                iterator.remove();
+                idleEvictions.increment();
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private long lastAccess;
+
+        private Entry(V value, long lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.universal.reconciliation.domain.entity.CanonicalFieldMapping;
 import com.universal.reconciliation.domain.entity.CanonicalFieldTransformation;
 import com.universal.reconciliation.domain.enums.TransformationType;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import org.springframework.stereotype.Service;
 
@@ -27,28 +28,49 @@ public class DataTransformationService {
     }
 
     public Object applyTransformations(CanonicalFieldMapping mapping, Object value, Map<String, Object> rawRecord) {
+        return compile(mapping).apply(value, rawRecord);
+    }
+
+    /**
+     * Resolves the mapping's active transformations in display order so callers evaluating many values
+     * against the same mapping pay for the ordering once.
+     */
+    public TransformationChain compile(CanonicalFieldMapping mapping) {
         if (mapping.getTransformations() == null || mapping.getTransformations().isEmpty()) {
-            return value;
+            return TransformationChain.EMPTY;
         }
-        Map<String, Object> safeRecord = rawRecord == null ? Map.of() : rawRecord;
-        Object current = value;
-        for (CanonicalFieldTransformation transformation : mapping.getTransformations().stream()
+        List<CompiledTransformation> steps = mapping.getTransformations().stream()
+                .filter(transformation -> transformation.isActive() && transformation.getType() != null)
                 .sorted(Comparator.comparing(CanonicalFieldTransformation::getDisplayOrder, Comparator.nullsLast(Integer::compareTo)))
-                .toList()) {
-            if (!transformation.isActive()) {
-                continue;
+                .map(this::compileStep)
+                .toList();
+        return steps.isEmpty() ? TransformationChain.EMPTY : new TransformationChain(steps);
+    }
+
+    /**
+     * Function pipelines and Groovy scripts are compiled up front; a rule that does not compile is left to
+     * fail, with the same error, when a value is evaluated.
+     */
+    private CompiledTransformation compileStep(CanonicalFieldTransformation transformation) {
+        try {
+            if (transformation.getType() == TransformationType.FUNCTION_PIPELINE) {
+                return pipelineEvaluator.compile(transformation.getConfiguration());
             }
-            TransformationType type = transformation.getType();
-            if (type == null) {
-                continue;
+            if (transformation.getType() == TransformationType.GROOVY_SCRIPT) {
+                return groovyEvaluator.compile(transformation.getExpression());
             }
-            current = switch (type) {
-                case GROOVY_SCRIPT -> groovyEvaluator.evaluate(transformation, current, safeRecord);
-                case EXCEL_FORMULA -> excelEvaluator.evaluate(transformation, current, safeRecord);
-                case FUNCTION_PIPELINE -> pipelineEvaluator.evaluate(transformation, current, safeRecord);
-            };
+        } catch (TransformationEvaluationException ex) {
+            // fall through to per-value evaluation
         }
-        return current;
+        return (value, rawRecord) -> evaluate(transformation, value, rawRecord);
+    }
+
+    Object evaluate(CanonicalFieldTransformation transformation, Object value, Map<String, Object> rawRecord) {
+        return switch (transformation.getType()) {
+            case GROOVY_SCRIPT -> groovyEvaluator.evaluate(transformation, value, rawRecord);
+            case EXCEL_FORMULA -> excelEvaluator.evaluate(transformation, value, rawRecord);
+            case FUNCTION_PIPELINE -> pipelineEvaluator.evaluate(transformation, value, rawRecord);
+        };
     }
 
     public void validate(CanonicalFieldTransformation transformation) {
@@ -71,6 +93,14 @@ public class DataTransformationService {
         return groovyEvaluator.evaluate(transformation, value, rawRecord == null ? Map.of() : rawRecord);
     }
 
+    /**
+     * Evaluates a Groovy script over a chunk of values in one call, {@code values.get(i)} against
+     * {@code rawRecords.get(i)}, returning the results in the same order.
+     */
+    public List<Object> evaluateGroovyScript(String script, List<?> values, List<Map<String, Object>> rawRecords) {
+        return groovyEvaluator.evaluateBatch(script, values, rawRecords);
+    }
+
     public void validateGroovyScript(String script) {
         groovyEvaluator.validateExpression(script);
     }
@@ -1,59 +1,53 @@
 package com.universal.reconciliation.service.transform;
 
 import com.universal.reconciliation.domain.entity.CanonicalFieldTransformation;
-import java.io.Closeable;
-import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
+import org.apache.poi.hssf.model.HSSFFormulaParser;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.formula.ptg.NamePtg;
+import org.apache.poi.ss.formula.ptg.Ptg;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.CellValue;
 import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Name;
-import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Component;
 
 /**
  * Applies Excel-style formulas using Apache POI so admins can reuse familiar
  * spreadsheet syntax.
+ *
+ * <p>Formulas are compiled into a per-thread scratch workbook: the first evaluation of an expression on a
+ * thread defines the record's columns as names, parses the formula once and remembers which names it
+ * references. Later evaluations only rebind those cells and re-run POI's evaluator.</p>
  */
 @Component
 class ExcelFormulaTransformationEvaluator {
 
     private static final Set<String> RESERVED_NAMES = Set.of("TRUE", "FALSE", "NULL", "PRINT_AREA", "PRINT_TITLES");
     private static final Pattern CELL_REFERENCE_PATTERN = Pattern.compile("^[A-Z]+\\d+$");
+    private static final String VALUE_NAME = "VALUE";
+
+    /** Rows a scratch workbook may hold (names plus compiled formulas) before it is replaced. */
+    static final int MAX_SCRATCH_ROWS = 4_096;
+
+    private final ThreadLocal<ScratchWorkbook> scratch = ThreadLocal.withInitial(ScratchWorkbook::new);
 
     Object evaluate(CanonicalFieldTransformation transformation, Object currentValue, Map<String, Object> rawRecord) {
         String expression = transformation.getExpression();
         if (expression == null || expression.isBlank()) {
             return currentValue;
         }
-        String formula = normaliseFormula(expression);
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Row row = workbook.createSheet("Transform").createRow(0);
-
-            Cell valueCell = row.createCell(0);
-            assignCellValue(valueCell, currentValue);
-            defineName(workbook, "VALUE", valueCell);
-
-            int columnIndex = 1;
-            for (Map.Entry<String, Object> entry : rawRecord.entrySet()) {
-                Cell cell = row.createCell(columnIndex);
-                assignCellValue(cell, entry.getValue());
-                defineName(workbook, sanitiseName(entry.getKey()), cell);
-                columnIndex++;
-            }
-
-            Cell formulaCell = row.createCell(columnIndex + 1);
-            formulaCell.setCellFormula(formula);
-
-            FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
-            CellValue evaluated = evaluator.evaluate(formulaCell);
+        try {
+            CellValue evaluated = scratch().compile(expression, rawRecord).evaluate(currentValue, rawRecord);
             if (evaluated == null) {
                 return currentValue;
             }
@@ -64,43 +58,46 @@ class ExcelFormulaTransformationEvaluator {
                 case BLANK -> currentValue;
                 default -> evaluated.formatAsString();
             };
-        } catch (IOException ex) {
-            throw new TransformationEvaluationException("Failed to evaluate Excel formula", ex);
         } catch (RuntimeException ex) {
             throw new TransformationEvaluationException(
                     "Excel formula evaluation failed: " + ex.getMessage(), ex);
         }
     }
 
+    /**
+     * Compiles and evaluates {@code expression} the way {@link #evaluate} does, against a record without
+     * columns, so a formula that validates is also accepted at ingest.
+     */
     void validateExpression(String expression) {
         if (expression == null || expression.isBlank()) {
             throw new TransformationEvaluationException("Excel formula cannot be empty");
         }
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Row row = workbook.createSheet("Validate").createRow(0);
-            Cell valueCell = row.createCell(0);
-            assignCellValue(valueCell, "sample");
-            defineName(workbook, "VALUE", valueCell);
-            Cell formulaCell = row.createCell(1);
-            formulaCell.setCellFormula(normaliseFormula(expression));
-            FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
-            evaluator.evaluate(formulaCell);
-        } catch (IOException ex) {
-            throw new TransformationEvaluationException("Unable to validate Excel formula", ex);
+        try {
+            scratch().compile(expression, Map.of()).evaluate("sample", Map.of());
         } catch (RuntimeException ex) {
             throw new TransformationEvaluationException(
                     "Excel formula validation failed: " + ex.getMessage(), ex);
         }
     }
 
-    private void defineName(Workbook workbook, String name, Cell cell) {
+    private ScratchWorkbook scratch() {
+        ScratchWorkbook workbook = scratch.get();
+        if (workbook.isFull()) {
+            workbook = new ScratchWorkbook();
+            scratch.set(workbook);
+        }
+        return workbook;
+    }
+
+    private static void defineName(Workbook workbook, String name, Cell cell) {
         Name definedName = workbook.createName();
         definedName.setNameName(name);
         definedName.setRefersToFormula(String.format("%s!%s", cell.getSheet().getSheetName(), cell.getAddress().formatAsString()));
     }
 
-    private void assignCellValue(Cell cell, Object value) {
+    private static void assignCellValue(Cell cell, Object value) {
         if (value == null) {
+            cell.setBlank();
             return;
         }
         if (value instanceof Number number) {
@@ -112,7 +109,7 @@ class ExcelFormulaTransformationEvaluator {
         }
     }
 
-    private String sanitiseName(String rawName) {
+    private static String sanitiseName(String rawName) {
         if (rawName == null || rawName.isBlank()) {
             return "_";
         }
@@ -132,8 +129,110 @@ class ExcelFormulaTransformationEvaluator {
         return sanitised;
     }
 
-    private String normaliseFormula(String formula) {
+    private static String normaliseFormula(String formula) {
         String trimmed = formula.trim();
         return trimmed.startsWith("=") ? trimmed.substring(1) : trimmed;
     }
+
+    /**
+     * A thread's reusable evaluation context. Each defined name and compiled formula occupies one row.
+     */
+    private final class ScratchWorkbook {
+
+        private final HSSFWorkbook workbook = new HSSFWorkbook();
+        private final Sheet sheet = workbook.createSheet("Transform");
+        private final FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+        private final Map<String, Cell> cellsByName = new HashMap<>();
+        private final Map<String, String> namesByColumn = new HashMap<>();
+        private final Map<String, CompiledFormula> formulas = new HashMap<>();
+        private int nextRow;
+
+        private boolean isFull() {
+            return nextRow >= MAX_SCRATCH_ROWS;
+        }
+
+        private CompiledFormula compile(String expression, Map<String, Object> rawRecord) {
+            CompiledFormula compiled = formulas.get(expression);
+            if (compiled != null) {
+                return compiled;
+            }
+            Map<String, String> columnsByName = new HashMap<>();
+            cellFor(VALUE_NAME);
+            for (String column : rawRecord.keySet()) {
+                String name = nameOf(column);
+                cellFor(name);
+                columnsByName.putIfAbsent(name, column);
+            }
+            String formula = normaliseFormula(expression);
+            Set<String> referenced = new LinkedHashSet<>();
+            for (Ptg token : HSSFFormulaParser.parse(formula, workbook)) {
+                if (token instanceof NamePtg namePtg) {
+                    referenced.add(workbook.getAllNames().get(namePtg.getIndex()).getNameName());
+                }
+            }
+            Cell formulaCell = sheet.createRow(nextRow++).createCell(0);
+            formulaCell.setCellFormula(formula);
+
+            String[] names = referenced.toArray(String[]::new);
+            String[] columns = new String[names.length];
+            Cell[] cells = new Cell[names.length];
+            for (int index = 0; index < names.length; index++) {
+                columns[index] = VALUE_NAME.equals(names[index]) ? null : columnsByName.get(names[index]);
+                cells[index] = cellFor(names[index]);
+            }
+            compiled = new CompiledFormula(this, formulaCell, names, columns, cells);
+            formulas.put(expression, compiled);
+            return compiled;
+        }
+
+        private Cell cellFor(String name) {
+            return cellsByName.computeIfAbsent(name, key -> {
+                Cell cell = sheet.createRow(nextRow++).createCell(0);
+                defineName(workbook, key, cell);
+                return cell;
+            });
+        }
+
+        private String nameOf(String column) {
+            return namesByColumn.computeIfAbsent(column, key -> sanitiseName(key));
+        }
+
+        /**
+         * Finds the value bound to {@code name} when the record does not use the column seen at compile time.
+         */
+        private Object lookup(String name, Map<String, Object> rawRecord) {
+            for (Map.Entry<String, Object> entry : rawRecord.entrySet()) {
+                if (name.equals(nameOf(entry.getKey()))) {
+                    return entry.getValue();
+                }
+            }
+            throw new IllegalStateException(
+                    "Specified named range '" + name + "' does not exist in the current workbook.");
+        }
+    }
+
+    /**
+     * A parsed formula and the name cells it reads. {@code columns} holds the record column each name was
+     * bound to when compiled, or {@code null} for {@code VALUE}.
+     */
+    private record CompiledFormula(
+            ScratchWorkbook workbook, Cell formulaCell, String[] names, String[] columns, Cell[] cells) {
+
+        private CellValue evaluate(Object currentValue, Map<String, Object> rawRecord) {
+            for (int index = 0; index < cells.length; index++) {
+                Object value;
+                if (columns[index] == null) {
+                    value = VALUE_NAME.equals(names[index]) ? currentValue : workbook.lookup(names[index], rawRecord);
+                } else {
+                    value = rawRecord.get(columns[index]);
+                    if (value == null && !rawRecord.containsKey(columns[index])) {
+                        value = workbook.lookup(names[index], rawRecord);
+                    }
+                }
+                assignCellValue(cells[index], value);
+            }
+            workbook.evaluator.clearAllCachedResultValues();
+            return workbook.evaluator.evaluate(formulaCell);
+        }
+    }
 }
@@ -1,7 +1,10 @@
 package com.universal.reconciliation.service.transform;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.config.FunctionPipelineCacheProperties;
 import com.universal.reconciliation.domain.entity.CanonicalFieldTransformation;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -9,22 +12,41 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
-import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 /**
  * Hydrates and executes UI-authored transformation function pipelines.
+ *
+ * <p>Each distinct configuration is parsed once and compiled into a single composed function: handlers are
+ * resolved, numeric and date-pattern arguments parsed and {@code {{column}}} references split up front.
+ * Argument errors are still reported when a value reaches the offending step, as before compilation. Compiled
+ * pipelines are kept in a bounded {@link CompiledTransformationCache}, since previews compile every draft.</p>
  */
 @Component
 class FunctionPipelineTransformationEvaluator {
 
     private final ObjectMapper objectMapper;
-    private final Map<String, BiFunction<FunctionCallContext, List<String>, Object>> handlers = new HashMap<>();
+    private final Map<String, Function<List<Argument>, CompiledTransformation>> handlers = new HashMap<>();
+    private final CompiledTransformationCache<CompiledTransformation> compiledPipelines;
 
     FunctionPipelineTransformationEvaluator(ObjectMapper objectMapper) {
+        this(objectMapper, new FunctionPipelineCacheProperties(), new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    FunctionPipelineTransformationEvaluator(
+            ObjectMapper objectMapper, FunctionPipelineCacheProperties cacheProperties, MeterRegistry meterRegistry) {
         this.objectMapper = objectMapper;
+        this.compiledPipelines = new CompiledTransformationCache<>(
+                "pipeline",
+                cacheProperties.getMaxEntries(),
+                cacheProperties.getExpireAfterIdle().toNanos(),
+                meterRegistry,
+                System::nanoTime);
         registerDefaultHandlers();
     }
 
@@ -32,46 +54,46 @@ class FunctionPipelineTransformationEvaluator {
         if (!StringUtils.hasText(transformation.getConfiguration())) {
             return currentValue;
         }
-        PipelineDefinition definition = readPipeline(transformation.getConfiguration());
-        if (definition.steps() == null || definition.steps().isEmpty()) {
-            return currentValue;
-        }
-        Object value = currentValue;
-        FunctionCallContext context = new FunctionCallContext(value, rawRecord);
-        for (PipelineStep step : definition.steps()) {
-            BiFunction<FunctionCallContext, List<String>, Object> handler =
-                    handlers.get(step.function().toUpperCase(Locale.ROOT));
-            if (handler == null) {
-                throw new TransformationEvaluationException("Unsupported function: " + step.function());
-            }
-            context = new FunctionCallContext(handler.apply(context, step.args()), rawRecord);
-        }
-        return context.value();
+        return compile(transformation.getConfiguration()).apply(currentValue, rawRecord);
     }
 
-    Object evaluateConfiguration(String configuration, Object currentValue, Map<String, Object> rawRecord) {
+    /**
+     * Returns the compiled form of {@code configuration}, compiling and caching it on first use.
+     *
+     * @throws TransformationEvaluationException when the configuration is not a valid pipeline
+     */
+    CompiledTransformation compile(String configuration) {
         if (!StringUtils.hasText(configuration)) {
-            return currentValue;
+            return CompiledTransformation.IDENTITY;
         }
+        return compiledPipelines.get(configuration, this::compilePipeline);
+    }
+
+    void validateConfiguration(String configuration) {
+        readPipeline(configuration);
+    }
+
+    private CompiledTransformation compilePipeline(String configuration) {
         PipelineDefinition definition = readPipeline(configuration);
         if (definition.steps() == null || definition.steps().isEmpty()) {
-            return currentValue;
+            return CompiledTransformation.IDENTITY;
         }
-        Object value = currentValue;
-        FunctionCallContext context = new FunctionCallContext(value, rawRecord == null ? Map.of() : rawRecord);
+        CompiledTransformation pipeline = null;
         for (PipelineStep step : definition.steps()) {
-            BiFunction<FunctionCallContext, List<String>, Object> handler =
-                    handlers.get(step.function().toUpperCase(Locale.ROOT));
-            if (handler == null) {
-                throw new TransformationEvaluationException("Unsupported function: " + step.function());
-            }
-            context = new FunctionCallContext(handler.apply(context, step.args()), context.rawRecord());
+            CompiledTransformation compiled = compileStep(step);
+            pipeline = pipeline == null ? compiled : pipeline.andThen(compiled);
         }
-        return context.value();
+        return pipeline;
     }
 
-    void validateConfiguration(String configuration) {
-        readPipeline(configuration);
+    private CompiledTransformation compileStep(PipelineStep step) {
+        Function<List<Argument>, CompiledTransformation> handler = handlers.get(step.function().toUpperCase(Locale.ROOT));
+        if (handler == null) {
+            return (value, rawRecord) -> {
+                throw new TransformationEvaluationException("Unsupported function: " + step.function());
+            };
+        }
+        return handler.apply(step.args().stream().map(Argument::of).toList());
     }
 
     private PipelineDefinition readPipeline(String configuration) {
@@ -83,82 +105,115 @@ class FunctionPipelineTransformationEvaluator {
     }
 
     private void registerDefaultHandlers() {
-        handlers.put("TRIM", (ctx, args) -> {
-            Object value = ctx.value();
-            return value == null ? null : value.toString().trim();
-        });
-        handlers.put("TO_UPPERCASE", (ctx, args) -> ctx.value() == null ? null : ctx.value().toString().toUpperCase(Locale.ROOT));
-        handlers.put("TO_LOWERCASE", (ctx, args) -> ctx.value() == null ? null : ctx.value().toString().toLowerCase(Locale.ROOT));
-        handlers.put("REPLACE", (ctx, args) -> {
-            if (ctx.value() == null) {
-                return null;
-            }
+        handlers.put("TRIM", args -> (value, rawRecord) -> value == null ? null : value.toString().trim());
+        handlers.put("TO_UPPERCASE", args -> (value, rawRecord) -> value == null ? null : value.toString().toUpperCase(Locale.ROOT));
+        handlers.put("TO_LOWERCASE", args -> (value, rawRecord) -> value == null ? null : value.toString().toLowerCase(Locale.ROOT));
+        handlers.put("REPLACE", args -> {
             if (args.size() < 2) {
-                throw new TransformationEvaluationException("REPLACE requires two arguments");
+                return failingOnValue(() -> new TransformationEvaluationException("REPLACE requires two arguments"));
             }
-            String target = resolveArg(args.get(0), ctx.rawRecord());
-            String replacement = resolveArg(args.get(1), ctx.rawRecord());
-            return ctx.value().toString().replace(target, replacement);
+            Argument target = args.get(0);
+            Argument replacement = args.get(1);
+            return (value, rawRecord) -> value == null
+                    ? null
+                    : value.toString().replace(target.resolve(rawRecord), replacement.resolve(rawRecord));
         });
-        handlers.put("SUBSTRING", (ctx, args) -> {
-            if (ctx.value() == null) {
-                return null;
-            }
+        handlers.put("SUBSTRING", args -> {
             if (args.isEmpty()) {
-                throw new TransformationEvaluationException("SUBSTRING requires at least a start index");
+                return failingOnValue(() -> new TransformationEvaluationException("SUBSTRING requires at least a start index"));
             }
+            int start;
+            int end;
             try {
-                int start = Integer.parseInt(args.get(0));
-                int end = args.size() > 1 ? Integer.parseInt(args.get(1)) : ctx.value().toString().length();
-                String value = ctx.value().toString();
-                return value.substring(Math.max(0, start), Math.min(value.length(), end));
+                start = Integer.parseInt(args.get(0).text());
+                end = args.size() > 1 ? Integer.parseInt(args.get(1).text()) : Integer.MAX_VALUE;
             } catch (NumberFormatException ex) {
-                throw new TransformationEvaluationException("SUBSTRING arguments must be numeric", ex);
+                return failingOnValue(() -> new TransformationEvaluationException("SUBSTRING arguments must be numeric", ex));
             }
+            return (value, rawRecord) -> {
+                if (value == null) {
+                    return null;
+                }
+                String text = value.toString();
+                return text.substring(Math.max(0, start), Math.min(text.length(), end));
+            };
         });
-        handlers.put("DEFAULT_IF_BLANK", (ctx, args) -> {
-            Object value = ctx.value();
-            if (value == null || !StringUtils.hasText(value.toString())) {
-                return args.isEmpty() ? null : resolveArg(args.get(0), ctx.rawRecord());
-            }
-            return value;
+        handlers.put("DEFAULT_IF_BLANK", args -> {
+            Argument fallback = args.isEmpty() ? null : args.get(0);
+            return (value, rawRecord) -> {
+                if (value == null || !StringUtils.hasText(value.toString())) {
+                    return fallback == null ? null : fallback.resolve(rawRecord);
+                }
+                return value;
+            };
         });
-        handlers.put("PREFIX", (ctx, args) -> {
-            String prefix = args.isEmpty() ? "" : resolveArg(args.get(0), ctx.rawRecord());
-            return prefix + Optional.ofNullable(ctx.value()).map(Object::toString).orElse("");
+        handlers.put("PREFIX", args -> {
+            Argument prefix = args.isEmpty() ? Argument.EMPTY : args.get(0);
+            return (value, rawRecord) -> prefix.resolve(rawRecord) + (value == null ? "" : value.toString());
         });
-        handlers.put("SUFFIX", (ctx, args) -> {
-            String suffix = args.isEmpty() ? "" : resolveArg(args.get(0), ctx.rawRecord());
-            return Optional.ofNullable(ctx.value()).map(Object::toString).orElse("") + suffix;
+        handlers.put("SUFFIX", args -> {
+            Argument suffix = args.isEmpty() ? Argument.EMPTY : args.get(0);
+            return (value, rawRecord) -> (value == null ? "" : value.toString()) + suffix.resolve(rawRecord);
         });
-        handlers.put("FORMAT_DATE", (ctx, args) -> {
-            if (ctx.value() == null) {
-                return null;
-            }
+        handlers.put("FORMAT_DATE", args -> {
             if (args.size() < 2) {
-                throw new TransformationEvaluationException("FORMAT_DATE requires source and target patterns");
+                return failingOnValue(
+                        () -> new TransformationEvaluationException("FORMAT_DATE requires source and target patterns"));
             }
-            String sourcePattern = args.get(0);
-            String targetPattern = args.get(1);
+            DateTimeFormatter source;
+            DateTimeFormatter target;
             try {
-                LocalDate parsed = LocalDate.parse(ctx.value().toString(), DateTimeFormatter.ofPattern(sourcePattern));
-                return parsed.format(DateTimeFormatter.ofPattern(targetPattern));
-            } catch (DateTimeParseException ex) {
-                throw new TransformationEvaluationException("Unable to format date: " + ex.getMessage(), ex);
+                source = DateTimeFormatter.ofPattern(args.get(0).text());
+                target = DateTimeFormatter.ofPattern(args.get(1).text());
+            } catch (IllegalArgumentException ex) {
+                return failingOnValue(() -> ex);
             }
+            return (value, rawRecord) -> {
+                if (value == null) {
+                    return null;
+                }
+                try {
+                    return LocalDate.parse(value.toString(), source).format(target);
+                } catch (DateTimeParseException ex) {
+                    throw new TransformationEvaluationException("Unable to format date: " + ex.getMessage(), ex);
+                }
+            };
         });
     }
 
-    private String resolveArg(String rawArg, Map<String, Object> rawRecord) {
-        if (rawArg == null) {
-            return null;
+    /**
+     * A step whose arguments are unusable: it passes {@code null} through and fails on any other value.
+     */
+    private static CompiledTransformation failingOnValue(Supplier<RuntimeException> failure) {
+        return (value, rawRecord) -> {
+            if (value == null) {
+                return null;
+            }
+            throw failure.get();
+        };
+    }
+
+    /**
+     * A step argument: either literal text or a {@code {{column}}} reference into the raw record.
+     */
+    private record Argument(String text, String column) {
+
+        private static final Argument EMPTY = new Argument("", null);
+
+        private static Argument of(String rawArg) {
+            if (rawArg.startsWith("{{") && rawArg.endsWith("}}")) {
+                return new Argument(rawArg, rawArg.substring(2, rawArg.length() - 2));
+            }
+            return new Argument(rawArg, null);
         }
-        if (rawArg.startsWith("{{") && rawArg.endsWith("}}")) {
-            String key = rawArg.substring(2, rawArg.length() - 2);
-            Object value = rawRecord.get(key);
+
+        private String resolve(Map<String, Object> rawRecord) {
+            if (column == null) {
+                return text;
+            }
+            Object value = rawRecord.get(column);
             return value != null ? value.toString() : null;
         }
-        return rawArg;
     }
 
     private record PipelineDefinition(List<PipelineStep> steps) {}
@@ -171,6 +226,4 @@ class FunctionPipelineTransformationEvaluator {
             args = args == null ? List.of() : List.copyOf(args);
         }
     }
-
-    private record FunctionCallContext(Object value, Map<String, Object> rawRecord) {}
 }
@@ -1,34 +1,67 @@
 package com.universal.reconciliation.service.transform;
 
+import com.universal.reconciliation.config.GroovyScriptCacheProperties;
 import com.universal.reconciliation.domain.entity.CanonicalFieldTransformation;
 import groovy.lang.Binding;
 import groovy.lang.GroovyClassLoader;
 import groovy.lang.Script;
+import groovy.transform.CompileStatic;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.customizers.ASTTransformationCustomizer;
 import org.codehaus.groovy.control.customizers.SecureASTCustomizer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 /**
  * Compiles and executes Groovy snippets inside a sandboxed class-loader.
+ *
+ * <p>Row-level scripts are first compiled with {@code @CompileStatic} against {@link TransformationScript},
+ * falling back to dynamic compilation when a script does not type-check. The choice is made once per script,
+ * so every value runs through the same form exactly once; statically compiled scripts dereference nulls as
+ * Java does and should use {@code ?.} where a value may be missing. Idle instances of every compiled script
+ * are pooled, so a value rebinds a borrowed script instead of constructing a script and binding.</p>
+ *
+ * <p>Compiled scripts live in a bounded {@link CompiledTransformationCache}. Every compilation gets its own class
+ * loader, so an evicted script's classes can be unloaded once no transformation chain still holds it.</p>
  */
 @Component
 class GroovyTransformationEvaluator {
 
-    private final GroovyClassLoader groovyClassLoader;
-    private final ConcurrentHashMap<String, Class<? extends Script>> compiledScripts = new ConcurrentHashMap<>();
+    private final ClassLoader dynamicParent;
+    private final CompilerConfiguration dynamicConfiguration;
+    private final CompilerConfiguration staticConfiguration;
+    private final CompiledTransformationCache<CompiledScript> compiledScripts;
 
     GroovyTransformationEvaluator() {
-        CompilerConfiguration configuration = new CompilerConfiguration();
-        configuration.addCompilationCustomizers(buildSecurityCustomizer());
-        this.groovyClassLoader = new GroovyClassLoader(Thread.currentThread().getContextClassLoader(), configuration);
+        this(new GroovyScriptCacheProperties(), new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    GroovyTransformationEvaluator(GroovyScriptCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.dynamicParent = Thread.currentThread().getContextClassLoader();
+        this.dynamicConfiguration = new CompilerConfiguration();
+        dynamicConfiguration.addCompilationCustomizers(buildSecurityCustomizer());
+
+        this.staticConfiguration = new CompilerConfiguration();
+        staticConfiguration.setScriptBaseClass(TransformationScript.class.getName());
+        staticConfiguration.addCompilationCustomizers(
+                buildSecurityCustomizer(), new ASTTransformationCustomizer(CompileStatic.class));
+        this.compiledScripts = new CompiledTransformationCache<>(
+                "groovy",
+                cacheProperties.getMaxEntries(),
+                cacheProperties.getExpireAfterIdle().toNanos(),
+                meterRegistry,
+                System::nanoTime);
     }
 
     /**
@@ -41,30 +74,95 @@ class GroovyTransformationEvaluator {
         if (scriptBody == null || scriptBody.isBlank()) {
             return currentValue;
         }
+        return run(compiledScript(scriptBody), currentValue, rawRecord);
+    }
+
+    /**
+     * Resolves {@code scriptBody} to its compiled, pooled form so repeated evaluations skip the cache lookup.
+     *
+     * @throws TransformationEvaluationException when the script does not compile
+     */
+    CompiledTransformation compile(String scriptBody) {
+        if (scriptBody == null || scriptBody.isBlank()) {
+            return CompiledTransformation.IDENTITY;
+        }
+        CompiledScript script = compiledScript(scriptBody);
+        return (value, rawRecord) -> run(script, value, rawRecord);
+    }
+
+    /**
+     * Evaluates one script over a chunk of values, {@code values.get(i)} in the context of
+     * {@code rawRecords.get(i)}, resolving and acquiring the script once for the whole chunk.
+     */
+    List<Object> evaluateBatch(String scriptBody, List<?> values, List<Map<String, Object>> rawRecords) {
+        if (values.size() != rawRecords.size()) {
+            throw new IllegalArgumentException("Values and raw records must be the same size");
+        }
+        if (scriptBody == null || scriptBody.isBlank()) {
+            return new ArrayList<>(values);
+        }
+        CompiledScript script = compiledScript(scriptBody);
+        List<Object> results = new ArrayList<>(values.size());
+        for (int index = 0; index < values.size(); index++) {
+            results.add(run(script, values.get(index), rawRecords.get(index)));
+        }
+        return results;
+    }
+
+    private Object run(CompiledScript compiled, Object currentValue, Map<String, Object> rawRecord) {
+        Script script = null;
         try {
-            Script script = instantiateScript(scriptBody);
-            Binding binding = new Binding();
+            script = compiled.acquire();
+            if (script instanceof TransformationScript typed) {
+                return runStatic(typed, currentValue, rawRecord);
+            }
+            Binding binding = script.getBinding();
             binding.setVariable("value", currentValue);
             binding.setVariable("row", rawRecord);
             binding.setVariable("raw", rawRecord);
-            script.setBinding(binding);
-            Object result = script.run();
-            if (result != null) {
-                return result;
-            }
-            if (binding.hasVariable("value")) {
-                Object mutated = binding.getVariable("value");
-                if (!Objects.equals(mutated, currentValue)) {
-                    return mutated;
+            try {
+                Object result = script.run();
+                if (result != null) {
+                    return result;
+                }
+                if (binding.hasVariable("value")) {
+                    Object mutated = binding.getVariable("value");
+                    if (!Objects.equals(mutated, currentValue)) {
+                        return mutated;
+                    }
                 }
+                return currentValue;
+            } finally {
+                binding.getVariables().clear();
             }
-            return currentValue;
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException ex) {
             throw new TransformationEvaluationException("Failed to execute Groovy transformation", ex);
         } catch (TransformationEvaluationException ex) {
             throw ex;
         } catch (Exception ex) {
             throw new TransformationEvaluationException("Groovy transformation failed: " + ex.getMessage(), ex);
+        } finally {
+            if (script != null) {
+                compiled.release(script);
+            }
+        }
+    }
+
+    private static Object runStatic(TransformationScript script, Object currentValue, Map<String, Object> rawRecord) {
+        script.setValue(currentValue);
+        script.setRow(rawRecord);
+        script.setRaw(rawRecord);
+        try {
+            Object result = script.run();
+            if (result != null) {
+                return result;
+            }
+            Object mutated = script.getValue();
+            return Objects.equals(mutated, currentValue) ? currentValue : mutated;
+        } finally {
+            script.setValue(null);
+            script.setRow(null);
+            script.setRaw(null);
         }
     }
 
@@ -75,7 +173,7 @@ class GroovyTransformationEvaluator {
         }
         try {
             List<Map<String, Object>> working = rows == null ? List.of() : rows;
-            Script script = instantiateScript(expression);
+            Script script = compiledScript(expression).newInstance();
             Binding binding = new Binding();
             binding.setVariable("rows", working);
             binding.setVariable("records", working);
@@ -103,19 +201,36 @@ class GroovyTransformationEvaluator {
         if (expression == null || expression.isBlank()) {
             throw new TransformationEvaluationException("Groovy expression cannot be empty");
         }
-        compiledScripts.computeIfAbsent(expression, this::compileScript);
+        compiledScript(expression);
     }
 
     void validateDatasetScript(String expression) {
         if (!StringUtils.hasText(expression)) {
             return;
         }
-        compiledScripts.computeIfAbsent(expression, this::compileScript);
+        compiledScript(expression);
     }
 
-    private Class<? extends Script> compileScript(String body) {
+    private CompiledScript compiledScript(String body) {
+        return compiledScripts.get(body, this::compileScript);
+    }
+
+    private CompiledScript compileScript(String body) {
         try {
-            Class<?> scriptClass = groovyClassLoader.parseClass(body);
+            Class<?> scriptClass = new GroovyClassLoader(TransformationScript.class.getClassLoader(), staticConfiguration)
+                    .parseClass(body);
+            if (TransformationScript.class.isAssignableFrom(scriptClass)) {
+                return new CompiledScript(scriptClass.asSubclass(Script.class));
+            }
+        } catch (RuntimeException ex) {
+            // does not type-check; compile dynamically below
+        }
+        return new CompiledScript(compileDynamic(body));
+    }
+
+    private Class<? extends Script> compileDynamic(String body) {
+        try {
+            Class<?> scriptClass = new GroovyClassLoader(dynamicParent, dynamicConfiguration).parseClass(body);
             if (!Script.class.isAssignableFrom(scriptClass)) {
                 throw new TransformationEvaluationException("Groovy script must extend Script");
             }
@@ -129,11 +244,6 @@ class GroovyTransformationEvaluator {
         }
     }
 
-    private Script instantiateScript(String scriptBody)
-            throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Class<? extends Script> scriptClass = compiledScripts.computeIfAbsent(scriptBody, this::compileScript);
-        return scriptClass.getDeclaredConstructor().newInstance();
-    }
 
     private List<Map<String, Object>> coerceRows(List<?> rawRows) {
         List<Map<String, Object>> coerced = new ArrayList<>();
@@ -174,4 +284,37 @@ class GroovyTransformationEvaluator {
                 Map.class));
         return customizer;
     }
+
+    /**
+     * A compiled script class and its idle instances. Instances are borrowed for one evaluation and
+     * returned, so the pool never holds more than the peak number of concurrent evaluations.
+     */
+    private final class CompiledScript {
+
+        private final Class<? extends Script> type;
+        private final ConcurrentLinkedDeque<Script> idle = new ConcurrentLinkedDeque<>();
+
+        private CompiledScript(Class<? extends Script> type) {
+            this.type = type;
+        }
+
+        private Script newInstance()
+                throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
+            return type.getDeclaredConstructor().newInstance();
+        }
+
+        private Script acquire()
+                throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
+            Script script = idle.pollFirst();
+            if (script == null) {
+                script = newInstance();
+                script.setBinding(new Binding());
+            }
+            return script;
+        }
+
+        private void release(Script script) {
+            idle.offerFirst(script);
+        }
+    }
 }
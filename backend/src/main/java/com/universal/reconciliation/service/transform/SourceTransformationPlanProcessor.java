@@ -1,12 +1,14 @@
 package com.universal.reconciliation.service.transform;
 
+import com.universal.reconciliation.config.AggregationProperties;
 import com.universal.reconciliation.domain.transform.ColumnOperationConfig;
 import com.universal.reconciliation.domain.transform.RowOperationConfig;
 import com.universal.reconciliation.domain.transform.SourceTransformationPlan;
 import java.math.BigDecimal;
-import java.math.MathContext;
 import java.math.RoundingMode;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -14,7 +16,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
@@ -27,12 +30,15 @@ public class SourceTransformationPlanProcessor {
 
     private final GroovyTransformationEvaluator groovyEvaluator;
     private final FunctionPipelineTransformationEvaluator pipelineEvaluator;
+    private final AggregationProperties aggregationProperties;
 
     public SourceTransformationPlanProcessor(
             GroovyTransformationEvaluator groovyEvaluator,
-            FunctionPipelineTransformationEvaluator pipelineEvaluator) {
+            FunctionPipelineTransformationEvaluator pipelineEvaluator,
+            AggregationProperties aggregationProperties) {
         this.groovyEvaluator = groovyEvaluator;
         this.pipelineEvaluator = pipelineEvaluator;
+        this.aggregationProperties = aggregationProperties;
     }
 
     public void validate(SourceTransformationPlan plan) {
@@ -54,17 +60,110 @@ public class SourceTransformationPlanProcessor {
         }
     }
 
+    /**
+     * Applies {@code plan} to {@code rows} in a single streaming pass. Column operations and filters and
+     * splits run row by row; only an aggregation or the dataset script holds the rows reaching it. Input rows
+     * are never modified: a row is copied the first time a step writes to it, and rows no step writes to are
+     * returned as they are.
+     */
     public List<Map<String, Object>> apply(SourceTransformationPlan plan, List<Map<String, Object>> rows) {
-        List<Map<String, Object>> working = copyRows(rows);
+        return apply(plan, rows == null ? Stream.empty() : rows.stream());
+    }
+
+    /**
+     * Applies {@code plan} to the rows of {@code rows} as they are read, so the input is never held as a whole:
+     * only the transformed rows and, for an aggregation or a dataset script, the groups or rows reaching it.
+     */
+    public List<Map<String, Object>> apply(SourceTransformationPlan plan, Stream<Map<String, Object>> rows) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        List<SpillingHashAggregator> aggregators = new ArrayList<>();
+        RowSink pipeline = plan == null ? (row, owned) -> result.add(row) : compile(plan, result, aggregators);
+        try {
+            Iterator<Map<String, Object>> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                pipeline.accept(iterator.next(), false);
+            }
+            pipeline.finish();
+        } finally {
+            aggregators.forEach(SpillingHashAggregator::close);
+        }
+        return result;
+    }
+
+    /**
+     * Whether every step of the plan works on one row at a time, so applying it to consecutive chunks of a
+     * dataset yields the same rows as applying it to the whole dataset. Aggregations and dataset scripts see
+     * every row and therefore need the full dataset.
+     */
+    public boolean isRowLocal(SourceTransformationPlan plan) {
         if (plan == null) {
-            return working;
+            return true;
+        }
+        if (StringUtils.hasText(plan.getDatasetGroovyScript())) {
+            return false;
+        }
+        if (plan.getRowOperations() == null) {
+            return true;
+        }
+        return plan.getRowOperations().stream()
+                .noneMatch(operation -> operation != null
+                        && operation.getType() == RowOperationConfig.RowOperationType.AGGREGATE);
+    }
+
+    /**
+     * Input columns the plan reads: filter, group-by, aggregation, retained, split, combine and rounding
+     * columns. Empty when the plan may read any column, that is when it has a dataset script or a pipeline
+     * step whose configuration can reference other columns.
+     */
+    public Optional<Set<String>> referencedColumns(SourceTransformationPlan plan) {
+        Set<String> columns = new LinkedHashSet<>();
+        if (plan == null) {
+            return Optional.of(columns);
+        }
+        if (StringUtils.hasText(plan.getDatasetGroovyScript())) {
+            return Optional.empty();
+        }
+        for (RowOperationConfig operation : Optional.ofNullable(plan.getRowOperations()).orElse(List.of())) {
+            if (operation == null) {
+                continue;
+            }
+            if (operation.getFilter() != null) {
+                addColumn(columns, operation.getFilter().getColumn());
+            }
+            if (operation.getAggregate() != null) {
+                Optional.ofNullable(operation.getAggregate().getGroupBy()).orElse(List.of())
+                        .forEach(column -> addColumn(columns, column));
+                Optional.ofNullable(operation.getAggregate().getRetainColumns()).orElse(Set.of())
+                        .forEach(column -> addColumn(columns, column));
+                Optional.ofNullable(operation.getAggregate().getAggregations()).orElse(List.of()).stream()
+                        .filter(Objects::nonNull)
+                        .forEach(aggregation -> addColumn(columns, aggregation.getSourceColumn()));
+            }
+            if (operation.getSplit() != null) {
+                addColumn(columns, operation.getSplit().getSourceColumn());
+            }
+        }
+        for (ColumnOperationConfig operation : Optional.ofNullable(plan.getColumnOperations()).orElse(List.of())) {
+            if (operation == null) {
+                continue;
+            }
+            if (operation.getPipeline() != null) {
+                return Optional.empty();
+            }
+            if (operation.getCombine() != null) {
+                operation.getCombine().getSources().forEach(column -> addColumn(columns, column));
+            }
+            if (operation.getRound() != null) {
+                addColumn(columns, operation.getRound().getSourceColumn());
+            }
+        }
+        return Optional.of(columns);
+    }
+
+    private static void addColumn(Set<String> columns, String column) {
+        if (StringUtils.hasText(column)) {
+            columns.add(column);
         }
-        Set<String> derivedColumns = collectColumnTargets(plan.getColumnOperations());
-        applyColumnOperations(plan.getColumnOperations(), working);
-        working = applyRowOperations(plan.getRowOperations(), working, derivedColumns);
-        applyColumnOperations(plan.getColumnOperations(), working);
-        working = normaliseRows(groovyEvaluator.evaluateDataset(plan.getDatasetGroovyScript(), working));
-        return working;
     }
 
     private void validateRowOperation(RowOperationConfig operation) {
@@ -181,39 +280,53 @@ public class SourceTransformationPlanProcessor {
         }
     }
 
-    private List<Map<String, Object>> applyRowOperations(
-            List<RowOperationConfig> operations, List<Map<String, Object>> rows, Set<String> derivedColumns) {
-        List<Map<String, Object>> working = rows;
-        if (operations == null) {
-            return working;
-        }
-        for (RowOperationConfig operation : operations) {
+    /**
+     * Builds the plan's pipeline back to front: the dataset script (or {@code output}), the second column
+     * pass, the row operations in reverse order and finally the first column pass. Steps that would leave
+     * every row unchanged are left out.
+     */
+    private RowSink compile(
+            SourceTransformationPlan plan,
+            List<Map<String, Object>> output,
+            List<SpillingHashAggregator> aggregators) {
+        RowSink sink = StringUtils.hasText(plan.getDatasetGroovyScript())
+                ? new DatasetScriptStage(plan.getDatasetGroovyScript(), output)
+                : (row, owned) -> output.add(row);
+        sink = columnStage(plan.getColumnOperations(), sink);
+        List<RowOperationConfig> rowOperations = plan.getRowOperations() == null ? List.of() : plan.getRowOperations();
+        Set<String> derivedColumns = collectColumnTargets(plan.getColumnOperations());
+        for (int index = rowOperations.size() - 1; index >= 0; index--) {
+            RowOperationConfig operation = rowOperations.get(index);
             if (operation == null || operation.getType() == null) {
                 continue;
             }
-            working = switch (operation.getType()) {
-                case FILTER -> applyFilter(operation.getFilter(), working);
-                case AGGREGATE -> applyAggregate(operation.getAggregate(), working, derivedColumns);
-                case SPLIT -> applySplit(operation.getSplit(), working);
+            sink = switch (operation.getType()) {
+                case FILTER -> filterStage(operation.getFilter(), sink);
+                case AGGREGATE -> aggregateStage(operation.getAggregate(), derivedColumns, aggregators, sink);
+                case SPLIT -> splitStage(operation.getSplit(), sink);
             };
         }
-        return working;
+        return columnStage(plan.getColumnOperations(), sink);
     }
 
-    private void applyColumnOperations(List<ColumnOperationConfig> operations, List<Map<String, Object>> rows) {
-        if (operations == null) {
-            return;
-        }
-        for (ColumnOperationConfig operation : operations) {
-            if (operation == null || operation.getType() == null) {
-                continue;
-            }
-            switch (operation.getType()) {
-                case COMBINE -> applyCombine(operation.getCombine(), rows);
-                case PIPELINE -> applyPipeline(operation.getPipeline(), rows);
-                case ROUND -> applyRound(operation.getRound(), rows);
+    private RowSink columnStage(List<ColumnOperationConfig> operations, RowSink downstream) {
+        List<ColumnStep> steps = new ArrayList<>();
+        if (operations != null) {
+            for (ColumnOperationConfig operation : operations) {
+                if (operation == null || operation.getType() == null) {
+                    continue;
+                }
+                ColumnStep step = switch (operation.getType()) {
+                    case COMBINE -> combineStep(operation.getCombine());
+                    case PIPELINE -> pipelineStep(operation.getPipeline());
+                    case ROUND -> roundStep(operation.getRound());
+                };
+                if (step != null) {
+                    steps.add(step);
+                }
             }
         }
+        return steps.isEmpty() ? downstream : new ColumnStage(steps.toArray(ColumnStep[]::new), downstream);
     }
 
     private Set<String> collectColumnTargets(List<ColumnOperationConfig> operations) {
@@ -249,23 +362,27 @@ public class SourceTransformationPlanProcessor {
         return targets;
     }
 
-    private List<Map<String, Object>> applyFilter(
-            RowOperationConfig.FilterOperation filter, List<Map<String, Object>> rows) {
+    private RowSink filterStage(RowOperationConfig.FilterOperation filter, RowSink downstream) {
         if (filter == null || !StringUtils.hasText(filter.getColumn()) || filter.getOperator() == null) {
-            return rows;
-        }
-        RowOperationConfig.FilterMode mode = Optional.ofNullable(filter.getMode())
-                .orElse(RowOperationConfig.FilterMode.RETAIN_MATCHING);
-        List<Map<String, Object>> filtered = new ArrayList<>();
-        for (Map<String, Object> row : rows) {
-            Object value = row.get(filter.getColumn());
-            boolean matches = evaluateFilter(value, filter);
-            boolean retain = mode == RowOperationConfig.FilterMode.RETAIN_MATCHING ? matches : !matches;
-            if (retain) {
-                filtered.add(row);
+            return downstream;
+        }
+        boolean retainMatching = Optional.ofNullable(filter.getMode())
+                        .orElse(RowOperationConfig.FilterMode.RETAIN_MATCHING)
+                == RowOperationConfig.FilterMode.RETAIN_MATCHING;
+        String column = filter.getColumn();
+        return new RowSink() {
+            @Override
+            public void accept(Map<String, Object> row, boolean owned) {
+                if (evaluateFilter(row.get(column), filter) == retainMatching) {
+                    downstream.accept(row, owned);
+                }
             }
-        }
-        return filtered;
+
+            @Override
+            public void finish() {
+                downstream.finish();
+            }
+        };
     }
 
     private boolean evaluateFilter(Object value, RowOperationConfig.FilterOperation filter) {
@@ -318,295 +435,166 @@ public class SourceTransformationPlanProcessor {
         return leftNumber.compareTo(rightNumber);
     }
 
-    private List<Map<String, Object>> applyAggregate(
+    private RowSink aggregateStage(
             RowOperationConfig.AggregateOperation aggregate,
-            List<Map<String, Object>> rows,
-            Set<String> derivedColumns) {
+            Set<String> derivedColumns,
+            List<SpillingHashAggregator> aggregators,
+            RowSink downstream) {
         if (aggregate == null
                 || CollectionUtils.isEmpty(aggregate.getGroupBy())
                 || CollectionUtils.isEmpty(aggregate.getAggregations())) {
-            return rows;
-        }
-        Map<List<Object>, List<Map<String, Object>>> grouped = new LinkedHashMap<>();
-        for (Map<String, Object> row : rows) {
-            List<Object> key = aggregate.getGroupBy().stream().map(row::get).collect(Collectors.toList());
-            grouped.computeIfAbsent(key, unused -> new ArrayList<>()).add(row);
-        }
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (Map.Entry<List<Object>, List<Map<String, Object>>> entry : grouped.entrySet()) {
-            List<Map<String, Object>> groupRows = entry.getValue();
-            if (groupRows.isEmpty()) {
-                continue;
-            }
-            Map<String, Object> prototype = new LinkedHashMap<>(groupRows.get(0));
-            Set<String> retainColumns = new LinkedHashSet<>();
-            if (!CollectionUtils.isEmpty(aggregate.getRetainColumns())) {
-                retainColumns.addAll(aggregate.getRetainColumns());
-            }
-            if (derivedColumns != null) {
-                retainColumns.addAll(derivedColumns);
-            }
-            retainColumns.addAll(aggregate.getGroupBy());
-            Map<String, Object> row = retainColumns.isEmpty() ? prototype : projectColumns(prototype, retainColumns);
-            for (RowOperationConfig.Aggregation aggregation : aggregate.getAggregations()) {
-                String sourceColumn = StringUtils.hasText(aggregation.getSourceColumn())
-                        ? aggregation.getSourceColumn()
-                        : aggregation.getResultColumn();
-                String resultColumn = StringUtils.hasText(aggregation.getResultColumn())
-                        ? aggregation.getResultColumn()
-                        : sourceColumn;
-                Object aggregated = aggregateValues(groupRows, sourceColumn, aggregation);
-                row.put(resultColumn, aggregated);
-            }
-            result.add(row);
-        }
-        if (aggregate.isSortByGroup()) {
-            result.sort((a, b) -> compareGroupKeys(a, b, aggregate.getGroupBy()));
-        }
-        return result;
-    }
-
-    private Map<String, Object> projectColumns(Map<String, Object> prototype, Set<String> retainColumns) {
-        Map<String, Object> projected = new LinkedHashMap<>();
-        for (String column : retainColumns) {
-            if (prototype.containsKey(column)) {
-                projected.put(column, prototype.get(column));
-            }
-        }
-        return projected;
-    }
-
-    private int compareGroupKeys(Map<String, Object> a, Map<String, Object> b, List<String> groupBy) {
-        for (String column : groupBy) {
-            Object left = a.get(column);
-            Object right = b.get(column);
-            int comparison = String.valueOf(left).compareTo(String.valueOf(right));
-            if (comparison != 0) {
-                return comparison;
+            return downstream;
+        }
+        SpillingHashAggregator aggregator = new SpillingHashAggregator(
+                aggregate, derivedColumns, aggregationProperties.getMaxGroupsInMemory(), resolveSpillDirectory());
+        aggregators.add(aggregator);
+        return new RowSink() {
+            @Override
+            public void accept(Map<String, Object> row, boolean owned) {
+                aggregator.add(row);
+            }
+
+            @Override
+            public void finish() {
+                List<Map<String, Object>> aggregated = aggregator.finish();
+                aggregator.close();
+                for (Map<String, Object> row : aggregated) {
+                    downstream.accept(row, true);
+                }
+                downstream.finish();
             }
-        }
-        return 0;
-    }
-
-    private Object aggregateValues(
-            List<Map<String, Object>> rows,
-            String column,
-            RowOperationConfig.Aggregation aggregation) {
-        RowOperationConfig.AggregationFunction function = aggregation.getFunction();
-        return switch (function) {
-            case SUM -> aggregateSum(rows, column, aggregation);
-            case AVG -> aggregateAverage(rows, column, aggregation);
-            case MIN -> aggregateMin(rows, column);
-            case MAX -> aggregateMax(rows, column);
-            case COUNT -> aggregateCount(rows, column);
-            case FIRST -> aggregateFirst(rows, column);
-            case LAST -> aggregateLast(rows, column);
         };
     }
 
-    private Object aggregateSum(
-            List<Map<String, Object>> rows, String column, RowOperationConfig.Aggregation aggregation) {
-        BigDecimal total = BigDecimal.ZERO;
-        for (Map<String, Object> row : rows) {
-            BigDecimal value = toBigDecimal(row.get(column));
-            if (value != null) {
-                total = total.add(value);
-            }
-        }
-        return applyScale(total, aggregation.getScale(), aggregation.getRoundingMode());
-    }
-
-    private Object aggregateAverage(
-            List<Map<String, Object>> rows, String column, RowOperationConfig.Aggregation aggregation) {
-        BigDecimal total = BigDecimal.ZERO;
-        int count = 0;
-        for (Map<String, Object> row : rows) {
-            BigDecimal value = toBigDecimal(row.get(column));
-            if (value != null) {
-                total = total.add(value);
-                count++;
-            }
-        }
-        if (count == 0) {
-            return BigDecimal.ZERO;
-        }
-        BigDecimal average = total.divide(BigDecimal.valueOf(count), MathContext.DECIMAL64);
-        return applyScale(average, aggregation.getScale(), aggregation.getRoundingMode());
+    private Path resolveSpillDirectory() {
+        String configured = aggregationProperties.getSpillDirectory();
+        return Path.of(configured != null ? configured : System.getProperty("java.io.tmpdir"));
     }
 
-    @SuppressWarnings({"rawtypes", "unchecked"})
-    private Object aggregateMin(List<Map<String, Object>> rows, String column) {
-        Comparable min = null;
-        for (Map<String, Object> row : rows) {
-            Object value = row.get(column);
-            if (value instanceof Comparable comparable) {
-                if (min == null || comparable.compareTo(min) < 0) {
-                    min = comparable;
+    private RowSink splitStage(RowOperationConfig.SplitOperation split, RowSink downstream) {
+        if (split == null || !StringUtils.hasText(split.getSourceColumn())) {
+            return downstream;
+        }
+        String sourceColumn = split.getSourceColumn();
+        Pattern delimiter = Pattern.compile(
+                Pattern.quote(StringUtils.hasText(split.getDelimiter()) ? split.getDelimiter() : ","));
+        String targetColumn = StringUtils.hasText(split.getTargetColumn()) ? split.getTargetColumn() : sourceColumn;
+        return new RowSink() {
+            @Override
+            public void accept(Map<String, Object> row, boolean owned) {
+                Object raw = row.get(sourceColumn);
+                if (!(raw instanceof String rawString)) {
+                    downstream.accept(row, owned);
+                    return;
                 }
-            }
-        }
-        return min;
-    }
-
-    @SuppressWarnings({"rawtypes", "unchecked"})
-    private Object aggregateMax(List<Map<String, Object>> rows, String column) {
-        Comparable max = null;
-        for (Map<String, Object> row : rows) {
-            Object value = row.get(column);
-            if (value instanceof Comparable comparable) {
-                if (max == null || comparable.compareTo(max) > 0) {
-                    max = comparable;
+                if (!StringUtils.hasText(rawString)) {
+                    if (!split.isDropEmptyValues()) {
+                        downstream.accept(withValue(row, targetColumn, rawString), true);
+                    }
+                    return;
+                }
+                boolean emitted = false;
+                for (String token : delimiter.split(rawString)) {
+                    String value = split.isTrimValues() ? token.trim() : token;
+                    if (split.isDropEmptyValues() && !StringUtils.hasText(value)) {
+                        continue;
+                    }
+                    downstream.accept(withValue(row, targetColumn, value), true);
+                    emitted = true;
+                }
+                if (!emitted && !split.isDropEmptyValues()) {
+                    downstream.accept(
+                            withValue(row, targetColumn, split.isTrimValues() ? rawString.trim() : rawString), true);
                 }
             }
-        }
-        return max;
-    }
-
-    private Object aggregateCount(List<Map<String, Object>> rows, String column) {
-        long count = rows.stream().filter(row -> row.get(column) != null).count();
-        return count;
-    }
-
-    private Object aggregateFirst(List<Map<String, Object>> rows, String column) {
-        for (Map<String, Object> row : rows) {
-            Object value = row.get(column);
-            if (value != null) {
-                return value;
-            }
-        }
-        return null;
-    }
 
-    private Object aggregateLast(List<Map<String, Object>> rows, String column) {
-        for (int i = rows.size() - 1; i >= 0; i--) {
-            Object value = rows.get(i).get(column);
-            if (value != null) {
-                return value;
+            @Override
+            public void finish() {
+                downstream.finish();
             }
-        }
-        return null;
+        };
     }
 
-    private List<Map<String, Object>> applySplit(
-            RowOperationConfig.SplitOperation split, List<Map<String, Object>> rows) {
-        if (split == null || !StringUtils.hasText(split.getSourceColumn())) {
-            return rows;
-        }
-        String delimiter = StringUtils.hasText(split.getDelimiter()) ? split.getDelimiter() : ",";
-        String targetColumn = StringUtils.hasText(split.getTargetColumn())
-                ? split.getTargetColumn()
-                : split.getSourceColumn();
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (Map<String, Object> row : rows) {
-            Object raw = row.get(split.getSourceColumn());
-            if (!(raw instanceof String rawString)) {
-                result.add(row);
-                continue;
-            }
-            if (!StringUtils.hasText(rawString)) {
-                if (!split.isDropEmptyValues()) {
-                    Map<String, Object> copy = new LinkedHashMap<>(row);
-                    copy.put(targetColumn, rawString);
-                    result.add(copy);
-                }
-                continue;
-            }
-            String[] tokens = rawString.split(java.util.regex.Pattern.quote(delimiter));
-            boolean emitted = false;
-            for (String token : tokens) {
-                String value = split.isTrimValues() ? token.trim() : token;
-                if (split.isDropEmptyValues() && !StringUtils.hasText(value)) {
-                    continue;
-                }
-                Map<String, Object> copy = new LinkedHashMap<>(row);
-                copy.put(targetColumn, value);
-                result.add(copy);
-                emitted = true;
-            }
-            if (!emitted && !split.isDropEmptyValues()) {
-                Map<String, Object> copy = new LinkedHashMap<>(row);
-                copy.put(targetColumn, split.isTrimValues() ? rawString.trim() : rawString);
-                result.add(copy);
-            }
-        }
-        return result;
+    private static Map<String, Object> withValue(Map<String, Object> row, String column, Object value) {
+        Map<String, Object> copy = new LinkedHashMap<>(row);
+        copy.put(column, value);
+        return copy;
     }
 
-    private void applyCombine(ColumnOperationConfig.CombineOperation combine, List<Map<String, Object>> rows) {
+    private ColumnStep combineStep(ColumnOperationConfig.CombineOperation combine) {
         if (combine == null || !StringUtils.hasText(combine.getTargetColumn())) {
-            return;
+            return null;
         }
         String delimiter = combine.getDelimiter() != null ? combine.getDelimiter() : "";
-        for (Map<String, Object> row : rows) {
-            List<String> values = new ArrayList<>();
-            for (String source : combine.getSources()) {
-                Object raw = row.get(source);
-                if (raw == null) {
-                    continue;
-                }
-                String text = raw.toString();
-                if (combine.isSkipBlanks() && !StringUtils.hasText(text)) {
-                    continue;
+        List<String> sources = combine.getSources();
+        String prefix = StringUtils.hasText(combine.getPrefix()) ? combine.getPrefix() : "";
+        String suffix = StringUtils.hasText(combine.getSuffix()) ? combine.getSuffix() : "";
+        boolean skipBlanks = combine.isSkipBlanks();
+        return new ColumnStep(combine.getTargetColumn()) {
+            @Override
+            Object compute(Map<String, Object> row) {
+                StringBuilder joined = new StringBuilder(prefix);
+                boolean first = true;
+                for (String source : sources) {
+                    Object raw = row.get(source);
+                    if (raw == null) {
+                        continue;
+                    }
+                    String text = raw.toString();
+                    if (skipBlanks && !StringUtils.hasText(text)) {
+                        continue;
+                    }
+                    if (!first) {
+                        joined.append(delimiter);
+                    }
+                    joined.append(text);
+                    first = false;
                 }
-                values.add(text);
-            }
-            String joined = String.join(delimiter, values);
-            if (StringUtils.hasText(combine.getPrefix())) {
-                joined = combine.getPrefix() + joined;
+                return joined.append(suffix).toString();
             }
-            if (StringUtils.hasText(combine.getSuffix())) {
-                joined = joined + combine.getSuffix();
-            }
-            row.put(combine.getTargetColumn(), joined);
-        }
+        };
     }
 
-    private void applyPipeline(ColumnOperationConfig.PipelineOperation pipeline, List<Map<String, Object>> rows) {
-        if (pipeline == null || !StringUtils.hasText(pipeline.getTargetColumn())) {
-            return;
+    private ColumnStep pipelineStep(ColumnOperationConfig.PipelineOperation pipeline) {
+        if (pipeline == null
+                || !StringUtils.hasText(pipeline.getTargetColumn())
+                || !StringUtils.hasText(pipeline.getConfiguration())) {
+            return null;
         }
         String configuration = pipeline.getConfiguration();
-        if (!StringUtils.hasText(configuration)) {
-            return;
-        }
-        for (Map<String, Object> row : rows) {
-            String sourceColumn = StringUtils.hasText(pipeline.getSourceColumn())
-                    ? pipeline.getSourceColumn()
-                    : pipeline.getTargetColumn();
-            Object currentValue = row.get(sourceColumn);
-            Object evaluated = pipelineEvaluator.evaluateConfiguration(configuration, currentValue, row);
-            row.put(pipeline.getTargetColumn(), evaluated);
-        }
+        String sourceColumn = StringUtils.hasText(pipeline.getSourceColumn())
+                ? pipeline.getSourceColumn()
+                : pipeline.getTargetColumn();
+        return new ColumnStep(pipeline.getTargetColumn()) {
+            // Compiled on the first row, so an invalid configuration only fails a plan that has rows.
+            private CompiledTransformation compiled;
+
+            @Override
+            Object compute(Map<String, Object> row) {
+                if (compiled == null) {
+                    compiled = pipelineEvaluator.compile(configuration);
+                }
+                return compiled.apply(row.get(sourceColumn), row);
+            }
+        };
     }
 
-    private void applyRound(ColumnOperationConfig.RoundOperation round, List<Map<String, Object>> rows) {
+    private ColumnStep roundStep(ColumnOperationConfig.RoundOperation round) {
         if (round == null || !StringUtils.hasText(round.getTargetColumn())) {
-            return;
+            return null;
         }
         int scale = Optional.ofNullable(round.getScale()).orElse(2);
         RoundingMode mode = Optional.ofNullable(round.getRoundingMode()).orElse(RoundingMode.HALF_UP);
-        for (Map<String, Object> row : rows) {
-            String sourceColumn = StringUtils.hasText(round.getSourceColumn())
-                    ? round.getSourceColumn()
-                    : round.getTargetColumn();
-            Object raw = row.get(sourceColumn);
-            BigDecimal number = toBigDecimal(raw);
-            if (number == null) {
-                continue;
+        String sourceColumn = StringUtils.hasText(round.getSourceColumn())
+                ? round.getSourceColumn()
+                : round.getTargetColumn();
+        return new ColumnStep(round.getTargetColumn()) {
+            @Override
+            Object compute(Map<String, Object> row) {
+                BigDecimal number = toBigDecimal(row.get(sourceColumn));
+                return number == null ? UNCHANGED : number.setScale(scale, mode);
             }
-            row.put(round.getTargetColumn(), number.setScale(scale, mode));
-        }
-    }
-
-    private List<Map<String, Object>> copyRows(List<Map<String, Object>> rows) {
-        List<Map<String, Object>> copy = new ArrayList<>();
-        if (rows == null) {
-            return copy;
-        }
-        for (Map<String, Object> row : rows) {
-            copy.add(new LinkedHashMap<>(row));
-        }
-        return copy;
+        };
     }
 
     private List<Map<String, Object>> normaliseRows(List<Map<String, Object>> rows) {
@@ -628,7 +616,7 @@ public class SourceTransformationPlanProcessor {
         return value == null || !StringUtils.hasText(value.toString());
     }
 
-    private BigDecimal toBigDecimal(Object value) {
+    static BigDecimal toBigDecimal(Object value) {
         if (value == null) {
             return null;
         }
@@ -649,13 +637,91 @@ public class SourceTransformationPlanProcessor {
         }
     }
 
-    private Object applyScale(BigDecimal value, Integer scale, RoundingMode mode) {
-        if (value == null) {
-            return null;
+    /**
+     * A stage of a compiled plan. {@code owned} tells whether the row is a private copy the stage may modify
+     * in place, or a caller's row that has to be copied before its first write.
+     */
+    private interface RowSink {
+
+        void accept(Map<String, Object> row, boolean owned);
+
+        default void finish() {}
+    }
+
+    /**
+     * One column operation applied to a single row; returns {@link #UNCHANGED} to leave the target as is.
+     */
+    private abstract static class ColumnStep {
+
+        static final Object UNCHANGED = new Object();
+
+        final String targetColumn;
+
+        ColumnStep(String targetColumn) {
+            this.targetColumn = targetColumn;
+        }
+
+        abstract Object compute(Map<String, Object> row);
+    }
+
+    /**
+     * Runs a pass of column operations over each row, copying it on the first write.
+     */
+    private static final class ColumnStage implements RowSink {
+
+        private final ColumnStep[] steps;
+        private final RowSink downstream;
+
+        private ColumnStage(ColumnStep[] steps, RowSink downstream) {
+            this.steps = steps;
+            this.downstream = downstream;
         }
-        if (scale == null) {
-            return value;
+
+        @Override
+        public void accept(Map<String, Object> row, boolean owned) {
+            for (ColumnStep step : steps) {
+                Object value = step.compute(row);
+                if (value == ColumnStep.UNCHANGED) {
+                    continue;
+                }
+                if (!owned) {
+                    row = new LinkedHashMap<>(row);
+                    owned = true;
+                }
+                row.put(step.targetColumn, value);
+            }
+            downstream.accept(row, owned);
+        }
+
+        @Override
+        public void finish() {
+            downstream.finish();
+        }
+    }
+
+    /**
+     * Collects every row, copying any the script could otherwise modify in the caller's hands, and hands them
+     * to the dataset script once the input is exhausted.
+     */
+    private final class DatasetScriptStage implements RowSink {
+
+        private final String script;
+        private final List<Map<String, Object>> output;
+        private final List<Map<String, Object>> collected = new ArrayList<>();
+
+        private DatasetScriptStage(String script, List<Map<String, Object>> output) {
+            this.script = script;
+            this.output = output;
+        }
+
+        @Override
+        public void accept(Map<String, Object> row, boolean owned) {
+            collected.add(owned ? row : new LinkedHashMap<>(row));
+        }
+
+        @Override
+        public void finish() {
+            output.addAll(normaliseRows(groovyEvaluator.evaluateDataset(script, collected)));
         }
-        return value.setScale(scale, Optional.ofNullable(mode).orElse(RoundingMode.HALF_UP));
     }
 }
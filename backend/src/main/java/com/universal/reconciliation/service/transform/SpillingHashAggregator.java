@@ -0,0 +1,638 @@
+package com.universal.reconciliation.service.transform;
+
+import com.universal.reconciliation.domain.transform.RowOperationConfig;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.util.StringUtils;
+
+/**
+ * Streaming hash aggregation behind {@code AGGREGATE} row operations. Each group keeps the retained columns
+ * of its first row and one incremental accumulator per aggregation, so memory grows with the number of
+ * groups rather than the number of rows.
+ *
+ * <p>Once {@code maxGroupsInMemory} groups are held, rows belonging to any other group are hash-partitioned
+ * into spill files. {@link #finish()} then aggregates one partition at a time, re-partitioning a partition
+ * that is still too large, and returns the groups in the order they first appeared (or by group key when
+ * the operation sorts by group), exactly as an in-memory aggregation would.</p>
+ */
+final class SpillingHashAggregator implements Closeable {
+
+    /** Spill files a full in-memory table fans out to. */
+    static final int SPILL_PARTITIONS = 16;
+
+    /** Re-partitioning levels before a partition is aggregated in memory regardless of its size. */
+    private static final int MAX_SPILL_DEPTH = 4;
+
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private static final byte ABSENT = 0;
+    private static final byte NULL = 1;
+    private static final byte STRING = 2;
+    private static final byte DECIMAL = 3;
+    private static final byte LONG = 4;
+    private static final byte INTEGER = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte BOOLEAN = 7;
+    private static final byte DATE = 8;
+    private static final byte SERIALIZED = 9;
+
+    private final Layout layout;
+    private final int maxGroupsInMemory;
+    private final Path baseDirectory;
+    private final int depth;
+    private final Map<Object, Group> groups = new LinkedHashMap<>();
+    private DataOutputStream[] partitionOutputs;
+    private Path[] partitionFiles;
+    private Path spillDirectory;
+    private long nextSequence;
+    private int spilledPartitions;
+
+    SpillingHashAggregator(
+            RowOperationConfig.AggregateOperation aggregate,
+            Set<String> derivedColumns,
+            int maxGroupsInMemory,
+            Path baseDirectory) {
+        this(new Layout(aggregate, derivedColumns), maxGroupsInMemory, baseDirectory, 0);
+    }
+
+    private SpillingHashAggregator(Layout layout, int maxGroupsInMemory, Path baseDirectory, int depth) {
+        if (maxGroupsInMemory <= 0) {
+            throw new IllegalArgumentException("maxGroupsInMemory must be greater than zero");
+        }
+        this.layout = layout;
+        this.maxGroupsInMemory = maxGroupsInMemory;
+        this.baseDirectory = baseDirectory;
+        this.depth = depth;
+    }
+
+    void add(Map<String, Object> row) {
+        add(row, nextSequence++);
+    }
+
+    /** @return the number of partitions written to disk by this aggregator, not counting re-partitioning. */
+    int spilledPartitions() {
+        return spilledPartitions;
+    }
+
+    /**
+     * Completes the aggregation and returns one row per group. Spill files are deleted as they are read.
+     */
+    List<Map<String, Object>> finish() {
+        List<AggregatedRow> aggregated = new ArrayList<>(groups.size());
+        finishInto(aggregated);
+        List<Map<String, Object>> rows = new ArrayList<>(aggregated.size());
+        for (AggregatedRow row : aggregated) {
+            rows.add(row.row());
+        }
+        if (layout.sortByGroup) {
+            rows.sort(layout::compareGroupKeys);
+        }
+        return rows;
+    }
+
+    /** Closes open spill files and deletes the spill directory. */
+    @Override
+    public void close() {
+        if (partitionOutputs != null) {
+            for (DataOutputStream output : partitionOutputs) {
+                closeQuietly(output);
+            }
+            partitionOutputs = null;
+        }
+        if (spillDirectory != null) {
+            try (var files = Files.list(spillDirectory)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+                Files.deleteIfExists(spillDirectory);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to delete aggregation spill directory " + spillDirectory, ex);
+            }
+            spillDirectory = null;
+        }
+    }
+
+    private void add(Map<String, Object> row, long sequence) {
+        Object key = layout.key(row);
+        Group group = groups.get(key);
+        if (group == null) {
+            if (groups.size() >= maxGroupsInMemory && depth < MAX_SPILL_DEPTH) {
+                spill(key, row, sequence);
+                return;
+            }
+            group = layout.newGroup(row, sequence);
+            groups.put(key, group);
+        }
+        group.accumulate(row);
+    }
+
+    /**
+     * Appends this aggregator's groups to {@code output} in first-appearance order, aggregating spilled
+     * partitions with child aggregators one level deeper.
+     */
+    private void finishInto(List<AggregatedRow> output) {
+        int start = output.size();
+        for (Group group : groups.values()) {
+            output.add(new AggregatedRow(group.sequence, group.toRow()));
+        }
+        groups.clear();
+        if (partitionFiles == null) {
+            return;
+        }
+        for (DataOutputStream stream : partitionOutputs) {
+            try {
+                if (stream != null) {
+                    stream.close();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to write aggregation spill file", ex);
+            }
+        }
+        partitionOutputs = null;
+        for (int partition = 0; partition < partitionFiles.length; partition++) {
+            Path file = partitionFiles[partition];
+            if (file == null) {
+                continue;
+            }
+            try (SpillingHashAggregator child =
+                            new SpillingHashAggregator(layout, maxGroupsInMemory, baseDirectory, depth + 1);
+                    DataInputStream input = new DataInputStream(
+                            new BufferedInputStream(Files.newInputStream(file), IO_BUFFER_SIZE))) {
+                while (true) {
+                    long sequence;
+                    try {
+                        sequence = input.readLong();
+                    } catch (EOFException ex) {
+                        break;
+                    }
+                    child.add(readRow(input), sequence);
+                }
+                child.finishInto(output);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to read aggregation spill file " + file, ex);
+            }
+            deleteQuietly(file);
+            partitionFiles[partition] = null;
+        }
+        output.subList(start, output.size()).sort(Comparator.comparingLong(AggregatedRow::sequence));
+    }
+
+    private void spill(Object key, Map<String, Object> row, long sequence) {
+        int partition = partitionOf(key);
+        try {
+            DataOutputStream output = partitionOutput(partition);
+            output.writeLong(sequence);
+            for (String column : layout.spillColumns) {
+                if (!row.containsKey(column)) {
+                    output.writeByte(ABSENT);
+                } else {
+                    writeValue(output, row.get(column));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to write aggregation spill file", ex);
+        }
+    }
+
+    /**
+     * Picks a different slice of the mixed key hash at each depth, so a partition re-spilled one level down
+     * spreads over new partitions instead of landing in one.
+     */
+    private int partitionOf(Object key) {
+        int hash = (key == null ? 0 : key.hashCode()) * 0x9E3779B9;
+        return (hash >>> (28 - 4 * depth)) & (SPILL_PARTITIONS - 1);
+    }
+
+    private DataOutputStream partitionOutput(int partition) throws IOException {
+        if (partitionOutputs == null) {
+            if (spillDirectory == null) {
+                Files.createDirectories(baseDirectory);
+                spillDirectory = Files.createTempDirectory(baseDirectory, "recon-aggregate-");
+            }
+            partitionOutputs = new DataOutputStream[SPILL_PARTITIONS];
+            partitionFiles = new Path[SPILL_PARTITIONS];
+        }
+        DataOutputStream output = partitionOutputs[partition];
+        if (output == null) {
+            Path file = Files.createTempFile(spillDirectory, "partition-", ".bin");
+            output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER_SIZE));
+            partitionFiles[partition] = file;
+            partitionOutputs[partition] = output;
+            spilledPartitions++;
+        }
+        return output;
+    }
+
+    private Map<String, Object> readRow(DataInputStream input) throws IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String column : layout.spillColumns) {
+            byte tag = input.readByte();
+            if (tag != ABSENT) {
+                row.put(column, readValue(input, tag));
+            }
+        }
+        return row;
+    }
+
+    private static void writeValue(DataOutputStream output, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof String text) {
+            output.writeByte(STRING);
+            writeBytes(output, text.getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof BigDecimal decimal) {
+            output.writeByte(DECIMAL);
+            output.writeInt(decimal.scale());
+            writeBytes(output, decimal.unscaledValue().toByteArray());
+        } else if (value instanceof Long number) {
+            output.writeByte(LONG);
+            output.writeLong(number);
+        } else if (value instanceof Integer number) {
+            output.writeByte(INTEGER);
+            output.writeInt(number);
+        } else if (value instanceof Double number) {
+            output.writeByte(DOUBLE);
+            output.writeDouble(number);
+        } else if (value instanceof Boolean flag) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean(flag);
+        } else if (value instanceof LocalDate date) {
+            output.writeByte(DATE);
+            output.writeLong(date.toEpochDay());
+        } else {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+                objects.writeObject(value);
+            } catch (IOException ex) {
+                throw new TransformationEvaluationException(
+                        "Unable to spill aggregation value of type " + value.getClass().getName(), ex);
+            }
+            output.writeByte(SERIALIZED);
+            writeBytes(output, bytes.toByteArray());
+        }
+    }
+
+    private static Object readValue(DataInputStream input, byte tag) throws IOException {
+        return switch (tag) {
+            case NULL -> null;
+            case STRING -> new String(readBytes(input), StandardCharsets.UTF_8);
+            case DECIMAL -> {
+                int scale = input.readInt();
+                yield new BigDecimal(new BigInteger(readBytes(input)), scale);
+            }
+            case LONG -> input.readLong();
+            case INTEGER -> input.readInt();
+            case DOUBLE -> input.readDouble();
+            case BOOLEAN -> input.readBoolean();
+            case DATE -> LocalDate.ofEpochDay(input.readLong());
+            case SERIALIZED -> {
+                try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(readBytes(input)))) {
+                    yield objects.readObject();
+                } catch (ClassNotFoundException ex) {
+                    throw new IOException("Unable to read spilled aggregation value", ex);
+                }
+            }
+            default -> throw new IOException("Corrupt aggregation spill file: unknown value tag " + tag);
+        };
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // the spill directory is removed on close
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // best effort while cleaning up
+        }
+    }
+
+    private record AggregatedRow(long sequence, Map<String, Object> row) {}
+
+    /**
+     * Column layout of an aggregate operation: group-by columns, the columns retained from each group's
+     * first row, the aggregations and the columns a spilled row has to carry.
+     */
+    private static final class Layout {
+
+        private final String[] groupBy;
+        private final String[] retainedColumns;
+        private final Aggregation[] aggregations;
+        private final String[] spillColumns;
+        private final boolean sortByGroup;
+
+        private Layout(RowOperationConfig.AggregateOperation aggregate, Set<String> derivedColumns) {
+            this.groupBy = aggregate.getGroupBy().toArray(String[]::new);
+            Set<String> retained = new LinkedHashSet<>();
+            if (aggregate.getRetainColumns() != null) {
+                retained.addAll(aggregate.getRetainColumns());
+            }
+            if (derivedColumns != null) {
+                retained.addAll(derivedColumns);
+            }
+            retained.addAll(aggregate.getGroupBy());
+            this.retainedColumns = retained.toArray(String[]::new);
+            this.aggregations = aggregate.getAggregations().stream().map(Aggregation::new).toArray(Aggregation[]::new);
+            Set<String> spilled = new LinkedHashSet<>(retained);
+            for (Aggregation aggregation : aggregations) {
+                spilled.add(aggregation.sourceColumn);
+            }
+            this.spillColumns = spilled.toArray(String[]::new);
+            this.sortByGroup = aggregate.isSortByGroup();
+        }
+
+        private Object key(Map<String, Object> row) {
+            if (groupBy.length == 1) {
+                return row.get(groupBy[0]);
+            }
+            Object[] values = new Object[groupBy.length];
+            for (int index = 0; index < groupBy.length; index++) {
+                values[index] = row.get(groupBy[index]);
+            }
+            return new CompositeKey(values);
+        }
+
+        private Group newGroup(Map<String, Object> firstRow, long sequence) {
+            Map<String, Object> retained = new LinkedHashMap<>();
+            for (String column : retainedColumns) {
+                if (firstRow.containsKey(column)) {
+                    retained.put(column, firstRow.get(column));
+                }
+            }
+            Accumulator[] accumulators = new Accumulator[aggregations.length];
+            for (int index = 0; index < accumulators.length; index++) {
+                accumulators[index] = aggregations[index].newAccumulator();
+            }
+            return new Group(sequence, retained, aggregations, accumulators);
+        }
+
+        private int compareGroupKeys(Map<String, Object> a, Map<String, Object> b) {
+            for (String column : groupBy) {
+                int comparison = String.valueOf(a.get(column)).compareTo(String.valueOf(b.get(column)));
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /** Group key over several columns, compared element by element like the list it replaces. */
+    private record CompositeKey(Object[] values) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CompositeKey key && Arrays.equals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(values);
+        }
+    }
+
+    private static final class Group {
+
+        private final long sequence;
+        private final Map<String, Object> row;
+        private final Aggregation[] aggregations;
+        private final Accumulator[] accumulators;
+
+        private Group(long sequence, Map<String, Object> row, Aggregation[] aggregations, Accumulator[] accumulators) {
+            this.sequence = sequence;
+            this.row = row;
+            this.aggregations = aggregations;
+            this.accumulators = accumulators;
+        }
+
+        private void accumulate(Map<String, Object> source) {
+            for (int index = 0; index < accumulators.length; index++) {
+                accumulators[index].add(source.get(aggregations[index].sourceColumn));
+            }
+        }
+
+        private Map<String, Object> toRow() {
+            for (int index = 0; index < accumulators.length; index++) {
+                row.put(aggregations[index].resultColumn, accumulators[index].result());
+            }
+            return row;
+        }
+    }
+
+    private static final class Aggregation {
+
+        private final RowOperationConfig.AggregationFunction function;
+        private final String sourceColumn;
+        private final String resultColumn;
+        private final Integer scale;
+        private final RoundingMode roundingMode;
+
+        private Aggregation(RowOperationConfig.Aggregation aggregation) {
+            this.function = aggregation.getFunction();
+            this.sourceColumn = StringUtils.hasText(aggregation.getSourceColumn())
+                    ? aggregation.getSourceColumn()
+                    : aggregation.getResultColumn();
+            this.resultColumn = StringUtils.hasText(aggregation.getResultColumn())
+                    ? aggregation.getResultColumn()
+                    : sourceColumn;
+            this.scale = aggregation.getScale();
+            this.roundingMode = Optional.ofNullable(aggregation.getRoundingMode()).orElse(RoundingMode.HALF_UP);
+        }
+
+        private Accumulator newAccumulator() {
+            return switch (function) {
+                case SUM -> new Sum(this);
+                case AVG -> new Average(this);
+                case MIN -> new Extreme(-1);
+                case MAX -> new Extreme(1);
+                case COUNT -> new Count();
+                case FIRST -> new First();
+                case LAST -> new Last();
+            };
+        }
+
+        private Object scaled(BigDecimal value) {
+            return scale == null ? value : value.setScale(scale, roundingMode);
+        }
+    }
+
+    private interface Accumulator {
+
+        void add(Object value);
+
+        Object result();
+    }
+
+    private static final class Sum implements Accumulator {
+
+        private final Aggregation aggregation;
+        private BigDecimal total = BigDecimal.ZERO;
+
+        private Sum(Aggregation aggregation) {
+            this.aggregation = aggregation;
+        }
+
+        @Override
+        public void add(Object value) {
+            BigDecimal number = SourceTransformationPlanProcessor.toBigDecimal(value);
+            if (number != null) {
+                total = total.add(number);
+            }
+        }
+
+        @Override
+        public Object result() {
+            return aggregation.scaled(total);
+        }
+    }
+
+    private static final class Average implements Accumulator {
+
+        private final Aggregation aggregation;
+        private BigDecimal total = BigDecimal.ZERO;
+        private long count;
+
+        private Average(Aggregation aggregation) {
+            this.aggregation = aggregation;
+        }
+
+        @Override
+        public void add(Object value) {
+            BigDecimal number = SourceTransformationPlanProcessor.toBigDecimal(value);
+            if (number != null) {
+                total = total.add(number);
+                count++;
+            }
+        }
+
+        @Override
+        public Object result() {
+            if (count == 0) {
+                return BigDecimal.ZERO;
+            }
+            return aggregation.scaled(total.divide(BigDecimal.valueOf(count), MathContext.DECIMAL64));
+        }
+    }
+
+    /** MIN ({@code direction} -1) or MAX (1) over the values that are {@link Comparable}. */
+    private static final class Extreme implements Accumulator {
+
+        private final int direction;
+        private Comparable<Object> extreme;
+
+        private Extreme(int direction) {
+            this.direction = direction;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void add(Object value) {
+            if (value instanceof Comparable<?> comparable
+                    && (extreme == null || Integer.signum(((Comparable<Object>) comparable).compareTo(extreme)) == direction)) {
+                extreme = (Comparable<Object>) comparable;
+            }
+        }
+
+        @Override
+        public Object result() {
+            return extreme;
+        }
+    }
+
+    private static final class Count implements Accumulator {
+
+        private long count;
+
+        @Override
+        public void add(Object value) {
+            if (value != null) {
+                count++;
+            }
+        }
+
+        @Override
+        public Object result() {
+            return count;
+        }
+    }
+
+    private static final class First implements Accumulator {
+
+        private Object first;
+
+        @Override
+        public void add(Object value) {
+            if (first == null) {
+                first = value;
+            }
+        }
+
+        @Override
+        public Object result() {
+            return first;
+        }
+    }
+
+    private static final class Last implements Accumulator {
+
+        private Object last;
+
+        @Override
+        public void add(Object value) {
+            if (value != null) {
+                last = value;
+            }
+        }
+
+        @Override
+        public Object result() {
+            return last;
+        }
+    }
+}
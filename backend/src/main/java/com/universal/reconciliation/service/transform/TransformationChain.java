@@ -0,0 +1,36 @@
+package com.universal.reconciliation.service.transform;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The active transformations of one mapping in execution order, resolved once so per-value evaluation
+ * neither re-sorts nor re-filters the mapping's rules. Obtained from
+ * {@link DataTransformationService#compile(com.universal.reconciliation.domain.entity.CanonicalFieldMapping)}.
+ */
+public final class TransformationChain {
+
+    static final TransformationChain EMPTY = new TransformationChain(List.of());
+
+    private final List<CompiledTransformation> steps;
+
+    TransformationChain(List<CompiledTransformation> steps) {
+        this.steps = steps;
+    }
+
+    public boolean isEmpty() {
+        return steps.isEmpty();
+    }
+
+    public Object apply(Object value, Map<String, Object> rawRecord) {
+        if (steps.isEmpty()) {
+            return value;
+        }
+        Map<String, Object> safeRecord = rawRecord == null ? Map.of() : rawRecord;
+        Object current = value;
+        for (CompiledTransformation step : steps) {
+            current = step.apply(current, safeRecord);
+        }
+        return current;
+    }
+}
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.universal.reconciliation.domain.dto.admin.SourceTransformationPreviewUploadRequest;
 import com.universal.reconciliation.domain.enums.TransformationSampleFileType;
+import com.universal.reconciliation.service.ingestion.XlsxStreamingReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -24,6 +25,7 @@ import java.util.Optional;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.DataFormatter;
@@ -84,13 +86,15 @@ public class TransformationSampleFileService {
     public List<String> listSheetNames(MultipartFile file) {
         Objects.requireNonNull(file, "Sample file is required");
         enforceUploadSize(file);
-        try (InputStream inputStream = file.getInputStream(); Workbook workbook = WorkbookFactory.create(inputStream)) {
-            List<String> names = new ArrayList<>();
-            int total = workbook.getNumberOfSheets();
-            for (int index = 0; index < total; index++) {
-                names.add(workbook.getSheetAt(index).getSheetName());
+        try (InputStream inputStream = FileMagic.prepareToCheckMagic(file.getInputStream())) {
+            if (XlsxStreamingReader.isXlsx(inputStream)) {
+                try (XlsxStreamingReader reader = XlsxStreamingReader.open(inputStream)) {
+                    return new ArrayList<>(reader.sheetNames());
+                }
+            }
+            try (Workbook workbook = WorkbookFactory.create(inputStream)) {
+                return sheetNames(workbook);
             }
-            return names;
         } catch (IOException ex) {
             throw new TransformationEvaluationException("Failed to read Excel sample file", ex);
         }
@@ -162,20 +166,97 @@ public class TransformationSampleFileService {
 
     private List<Map<String, Object>> parseExcelFile(
             MultipartFile file, SourceTransformationPreviewUploadRequest request, int limit) {
+        try (InputStream inputStream = FileMagic.prepareToCheckMagic(file.getInputStream())) {
+            if (XlsxStreamingReader.isXlsx(inputStream)) {
+                try (XlsxStreamingReader reader = XlsxStreamingReader.open(inputStream)) {
+                    return parseXlsxSamples(reader, request, limit);
+                }
+            }
+            return parseWorkbookSamples(inputStream, request, limit);
+        } catch (IOException ex) {
+            throw new TransformationEvaluationException("Failed to read Excel sample file", ex);
+        }
+    }
+
+    /**
+     * Samples an XLSX workbook row by row, stopping once {@code limit} rows are collected; formula cells
+     * report their cached results.
+     */
+    private List<Map<String, Object>> parseXlsxSamples(
+            XlsxStreamingReader reader, SourceTransformationPreviewUploadRequest request, int limit) {
+        boolean hasHeader = request.hasHeader();
+        int skipRows = Math.max(Optional.ofNullable(request.skipRows()).orElse(0), 0);
+        String sheetNameColumn = StringUtils.hasText(request.sheetNameColumn())
+                ? request.sheetNameColumn()
+                : "_sheet";
+        List<Integer> sheets = resolveSheets(reader.sheetNames(), request);
+        if (sheets.isEmpty()) {
+            throw new TransformationEvaluationException("Unable to locate any requested sheets in the workbook");
+        }
+        DataFormatter formatter = new DataFormatter(Locale.ENGLISH);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int sheet : sheets) {
+            List<String> headers = new ArrayList<>();
+            int skipped = 0;
+            Iterator<XlsxStreamingReader.XlsxRow> iterator = reader.rows(sheet);
+            while (iterator.hasNext()) {
+                if (rows.size() >= limit) {
+                    return rows;
+                }
+                XlsxStreamingReader.XlsxRow current = iterator.next();
+                if (hasHeader && headers.isEmpty()) {
+                    for (int i = 0; i < current.width(); i++) {
+                        XlsxStreamingReader.XlsxCell cell = current.cell(i);
+                        String header = cell == null ? null : cell.formatted(formatter);
+                        headers.add(StringUtils.hasText(header) ? header : "COLUMN_" + (i + 1));
+                    }
+                    continue;
+                }
+                if (skipped < skipRows) {
+                    skipped++;
+                    continue;
+                }
+                if (!hasHeader && headers.isEmpty()) {
+                    headers = generateColumnHeaders(current.width());
+                } else {
+                    expandHeaders(headers, current.width());
+                }
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 0; i < headers.size(); i++) {
+                    XlsxStreamingReader.XlsxCell cell = current.cell(i);
+                    if (cell == null) {
+                        continue;
+                    }
+                    row.put(headers.get(i), readXlsxCell(cell));
+                }
+                if (!row.isEmpty()) {
+                    if (request.includeSheetNameColumn()) {
+                        row.put(sheetNameColumn, reader.sheetNames().get(sheet));
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private List<Map<String, Object>> parseWorkbookSamples(
+            InputStream inputStream, SourceTransformationPreviewUploadRequest request, int limit) throws IOException {
         boolean hasHeader = request.hasHeader();
         int skipRows = Math.max(Optional.ofNullable(request.skipRows()).orElse(0), 0);
         String sheetNameColumn = StringUtils.hasText(request.sheetNameColumn())
                 ? request.sheetNameColumn()
                 : "_sheet";
-        try (InputStream inputStream = file.getInputStream(); Workbook workbook = WorkbookFactory.create(inputStream)) {
-            List<Sheet> sheets = resolveSheets(workbook, request);
-            if (sheets.isEmpty()) {
+        try (Workbook workbook = WorkbookFactory.create(inputStream)) {
+            List<Integer> sheetIndexes = resolveSheets(sheetNames(workbook), request);
+            if (sheetIndexes.isEmpty()) {
                 throw new TransformationEvaluationException("Unable to locate any requested sheets in the workbook");
             }
             DataFormatter formatter = new DataFormatter(Locale.ENGLISH);
             FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
             List<Map<String, Object>> rows = new ArrayList<>();
-            for (Sheet sheet : sheets) {
+            for (int sheetIndex : sheetIndexes) {
+                Sheet sheet = workbook.getSheetAt(sheetIndex);
                 List<String> headers = new ArrayList<>();
                 int skipped = 0;
                 Iterator<Row> iterator = sheet.iterator();
@@ -220,35 +301,41 @@ public class TransformationSampleFileService {
                 return new ArrayList<>(rows.subList(0, limit));
             }
             return rows;
-        } catch (IOException ex) {
-            throw new TransformationEvaluationException("Failed to read Excel sample file", ex);
         }
     }
 
-    private List<Sheet> resolveSheets(Workbook workbook, SourceTransformationPreviewUploadRequest request) {
-        List<Sheet> resolved = new ArrayList<>();
-        int sheetCount = workbook.getNumberOfSheets();
+    private List<String> sheetNames(Workbook workbook) {
+        List<String> names = new ArrayList<>();
+        int total = workbook.getNumberOfSheets();
+        for (int index = 0; index < total; index++) {
+            names.add(workbook.getSheetName(index));
+        }
+        return names;
+    }
+
+    private List<Integer> resolveSheets(List<String> sheetNames, SourceTransformationPreviewUploadRequest request) {
+        List<Integer> resolved = new ArrayList<>();
+        int sheetCount = sheetNames.size();
         if (sheetCount <= 0) {
             return resolved;
         }
         if (request.includeAllSheets()) {
             for (int index = 0; index < sheetCount; index++) {
-                resolved.add(workbook.getSheetAt(index));
+                resolved.add(index);
             }
             return resolved;
         }
         List<String> requestedNames = request.sheetNames();
         if (requestedNames != null && !requestedNames.isEmpty()) {
-            Map<String, Sheet> lookup = new LinkedHashMap<>();
+            Map<String, Integer> lookup = new LinkedHashMap<>();
             for (int index = 0; index < sheetCount; index++) {
-                Sheet sheet = workbook.getSheetAt(index);
-                lookup.put(sheet.getSheetName().trim().toLowerCase(Locale.ENGLISH), sheet);
+                lookup.put(sheetNames.get(index).trim().toLowerCase(Locale.ENGLISH), index);
             }
             for (String rawName : requestedNames) {
                 if (!StringUtils.hasText(rawName)) {
                     continue;
                 }
-                Sheet matched = lookup.get(rawName.trim().toLowerCase(Locale.ENGLISH));
+                Integer matched = lookup.get(rawName.trim().toLowerCase(Locale.ENGLISH));
                 if (matched != null && !resolved.contains(matched)) {
                     resolved.add(matched);
                 }
@@ -257,10 +344,7 @@ public class TransformationSampleFileService {
                 return resolved;
             }
         }
-        Sheet fallback = resolveSheet(workbook, request.sheetName());
-        if (fallback != null) {
-            resolved.add(fallback);
-        }
+        resolved.add(resolveSheet(sheetNames, request.sheetName()));
         return resolved;
     }
 
@@ -371,6 +455,15 @@ public class TransformationSampleFileService {
         };
     }
 
+    private Object readXlsxCell(XlsxStreamingReader.XlsxCell cell) {
+        return switch (cell.kind()) {
+            case BOOLEAN -> cell.booleanValue();
+            case NUMERIC -> cell.isDateFormatted() ? cell.localDateTimeValue() : cell.numericValue();
+            case STRING -> cell.stringValue();
+            case ERROR -> "Excel Cell Error: " + cell.stringValue();
+        };
+    }
+
     private String formatExcelError(Cell cell) {
         try {
             return "Excel Cell Error: " + FormulaError.forInt(cell.getErrorCellValue()).getString();
@@ -379,21 +472,21 @@ public class TransformationSampleFileService {
         }
     }
 
-    private Sheet resolveSheet(Workbook workbook, String sheetName) {
+    private int resolveSheet(List<String> sheetNames, String sheetName) {
         if (StringUtils.hasText(sheetName)) {
-            Sheet exact = workbook.getSheet(sheetName);
-            if (exact != null) {
-                return exact;
+            for (int index = 0; index < sheetNames.size(); index++) {
+                if (sheetNames.get(index).equalsIgnoreCase(sheetName)) {
+                    return index;
+                }
             }
             String normalized = sheetName.trim().toLowerCase(Locale.ENGLISH);
-            for (int index = 0; index < workbook.getNumberOfSheets(); index++) {
-                Sheet candidate = workbook.getSheetAt(index);
-                if (candidate.getSheetName().trim().toLowerCase(Locale.ENGLISH).equals(normalized)) {
-                    return candidate;
+            for (int index = 0; index < sheetNames.size(); index++) {
+                if (sheetNames.get(index).trim().toLowerCase(Locale.ENGLISH).equals(normalized)) {
+                    return index;
                 }
             }
         }
-        return workbook.getNumberOfSheets() > 0 ? workbook.getSheetAt(0) : null;
+        return 0;
     }
 
     private int detectExcelColumnCount(Row row) {
@@ -0,0 +1,40 @@
+package com.universal.reconciliation.service.transform;
+
+import groovy.lang.Script;
+import java.util.Map;
+
+/**
+ * Base class for statically compiled row-level Groovy transformations. The {@code value}, {@code row} and
+ * {@code raw} variables are typed properties rather than binding lookups, so scripts that type-check
+ * compile to direct calls. Public because generated script classes live in their own class loader.
+ */
+public abstract class TransformationScript extends Script {
+
+    private Object value;
+    private Map<String, Object> row;
+    private Map<String, Object> raw;
+
+    public Object getValue() {
+        return value;
+    }
+
+    public void setValue(Object value) {
+        this.value = value;
+    }
+
+    public Map<String, Object> getRow() {
+        return row;
+    }
+
+    public void setRow(Map<String, Object> row) {
+        this.row = row;
+    }
+
+    public Map<String, Object> getRaw() {
+        return raw;
+    }
+
+    public void setRaw(Map<String, Object> raw) {
+        this.raw = raw;
+    }
+}
@@ -1,6 +1,10 @@
 -- Ensure MariaDB enum columns include newly supported adapter types.
 ALTER TABLE reconciliation_sources
-  MODIFY adapter_type ENUM('CSV_FILE','EXCEL_FILE','FIXED_WIDTH_FILE','XML_FILE','JSON_FILE','DATABASE','REST_API','MESSAGE_QUEUE','LLM_DOCUMENT');
+  MODIFY adapter_type ENUM('CSV_FILE','EXCEL_FILE','FIXED_WIDTH_FILE','XML_FILE','JSON_FILE','JSON_LINES','PARQUET_FILE','DATABASE','REST_API','MESSAGE_QUEUE','LLM_DOCUMENT');
+
+-- Asynchronous runs are stored as QUEUED/RUNNING and may finish CANCELLED.
+ALTER TABLE reconciliation_runs
+  MODIFY status ENUM('QUEUED','RUNNING','SUCCESS','FAILED','CANCELLED') NOT NULL;
 
 ALTER TABLE canonical_field_mappings
   DROP COLUMN IF EXISTS transformation_expression;
@@ -0,0 +1,164 @@
+package com.universal.reconciliation.benchmark;
+
+import com.universal.reconciliation.domain.entity.CanonicalField;
+import com.universal.reconciliation.domain.enums.ComparisonLogic;
+import com.universal.reconciliation.domain.enums.FieldDataType;
+import com.universal.reconciliation.domain.enums.FieldRole;
+import com.universal.reconciliation.service.matching.ComparisonPlan;
+import com.universal.reconciliation.service.matching.ComparisonSlots;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the original map-based compare-field evaluation with the compiled
+ * {@link ComparisonPlan} over JSON-shaped payloads (strings and doubles, as
+ * produced by the context loader).
+ *
+ * <p>Benchmarks are not picked up by Surefire; run {@link #main(String[])} on the
+ * test classpath after {@code mvn test-compile}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComparisonPlanBenchmark {
+
+    private static final int PAIRS = 10_000;
+
+    private List<CanonicalField> compareFields;
+    private ComparisonPlan plan;
+    private Map<String, Object>[] anchors;
+    private Map<String, Object>[] candidates;
+    private ComparisonSlots[] anchorSlots;
+    private ComparisonSlots[] candidateSlots;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        compareFields = List.of(
+                field("amount", FieldDataType.DECIMAL, ComparisonLogic.EXACT_MATCH, null),
+                field("fee", FieldDataType.DECIMAL, ComparisonLogic.NUMERIC_THRESHOLD, new BigDecimal("0.5")),
+                field("valueDate", FieldDataType.DATE, ComparisonLogic.EXACT_MATCH, null),
+                field("currency", FieldDataType.STRING, ComparisonLogic.CASE_INSENSITIVE, null),
+                field("account", FieldDataType.STRING, ComparisonLogic.EXACT_MATCH, null));
+        plan = ComparisonPlan.compile(compareFields);
+        anchors = new Map[PAIRS];
+        candidates = new Map[PAIRS];
+        anchorSlots = new ComparisonSlots[PAIRS];
+        candidateSlots = new ComparisonSlots[PAIRS];
+        LocalDate baseDate = LocalDate.of(2024, 1, 1);
+        for (int index = 0; index < PAIRS; index++) {
+            anchors[index] = payload(
+                    index * 10.25d, 100.0d + index, baseDate.plusDays(index % 365).toString(), "USD", "ACC-" + index);
+            candidates[index] = payload(
+                    index * 10.25d, 100.2d + index, baseDate.plusDays(index % 365).toString(), "usd", "ACC-" + index);
+            anchorSlots[index] = plan.encode(anchors[index], true);
+            candidateSlots[index] = plan.encode(candidates[index], false);
+        }
+    }
+
+    @Benchmark
+    public int legacyMapComparison() {
+        int matched = 0;
+        for (int index = 0; index < PAIRS; index++) {
+            if (legacyRecordsMatch(anchors[index], candidates[index], compareFields)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    public int compiledPlanComparison() {
+        int matched = 0;
+        for (int index = 0; index < PAIRS; index++) {
+            if (plan.matches(anchorSlots[index], candidateSlots[index])) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ComparisonPlanBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static boolean legacyRecordsMatch(
+            Map<String, Object> anchorRecord, Map<String, Object> candidate, List<CanonicalField> fields) {
+        for (CanonicalField field : fields) {
+            Object left = anchorRecord.get(field.getCanonicalName());
+            Object right = candidate.get(field.getCanonicalName());
+            if (!legacyCompareValues(left, right, field)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean legacyCompareValues(Object left, Object right, CanonicalField field) {
+        if (left == null || right == null) {
+            return Objects.equals(left, right);
+        }
+        return switch (field.getComparisonLogic()) {
+            case EXACT_MATCH -> switch (field.getDataType()) {
+                case DECIMAL, INTEGER -> new BigDecimal(left.toString()).compareTo(new BigDecimal(right.toString())) == 0;
+                case DATE -> LocalDate.parse(left.toString()).equals(LocalDate.parse(right.toString()));
+                default -> left.toString().equals(right.toString());
+            };
+            case CASE_INSENSITIVE -> left.toString().equalsIgnoreCase(right.toString());
+            case NUMERIC_THRESHOLD -> {
+                BigDecimal leftValue = new BigDecimal(left.toString());
+                BigDecimal rightValue = new BigDecimal(right.toString());
+                BigDecimal tolerance = leftValue.abs()
+                        .multiply(field.getThresholdPercentage())
+                        .divide(BigDecimal.valueOf(100), MathContext.DECIMAL64);
+                yield leftValue.subtract(rightValue).abs().compareTo(tolerance) <= 0;
+            }
+            case DATE_ONLY -> LocalDate.parse(left.toString()).equals(LocalDate.parse(right.toString()));
+        };
+    }
+
+    private static Map<String, Object> payload(
+            double amount, double fee, String valueDate, String currency, String account) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("amount", amount);
+        payload.put("fee", fee);
+        payload.put("valueDate", valueDate);
+        payload.put("currency", currency);
+        payload.put("account", account);
+        return payload;
+    }
+
+    private static CanonicalField field(
+            String name, FieldDataType dataType, ComparisonLogic logic, BigDecimal thresholdPercentage) {
+        CanonicalField field = new CanonicalField();
+        field.setCanonicalName(name);
+        field.setDisplayName(name);
+        field.setRole(FieldRole.COMPARE);
+        field.setDataType(dataType);
+        field.setComparisonLogic(logic);
+        field.setThresholdPercentage(thresholdPercentage);
+        return field;
+    }
+}
@@ -0,0 +1,119 @@
+package com.universal.reconciliation.benchmark;
+
+import com.universal.reconciliation.service.ingestion.CsvIngestionAdapter;
+import com.universal.reconciliation.service.ingestion.IngestionAdapterRequest;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Times a full pass of {@link CsvIngestionAdapter#streamRecords} over a generated 12-column file (1GB by
+ * default), comparing the Commons CSV path with the {@code fastReader} option. Every fifth row carries a quoted
+ * value with an embedded delimiter and doubled quotes, so both parsers exercise their quoting paths. Each row's
+ * values are handed to the blackhole so the fast path's lazy map view is fully read.
+ *
+ * <p>The file is written to the temporary directory once per fork and deleted afterwards; pass
+ * {@code -p megabytes=64} for a quicker run. Benchmarks are not picked up by Surefire; run
+ * {@link #main(String[])} on the test classpath after {@code mvn test-compile}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CsvReaderBenchmark {
+
+    @Param("1024")
+    public int megabytes;
+
+    private final CsvIngestionAdapter adapter = new CsvIngestionAdapter();
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("csv-reader-benchmark", ".csv");
+        long target = megabytes * 1024L * 1024L;
+        long written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            String header = "trade_id,book,counterparty,currency,notional,price,quantity,trade_date,"
+                    + "settle_date,status,desk,comment\n";
+            writer.write(header);
+            written += header.length();
+            for (long row = 0; written < target; row++) {
+                String line = "TRD-" + row + ",BOOK-" + row % 400 + ",CP-" + row % 7_000 + ","
+                        + (row % 3 == 0 ? "USD" : "EUR") + "," + row % 1_000_000 + ".25,"
+                        + (100 + row % 50) + ".125," + row % 10_000 + ",2024-01-" + (10 + row % 18)
+                        + ",2024-02-" + (10 + row % 18) + ",NEW,Rates,"
+                        + (row % 5 == 0 ? "\"Amended, see \"\"ticket\"\" " + row + "\"" : "plain comment " + row)
+                        + "\n";
+                writer.write(line);
+                written += line.length();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long commonsCsv(Blackhole blackhole) {
+        return readAll(Map.of(), blackhole);
+    }
+
+    @Benchmark
+    public long fastReader(Blackhole blackhole) {
+        return readAll(Map.of("fastReader", true), blackhole);
+    }
+
+    private long readAll(Map<String, Object> options, Blackhole blackhole) {
+        IngestionAdapterRequest request = new IngestionAdapterRequest(this::open, options);
+        long rows = 0;
+        try (Stream<Map<String, Object>> records = adapter.streamRecords(request)) {
+            for (Map<String, Object> record : (Iterable<Map<String, Object>>) records::iterator) {
+                for (Object value : record.values()) {
+                    blackhole.consume(value);
+                }
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private InputStream open() {
+        try {
+            return Files.newInputStream(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CsvReaderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
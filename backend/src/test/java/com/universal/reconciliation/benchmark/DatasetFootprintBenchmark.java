@@ -0,0 +1,99 @@
+package com.universal.reconciliation.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.domain.entity.CanonicalField;
+import com.universal.reconciliation.domain.enums.ComparisonLogic;
+import com.universal.reconciliation.domain.enums.FieldDataType;
+import com.universal.reconciliation.domain.enums.FieldRole;
+import com.universal.reconciliation.service.matching.ColumnarSourceRecords;
+import com.universal.reconciliation.service.matching.ComparisonPlan;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports the retained heap of one million staged records held as parsed
+ * payload maps versus a {@link ColumnarSourceRecords} store. Payloads are
+ * produced the same way the context loader does, by parsing canonical JSON.
+ *
+ * <p>Run {@link #main(String[])} on the test classpath with a fixed heap, e.g.
+ * {@code -Xmx4g}. Figures are approximate; they are taken from
+ * {@link Runtime} after forcing collection.</p>
+ */
+public final class DatasetFootprintBenchmark {
+
+    private static final int RECORDS = 1_000_000;
+
+    private DatasetFootprintBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<CanonicalField> fields = List.of(
+                field("tradeId", FieldRole.KEY, FieldDataType.STRING, ComparisonLogic.EXACT_MATCH),
+                field("account", FieldRole.COMPARE, FieldDataType.STRING, ComparisonLogic.EXACT_MATCH),
+                field("amount", FieldRole.COMPARE, FieldDataType.DECIMAL, ComparisonLogic.EXACT_MATCH),
+                field("quantity", FieldRole.COMPARE, FieldDataType.INTEGER, ComparisonLogic.EXACT_MATCH),
+                field("currency", FieldRole.COMPARE, FieldDataType.STRING, ComparisonLogic.CASE_INSENSITIVE),
+                field("tradeDate", FieldRole.COMPARE, FieldDataType.DATE, ComparisonLogic.EXACT_MATCH),
+                field("product", FieldRole.PRODUCT, FieldDataType.STRING, ComparisonLogic.EXACT_MATCH),
+                field("settled", FieldRole.DISPLAY, FieldDataType.BOOLEAN, ComparisonLogic.EXACT_MATCH));
+        ComparisonPlan plan = ComparisonPlan.compile(
+                fields.stream().filter(field -> field.getRole() == FieldRole.COMPARE).toList());
+
+        long baseline = usedHeap();
+        Map<String, Map<String, Object>> maps = new LinkedHashMap<>();
+        for (int index = 0; index < RECORDS; index++) {
+            String json = json(objectMapper, index);
+            maps.put("TRD-" + index, objectMapper.readValue(json, Map.class));
+        }
+        long mapBytes = usedHeap() - baseline;
+        System.out.printf("map layout:      %,d bytes (%,d per record)%n", mapBytes, mapBytes / RECORDS);
+        maps = null;
+
+        baseline = usedHeap();
+        ColumnarSourceRecords.Builder builder = ColumnarSourceRecords.builder(fields, plan, true, RECORDS);
+        for (int index = 0; index < RECORDS; index++) {
+            String json = json(objectMapper, index);
+            builder.add("TRD-" + index, objectMapper.readValue(json, Map.class));
+        }
+        ColumnarSourceRecords columnar = builder.build();
+        long columnarBytes = usedHeap() - baseline;
+        System.out.printf(
+                "columnar layout: %,d bytes (%,d per record, %d rows)%n",
+                columnarBytes, columnarBytes / RECORDS, columnar.size());
+    }
+
+    private static String json(ObjectMapper objectMapper, int index) throws Exception {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("tradeId", "TRD-" + index);
+        payload.put("account", "ACC-" + (index % 5_000));
+        payload.put("amount", BigDecimal.valueOf(index * 137L, 2));
+        payload.put("quantity", BigDecimal.valueOf(index % 1_000));
+        payload.put("currency", index % 3 == 0 ? "USD" : "EUR");
+        payload.put("tradeDate", LocalDate.of(2024, 1, 1).plusDays(index % 250).toString());
+        payload.put("product", "Product-" + (index % 12));
+        payload.put("settled", index % 2 == 0);
+        return objectMapper.writeValueAsString(payload);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int attempt = 0; attempt < 4; attempt++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static CanonicalField field(String name, FieldRole role, FieldDataType dataType, ComparisonLogic logic) {
+        CanonicalField field = new CanonicalField();
+        field.setCanonicalName(name);
+        field.setDisplayName(name);
+        field.setRole(role);
+        field.setDataType(dataType);
+        field.setComparisonLogic(logic);
+        return field;
+    }
+}
@@ -0,0 +1,180 @@
+package com.universal.reconciliation.benchmark;
+
+import com.universal.reconciliation.domain.entity.CanonicalField;
+import com.universal.reconciliation.domain.entity.CanonicalFieldMapping;
+import com.universal.reconciliation.domain.entity.CanonicalFieldTransformation;
+import com.universal.reconciliation.domain.enums.ComparisonLogic;
+import com.universal.reconciliation.domain.enums.FieldDataType;
+import com.universal.reconciliation.domain.enums.FieldRole;
+import com.universal.reconciliation.domain.enums.TransformationType;
+import com.universal.reconciliation.service.ingestion.ProjectionPlan;
+import com.universal.reconciliation.service.transform.DataTransformationService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the per-row cost of projecting raw rows onto a 30-column mapping, comparing the original
+ * per-cell resolution (mapping lookup, transformation sort, formatter construction) with the compiled
+ * {@link ProjectionPlan}. Mappings carry disabled transformations, date re-formatting and defaults, but no
+ * active transformations, so the figures isolate projection overhead from rule evaluation.
+ *
+ * <p>Benchmarks are not picked up by Surefire; run {@link #main(String[])} on the
+ * test classpath after {@code mvn test-compile}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionPlanBenchmark {
+
+    private static final int COLUMNS = 30;
+    private static final int ROWS = 1_000;
+
+    private final DataTransformationService transformationService = new DataTransformationService(null, null, null);
+    private List<CanonicalField> fields;
+    private Map<Long, CanonicalFieldMapping> mappingByFieldId;
+    private ProjectionPlan plan;
+    private List<Map<String, Object>> rows;
+
+    @Setup
+    public void setUp() {
+        fields = new ArrayList<>();
+        mappingByFieldId = new LinkedHashMap<>();
+        for (int column = 0; column < COLUMNS; column++) {
+            FieldDataType dataType = switch (column % 3) {
+                case 0 -> FieldDataType.STRING;
+                case 1 -> FieldDataType.DECIMAL;
+                default -> FieldDataType.DATE;
+            };
+            CanonicalField field = new CanonicalField();
+            field.setId((long) column);
+            field.setCanonicalName("field" + column);
+            field.setDisplayName("field" + column);
+            field.setRole(column == 0 ? FieldRole.KEY : FieldRole.COMPARE);
+            field.setDataType(dataType);
+            field.setComparisonLogic(ComparisonLogic.EXACT_MATCH);
+            fields.add(field);
+
+            CanonicalFieldMapping mapping = new CanonicalFieldMapping();
+            mapping.setCanonicalField(field);
+            mapping.setSourceColumn("column" + column);
+            if (column % 5 == 4) {
+                mapping.setDefaultValue(dataType == FieldDataType.DATE ? "01/01/2024" : "0");
+            }
+            if (dataType == FieldDataType.DATE) {
+                mapping.setSourceDateFormat("dd/MM/yyyy");
+            }
+            for (int order = 2; order > 0; order--) {
+                CanonicalFieldTransformation transformation = new CanonicalFieldTransformation();
+                transformation.setMapping(mapping);
+                transformation.setType(TransformationType.FUNCTION_PIPELINE);
+                transformation.setDisplayOrder(order);
+                transformation.setActive(false);
+                mapping.getTransformations().add(transformation);
+            }
+            mappingByFieldId.put(field.getId(), mapping);
+        }
+        plan = ProjectionPlan.compile(fields, mappingByFieldId, transformationService);
+
+        DateTimeFormatter sourceFormat = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        rows = new ArrayList<>(ROWS);
+        for (int row = 0; row < ROWS; row++) {
+            Map<String, Object> raw = new LinkedHashMap<>();
+            for (int column = 0; column < COLUMNS; column++) {
+                Object value = switch (column % 3) {
+                    case 0 -> "TXN-" + row + "-" + column;
+                    case 1 -> Integer.toString(row * 7 + column) + ".25";
+                    default -> LocalDate.of(2024, 1, 1).plusDays(row % 365).format(sourceFormat);
+                };
+                raw.put("column" + column, column % 5 == 4 && row % 2 == 0 ? "" : value);
+            }
+            rows.add(raw);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void legacyPerCellProjection(Blackhole blackhole) {
+        for (Map<String, Object> row : rows) {
+            Map<String, Object> payload = legacyProject(row);
+            blackhole.consume(legacyKey(payload));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void compiledPlanProjection(Blackhole blackhole) {
+        for (Map<String, Object> row : rows) {
+            Map<String, Object> payload = plan.project(row);
+            blackhole.consume(plan.canonicalKey(payload));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProjectionPlanBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private Map<String, Object> legacyProject(Map<String, Object> rawRecord) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (CanonicalField field : fields) {
+            CanonicalFieldMapping mapping = mappingByFieldId.get(field.getId());
+            Object rawValue = rawRecord.get(mapping.getSourceColumn());
+            if ((rawValue == null || (rawValue instanceof String str && str.isBlank()))
+                    && mapping.getDefaultValue() != null) {
+                rawValue = mapping.getDefaultValue();
+            }
+            rawValue = transformationService.applyTransformations(mapping, rawValue, rawRecord);
+            if (rawValue != null && mapping.getSourceDateFormat() != null && field.getDataType() == FieldDataType.DATE) {
+                DateTimeFormatter input = DateTimeFormatter.ofPattern(mapping.getSourceDateFormat());
+                DateTimeFormatter output = DateTimeFormatter.ISO_LOCAL_DATE;
+                rawValue = LocalDate.parse(rawValue.toString(), input).format(output);
+            }
+            payload.put(field.getCanonicalName(), legacyConvert(rawValue, field.getDataType()));
+        }
+        return payload;
+    }
+
+    private static Object legacyConvert(Object rawValue, FieldDataType dataType) {
+        if (rawValue == null || rawValue.toString().isBlank()) {
+            return null;
+        }
+        String text = rawValue.toString().trim();
+        return switch (dataType) {
+            case DECIMAL, INTEGER -> new BigDecimal(text);
+            case DATE -> LocalDate.parse(text, DateTimeFormatter.ISO_LOCAL_DATE);
+            default -> text;
+        };
+    }
+
+    private String legacyKey(Map<String, Object> payload) {
+        return fields.stream()
+                .filter(field -> FieldRole.KEY.equals(field.getRole()))
+                .map(field -> Objects.toString(payload.get(field.getCanonicalName()), ""))
+                .collect(Collectors.joining("|"));
+    }
+}
@@ -11,6 +11,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -22,12 +23,16 @@ import com.universal.reconciliation.domain.dto.ReconciliationListItemDto;
 import com.universal.reconciliation.domain.dto.ReconciliationSummaryDto;
 import com.universal.reconciliation.domain.dto.RunAnalyticsDto;
 import com.universal.reconciliation.domain.dto.RunDetailDto;
+import com.universal.reconciliation.domain.dto.RunProgressDto;
 import com.universal.reconciliation.domain.dto.TriggerRunRequest;
 import com.universal.reconciliation.domain.enums.BreakStatus;
 import com.universal.reconciliation.domain.enums.BreakType;
+import com.universal.reconciliation.domain.enums.RunPhase;
+import com.universal.reconciliation.domain.enums.RunStatus;
 import com.universal.reconciliation.domain.enums.TriggerType;
 import com.universal.reconciliation.service.BreakFilterCriteria;
 import com.universal.reconciliation.service.ReconciliationService;
+import com.universal.reconciliation.service.RunExecutionService;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +56,9 @@ class ReconciliationControllerIntegrationTest {
     @MockBean
     private ReconciliationService reconciliationService;
 
+    @MockBean
+    private RunExecutionService runExecutionService;
+
     @Test
     @WithMockUser(username = "api-user", authorities = {"recon-makers", "recon-checkers"})
     void listReconciliations_usesGroupsFromSecurityContext() throws Exception {
@@ -85,7 +93,25 @@ class ReconciliationControllerIntegrationTest {
 
         assertThat(groupsCaptor.getValue()).containsExactly("recon-makers");
         assertThat(requestCaptor.getValue())
-                .isEqualTo(new TriggerRunRequest(null, null, null, null));
+                .isEqualTo(new TriggerRunRequest(null, null, null, null, null));
+    }
+
+    @Test
+    @WithMockUser(username = "api-user", authorities = {"recon-makers"})
+    void queueRun_acceptsRunAndPointsToProgress() throws Exception {
+        RunProgressDto progress = new RunProgressDto(
+                77L, 42L, RunStatus.QUEUED, RunPhase.QUEUED, 0, 0, false, Instant.now(), null, null, null);
+        when(runExecutionService.submit(anyLong(), anyList(), anyString(), any())).thenReturn(progress);
+
+        mockMvc.perform(post("/api/reconciliations/{id}/runs", 42L))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/reconciliations/runs/77/progress"))
+                .andExpect(jsonPath("$.runId").value(77))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+
+        ArgumentCaptor<TriggerRunRequest> requestCaptor = ArgumentCaptor.forClass(TriggerRunRequest.class);
+        verify(runExecutionService).submit(eq(42L), anyList(), eq("api-user"), requestCaptor.capture());
+        assertThat(requestCaptor.getValue().mode()).isNull();
     }
 
     @Test
@@ -0,0 +1,153 @@
+package com.universal.reconciliation.controller.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.github.luben.zstd.Zstd;
+import com.universal.reconciliation.domain.dto.admin.AdminIngestionBatchDto;
+import com.universal.reconciliation.domain.dto.admin.AdminIngestionBatchProgressDto;
+import com.universal.reconciliation.domain.enums.DataBatchStatus;
+import com.universal.reconciliation.service.admin.AdminReconciliationService;
+import com.universal.reconciliation.service.admin.IngestionExecutionService;
+import com.universal.reconciliation.service.ingestion.IngestionAdapterRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockPart;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@WithMockUser(username = "admin", roles = "RECON_ADMIN")
+class AdminReconciliationControllerIngestionTest {
+
+    private static final String CSV = "tradeId,amount\nT-1,100.00\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AdminReconciliationService adminReconciliationService;
+
+    @MockBean
+    private IngestionExecutionService ingestionExecutionService;
+
+    @Test
+    void decompressesPartsDeclaringAContentEncoding() throws Exception {
+        MockPart file = new MockPart("file", "trades.csv", gzip(CSV));
+        file.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        assertThat(submit(file)).isEqualTo(CSV);
+
+        MockPart identity = new MockPart("file", "trades.csv", gzip(CSV));
+        identity.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "identity");
+        assertThat(submit(identity)).isNotEqualTo(CSV);
+    }
+
+    @Test
+    void decompressesUndeclaredZstdPartsByMagicBytes() throws Exception {
+        assertThat(submit(new MockPart("file", "trades.csv.zst", Zstd.compress(CSV.getBytes(StandardCharsets.UTF_8)))))
+                .isEqualTo(CSV);
+    }
+
+    @Test
+    void rejectsUnsupportedContentEncodings() throws Exception {
+        MockPart file = new MockPart("file", "trades.csv", CSV.getBytes(StandardCharsets.UTF_8));
+        file.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "br");
+        mockMvc.perform(multipart("/api/admin/reconciliations/7/sources/CASH/batches").part(metadata(), file))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details").value("Unsupported content encoding: br"));
+
+        verifyNoInteractions(adminReconciliationService);
+    }
+
+    @Test
+    void stagesAsynchronousBatchesAndReportsTheirProgress(@TempDir Path tempDir) throws Exception {
+        Path staged = tempDir.resolve("staged.payload");
+        when(ingestionExecutionService.submit(eq(7L), eq("CASH"), any(), any(), eq("gzip"), any(), eq("admin")))
+                .thenAnswer(invocation -> {
+                    IngestionExecutionService.StagedPayload payload = invocation.getArgument(3);
+                    payload.transferTo(staged);
+                    return new AdminIngestionBatchDto(
+                            5L, "batch", DataBatchStatus.LOADING, null, null, Instant.EPOCH);
+                });
+        when(ingestionExecutionService.status(7L, "CASH", 5L)).thenReturn(new AdminIngestionBatchProgressDto(
+                5L, "batch", DataBatchStatus.LOADING, null, null, Instant.EPOCH, 40L, 32L, null, Instant.EPOCH, null));
+        MockPart file = new MockPart("file", "trades.csv", gzip(CSV));
+        file.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        mockMvc.perform(multipart("/api/admin/reconciliations/7/sources/CASH/batches")
+                        .part(metadata(), file)
+                        .param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(5))
+                .andExpect(jsonPath("$.status").value("LOADING"));
+        mockMvc.perform(get("/api/admin/reconciliations/7/sources/CASH/batches/5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(40))
+                .andExpect(jsonPath("$.rowsPersisted").value(32));
+
+        assertThat(Files.readAllBytes(staged)).isEqualTo(gzip(CSV));
+        verifyNoInteractions(adminReconciliationService);
+    }
+
+    private String submit(MockPart file) throws Exception {
+        AtomicReference<String> payload = capturePayload();
+        mockMvc.perform(multipart("/api/admin/reconciliations/7/sources/CASH/batches").part(metadata(), file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recordCount").value(1));
+        return payload.get();
+    }
+
+    /** Reads the payload inside the service call, as the ingest does. */
+    private AtomicReference<String> capturePayload() {
+        AtomicReference<String> payload = new AtomicReference<>();
+        when(adminReconciliationService.ingest(eq(7L), eq("CASH"), any(), any(), eq("admin")))
+                .thenAnswer(invocation -> {
+                    IngestionAdapterRequest request = invocation.getArgument(3);
+                    try (InputStream input = request.inputStreamSupplier().get()) {
+                        payload.set(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+                    }
+                    return new AdminIngestionBatchDto(
+                            1L, "batch", DataBatchStatus.COMPLETE, 1L, "checksum", Instant.EPOCH);
+                });
+        return payload;
+    }
+
+    private static MockPart metadata() {
+        MockPart metadata = new MockPart(
+                "metadata", "{\"adapterType\":\"CSV_FILE\",\"label\":\"batch\"}".getBytes(StandardCharsets.UTF_8));
+        metadata.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return metadata;
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,136 @@
+package com.universal.reconciliation.controller.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.domain.dto.admin.AdminIngestionBatchDto;
+import com.universal.reconciliation.domain.enums.DataBatchStatus;
+import com.universal.reconciliation.service.admin.AdminReconciliationService;
+import com.universal.reconciliation.service.ingestion.IngestionAdapterRequest;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@WithMockUser(username = "admin", roles = "RECON_ADMIN")
+class AdminUploadSessionControllerTest {
+
+    private static final String UPLOADS = "/api/admin/reconciliations/7/sources/CASH/uploads";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private AdminReconciliationService adminReconciliationService;
+
+    @Test
+    void uploadsChunksAndIngestsThemOnCommit() throws Exception {
+        AtomicReference<String> payload = capturePayload();
+        String uploadId = open();
+
+        putChunk(uploadId, 1, "T-1,100.00\n")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.index").value(1))
+                .andExpect(jsonPath("$.size").value(11));
+        mockMvc.perform(post(UPLOADS + "/" + uploadId + "/commit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"chunkCount\":2}"))
+                .andExpect(status().isConflict());
+        putChunk(uploadId, 0, "tradeId,amount\n").andExpect(status().isOk());
+        mockMvc.perform(get(UPLOADS + "/" + uploadId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receivedRanges[0].first").value(0))
+                .andExpect(jsonPath("$.receivedRanges[0].last").value(1))
+                .andExpect(jsonPath("$.receivedBytes").value(26));
+
+        mockMvc.perform(post(UPLOADS + "/" + uploadId + "/commit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"chunkCount\":2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recordCount").value(1));
+
+        assertThat(payload.get()).isEqualTo("tradeId,amount\nT-1,100.00\n");
+        mockMvc.perform(get(UPLOADS + "/" + uploadId)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rejectsChunksWhoseChecksumDoesNotMatch() throws Exception {
+        String uploadId = open();
+
+        mockMvc.perform(put(UPLOADS + "/" + uploadId + "/chunks/0")
+                        .header(AdminUploadSessionController.CHECKSUM_HEADER, sha256("expected"))
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content("corrupted"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details").value("Checksum mismatch for chunk 0."));
+
+        mockMvc.perform(delete(UPLOADS + "/" + uploadId)).andExpect(status().isNoContent());
+        mockMvc.perform(get(UPLOADS + "/" + uploadId)).andExpect(status().isNotFound());
+    }
+
+    private String open() throws Exception {
+        String response = mockMvc.perform(post(UPLOADS)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"adapterType\":\"CSV_FILE\",\"label\":\"batch\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.receivedChunks").value(0))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        JsonNode session = objectMapper.readTree(response);
+        return session.get("uploadId").asText();
+    }
+
+    private ResultActions putChunk(String uploadId, int index, String chunk) throws Exception {
+        return mockMvc.perform(put(UPLOADS + "/" + uploadId + "/chunks/" + index)
+                .header(AdminUploadSessionController.CHECKSUM_HEADER, sha256(chunk))
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(chunk));
+    }
+
+    /** Reads the payload inside the service call, as the ingest does. */
+    private AtomicReference<String> capturePayload() {
+        AtomicReference<String> payload = new AtomicReference<>();
+        when(adminReconciliationService.ingest(eq(7L), eq("CASH"), any(), any(), eq("admin")))
+                .thenAnswer(invocation -> {
+                    IngestionAdapterRequest request = invocation.getArgument(3);
+                    try (InputStream input = request.inputStreamSupplier().get()) {
+                        payload.set(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+                    }
+                    return new AdminIngestionBatchDto(
+                            1L, "batch", DataBatchStatus.COMPLETE, 1L, "checksum", Instant.EPOCH);
+                });
+        return payload;
+    }
+
+    private static String sha256(String text) throws Exception {
+        return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
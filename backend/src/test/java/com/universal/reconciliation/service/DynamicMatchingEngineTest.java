@@ -3,6 +3,7 @@ package com.universal.reconciliation.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
+import com.universal.reconciliation.config.MatchingProperties;
 import com.universal.reconciliation.domain.entity.CanonicalField;
 import com.universal.reconciliation.domain.entity.ReconciliationDefinition;
 import com.universal.reconciliation.domain.entity.ReconciliationSource;
@@ -17,9 +18,15 @@ import com.universal.reconciliation.service.matching.DynamicReconciliationContex
 import com.universal.reconciliation.service.matching.DynamicSourceDataset;
 import com.universal.reconciliation.service.matching.MatchingResult;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -35,7 +42,7 @@ class DynamicMatchingEngineTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        engine = new DynamicMatchingEngine(contextLoader);
+        engine = new DynamicMatchingEngine(contextLoader, new MatchingProperties());
     }
 
     @Test
@@ -127,6 +134,157 @@ class DynamicMatchingEngineTest {
         assertThat(anchorMissing.missingSources()).containsExactly("CASH");
     }
 
+    @Test
+    void execute_partitionedModeProducesSameResultAsSerialEngine() {
+        ReconciliationDefinition definition = new ReconciliationDefinition();
+
+        CanonicalField transactionId = canonicalField(
+                definition, "transactionId", FieldRole.KEY, FieldDataType.STRING, ComparisonLogic.EXACT_MATCH, null);
+        CanonicalField amount = canonicalField(
+                definition, "amount", FieldRole.COMPARE, FieldDataType.DECIMAL, ComparisonLogic.EXACT_MATCH, null);
+        CanonicalField product = canonicalField(
+                definition, "product", FieldRole.PRODUCT, FieldDataType.STRING, ComparisonLogic.EXACT_MATCH, null);
+
+        ReconciliationSource cashSource = new ReconciliationSource();
+        cashSource.setCode("CASH");
+        cashSource.setAnchor(true);
+        ReconciliationSource glSource = new ReconciliationSource();
+        glSource.setCode("GL");
+        ReconciliationSource custodySource = new ReconciliationSource();
+        custodySource.setCode("CUSTODY");
+
+        Map<String, Map<String, Object>> cashRecords = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> glRecords = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> custodyRecords = new LinkedHashMap<>();
+        for (int index = 0; index < 2_000; index++) {
+            String key = "TXN-" + index;
+            if (index % 11 != 0) {
+                cashRecords.put(key, record(key, index, "Product-" + (index % 5)));
+            }
+            if (index % 7 != 0) {
+                glRecords.put(key, record(key, index % 13 == 0 ? index + 1 : index, "Product-" + (index % 5)));
+            }
+            if (index % 3 != 0) {
+                custodyRecords.put(key, record(key, index, "Product-" + (index % 4)));
+            }
+        }
+
+        DynamicReconciliationContext context = new DynamicReconciliationContext(
+                definition,
+                List.of(transactionId, amount, product),
+                List.of(transactionId),
+                List.of(amount),
+                List.of(product),
+                new DynamicSourceDataset(cashSource, null, cashRecords),
+                List.of(
+                        new DynamicSourceDataset(glSource, null, glRecords),
+                        new DynamicSourceDataset(custodySource, null, custodyRecords)));
+        when(contextLoader.load(definition)).thenReturn(context);
+
+        MatchingProperties parallelProperties = new MatchingProperties();
+        parallelProperties.setParallelism(4);
+        parallelProperties.setParallelThreshold(0);
+        parallelProperties.setBreakBatchSize(8);
+        DynamicMatchingEngine parallelEngine = new DynamicMatchingEngine(contextLoader, parallelProperties);
+
+        MatchingResult serial = engine.execute(definition);
+        MatchingResult parallel;
+        try {
+            parallel = parallelEngine.execute(definition);
+        } finally {
+            parallelEngine.shutdownWorkerPool();
+        }
+
+        assertThat(parallel.matchedCount()).isEqualTo(serial.matchedCount());
+        assertThat(parallel.mismatchedCount()).isEqualTo(serial.mismatchedCount());
+        assertThat(parallel.missingCount()).isEqualTo(serial.missingCount());
+        assertThat(parallel.breaks()).containsExactlyElementsOf(serial.breaks());
+        assertThat(parallel.breaks().toString()).isEqualTo(serial.breaks().toString());
+        assertThat(serial.breaks()).extracting(BreakCandidate::type).contains(BreakType.ANCHOR_MISSING);
+    }
+
+    @Test
+    void execute_concurrentPartitionedRunsShareTheBoundedWorkerPool() throws Exception {
+        ReconciliationDefinition definition = new ReconciliationDefinition();
+        CanonicalField transactionId = canonicalField(
+                definition, "transactionId", FieldRole.KEY, FieldDataType.STRING, ComparisonLogic.EXACT_MATCH, null);
+        CanonicalField amount = canonicalField(
+                definition, "amount", FieldRole.COMPARE, FieldDataType.DECIMAL, ComparisonLogic.EXACT_MATCH, null);
+        ReconciliationSource cashSource = new ReconciliationSource();
+        cashSource.setCode("CASH");
+        cashSource.setAnchor(true);
+        ReconciliationSource glSource = new ReconciliationSource();
+        glSource.setCode("GL");
+
+        Map<String, Map<String, Object>> cashRecords = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> glRecords = new LinkedHashMap<>();
+        for (int index = 0; index < 500; index++) {
+            String key = "TXN-" + index;
+            cashRecords.put(key, record(key, index, "Payments"));
+            glRecords.put(key, record(key, index + 1, "Payments"));
+        }
+        DynamicReconciliationContext context = new DynamicReconciliationContext(
+                definition,
+                List.of(transactionId, amount),
+                List.of(transactionId),
+                List.of(amount),
+                List.of(),
+                new DynamicSourceDataset(cashSource, null, cashRecords),
+                List.of(new DynamicSourceDataset(glSource, null, glRecords)));
+        when(contextLoader.load(definition)).thenReturn(context);
+
+        // Two runs of two partitions on a two-worker pool, each holding its merge until both are merging, so
+        // the second run's partitions can only start while the first run's are blocked on their hand-off.
+        MatchingProperties parallelProperties = new MatchingProperties();
+        parallelProperties.setParallelism(2);
+        parallelProperties.setParallelThreshold(0);
+        parallelProperties.setBreakBatchSize(1);
+        DynamicMatchingEngine parallelEngine = new DynamicMatchingEngine(contextLoader, parallelProperties);
+        CountDownLatch merging = new CountDownLatch(2);
+        ExecutorService runs = Executors.newFixedThreadPool(2);
+
+        MatchingResult serial = engine.execute(definition);
+        try {
+            List<Future<List<BreakCandidate>>> parallel = new ArrayList<>();
+            for (int run = 0; run < 2; run++) {
+                parallel.add(runs.submit(() -> {
+                    List<BreakCandidate> breaks = new ArrayList<>();
+                    parallelEngine.execute(definition, candidate -> {
+                        if (breaks.isEmpty()) {
+                            merging.countDown();
+                            awaitQuietly(merging);
+                        }
+                        breaks.add(candidate);
+                    });
+                    return breaks;
+                }));
+            }
+            for (Future<List<BreakCandidate>> breaks : parallel) {
+                assertThat(breaks.get(30, TimeUnit.SECONDS)).containsExactlyElementsOf(serial.breaks());
+            }
+        } finally {
+            runs.shutdownNow();
+            parallelEngine.shutdownWorkerPool();
+        }
+        assertThat(serial.mismatchedCount()).isEqualTo(500);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<String, Object> record(String key, int amount, String product) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("transactionId", key);
+        record.put("amount", BigDecimal.valueOf(amount));
+        record.put("product", product);
+        return record;
+    }
+
     private CanonicalField canonicalField(
             ReconciliationDefinition definition,
             String name,
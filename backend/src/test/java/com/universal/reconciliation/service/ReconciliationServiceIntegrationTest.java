@@ -3,30 +3,47 @@ package com.universal.reconciliation.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.universal.reconciliation.config.IngestionProperties;
+import com.universal.reconciliation.config.MatchingProperties;
+import com.universal.reconciliation.domain.dto.BreakItemDto;
+import com.universal.reconciliation.domain.dto.ReconciliationSummaryDto;
 import com.universal.reconciliation.domain.dto.RunDetailDto;
+import com.universal.reconciliation.domain.dto.RunProgressDto;
 import com.universal.reconciliation.domain.dto.TriggerRunRequest;
 import com.universal.reconciliation.domain.entity.AccessControlEntry;
 import com.universal.reconciliation.domain.entity.CanonicalField;
 import com.universal.reconciliation.domain.entity.CanonicalFieldMapping;
 import com.universal.reconciliation.domain.entity.ReconciliationDefinition;
 import com.universal.reconciliation.domain.entity.ReconciliationField;
+import com.universal.reconciliation.domain.entity.ReconciliationRun;
 import com.universal.reconciliation.domain.entity.ReconciliationSource;
 import com.universal.reconciliation.domain.entity.ReportColumn;
 import com.universal.reconciliation.domain.entity.ReportTemplate;
+import com.universal.reconciliation.domain.entity.SourceDataBatch;
 import com.universal.reconciliation.domain.enums.AccessRole;
 import com.universal.reconciliation.domain.enums.BreakStatus;
+import com.universal.reconciliation.domain.enums.BreakType;
 import com.universal.reconciliation.domain.enums.ComparisonLogic;
+import com.universal.reconciliation.domain.enums.DataBatchStatus;
 import com.universal.reconciliation.domain.enums.FieldDataType;
 import com.universal.reconciliation.domain.enums.FieldRole;
 import com.universal.reconciliation.domain.enums.IngestionAdapterType;
+import com.universal.reconciliation.domain.enums.MatchingStrategy;
 import com.universal.reconciliation.domain.enums.ReportColumnSource;
+import com.universal.reconciliation.domain.enums.RunMode;
+import com.universal.reconciliation.domain.enums.RunPhase;
+import com.universal.reconciliation.domain.enums.RunStatus;
 import com.universal.reconciliation.domain.enums.TriggerType;
 import com.universal.reconciliation.repository.AccessControlEntryRepository;
+import com.universal.reconciliation.repository.BreakItemRepository;
 import com.universal.reconciliation.repository.ReconciliationDefinitionRepository;
+import com.universal.reconciliation.repository.ReconciliationRunRepository;
 import com.universal.reconciliation.repository.ReconciliationSourceRepository;
 import com.universal.reconciliation.repository.SourceDataBatchRepository;
+import com.universal.reconciliation.repository.SourceDataRecordRepository;
 import com.universal.reconciliation.service.ingestion.IngestionAdapterRequest;
 import com.universal.reconciliation.service.ingestion.SourceIngestionService;
+import com.universal.reconciliation.service.matching.BreakCandidate;
 import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
@@ -35,6 +52,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -60,9 +78,30 @@ class ReconciliationServiceIntegrationTest {
     @Autowired
     private SourceDataBatchRepository batchRepository;
 
+    @Autowired
+    private SourceDataRecordRepository recordRepository;
+
+    @Autowired
+    private ReconciliationRunRepository runRepository;
+
+    @Autowired
+    private BreakItemRepository breakItemRepository;
+
     @Autowired
     private SourceIngestionService sourceIngestionService;
 
+    @Autowired
+    private MatchingProperties matchingProperties;
+
+    @Autowired
+    private RunExecutionService runExecutionService;
+
+    @Autowired
+    private BreakItemBatchWriter breakItemBatchWriter;
+
+    @Autowired
+    private IngestionProperties ingestionProperties;
+
     private final List<String> groups = List.of("recon-makers", "recon-checkers");
 
     @BeforeEach
@@ -77,7 +116,7 @@ class ReconciliationServiceIntegrationTest {
                 definitionId,
                 groups,
                 "integration-test",
-                new TriggerRunRequest(TriggerType.MANUAL_API, "it-run", "integration test", null));
+                new TriggerRunRequest(TriggerType.MANUAL_API, "it-run", "integration test", null, null));
         assertThat(initial.summary().runId()).isNotNull();
         assertThat(initial.summary().triggerType()).isEqualTo(TriggerType.MANUAL_API);
         assertThat(initial.analytics().totalBreakCount()).isGreaterThan(0);
@@ -109,7 +148,7 @@ class ReconciliationServiceIntegrationTest {
         Long definitionId = definitionId(SIMPLE_CODE);
 
         assertThatThrownBy(() -> reconciliationService.triggerRun(
-                        definitionId, List.of("unauthorised"), "integration-test", new TriggerRunRequest(null, null, null, null)))
+                        definitionId, List.of("unauthorised"), "integration-test", new TriggerRunRequest(null, null, null, null, null)))
                 .isInstanceOf(SecurityException.class);
     }
 
@@ -145,12 +184,12 @@ class ReconciliationServiceIntegrationTest {
                 definitionId,
                 groups,
                 "integration-test",
-                new TriggerRunRequest(TriggerType.MANUAL_API, "first", "first manual run", "first-tester"));
+                new TriggerRunRequest(TriggerType.MANUAL_API, "first", "first manual run", "first-tester", null));
         reconciliationService.triggerRun(
                 definitionId,
                 groups,
                 "integration-test",
-                new TriggerRunRequest(TriggerType.MANUAL_API, "second", "second manual run", "second-tester"));
+                new TriggerRunRequest(TriggerType.MANUAL_API, "second", "second manual run", "second-tester", null));
 
         var summaries = reconciliationService.listRuns(definitionId, groups, 5);
 
@@ -165,6 +204,270 @@ class ReconciliationServiceIntegrationTest {
                 .isEqualTo("second manual run");
     }
 
+    @Test
+    void triggerRun_everyMatchingStrategyProducesTheSameOutcome() {
+        Long definitionId = definitionId(SIMPLE_CODE);
+        ReconciliationDefinition definition = definitionRepository.findById(definitionId).orElseThrow();
+        ReconciliationSource cash = sourceRepository.findByDefinitionAndCode(definition, "CASH").orElseThrow();
+        SourceDataBatch cashBatch = batchRepository.findFirstBySourceOrderByIngestedAtDesc(cash).orElseThrow();
+        assertThat(recordRepository.findByBatch(cashBatch))
+                .allSatisfy(record -> {
+                    assertThat(record.getMatchFingerprint()).hasSize(64);
+                    assertThat(record.getMatchPlan()).isNotBlank();
+                });
+
+        List<ReconciliationSummaryDto> summaries = new ArrayList<>();
+        List<List<BreakType>> breakTypes = new ArrayList<>();
+        try {
+            for (MatchingStrategy strategy : MatchingStrategy.values()) {
+                definition = definitionRepository.findById(definitionId).orElseThrow();
+                definition.setMatchingStrategy(strategy);
+                definitionRepository.save(definition);
+
+                RunDetailDto run = reconciliationService.triggerRun(
+                        definitionId,
+                        groups,
+                        "integration-test",
+                        new TriggerRunRequest(TriggerType.MANUAL_API, strategy.name(), "strategy comparison", null, null));
+                summaries.add(run.summary());
+                breakTypes.add(run.breaks().stream().map(BreakItemDto::breakType).sorted().toList());
+            }
+        } finally {
+            definition = definitionRepository.findById(definitionId).orElseThrow();
+            definition.setMatchingStrategy(null);
+            definitionRepository.save(definition);
+        }
+
+        assertThat(summaries).allSatisfy(summary -> {
+            assertThat(summary.matched()).isEqualTo(1);
+            assertThat(summary.mismatched()).isEqualTo(1);
+            assertThat(summary.missing()).isEqualTo(2);
+        });
+        assertThat(breakTypes).allSatisfy(types -> assertThat(types).isEqualTo(breakTypes.get(0)));
+    }
+
+    @Test
+    void triggerRun_incrementalModeOnlyRecomputesChangedKeys() {
+        ReconciliationDefinition definition = createDefinition("CASH_VS_GL_INCREMENTAL_" + System.nanoTime());
+        ensureAccessControl(definition);
+        ingestCsv(definition, "CASH", cashSeed());
+        ingestCsv(definition, "GL", glSeed());
+        Long definitionId = definition.getId();
+
+        RunDetailDto baseline = triggerRun(definitionId, RunMode.FULL);
+        assertThat(runRepository.findById(baseline.summary().runId()).orElseThrow().getMatchSignature()).hasSize(64);
+
+        RunDetailDto unchanged = triggerRun(definitionId, RunMode.INCREMENTAL);
+        assertThat(runMode(unchanged)).isEqualTo(RunMode.INCREMENTAL);
+        assertThat(breakOutcomes(unchanged)).isEqualTo(breakOutcomes(baseline));
+        assertThat(unchanged.summary().matched()).isEqualTo(baseline.summary().matched());
+
+        ingestCsv(definition, "CASH", String.join(
+                "\n",
+                "transactionId,amount,currency,tradeDate,product,subProduct,entity",
+                "CASH-1001,1000.00,USD,2024-01-15,Payments,Wire,US",
+                "CASH-1002,505.50,EUR,2024-01-15,Payments,Wire,EU",
+                "CASH-1005,75.00,USD,2024-01-16,Payments,Wire,US"));
+
+        RunDetailDto incremental = triggerRun(definitionId, RunMode.INCREMENTAL);
+        RunDetailDto full = triggerRun(definitionId, RunMode.FULL);
+
+        assertThat(runMode(incremental)).isEqualTo(RunMode.INCREMENTAL);
+        assertThat(runMode(full)).isEqualTo(RunMode.FULL);
+        assertThat(incremental.summary().matched()).isEqualTo(full.summary().matched()).isEqualTo(2);
+        assertThat(incremental.summary().mismatched()).isEqualTo(full.summary().mismatched()).isZero();
+        assertThat(incremental.summary().missing()).isEqualTo(full.summary().missing()).isEqualTo(2);
+        assertThat(breakOutcomes(incremental))
+                .isEqualTo(breakOutcomes(full))
+                .containsExactly("CASH-1004:ANCHOR_MISSING", "CASH-1005:SOURCE_MISSING");
+    }
+
+    @Test
+    void triggerRun_writesBreaksAndClassificationValuesAcrossJdbcBatches() {
+        ReconciliationDefinition definition = createDefinition("CASH_VS_GL_BATCHED_" + System.nanoTime());
+        ensureAccessControl(definition);
+        ingestCsv(definition, "CASH", cashSeed());
+        ingestCsv(definition, "GL", glSeed());
+
+        int batchSize = matchingProperties.getBreakBatchSize();
+        matchingProperties.setBreakBatchSize(1);
+        RunDetailDto batched;
+        RunDetailDto incremental;
+        try {
+            batched = triggerRun(definition.getId(), RunMode.FULL);
+            incremental = triggerRun(definition.getId(), RunMode.INCREMENTAL);
+        } finally {
+            matchingProperties.setBreakBatchSize(batchSize);
+        }
+        RunDetailDto buffered = triggerRun(definition.getId(), RunMode.FULL);
+
+        assertThat(breakOutcomes(batched)).hasSize(3).isEqualTo(breakOutcomes(buffered)).isEqualTo(breakOutcomes(incremental));
+        assertThat(breakItemRepository.findByRunOrderByDetectedAtAsc(
+                        runRepository.findById(batched.summary().runId()).orElseThrow()))
+                .allSatisfy(item -> {
+                    assertThat(item.getStatus()).isEqualTo(BreakStatus.OPEN);
+                    assertThat(item.getProduct()).isEqualTo("Payments");
+                    assertThat(item.getClassificationValues())
+                            .extracting(value -> value.getAttributeKey() + "=" + value.getAttributeValue())
+                            .contains("product=Payments", "subProduct=Wire")
+                            .doesNotHaveDuplicates();
+                });
+    }
+
+    @Test
+    void ingest_stagesRecordsAcrossChunksMultiRowStatementsAndBatches() {
+        ReconciliationDefinition definition = createDefinition("CASH_VS_GL_BULK_" + System.nanoTime());
+        ensureAccessControl(definition);
+
+        int chunkSize = ingestionProperties.getChunkSize();
+        int bulkBatchSize = ingestionProperties.getBulkBatchSize();
+        int rowsPerStatement = ingestionProperties.getRowsPerStatement();
+        try {
+            ingestionProperties.setChunkSize(2);
+            ingestionProperties.setBulkBatchSize(2);
+            ingestionProperties.setRowsPerStatement(1);
+            ingestCsv(definition, "CASH", cashSeed());
+            ingestionProperties.setBulkBatchSize(100);
+            ingestionProperties.setRowsPerStatement(2);
+            ingestCsv(definition, "GL", glSeed());
+        } finally {
+            ingestionProperties.setChunkSize(chunkSize);
+            ingestionProperties.setBulkBatchSize(bulkBatchSize);
+            ingestionProperties.setRowsPerStatement(rowsPerStatement);
+        }
+
+        for (String sourceCode : List.of("CASH", "GL")) {
+            ReconciliationSource source = sourceRepository.findByDefinitionAndCode(definition, sourceCode).orElseThrow();
+            SourceDataBatch batch = batchRepository.findFirstBySourceOrderByIngestedAtDesc(source).orElseThrow();
+            assertThat(batch.getRecordCount()).isEqualTo(3L);
+            assertThat(recordRepository.findByBatch(batch))
+                    .hasSize(3)
+                    .allSatisfy(record -> {
+                        assertThat(record.getCanonicalKey()).startsWith("CASH-100");
+                        assertThat(record.getExternalReference()).isEqualTo(record.getCanonicalKey());
+                        assertThat(record.getContentHash()).hasSize(64);
+                        assertThat(record.getMatchFingerprint()).hasSize(64);
+                        assertThat(record.getMetadataJson()).contains("\"transactionId\"");
+                        assertThat(record.getIngestedAt()).isNotNull();
+                    });
+        }
+        assertThat(breakOutcomes(triggerRun(definition.getId(), RunMode.FULL)))
+                .containsExactly("CASH-1002:MISMATCH", "CASH-1003:SOURCE_MISSING", "CASH-1004:ANCHOR_MISSING");
+    }
+
+    @Test
+    void submit_executesRunAsynchronouslyWithTheSameOutcome() throws InterruptedException {
+        ReconciliationDefinition definition = createDefinition("CASH_VS_GL_ASYNC_" + System.nanoTime());
+        ensureAccessControl(definition);
+        ingestCsv(definition, "CASH", cashSeed());
+        ingestCsv(definition, "GL", glSeed());
+
+        RunProgressDto queued = runExecutionService.submit(
+                definition.getId(),
+                groups,
+                "integration-test",
+                new TriggerRunRequest(TriggerType.MANUAL_API, "async", "async run", null, null));
+        assertThat(queued.status()).isIn(RunStatus.QUEUED, RunStatus.RUNNING, RunStatus.SUCCESS);
+
+        RunProgressDto progress = runExecutionService.progress(queued.runId(), groups);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!progress.status().isTerminal() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            progress = runExecutionService.progress(queued.runId(), groups);
+        }
+        RunDetailDto synchronous = triggerRun(definition.getId(), RunMode.FULL);
+
+        assertThat(progress.status()).isEqualTo(RunStatus.SUCCESS);
+        assertThat(progress.phase()).isEqualTo(RunPhase.COMPLETED);
+        assertThat(progress.breaksPersisted()).isEqualTo(3);
+        assertThat(progress.keysProcessed()).isEqualTo(4);
+        RunDetailDto asynchronous = reconciliationService.fetchRunDetail(queued.runId(), groups);
+        assertThat(asynchronous.summary().matched()).isEqualTo(synchronous.summary().matched());
+        assertThat(asynchronous.summary().mismatched()).isEqualTo(synchronous.summary().mismatched());
+        assertThat(asynchronous.summary().missing()).isEqualTo(synchronous.summary().missing());
+        assertThat(breakOutcomes(asynchronous)).isEqualTo(breakOutcomes(synchronous));
+        ReconciliationRun stored = runRepository.findById(queued.runId()).orElseThrow();
+        assertThat(stored.getStartedAt()).isNotNull();
+        assertThat(stored.getCompletedAt()).isNotNull();
+    }
+
+    @Test
+    void completeRun_discardsBreaksCommittedByAnUnfinishedRun() {
+        ReconciliationDefinition definition = createDefinition("CASH_VS_GL_DISCARD_" + System.nanoTime());
+        ensureAccessControl(definition);
+        ReconciliationRun run = reconciliationService.queueRun(
+                definition.getId(),
+                groups,
+                "integration-test",
+                new TriggerRunRequest(TriggerType.MANUAL_API, "discard", "cancelled run", null));
+        assertThat(reconciliationService.startQueuedRun(run.getId())).isTrue();
+
+        BreakItemBatchWriter.Batch breaks = breakItemBatchWriter.openCommitting(run);
+        breaks.accept(new BreakCandidate(
+                "CASH-1001", BreakType.MISMATCH, Map.of(), Map.of("product", "Cash"), List.of()));
+        breaks.flush();
+        assertThat(breakItemRepository.findByRunOrderByIdAsc(run)).hasSize(1);
+
+        reconciliationService.completeRun(run.getId(), RunStatus.CANCELLED, null);
+
+        assertThat(breakItemRepository.findByRunOrderByIdAsc(run)).isEmpty();
+        assertThat(runRepository.findById(run.getId()).orElseThrow().getStatus()).isEqualTo(RunStatus.CANCELLED);
+    }
+
+    @Test
+    void load_stagesOpenedBatchesWhileRunsKeepReadingTheLastCompletedBatch() {
+        ReconciliationDefinition definition = createDefinition("CASH_VS_GL_STAGED_" + System.nanoTime());
+        ensureAccessControl(definition);
+        ingestCsv(definition, "CASH", cashSeed());
+        ingestCsv(definition, "GL", glSeed());
+        IngestionAdapterRequest corrected = new IngestionAdapterRequest(
+                () -> new ByteArrayInputStream(cashSeed().getBytes(StandardCharsets.UTF_8)),
+                Map.of("label", "corrected"));
+
+        SourceDataBatch opened = sourceIngestionService.openBatch(
+                definition, "GL", IngestionAdapterType.CSV_FILE, corrected);
+        assertThat(opened.getStatus()).isEqualTo(DataBatchStatus.LOADING);
+        assertThat(breakOutcomes(triggerRun(definition.getId(), RunMode.FULL)))
+                .containsExactly("CASH-1002:MISMATCH", "CASH-1003:SOURCE_MISSING", "CASH-1004:ANCHOR_MISSING");
+
+        List<Long> persisted = new ArrayList<>();
+        SourceDataBatch loaded = sourceIngestionService.load(
+                opened.getId(), corrected, (rowsRead, rowsPersisted) -> persisted.add(rowsPersisted));
+        assertThat(loaded.getStatus()).isEqualTo(DataBatchStatus.COMPLETE);
+        assertThat(loaded.getRecordCount()).isEqualTo(3L);
+        assertThat(persisted).last().isEqualTo(3L);
+        assertThat(breakOutcomes(triggerRun(definition.getId(), RunMode.FULL))).isEmpty();
+
+        SourceDataBatch abandoned = sourceIngestionService.openBatch(
+                definition, "GL", IngestionAdapterType.CSV_FILE, corrected);
+        sourceIngestionService.markFailed(abandoned.getId());
+        assertThat(batchRepository.findById(abandoned.getId()).orElseThrow().getStatus())
+                .isEqualTo(DataBatchStatus.FAILED);
+        assertThatThrownBy(() -> sourceIngestionService.load(abandoned.getId(), corrected, (read, staged) -> {}))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(breakOutcomes(triggerRun(definition.getId(), RunMode.FULL))).isEmpty();
+    }
+
+    private RunDetailDto triggerRun(Long definitionId, RunMode mode) {
+        return reconciliationService.triggerRun(
+                definitionId,
+                groups,
+                "integration-test",
+                new TriggerRunRequest(TriggerType.MANUAL_API, mode.name(), "run mode comparison", null, mode));
+    }
+
+    private RunMode runMode(RunDetailDto run) {
+        return runRepository.findById(run.summary().runId()).orElseThrow().getRunMode();
+    }
+
+    private List<String> breakOutcomes(RunDetailDto run) {
+        return breakItemRepository.findByRunOrderByIdAsc(runRepository.findById(run.summary().runId()).orElseThrow())
+                .stream()
+                .map(item -> item.getCanonicalKey() + ":" + item.getBreakType())
+                .sorted()
+                .toList();
+    }
+
     private Long definitionId(String code) {
         return definitionRepository.findByCode(code)
                 .orElseThrow(() -> new IllegalStateException("Missing definition " + code))
@@ -174,14 +477,14 @@ class ReconciliationServiceIntegrationTest {
     private void ensureSimpleDefinition() {
         ReconciliationDefinition definition = definitionRepository
                 .findByCode(SIMPLE_CODE)
-                .orElseGet(this::createDefinition);
+                .orElseGet(() -> createDefinition(SIMPLE_CODE));
         ensureAccessControl(definition);
         ensureSourceRecords(definition);
     }
 
-    private ReconciliationDefinition createDefinition() {
+    private ReconciliationDefinition createDefinition(String code) {
         ReconciliationDefinition definition = new ReconciliationDefinition();
-        definition.setCode(SIMPLE_CODE);
+        definition.setCode(code);
         definition.setName("Cash vs GL (Integration)");
         definition.setDescription("Seeded for integration testing");
         definition.setMakerCheckerEnabled(false);
@@ -21,6 +21,7 @@ import com.universal.reconciliation.repository.AccessControlEntryRepository;
 import com.universal.reconciliation.repository.BreakItemRepository;
 import com.universal.reconciliation.repository.ReconciliationDefinitionRepository;
 import com.universal.reconciliation.repository.ReconciliationRunRepository;
+import com.universal.reconciliation.service.matching.IncrementalMatchingEngine;
 import com.universal.reconciliation.service.matching.MatchingEngine;
 import java.time.Instant;
 import java.util.List;
@@ -50,6 +51,9 @@ class ReconciliationServiceTest {
     @Mock
     private MatchingEngine matchingEngine;
 
+    @Mock
+    private IncrementalMatchingEngine incrementalMatchingEngine;
+
     @Mock
     private BreakMapper breakMapper;
 
@@ -63,7 +67,7 @@ class ReconciliationServiceTest {
     private RunAnalyticsCalculator runAnalyticsCalculator;
 
     @Mock
-    private com.fasterxml.jackson.databind.ObjectMapper objectMapper;
+    private BreakItemBatchWriter breakItemBatchWriter;
 
     private ReconciliationService reconciliationService;
 
@@ -77,7 +81,8 @@ class ReconciliationServiceTest {
                 runRepository,
                 breakItemRepository,
                 matchingEngine,
-                objectMapper,
+                incrementalMatchingEngine,
+                breakItemBatchWriter,
                 breakMapper,
                 breakAccessService,
                 systemActivityService,
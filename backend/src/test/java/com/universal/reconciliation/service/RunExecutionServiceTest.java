@@ -0,0 +1,132 @@
+package com.universal.reconciliation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.universal.reconciliation.config.RunExecutionProperties;
+import com.universal.reconciliation.domain.dto.RunProgressDto;
+import com.universal.reconciliation.domain.dto.TriggerRunRequest;
+import com.universal.reconciliation.domain.entity.ReconciliationRun;
+import com.universal.reconciliation.domain.enums.RunMode;
+import com.universal.reconciliation.domain.enums.RunPhase;
+import com.universal.reconciliation.domain.enums.RunStatus;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class RunExecutionServiceTest {
+
+    private final ReconciliationService reconciliationService = mock(ReconciliationService.class);
+    private final RunExecutionProperties properties = new RunExecutionProperties();
+    private final RunProgressRegistry registry = new RunProgressRegistry(properties);
+    private final List<String> groups = List.of("recon-makers");
+    private RunExecutionService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+        registry.shutdown();
+    }
+
+    @Test
+    void cancel_stopsRunningRunAndRecordsCancellation() throws Exception {
+        service = new RunExecutionService(reconciliationService, registry, properties);
+        queue(10L);
+        when(reconciliationService.startQueuedRun(10L)).thenReturn(true);
+        CountDownLatch matching = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            RunProgress progress = invocation.getArgument(2);
+            matching.countDown();
+            while (true) {
+                progress.checkCancelled();
+                Thread.sleep(5);
+            }
+        }).when(reconciliationService).executeQueuedRun(eq(10L), eq(RunMode.FULL), any());
+
+        RunProgressDto queued = service.submit(1L, groups, "analyst", request(RunMode.FULL));
+        assertThat(queued.runId()).isEqualTo(10L);
+        assertThat(matching.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(service.progress(10L, groups).status()).isEqualTo(RunStatus.RUNNING);
+
+        RunProgressDto cancelling = service.cancel(10L, groups);
+        assertThat(cancelling.cancelRequested()).isTrue();
+
+        verify(reconciliationService, timeout(5000)).completeRun(10L, RunStatus.CANCELLED, null);
+        RunProgressDto cancelled = awaitTerminal(10L);
+        assertThat(cancelled.status()).isEqualTo(RunStatus.CANCELLED);
+        assertThat(cancelled.phase()).isEqualTo(RunPhase.COMPLETED);
+        assertThatThrownBy(() -> service.cancel(10L, groups))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    void submit_rejectsRunsOnceWorkersAndQueueAreFull() throws Exception {
+        properties.setWorkerThreads(1);
+        properties.setQueueCapacity(0);
+        service = new RunExecutionService(reconciliationService, registry, properties);
+        queue(20L);
+        when(reconciliationService.startQueuedRun(20L)).thenReturn(true);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(reconciliationService).executeQueuedRun(eq(20L), isNull(), any());
+
+        service.submit(1L, groups, "analyst", request(null));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        queue(21L);
+        assertThatThrownBy(() -> service.submit(1L, groups, "analyst", request(null)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        verify(reconciliationService).completeRun(21L, RunStatus.FAILED, "Run queue is full");
+        verify(reconciliationService, never()).startQueuedRun(21L);
+
+        release.countDown();
+        assertThat(awaitTerminal(20L).status()).isEqualTo(RunStatus.SUCCESS);
+        verify(reconciliationService, never()).completeRun(eq(20L), any(), any());
+    }
+
+    private RunProgressDto awaitTerminal(Long runId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        RunProgress progress = registry.find(runId).orElseThrow();
+        while (!progress.isTerminal() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return progress.snapshot();
+    }
+
+    private void queue(Long runId) {
+        ReconciliationRun run = new ReconciliationRun();
+        run.setId(runId);
+        run.setRunDateTime(Instant.now());
+        run.setStatus(RunStatus.QUEUED);
+        when(reconciliationService.queueRun(anyLong(), eq(groups), eq("analyst"), any())).thenReturn(run);
+        when(reconciliationService.describeRun(runId, groups)).thenReturn(new RunProgressDto(
+                runId, 1L, RunStatus.QUEUED, RunPhase.QUEUED, 0, 0, false, run.getRunDateTime(), null, null, null));
+    }
+
+    private TriggerRunRequest request(RunMode mode) {
+        return new TriggerRunRequest(null, null, null, null, mode);
+    }
+}
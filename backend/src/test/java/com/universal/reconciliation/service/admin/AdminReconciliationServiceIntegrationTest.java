@@ -98,6 +98,7 @@ class AdminReconciliationServiceIntegrationTest {
                         null,
                         null,
                         null,
+                        null,
                         null),
                 "admin.user");
 
@@ -316,6 +317,7 @@ class AdminReconciliationServiceIntegrationTest {
                 "0 2 * * *",
                 "UTC",
                 45,
+                null,
                 version,
                 List.of(custodySource, ledgerSource),
                 List.of(tradeId, netAmount, currency),
@@ -187,6 +187,7 @@ class AdminReconciliationServiceTest {
                 null,
                 null,
                 null,
+                null,
                 List.of(
                         new AdminSourceRequest(
                                 null,
@@ -391,6 +392,7 @@ class AdminReconciliationServiceTest {
                 null,
                 null,
                 null,
+                null,
                 1L,
                 List.of(custodySource),
                 List.of(new AdminCanonicalFieldRequest(
@@ -564,6 +566,7 @@ class AdminReconciliationServiceTest {
                 null,
                 null,
                 null,
+                null,
                 null);
 
         AdminReconciliationDetailDto detail = service.patch(88L, request, "admin.user");
@@ -272,6 +272,31 @@ class AdminReconciliationValidatorTest {
                 .hasMessageContaining("Arrival SLA minutes");
     }
 
+    @Test
+    void validate_rejectsNonPositiveIngestionParallelism() {
+        AdminSourceRequest source = new AdminSourceRequest(
+                null,
+                "CUSTODY",
+                "Custody",
+                IngestionAdapterType.CSV_FILE,
+                true,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                List.of(),
+                0);
+
+        AdminReconciliationRequest request = buildRequest(List.of(source), List.of(buildKeyField()));
+
+        assertThatThrownBy(() -> validator.validate(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Ingestion parallelism");
+    }
+
     @Test
     void validate_requiresCronWhenAutoTriggerEnabled() {
         AdminReconciliationRequest request = new AdminReconciliationRequest(
@@ -287,6 +312,7 @@ class AdminReconciliationValidatorTest {
                 "UTC",
                 15,
                 null,
+                null,
                 List.of(new AdminSourceRequest(
                         null,
                         "CUSTODY",
@@ -334,6 +360,7 @@ class AdminReconciliationValidatorTest {
                 null,
                 15,
                 null,
+                null,
                 List.of(new AdminSourceRequest(
                         null,
                         "CUSTODY",
@@ -407,6 +434,7 @@ class AdminReconciliationValidatorTest {
                 null,
                 null,
                 null,
+                null,
                 sources,
                 fields,
                 List.of(),
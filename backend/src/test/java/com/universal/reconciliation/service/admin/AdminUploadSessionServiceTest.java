@@ -0,0 +1,202 @@
+package com.universal.reconciliation.service.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.universal.reconciliation.config.UploadSessionProperties;
+import com.universal.reconciliation.domain.dto.admin.AdminIngestionBatchDto;
+import com.universal.reconciliation.domain.dto.admin.AdminUploadChunkDto;
+import com.universal.reconciliation.domain.dto.admin.AdminUploadSessionDto;
+import com.universal.reconciliation.domain.dto.admin.AdminUploadSessionRequest;
+import com.universal.reconciliation.domain.enums.DataBatchStatus;
+import com.universal.reconciliation.domain.enums.IngestionAdapterType;
+import com.universal.reconciliation.service.ingestion.IngestionAdapterRequest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+class AdminUploadSessionServiceTest {
+
+    private static final long DEFINITION_ID = 7L;
+    private static final String SOURCE = "CASH";
+
+    @TempDir
+    Path uploads;
+
+    private final AdminReconciliationService reconciliationService = mock(AdminReconciliationService.class);
+    private final IngestionExecutionService executionService = mock(IngestionExecutionService.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final UploadSessionProperties properties = new UploadSessionProperties();
+    private final AtomicReference<String> ingested = new AtomicReference<>();
+    private AdminUploadSessionService service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setDirectory(uploads.toString());
+        properties.setMaxChunkSize(DataSize.ofBytes(64));
+        service = new AdminUploadSessionService(reconciliationService, executionService, properties, objectMapper);
+        when(reconciliationService.ingest(eq(DEFINITION_ID), eq(SOURCE), any(), any(), eq("admin")))
+                .thenAnswer(invocation -> {
+                    IngestionAdapterRequest request = invocation.getArgument(3);
+                    try (InputStream input = request.inputStreamSupplier().get()) {
+                        ingested.set(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+                    }
+                    return new AdminIngestionBatchDto(
+                            11L, "cash", DataBatchStatus.COMPLETE, 3L, "checksum", Instant.EPOCH);
+                });
+    }
+
+    @Test
+    void storesChunksInAnyOrderAndIngestsThemConcatenatedOnCommit() {
+        AdminUploadSessionDto session = service.open(DEFINITION_ID, SOURCE, request(null), "admin");
+        List<String> chunks = List.of("tradeId,amount\n", "T-1,100.00\n", "T-2,250.50\n", "T-3,75.25\n");
+
+        put(session, 3, bytes(chunks.get(3)));
+        put(session, 0, bytes(chunks.get(0)));
+        AdminUploadChunkDto receipt = put(session, 1, bytes(chunks.get(1)));
+        put(session, 1, bytes(chunks.get(1)));
+
+        assertThat(receipt).isEqualTo(new AdminUploadChunkDto(1, 11, sha256(bytes(chunks.get(1)))));
+        AdminUploadSessionDto status = service.get(DEFINITION_ID, SOURCE, session.uploadId());
+        assertThat(status.receivedRanges()).containsExactly(
+                new AdminUploadSessionDto.ChunkRange(0, 1), new AdminUploadSessionDto.ChunkRange(3, 3));
+        assertThat(status.receivedChunks()).isEqualTo(3);
+        assertThat(status.receivedBytes()).isEqualTo(15 + 11 + 10);
+        assertThat(status.chunkSize()).isEqualTo(16L);
+        assertThat(status.adapterType()).isEqualTo(IngestionAdapterType.CSV_FILE);
+
+        assertThatThrownBy(() -> service.commit(DEFINITION_ID, SOURCE, session.uploadId(), 4, "admin"))
+                .isInstanceOfSatisfying(ResponseStatusException.class, ex -> {
+                    assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                    assertThat(ex.getReason()).isEqualTo("Upload is missing chunks 2");
+                });
+        put(session, 2, bytes(chunks.get(2)));
+        assertThatThrownBy(() -> service.commit(DEFINITION_ID, SOURCE, session.uploadId(), 3, "admin"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        AdminIngestionBatchDto batch = service.commit(DEFINITION_ID, SOURCE, session.uploadId(), 4, "admin");
+
+        assertThat(batch.id()).isEqualTo(11L);
+        assertThat(ingested.get()).isEqualTo(String.join("", chunks));
+        assertThat(uploads.resolve(session.uploadId())).doesNotExist();
+        assertThatThrownBy(() -> service.get(DEFINITION_ID, SOURCE, session.uploadId()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void decompressesIndependentlyCompressedChunks() throws IOException {
+        AdminUploadSessionDto session = service.open(DEFINITION_ID, SOURCE, request("gzip"), "admin");
+
+        put(session, 0, gzip("tradeId,amount\n"));
+        put(session, 1, gzip("T-1,100.00\n"));
+        service.commit(DEFINITION_ID, SOURCE, session.uploadId(), 2, "admin");
+
+        assertThat(ingested.get()).isEqualTo("tradeId,amount\nT-1,100.00\n");
+    }
+
+    @Test
+    void rejectsCorruptAndOversizedChunksWithoutStoringThem() {
+        AdminUploadSessionDto session = service.open(DEFINITION_ID, SOURCE, request(null), "admin");
+
+        assertThatThrownBy(() -> service.putChunk(DEFINITION_ID, SOURCE, session.uploadId(), 0,
+                        sha256(bytes("expected")), new ByteArrayInputStream(bytes("corrupted"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Checksum mismatch for chunk 0.");
+        byte[] oversized = new byte[65];
+        assertThatThrownBy(() -> put(session, 1, oversized))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Chunk exceeds the maximum size of 64 bytes.");
+
+        AdminUploadSessionDto status = service.get(DEFINITION_ID, SOURCE, session.uploadId());
+        assertThat(status.receivedChunks()).isZero();
+        assertThat(uploads.resolve(session.uploadId())).isDirectoryNotContaining("glob:**.{chunk,tmp}");
+    }
+
+    @Test
+    void sessionsAreScopedToTheirSourceAndExpireWhenIdle() throws IOException {
+        AdminUploadSessionDto session = service.open(DEFINITION_ID, SOURCE, request(null), "admin");
+        put(session, 0, bytes("tradeId\n"));
+
+        assertThatThrownBy(() -> service.get(DEFINITION_ID, "GL", session.uploadId()))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> service.get(DEFINITION_ID, SOURCE, "../" + session.uploadId()))
+                .isInstanceOf(ResponseStatusException.class);
+
+        AdminUploadSessionService later = new AdminUploadSessionService(reconciliationService, executionService,
+                properties, objectMapper, Clock.fixed(Instant.now().plus(Duration.ofHours(25)), ZoneOffset.UTC));
+        AdminUploadSessionDto fresh = later.open(DEFINITION_ID, SOURCE, request(null), "admin");
+
+        assertThat(uploads.resolve(session.uploadId())).doesNotExist();
+        assertThat(Files.isDirectory(uploads.resolve(fresh.uploadId()))).isTrue();
+        verify(reconciliationService, never()).ingest(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void abortDeletesTheSession() {
+        AdminUploadSessionDto session = service.open(DEFINITION_ID, SOURCE, request(null), "admin");
+        put(session, 0, bytes("tradeId\n"));
+
+        service.abort(DEFINITION_ID, SOURCE, session.uploadId());
+
+        assertThat(uploads.resolve(session.uploadId())).doesNotExist();
+    }
+
+    private AdminUploadChunkDto put(AdminUploadSessionDto session, int index, byte[] chunk) {
+        return service.putChunk(
+                DEFINITION_ID, SOURCE, session.uploadId(), index, sha256(chunk), new ByteArrayInputStream(chunk));
+    }
+
+    private static AdminUploadSessionRequest request(String contentEncoding) {
+        return new AdminUploadSessionRequest(
+                IngestionAdapterType.CSV_FILE, Map.of("delimiter", ","), "cash", contentEncoding, 16L);
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(bytes(text));
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
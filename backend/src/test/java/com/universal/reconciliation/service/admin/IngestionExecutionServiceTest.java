@@ -0,0 +1,320 @@
+package com.universal.reconciliation.service.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.universal.reconciliation.config.AsyncIngestionProperties;
+import com.universal.reconciliation.domain.dto.admin.AdminIngestionBatchDto;
+import com.universal.reconciliation.domain.dto.admin.AdminIngestionBatchProgressDto;
+import com.universal.reconciliation.domain.dto.admin.AdminIngestionRequest;
+import com.universal.reconciliation.domain.entity.SourceDataBatch;
+import com.universal.reconciliation.domain.enums.DataBatchStatus;
+import com.universal.reconciliation.domain.enums.IngestionAdapterType;
+import com.universal.reconciliation.service.ingestion.IngestionAdapterRequest;
+import com.universal.reconciliation.service.ingestion.IngestionProgressListener;
+import com.universal.reconciliation.service.ingestion.SourceIngestionService;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class IngestionExecutionServiceTest {
+
+    private final AdminReconciliationService adminReconciliationService = mock(AdminReconciliationService.class);
+    private final SourceIngestionService sourceIngestionService = mock(SourceIngestionService.class);
+    private final AsyncIngestionProperties properties = new AsyncIngestionProperties();
+    private final Map<Long, CountDownLatch> releases = new ConcurrentHashMap<>();
+    private final Set<Long> started = ConcurrentHashMap.newKeySet();
+    private IngestionExecutionService service;
+
+    @AfterEach
+    void tearDown() {
+        releases.values().forEach(CountDownLatch::countDown);
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void submit_returnsLoadingBatchAndReportsProgressWhileLoading(@TempDir Path stagingDirectory) throws Exception {
+        properties.setStagingDirectory(stagingDirectory.toString());
+        service = new IngestionExecutionService(adminReconciliationService, sourceIngestionService, properties);
+        accept(1L, 10L);
+        batch(1L, 10L, DataBatchStatus.LOADING, null);
+        CountDownLatch release = block(10L);
+        doAnswer(invocation -> {
+            IngestionAdapterRequest request = invocation.getArgument(1);
+            IngestionProgressListener listener = invocation.getArgument(2);
+            String payload = new String(request.inputStreamSupplier().get().readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(payload).isEqualTo("id,amount\n1,10\n2,20\n");
+            listener.progressed(2, 1);
+            started.add(10L);
+            release.await(5, TimeUnit.SECONDS);
+            listener.progressed(2, 2);
+            return null;
+        }).when(sourceIngestionService).load(eq(10L), any(), any());
+
+        AdminIngestionBatchDto accepted = service.submit(1L, "CASH", metadata(),
+                target -> Files.writeString(target, "id,amount\n1,10\n2,20\n"), null, Map.of(), "admin");
+
+        assertThat(accepted.status()).isEqualTo(DataBatchStatus.LOADING);
+        awaitStarted(10L);
+        AdminIngestionBatchProgressDto loading = service.status(1L, "CASH", 10L);
+        assertThat(loading.status()).isEqualTo(DataBatchStatus.LOADING);
+        assertThat(loading.rowsRead()).isEqualTo(2L);
+        assertThat(loading.rowsPersisted()).isEqualTo(1L);
+        assertThat(loading.startedAt()).isNotNull();
+        assertThat(loading.completedAt()).isNull();
+
+        release.countDown();
+        verify(sourceIngestionService, timeout(5000)).load(eq(10L), any(), any());
+        awaitEmpty(stagingDirectory);
+        batch(1L, 10L, DataBatchStatus.COMPLETE, 2L);
+        AdminIngestionBatchProgressDto complete = service.status(1L, "CASH", 10L);
+        assertThat(complete.status()).isEqualTo(DataBatchStatus.COMPLETE);
+        assertThat(complete.rowsPersisted()).isEqualTo(2L);
+        assertThat(complete.completedAt()).isNotNull();
+        verify(sourceIngestionService, never()).markFailed(anyLong());
+    }
+
+    @Test
+    void submit_marksBatchFailedAndKeepsTheFailureMessage() throws Exception {
+        service = new IngestionExecutionService(adminReconciliationService, sourceIngestionService, properties);
+        accept(1L, 11L);
+        doAnswer(invocation -> {
+            throw new IllegalArgumentException("Row 2: amount is not a number");
+        }).when(sourceIngestionService).load(eq(11L), any(), any());
+        CompletableFuture<Boolean> completion = new CompletableFuture<>();
+
+        service.submit(1L, "CASH", metadata(), payload(), "admin", completion::complete);
+
+        assertThat(completion.get(5, TimeUnit.SECONDS)).isFalse();
+        verify(sourceIngestionService).markFailed(11L);
+        batch(1L, 11L, DataBatchStatus.FAILED, null);
+        AdminIngestionBatchProgressDto failed = service.status(1L, "CASH", 11L);
+        assertThat(failed.status()).isEqualTo(DataBatchStatus.FAILED);
+        assertThat(failed.failure()).isEqualTo("Row 2: amount is not a number");
+    }
+
+    @Test
+    void submit_loadsOneBatchPerDefinitionAtATimeWhileOtherDefinitionsProceed() throws Exception {
+        service = new IngestionExecutionService(adminReconciliationService, sourceIngestionService, properties);
+        accept(1L, 20L, 21L);
+        accept(2L, 30L);
+        CountDownLatch first = block(20L);
+        block(21L).countDown();
+        block(30L).countDown();
+
+        service.submit(1L, "CASH", metadata(), payload(), "admin", succeeded -> {});
+        awaitStarted(20L);
+        service.submit(1L, "CASH", metadata(), payload(), "admin", succeeded -> {});
+        service.submit(2L, "CASH", metadata(), payload(), "admin", succeeded -> {});
+
+        verify(sourceIngestionService, timeout(5000)).load(eq(30L), any(), any());
+        assertThat(started).doesNotContain(21L);
+
+        first.countDown();
+        verify(sourceIngestionService, timeout(5000)).load(eq(21L), any(), any());
+    }
+
+    @Test
+    void submit_rejectsBatchesOnceWorkersAndQueueAreFull() throws Exception {
+        properties.setWorkerThreads(1);
+        properties.setQueueCapacity(0);
+        service = new IngestionExecutionService(adminReconciliationService, sourceIngestionService, properties);
+        accept(1L, 40L);
+        CountDownLatch release = block(40L);
+        service.submit(1L, "CASH", metadata(), payload(), "admin", succeeded -> {});
+        awaitStarted(40L);
+        CompletableFuture<Boolean> completion = new CompletableFuture<>();
+
+        assertThatThrownBy(() -> service.submit(2L, "CASH", metadata(), payload(), "admin", completion::complete))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(completion.getNow(null)).isFalse();
+        verify(adminReconciliationService, never()).openIngestion(eq(2L), any(), any(), any(), any());
+
+        release.countDown();
+        accept(2L, 41L);
+        block(41L).countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!started.contains(41L) && System.nanoTime() < deadline) {
+            try {
+                service.submit(2L, "CASH", metadata(), payload(), "admin", succeeded -> {});
+                awaitStarted(41L);
+            } catch (ResponseStatusException stillBusy) {
+                Thread.sleep(10);
+            }
+        }
+        assertThat(started).contains(41L);
+    }
+
+    @Test
+    void submit_releasesTheSlotWhenTheBatchCannotBeOpened() {
+        properties.setWorkerThreads(1);
+        properties.setQueueCapacity(0);
+        service = new IngestionExecutionService(adminReconciliationService, sourceIngestionService, properties);
+        when(adminReconciliationService.openIngestion(eq(1L), eq("CASH"), any(), any(), eq("admin")))
+                .thenThrow(new IllegalArgumentException("Unknown source code CASH"));
+        CompletableFuture<Boolean> completion = new CompletableFuture<>();
+
+        assertThatThrownBy(() -> service.submit(1L, "CASH", metadata(), payload(), "admin", completion::complete))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.submit(1L, "CASH", metadata(), payload(), "admin", succeeded -> {}))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(completion.getNow(null)).isFalse();
+        verify(adminReconciliationService, times(2)).openIngestion(eq(1L), eq("CASH"), any(), any(), eq("admin"));
+        verify(sourceIngestionService, never()).load(anyLong(), any(), any());
+    }
+
+    @Test
+    void shutdown_failsLoadsThatHaveNotStarted() throws Exception {
+        properties.setWorkerThreads(1);
+        service = new IngestionExecutionService(adminReconciliationService, sourceIngestionService, properties);
+        accept(1L, 50L, 51L);
+        accept(2L, 60L);
+        block(50L);
+        service.submit(1L, "CASH", metadata(), payload(), "admin", succeeded -> {});
+        awaitStarted(50L);
+        CompletableFuture<Boolean> waitingForLane = new CompletableFuture<>();
+        CompletableFuture<Boolean> queuedForWorker = new CompletableFuture<>();
+        service.submit(1L, "CASH", metadata(), payload(), "admin", waitingForLane::complete);
+        service.submit(2L, "CASH", metadata(), payload(), "admin", queuedForWorker::complete);
+
+        service.shutdown();
+
+        assertThat(waitingForLane.getNow(null)).isFalse();
+        assertThat(queuedForWorker.getNow(null)).isFalse();
+        verify(sourceIngestionService).markFailed(51L);
+        verify(sourceIngestionService).markFailed(60L);
+        verify(sourceIngestionService, never()).load(eq(51L), any(), any());
+        verify(sourceIngestionService, never()).load(eq(60L), any(), any());
+        batch(2L, 60L, DataBatchStatus.FAILED, null);
+        assertThat(service.status(2L, "CASH", 60L).failure())
+                .isEqualTo("Ingestion stopped before the batch was loaded");
+    }
+
+    @Test
+    void submit_failsBatchesAcceptedAfterShutdown() {
+        service = new IngestionExecutionService(adminReconciliationService, sourceIngestionService, properties);
+        accept(1L, 70L);
+        service.shutdown();
+        CompletableFuture<Boolean> completion = new CompletableFuture<>();
+
+        service.submit(1L, "CASH", metadata(), payload(), "admin", completion::complete);
+
+        assertThat(completion.getNow(null)).isFalse();
+        verify(sourceIngestionService).markFailed(70L);
+        verify(sourceIngestionService, never()).load(anyLong(), any(), any());
+    }
+
+    @Test
+    void run_failsBatchesLeftLoadingAndDeletesTheirStagedPayloads(@TempDir Path stagingDirectory) throws Exception {
+        properties.setStagingDirectory(stagingDirectory.toString());
+        Path orphaned = Files.writeString(stagingDirectory.resolve("batch-1.payload"), "id\n1\n");
+        Path unrelated = Files.writeString(stagingDirectory.resolve("notes.txt"), "keep");
+        service = new IngestionExecutionService(adminReconciliationService, sourceIngestionService, properties);
+        accept(1L, 80L);
+        block(80L);
+        service.submit(1L, "CASH", metadata(), target -> Files.writeString(target, "id\n2\n"), null, Map.of(), "admin");
+        awaitStarted(80L);
+        when(sourceIngestionService.failLoadingBatchesExcept(Set.of(80L))).thenReturn(List.of(7L, 8L));
+
+        service.run();
+
+        verify(sourceIngestionService).failLoadingBatchesExcept(Set.of(80L));
+        assertThat(orphaned).doesNotExist();
+        assertThat(unrelated).exists();
+        try (var files = Files.list(stagingDirectory)) {
+            assertThat(files.filter(file -> file.getFileName().toString().startsWith("batch-"))).hasSize(1);
+        }
+    }
+
+    private void accept(Long definitionId, Long batchId, Long... more) {
+        AdminIngestionBatchDto[] rest = new AdminIngestionBatchDto[more.length];
+        for (int i = 0; i < more.length; i++) {
+            rest[i] = accepted(more[i]);
+        }
+        when(adminReconciliationService.openIngestion(eq(definitionId), eq("CASH"), any(), any(), eq("admin")))
+                .thenReturn(accepted(batchId), rest);
+    }
+
+    /** Makes the load of {@code batchId} record that it started and wait for the returned latch. */
+    private CountDownLatch block(Long batchId) {
+        CountDownLatch release = new CountDownLatch(1);
+        releases.put(batchId, release);
+        doAnswer(invocation -> {
+            started.add(batchId);
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(sourceIngestionService).load(eq(batchId), any(), any());
+        return release;
+    }
+
+    private void batch(Long definitionId, Long batchId, DataBatchStatus status, Long recordCount) {
+        SourceDataBatch batch = new SourceDataBatch();
+        batch.setId(batchId);
+        batch.setLabel("batch");
+        batch.setStatus(status);
+        batch.setRecordCount(recordCount);
+        when(sourceIngestionService.findBatch(definitionId, "CASH", batchId)).thenReturn(Optional.of(batch));
+    }
+
+    private void awaitStarted(Long batchId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!started.contains(batchId) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(started).contains(batchId);
+    }
+
+    private static void awaitEmpty(Path directory) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            try (var files = Files.list(directory)) {
+                if (files.findAny().isEmpty()) {
+                    return;
+                }
+            }
+            Thread.sleep(10);
+        }
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    private static AdminIngestionBatchDto accepted(Long batchId) {
+        return new AdminIngestionBatchDto(batchId, "batch", DataBatchStatus.LOADING, null, null, Instant.EPOCH);
+    }
+
+    private static AdminIngestionRequest metadata() {
+        return new AdminIngestionRequest(IngestionAdapterType.CSV_FILE, Map.of(), "batch");
+    }
+
+    private static IngestionAdapterRequest payload() {
+        return new IngestionAdapterRequest(() -> new ByteArrayInputStream(new byte[0]), Map.of());
+    }
+}
@@ -0,0 +1,120 @@
+package com.universal.reconciliation.service.ingestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class CsvIngestionAdapterTest {
+
+    private final CsvIngestionAdapter adapter = new CsvIngestionAdapter();
+
+    @Test
+    void streamRecordsParsesLazilyAndClosesInput() {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream input = new ByteArrayInputStream(
+                "id;amount\n1;10\n\n2;20\n".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+
+        try (Stream<Map<String, Object>> rows =
+                adapter.streamRecords(new IngestionAdapterRequest(() -> input, Map.of("delimiter", ";")))) {
+            Iterator<Map<String, Object>> iterator = rows.iterator();
+            assertThat(iterator.next()).containsEntry("id", "1").containsEntry("amount", "10");
+            assertThat(closed).isFalse();
+            assertThat(iterator.next()).containsEntry("id", "2");
+            assertThat(iterator.hasNext()).isFalse();
+        }
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void readRecordsReturnsEveryRow() {
+        List<Map<String, Object>> rows = adapter.readRecords(new IngestionAdapterRequest(
+                () -> new ByteArrayInputStream("id,amount\n1,10\n2,20\n".getBytes(StandardCharsets.UTF_8)), null));
+
+        assertThat(rows).extracting(row -> row.get("id")).containsExactly("1", "2");
+    }
+
+    @Test
+    void fastReaderProducesTheSameRowsAsCommonsCsv() {
+        String longValue = "x".repeat(70_000);
+        String csv = "id, name ,note,name\r\n"
+                + "1,\"Smith, J\",\"said \"\"hi\"\"\",first\r\n"
+                + "\n"
+                + "2,  Zoë  ,\"multi\r\nline\"  ,second,extra\r"
+                + "3,short\n"
+                + "4,\"" + longValue + "\",,\n"
+                + "   \n"
+                + "5,\"\",\"  padded  \",last";
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+
+        List<Map<String, Object>> expected = adapter.readRecords(new IngestionAdapterRequest(
+                () -> new ByteArrayInputStream(bytes), Map.of()));
+        List<Map<String, Object>> fast = adapter.readRecords(new IngestionAdapterRequest(
+                () -> new OneByteInputStream(bytes), Map.of(CsvIngestionAdapter.OPTION_FAST_READER, true)));
+
+        assertThat(fast).hasSize(6).isEqualTo(expected);
+        for (int index = 0; index < fast.size(); index++) {
+            assertThat(fast.get(index).keySet()).containsExactlyElementsOf(expected.get(index).keySet());
+        }
+        assertThat(fast.get(1)).containsEntry("name", "second").containsEntry("note", "multi\r\nline");
+        assertThat(fast.get(2)).containsOnlyKeys("id");
+        assertThat(fast.get(3)).containsEntry("name", "");
+        assertThat(fast.get(3).get("name")).isEqualTo(expected.get(3).get("name"));
+        assertThat(fast.get(0)).isInstanceOf(FastCsvReader.Row.class);
+    }
+
+    @Test
+    void fastReaderRejectsCharactersAfterAClosingQuote() {
+        IngestionAdapterRequest request = new IngestionAdapterRequest(
+                () -> new ByteArrayInputStream("id,name\n1,\"a\"b\n".getBytes(StandardCharsets.UTF_8)),
+                Map.of(CsvIngestionAdapter.OPTION_FAST_READER, "true"));
+
+        assertThatThrownBy(() -> adapter.readRecords(request))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("invalid char between encapsulated token and delimiter");
+    }
+
+    @Test
+    void fastReaderRowsCopyThemselvesOnFirstWrite() {
+        IngestionAdapterRequest request = new IngestionAdapterRequest(
+                () -> new ByteArrayInputStream("id,name,note\n1,first,x\n".getBytes(StandardCharsets.UTF_8)),
+                Map.of(CsvIngestionAdapter.OPTION_FAST_READER, true));
+        Map<String, Object> row = adapter.readRecords(request).get(0);
+
+        row.put("name", "renamed");
+        row.put("extra", 5);
+        row.remove("note");
+
+        assertThat(row).containsExactly(Map.entry("id", "1"), Map.entry("name", "renamed"), Map.entry("extra", 5));
+        assertThat(row.get("note")).isNull();
+    }
+
+    /** Serves one byte per read so every value straddles a refill of the reader's block. */
+    private static final class OneByteInputStream extends ByteArrayInputStream {
+
+        private OneByteInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public synchronized int read(byte[] target, int offset, int length) {
+            return super.read(target, offset, Math.min(length, 1));
+        }
+    }
+}
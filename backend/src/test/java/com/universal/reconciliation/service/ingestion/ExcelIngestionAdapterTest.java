@@ -7,8 +7,12 @@ import static org.assertj.core.api.Assertions.within;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
@@ -140,6 +144,65 @@ class ExcelIngestionAdapterTest {
                 });
     }
 
+    @Test
+    void streamsXlsxRowsWithCachedFormulaResultsLikeTheWorkbookModel() throws IOException {
+        byte[] payload = buildWorkbook(workbook -> {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd/mm/yyyy"));
+            Sheet sheet = workbook.createSheet("Trades");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("trade_id");
+            header.createCell(1).setCellValue("quantity");
+            header.createCell(2).setCellValue("notional");
+            header.createCell(3).setCellValue("trade_date");
+            header.createCell(4).setCellValue("active");
+            for (int index = 1; index <= 3; index++) {
+                Row row = sheet.createRow(index);
+                row.createCell(0).setCellValue("T-" + index);
+                row.createCell(1).setCellValue(index * 10);
+                row.createCell(2).setCellFormula("B" + (index + 1) + "*2.5");
+                Cell date = row.createCell(3);
+                date.setCellValue(LocalDate.of(2024, 3, index));
+                date.setCellStyle(dateStyle);
+                row.createCell(4).setCellValue(index % 2 == 1);
+            }
+            sheet.createRow(5).createCell(6).setCellValue("   ");
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+        });
+
+        List<Map<String, Object>> streamed = adapter.readRecords(new IngestionAdapterRequest(
+                () -> new ByteArrayInputStream(payload), Map.of(ExcelIngestionAdapter.OPTION_HAS_HEADER, true)));
+        List<Map<String, Object>> evaluated = adapter.readRecords(new IngestionAdapterRequest(
+                () -> new ByteArrayInputStream(payload),
+                Map.of(
+                        ExcelIngestionAdapter.OPTION_HAS_HEADER, true,
+                        ExcelIngestionAdapter.OPTION_EVALUATE_FORMULAS, true)));
+
+        assertThat(streamed).hasSize(3).containsExactlyElementsOf(evaluated);
+        assertThat(streamed.get(1))
+                .containsEntry("trade_id", "T-2")
+                .containsEntry("quantity", 20.0)
+                .containsEntry("notional", 50.0)
+                .containsEntry("trade_date", "02/03/2024")
+                .containsEntry("active", false);
+    }
+
+    @Test
+    void streamRecordsReadsSheetsLazily() throws IOException {
+        byte[] payload = buildWorkbook(workbook -> {
+            Sheet sheet = workbook.createSheet("Large");
+            sheet.createRow(0).createCell(0).setCellValue("id");
+            for (int index = 1; index <= 5_000; index++) {
+                sheet.createRow(index).createCell(0).setCellValue("ID-" + index);
+            }
+        });
+
+        try (Stream<Map<String, Object>> records = adapter.streamRecords(new IngestionAdapterRequest(
+                () -> new ByteArrayInputStream(payload), Map.of(ExcelIngestionAdapter.OPTION_HAS_HEADER, true)))) {
+            assertThat(records.skip(4_998).map(row -> row.get("id"))).containsExactly("ID-4999", "ID-5000");
+        }
+    }
+
     private byte[] buildWorkbook(WorkbookBuilder builder) throws IOException {
         try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
             builder.accept(workbook);
@@ -0,0 +1,111 @@
+package com.universal.reconciliation.service.ingestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class JsonLinesIngestionAdapterTest {
+
+    private final JsonLinesIngestionAdapter adapter = new JsonLinesIngestionAdapter();
+
+    @Test
+    void readsOneTypedRecordPerLine() {
+        String payload = """
+                {"tradeId":"T-1","quantity":100,"notional":12500000000,"price":101.25,"active":true,"desk":{"name":"Rates","region":"EMEA"},"tags":["a","b"],"comment":null}
+
+                {"tradeId":"T-2","quantity":-5,"price":1E+2,"active":false}
+                """;
+
+        List<Map<String, Object>> rows = adapter.readRecords(request(payload, Map.of()));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0))
+                .containsExactly(
+                        Map.entry("tradeId", "T-1"),
+                        Map.entry("quantity", 100),
+                        Map.entry("notional", 12_500_000_000L),
+                        Map.entry("price", new BigDecimal("101.25")),
+                        Map.entry("active", true),
+                        Map.entry("desk.name", "Rates"),
+                        Map.entry("desk.region", "EMEA"),
+                        Map.entry("tags", List.of("a", "b")));
+        assertThat(rows.get(1))
+                .containsEntry("quantity", -5)
+                .containsEntry("price", new BigDecimal("1E+2"))
+                .containsEntry("active", false);
+    }
+
+    @Test
+    void selectsWrappedRecordsWithTheRecordPath() {
+        String payload = """
+                {"meta":{"seq":1},"payload":{"trade":{"id":"A","qty":1},"audit":{"user":"x"}},"tail":[1,2]}
+                {"type":"heartbeat"}
+                {"payload":{"trade":[{"id":"B","qty":2},{},{"id":"C","qty":3}]},"tail":{"ignored":true}}
+                {"payload":{"trade":"not-a-record"}}
+                {"payload":{"other":{"trade":{"id":"Z"}}}}
+                [{"payload":{"trade":{"id":"Z"}}}]
+                {"payload":{"trade":{"id":"D"}}}
+                """;
+
+        for (String recordPath : List.of("/payload/trade", "payload.trade")) {
+            List<Map<String, Object>> rows = adapter.readRecords(
+                    request(payload, Map.of(JsonLinesIngestionAdapter.OPTION_RECORD_PATH, recordPath)));
+
+            assertThat(rows).extracting(row -> row.get("id")).containsExactly("A", "B", "C", "D");
+            assertThat(rows.get(0)).containsOnlyKeys("id", "qty");
+        }
+    }
+
+    @Test
+    void readsTopLevelArraysElementByElement() {
+        List<Map<String, Object>> rows =
+                adapter.readRecords(request("[{\"id\":1},{\"id\":2}]\n{\"id\":3}", Map.of()));
+
+        assertThat(rows).extracting(row -> row.get("id")).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void streamRecordsParsesLazilyAndClosesInput() {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream input = new ByteArrayInputStream("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+
+        try (Stream<Map<String, Object>> rows = adapter.streamRecords(new IngestionAdapterRequest(() -> input, null))) {
+            Iterator<Map<String, Object>> iterator = rows.iterator();
+            assertThat(iterator.next()).containsEntry("id", 1);
+            assertThat(closed).isFalse();
+            assertThat(iterator.next()).containsEntry("id", 2);
+            assertThat(iterator.hasNext()).isFalse();
+        }
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void reportsMalformedLines() {
+        assertThatThrownBy(() -> adapter.readRecords(request("{\"id\":1}\n{\"id\":", Map.of())))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("near line 2");
+    }
+
+    private IngestionAdapterRequest request(String payload, Map<String, Object> options) {
+        return new IngestionAdapterRequest(
+                () -> new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)), options);
+    }
+}
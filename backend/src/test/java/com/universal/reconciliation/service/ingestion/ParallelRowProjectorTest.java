@@ -0,0 +1,81 @@
+package com.universal.reconciliation.service.ingestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.universal.reconciliation.config.IngestionProperties;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelRowProjectorTest {
+
+    private final ParallelRowProjector projector = new ParallelRowProjector(new IngestionProperties());
+
+    @AfterEach
+    void tearDown() {
+        projector.shutdown();
+    }
+
+    @Test
+    void project_preservesInputOrderAcrossParallelSlices() {
+        List<Map<String, Object>> rows = rows(ParallelRowProjector.MIN_SLICE_ROWS * 8 + 17);
+        Set<String> workerThreads = ConcurrentHashMap.newKeySet();
+
+        List<Object> projected = projector.project(rows, 1, 4, row -> {
+            workerThreads.add(Thread.currentThread().getName());
+            return row.get("id");
+        });
+
+        assertThat(projected).containsExactlyElementsOf(rows.stream().map(row -> row.get("id")).toList());
+        assertThat(workerThreads).allMatch(name -> name.startsWith("ingestion-projection-"));
+    }
+
+    @Test
+    void project_runsSmallChunksOnCallingThread() {
+        String caller = Thread.currentThread().getName();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        projector.project(rows(ParallelRowProjector.MIN_SLICE_ROWS), 1, 4, row -> {
+            threads.add(Thread.currentThread().getName());
+            return row;
+        });
+
+        assertThat(threads).containsExactly(caller);
+    }
+
+    @Test
+    void project_reportsEarliestFailingRow() {
+        int total = ParallelRowProjector.MIN_SLICE_ROWS * 4;
+
+        assertThatThrownBy(() -> projector.project(rows(total), 101, 4, row -> {
+                    int id = (Integer) row.get("id");
+                    if (id == 300 || id == total - 1) {
+                        throw new IllegalArgumentException("Missing required value for canonical field tradeId");
+                    }
+                    return id;
+                }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Row 401: Missing required value for canonical field tradeId");
+    }
+
+    @Test
+    void project_numbersRowsOnSerialPath() {
+        assertThatThrownBy(() -> projector.project(rows(5), 11, 1, row -> {
+                    if ((Integer) row.get("id") == 2) {
+                        throw new IllegalArgumentException("Unable to parse date value: x");
+                    }
+                    return row;
+                }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Row 13: Unable to parse date value: x");
+    }
+
+    private static List<Map<String, Object>> rows(int count) {
+        return IntStream.range(0, count).<Map<String, Object>>mapToObj(id -> Map.of("id", id)).toList();
+    }
+}
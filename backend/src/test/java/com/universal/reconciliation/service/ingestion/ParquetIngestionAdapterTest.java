@@ -0,0 +1,244 @@
+package com.universal.reconciliation.service.ingestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.universal.reconciliation.service.transform.TransformationEvaluationException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParquetIngestionAdapterTest {
+
+    private static final MessageType SCHEMA = MessageTypeParser.parseMessageType("""
+            message trade {
+              required binary tradeId (STRING);
+              optional int32 tradeDate (DATE);
+              optional int64 notional (DECIMAL(18,2));
+              optional binary price (DECIMAL(20,6));
+              optional int64 executedAt (TIMESTAMP(MICROS,true));
+              optional int96 settledAt;
+              optional int32 cutOff (TIME(MILLIS,false));
+              optional int64 sequence (INTEGER(64,false));
+              optional fixed_len_byte_array(16) uuid (UUID);
+              optional boolean active;
+              optional double rate;
+              optional group desk {
+                optional binary name (STRING);
+                optional binary region (STRING);
+              }
+              repeated int32 tags;
+            }
+            """);
+
+    private final ParquetIngestionAdapter adapter = new ParquetIngestionAdapter();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsLogicalTypesAndFlattensNestedGroups() throws IOException {
+        UUID uuid = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+        byte[] payload = write(factory -> List.of(
+                factory.newGroup()
+                        .append("tradeId", "T-1")
+                        .append("tradeDate", (int) LocalDate.of(2024, 1, 15).toEpochDay())
+                        .append("notional", 1_250_000_00L)
+                        .append("price", Binary.fromConstantByteArray(
+                                new BigDecimal("-101.250000").unscaledValue().toByteArray()))
+                        .append("executedAt", 1_705_312_800_123_456L)
+                        .append("settledAt", int96(LocalDate.of(2024, 1, 17), 3_600_000_000_000L))
+                        .append("cutOff", 16 * 3_600_000)
+                        .append("sequence", -1L)
+                        .append("uuid", Binary.fromConstantByteArray(ByteBuffer.allocate(16)
+                                .putLong(uuid.getMostSignificantBits())
+                                .putLong(uuid.getLeastSignificantBits())
+                                .array()))
+                        .append("active", true)
+                        .append("rate", 0.5d)
+                        .append("tags", 7)
+                        .append("tags", 8),
+                withDesk(factory.newGroup().append("tradeId", "T-2"), "Rates", "EMEA")));
+
+        List<Map<String, Object>> rows = adapter.readRecords(request(payload, null));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).containsExactly(
+                entry("tradeId", "T-1"),
+                entry("tradeDate", LocalDate.of(2024, 1, 15)),
+                entry("notional", new BigDecimal("1250000.00")),
+                entry("price", new BigDecimal("-101.250000")),
+                entry("executedAt", LocalDateTime.of(2024, 1, 15, 10, 0, 0, 123_456_000)),
+                entry("settledAt", LocalDateTime.of(2024, 1, 17, 1, 0)),
+                entry("cutOff", LocalTime.of(16, 0)),
+                entry("sequence", new BigInteger("18446744073709551615")),
+                entry("uuid", uuid.toString()),
+                entry("active", true),
+                entry("rate", 0.5d));
+        assertThat(rows.get(1)).containsExactly(
+                entry("tradeId", "T-2"), entry("desk.name", "Rates"), entry("desk.region", "EMEA"));
+    }
+
+    @Test
+    void readsOnlyRequiredColumns() throws IOException {
+        byte[] payload = write(factory -> List.of(
+                withDesk(factory.newGroup().append("tradeId", "T-1").append("rate", 1.5d), "Rates", "EMEA"),
+                factory.newGroup().append("tradeId", "T-2").append("rate", 2.5d)));
+
+        List<Map<String, Object>> rows = adapter.readRecords(
+                request(payload, Set.of("tradeId", "desk.region", "externalReference")));
+
+        assertThat(rows).containsExactly(
+                Map.of("tradeId", "T-1", "desk.region", "EMEA"),
+                Map.of("tradeId", "T-2"));
+        assertThat(adapter.readRecords(request(payload, Set.of("unknown"))).get(0))
+                .containsOnlyKeys("tradeId", "rate", "desk.name", "desk.region");
+    }
+
+    @Test
+    void readsAcrossRowGroupsLazilyAndDeletesTheTemporaryCopyOnClose() throws IOException {
+        byte[] payload = write(factory -> {
+            Group[] groups = new Group[2_000];
+            for (int index = 0; index < groups.length; index++) {
+                groups[index] = factory.newGroup().append("tradeId", "T-" + index).append("rate", index * 1d);
+            }
+            return List.of(groups);
+        });
+        Set<Path> before = temporaryCopies();
+
+        try (Stream<Map<String, Object>> rows = adapter.streamRecords(request(payload, Set.of("tradeId")))) {
+            Iterator<Map<String, Object>> iterator = rows.iterator();
+            assertThat(iterator.next()).containsExactly(entry("tradeId", "T-0"));
+            assertThat(temporaryCopies()).hasSizeGreaterThan(before.size());
+            long remaining = 0;
+            while (iterator.hasNext()) {
+                iterator.next();
+                remaining++;
+            }
+            assertThat(remaining).isEqualTo(1_999);
+        }
+        assertThat(temporaryCopies()).isSubsetOf(before);
+    }
+
+    @Test
+    void readsSnappyCompressedFiles() throws IOException {
+        assertRoundTrip(CompressionCodecName.SNAPPY);
+    }
+
+    @Test
+    void readsZstdCompressedFiles() throws IOException {
+        assertRoundTrip(CompressionCodecName.ZSTD);
+    }
+
+    @Test
+    void rejectsPayloadsThatAreNotParquet() {
+        byte[] payload = "tradeId,rate\nT-1,1.5\n".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> adapter.readRecords(request(payload, null)))
+                .isInstanceOf(TransformationEvaluationException.class)
+                .hasMessage("Failed to read Parquet payload");
+    }
+
+    private void assertRoundTrip(CompressionCodecName codec) throws IOException {
+        byte[] payload = write(codec, factory -> List.of(
+                withDesk(factory.newGroup().append("tradeId", "T-1").append("rate", 1.5d), "Rates", "EMEA"),
+                factory.newGroup()
+                        .append("tradeId", "T-2")
+                        .append("tradeDate", (int) LocalDate.of(2024, 1, 15).toEpochDay())
+                        .append("notional", 1_250_000_00L)));
+        try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(tempDir.resolve("trades.parquet")))) {
+            assertThat(reader.getFooter().getBlocks().get(0).getColumns())
+                    .allSatisfy(column -> assertThat(column.getCodec()).isEqualTo(codec));
+        }
+
+        List<Map<String, Object>> rows = adapter.readRecords(request(payload, null));
+
+        assertThat(rows).containsExactly(
+                Map.of("tradeId", "T-1", "rate", 1.5d, "desk.name", "Rates", "desk.region", "EMEA"),
+                Map.of("tradeId", "T-2",
+                        "tradeDate", LocalDate.of(2024, 1, 15),
+                        "notional", new BigDecimal("1250000.00")));
+    }
+
+    private byte[] write(Function<SimpleGroupFactory, List<Group>> rows) throws IOException {
+        return write(CompressionCodecName.UNCOMPRESSED, rows);
+    }
+
+    private byte[] write(CompressionCodecName codec, Function<SimpleGroupFactory, List<Group>> rows)
+            throws IOException {
+        Path file = tempDir.resolve("trades.parquet");
+        Files.deleteIfExists(file);
+        try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(new LocalOutputFile(file))
+                .withConf(new PlainParquetConfiguration())
+                .withType(SCHEMA)
+                .withCompressionCodec(codec)
+                .withRowGroupSize(16 * 1024L)
+                .withPageSize(1024)
+                .build()) {
+            for (Group row : rows.apply(new SimpleGroupFactory(SCHEMA))) {
+                writer.write(row);
+            }
+        }
+        return Files.readAllBytes(file);
+    }
+
+    private static Group withDesk(Group row, String name, String region) {
+        row.addGroup("desk").append("name", name).append("region", region);
+        return row;
+    }
+
+    private static Binary int96(LocalDate date, long nanosOfDay) {
+        return Binary.fromConstantByteArray(ByteBuffer.allocate(12)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .putLong(nanosOfDay)
+                .putInt((int) (date.toEpochDay() + 2_440_588L))
+                .array());
+    }
+
+    private Set<Path> temporaryCopies() {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(path -> path.getFileName().toString().startsWith("recon-parquet-"))
+                    .collect(Collectors.toSet());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private IngestionAdapterRequest request(byte[] payload, Set<String> requiredColumns) {
+        return new IngestionAdapterRequest(() -> new ByteArrayInputStream(payload), Map.of())
+                .withRequiredColumns(requiredColumns);
+    }
+}
@@ -0,0 +1,95 @@
+package com.universal.reconciliation.service.ingestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.luben.zstd.Zstd;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+
+class PayloadDecompressionTest {
+
+    private static final String CSV = "tradeId,amount\nT-1,100.00\nT-2,250.50\n";
+
+    @Test
+    void recognisesGzipAndZstdPayloadsByTheirMagicBytes() throws IOException {
+        assertThat(read(PayloadDecompression.decode(stream(gzip(CSV)), null))).isEqualTo(CSV);
+        assertThat(read(PayloadDecompression.decode(stream(zstd(CSV)), " "))).isEqualTo(CSV);
+        assertThat(read(PayloadDecompression.decode(stream(bytes(CSV)), null))).isEqualTo(CSV);
+        assertThat(read(PayloadDecompression.decode(stream(new byte[] {0x1f}), null)))
+                .isEqualTo(new String(new byte[] {0x1f}, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void honoursTheDeclaredContentEncoding() throws IOException {
+        byte[] concatenated = concat(gzip("tradeId,amount\n"), gzip("T-1,100.00\nT-2,250.50\n"));
+
+        assertThat(read(PayloadDecompression.decode(stream(concatenated), "GZIP"))).isEqualTo(CSV);
+        assertThat(read(PayloadDecompression.decode(stream(gzip(CSV)), "x-gzip"))).isEqualTo(CSV);
+        assertThat(read(PayloadDecompression.decode(stream(zstd(CSV)), "zstd"))).isEqualTo(CSV);
+        assertThat(PayloadDecompression.decode(stream(gzip(CSV)), "identity").readAllBytes()).isEqualTo(gzip(CSV));
+        assertThatThrownBy(() -> PayloadDecompression.decode(stream(bytes(CSV)), "br"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported content encoding: br");
+        assertThatThrownBy(() -> PayloadDecompression.decode(stream(bytes(CSV)), "gzip"))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void adaptersReadDecompressedPayloads() {
+        byte[] payload = gzip(CSV);
+        IngestionAdapterRequest request = new IngestionAdapterRequest(() -> {
+            try {
+                return PayloadDecompression.decode(stream(payload), null);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }, Map.of());
+
+        List<Map<String, Object>> rows = new CsvIngestionAdapter().readRecords(request);
+
+        assertThat(rows).extracting(row -> row.get("tradeId")).containsExactly("T-1", "T-2");
+    }
+
+    private static byte[] gzip(String text) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(bytes(text));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] zstd(String text) {
+        return Zstd.compress(bytes(text));
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] combined = new byte[first.length + second.length];
+        System.arraycopy(first, 0, combined, 0, first.length);
+        System.arraycopy(second, 0, combined, first.length, second.length);
+        return combined;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static InputStream stream(byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private static String read(InputStream input) throws IOException {
+        try (input) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.universal.reconciliation.service.ingestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.universal.reconciliation.domain.entity.CanonicalField;
+import com.universal.reconciliation.domain.entity.CanonicalFieldMapping;
+import com.universal.reconciliation.domain.enums.ComparisonLogic;
+import com.universal.reconciliation.domain.enums.FieldDataType;
+import com.universal.reconciliation.domain.enums.FieldRole;
+import com.universal.reconciliation.service.transform.DataTransformationService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ProjectionPlanTest {
+
+    private final DataTransformationService transformationService = new DataTransformationService(null, null, null);
+
+    @Test
+    void projectAppliesDefaultsDateFormatsAndTargetTypes() {
+        CanonicalField tradeId = field(1L, "tradeId", FieldRole.KEY, FieldDataType.STRING);
+        CanonicalField book = field(2L, "book", FieldRole.KEY, FieldDataType.STRING);
+        CanonicalField amount = field(3L, "amount", FieldRole.COMPARE, FieldDataType.DECIMAL);
+        CanonicalField tradeDate = field(4L, "tradeDate", FieldRole.COMPARE, FieldDataType.DATE);
+        CanonicalField comment = field(5L, "comment", FieldRole.DISPLAY, FieldDataType.STRING);
+        CanonicalFieldMapping amountMapping = mapping(amount, "Amount");
+        amountMapping.setDefaultValue("0");
+        CanonicalFieldMapping dateMapping = mapping(tradeDate, "Trade Date");
+        dateMapping.setSourceDateFormat("dd/MM/yyyy");
+        ProjectionPlan plan = ProjectionPlan.compile(
+                List.of(tradeId, book, amount, tradeDate, comment),
+                Map.of(
+                        1L, mapping(tradeId, "Trade"),
+                        2L, mapping(book, "Book"),
+                        3L, amountMapping,
+                        4L, dateMapping),
+                transformationService);
+
+        Map<String, Object> raw = new HashMap<>(Map.of("Trade", " T-1 ", "Book", "FX", "Amount", " ", "Trade Date", "15/01/2024"));
+        Map<String, Object> payload = plan.project(raw);
+
+        assertThat(payload).containsExactly(
+                entry("tradeId", "T-1"),
+                entry("book", "FX"),
+                entry("amount", new BigDecimal("0")),
+                entry("tradeDate", LocalDate.of(2024, 1, 15)),
+                entry("comment", null));
+        assertThat(plan.canonicalKey(payload)).isEqualTo("T-1|FX");
+        assertThat(plan.externalReference(payload, raw)).isEqualTo("T-1");
+        assertThat(plan.comparisonPlan().fingerprint(payload)).hasSize(64);
+    }
+
+    @Test
+    void projectReportsMissingRequiredValuesAndUnparseableDates() {
+        CanonicalField tradeId = field(1L, "tradeId", FieldRole.KEY, FieldDataType.STRING);
+        tradeId.setRequired(true);
+        CanonicalField tradeDate = field(2L, "tradeDate", FieldRole.COMPARE, FieldDataType.DATE);
+        CanonicalFieldMapping dateMapping = mapping(tradeDate, "Trade Date");
+        dateMapping.setSourceDateFormat("dd/MM/yyyy");
+        ProjectionPlan plan = ProjectionPlan.compile(
+                List.of(tradeId, tradeDate),
+                Map.of(1L, mapping(tradeId, "Trade"), 2L, dateMapping),
+                transformationService);
+
+        assertThatThrownBy(() -> plan.project(Map.of("Trade Date", "15/01/2024")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Missing required value for canonical field tradeId");
+        assertThatThrownBy(() -> plan.project(Map.of("Trade", "T-1", "Trade Date", "2024-01-15")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unable to normalise date value '2024-01-15' for field tradeDate");
+    }
+
+    @Test
+    void projectAcceptsTypedValuesAndListsTheSourceColumnsItReads() {
+        CanonicalField tradeId = field(1L, "tradeId", FieldRole.KEY, FieldDataType.STRING);
+        CanonicalField amount = field(2L, "amount", FieldRole.COMPARE, FieldDataType.DECIMAL);
+        CanonicalField tradeDate = field(3L, "tradeDate", FieldRole.COMPARE, FieldDataType.DATE);
+        CanonicalField executedAt = field(4L, "executedAt", FieldRole.COMPARE, FieldDataType.DATETIME);
+        CanonicalField comment = field(5L, "comment", FieldRole.DISPLAY, FieldDataType.STRING);
+        CanonicalFieldMapping dateMapping = mapping(tradeDate, "Trade Date");
+        dateMapping.setSourceDateFormat("dd/MM/yyyy");
+        ProjectionPlan plan = ProjectionPlan.compile(
+                List.of(tradeId, amount, tradeDate, executedAt, comment),
+                Map.of(
+                        1L, mapping(tradeId, "Trade"),
+                        2L, mapping(amount, "Amount"),
+                        3L, dateMapping,
+                        4L, mapping(executedAt, "Executed")),
+                transformationService);
+
+        Map<String, Object> payload = plan.project(Map.of(
+                "Trade", "T-1",
+                "Amount", 1_250L,
+                "Trade Date", LocalDateTime.of(2024, 1, 15, 9, 30),
+                "Executed", LocalDate.of(2024, 1, 16)));
+
+        assertThat(payload)
+                .containsEntry("amount", new BigDecimal("1250"))
+                .containsEntry("tradeDate", LocalDate.of(2024, 1, 15))
+                .containsEntry("executedAt", LocalDateTime.of(2024, 1, 16, 0, 0));
+        assertThat(plan.sourceColumns())
+                .contains(Set.of("Trade", "Amount", "Trade Date", "Executed", "externalReference"));
+    }
+
+    private static CanonicalField field(Long id, String name, FieldRole role, FieldDataType dataType) {
+        CanonicalField field = new CanonicalField();
+        field.setId(id);
+        field.setCanonicalName(name);
+        field.setDisplayName(name);
+        field.setRole(role);
+        field.setDataType(dataType);
+        field.setComparisonLogic(ComparisonLogic.EXACT_MATCH);
+        return field;
+    }
+
+    private static CanonicalFieldMapping mapping(CanonicalField field, String sourceColumn) {
+        CanonicalFieldMapping mapping = new CanonicalFieldMapping();
+        mapping.setCanonicalField(field);
+        mapping.setSourceColumn(sourceColumn);
+        return mapping;
+    }
+}
@@ -0,0 +1,191 @@
+package com.universal.reconciliation.service.ingestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.universal.reconciliation.config.IngestionProperties;
+import com.universal.reconciliation.domain.entity.SourceDataBatch;
+import com.universal.reconciliation.service.ingestion.SourceRecordBulkWriter.StagedRecord;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+class SourceRecordBulkWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final IngestionProperties properties = new IngestionProperties();
+    private final SourceRecordBulkWriter writer = new SourceRecordBulkWriter(jdbcTemplate, properties);
+
+    @Test
+    void flush_sendsFullMultiRowStatementsAsOneJdbcBatchAndTheRemainderSeparately() throws Exception {
+        properties.setBulkBatchSize(100);
+        properties.setRowsPerStatement(3);
+        PreparedStatement second = mock(PreparedStatement.class);
+        PreparedStatement last = mock(PreparedStatement.class);
+        when(jdbcTemplate.batchUpdate(eq(statement(3)), any(BatchPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    BatchPreparedStatementSetter setter = invocation.getArgument(1);
+                    assertThat(setter.getBatchSize()).isEqualTo(2);
+                    setter.setValues(second, 1);
+                    return new int[] {3, 3};
+                });
+        when(jdbcTemplate.update(eq(statement(1)), any(PreparedStatementSetter.class))).thenAnswer(invocation -> {
+            ((PreparedStatementSetter) invocation.getArgument(1)).setValues(last);
+            return 1;
+        });
+        SourceRecordBulkWriter.Batch batch = writer.open(batch(42L));
+        for (int index = 0; index < 7; index++) {
+            batch.add(record(index));
+        }
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+
+        batch.flush();
+
+        verify(jdbcTemplate).batchUpdate(eq(statement(3)), any(BatchPreparedStatementSetter.class));
+        verify(jdbcTemplate).update(eq(statement(1)), any(PreparedStatementSetter.class));
+        verify(second).setLong(1, 42L);
+        verify(second).setString(3, "K3");
+        verify(second).setString(12, "K4");
+        verify(second).setString(21, "K5");
+        verify(last).setString(3, "K6");
+        assertThat(batch.written()).isEqualTo(7);
+    }
+
+    @Test
+    void add_flushesEachTimeTheBulkBatchSizeIsReached() {
+        properties.setBulkBatchSize(4);
+        properties.setRowsPerStatement(2);
+        SourceRecordBulkWriter.Batch batch = writer.open(batch(1L));
+
+        for (int index = 0; index < 9; index++) {
+            batch.add(record(index));
+        }
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+        verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+        assertThat(batch.written()).isEqualTo(8);
+
+        batch.flush();
+        batch.flush();
+
+        verify(jdbcTemplate).update(eq(statement(1)), any(PreparedStatementSetter.class));
+        assertThat(batch.written()).isEqualTo(9);
+    }
+
+    @Test
+    void flush_streamsRecordsThroughLoadDataLocalInfileOnMariaDb() throws Exception {
+        properties.setLoadDataLocalInfile(true);
+        LocalInfileStatement statement = mock(LocalInfileStatement.class);
+        when(statement.unwrap(Statement.class)).thenReturn(statement);
+        AtomicReference<String> streamed = new AtomicReference<>();
+        when(statement.executeUpdate(anyString())).thenAnswer(invocation -> 2);
+        doAnswer(invocation -> {
+            streamed.set(new String(((InputStream) invocation.getArgument(0)).readAllBytes(), StandardCharsets.UTF_8));
+            return null;
+        }).when(statement).setLocalInfileInputStream(any());
+        Connection connection = connection("MariaDB", statement);
+        SourceRecordBulkWriter.Batch batch = writer.open(batch(9L));
+
+        batch.add(new StagedRecord("K0", "a\tb", "{}", null, "hash", "fp", "plan"));
+        batch.add(record(1));
+        batch.flush();
+
+        verify(statement).executeUpdate(startsWith("LOAD DATA LOCAL INFILE"));
+        assertThat(streamed.get().split("\n")).hasSize(2);
+        assertThat(streamed.get()).startsWith("9\ta\\tb\tK0\t{}\t\\N\tfp\tplan\thash\t");
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+        verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+        verify(connection).createStatement();
+    }
+
+    @Test
+    void flush_fallsBackToInsertsOnOtherDatabasesAndRemembersIt() throws Exception {
+        properties.setLoadDataLocalInfile(true);
+        properties.setRowsPerStatement(1);
+        Connection connection = connection("H2", mock(Statement.class));
+        SourceRecordBulkWriter.Batch batch = writer.open(batch(3L));
+
+        batch.add(record(0));
+        batch.flush();
+        batch.add(record(1));
+        batch.flush();
+
+        verify(jdbcTemplate, times(1)).execute(any(ConnectionCallback.class));
+        verify(connection, never()).createStatement();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+    }
+
+    @Test
+    void flush_fallsBackToInsertsWhenTheDriverCannotStreamTheFile() throws Exception {
+        properties.setLoadDataLocalInfile(true);
+        properties.setRowsPerStatement(1);
+        Statement plain = mock(Statement.class);
+        when(plain.unwrap(Statement.class)).thenReturn(plain);
+        connection("MySQL", plain);
+        SourceRecordBulkWriter.Batch batch = writer.open(batch(3L));
+
+        batch.add(record(0));
+        batch.flush();
+        batch.add(record(1));
+        batch.flush();
+
+        verify(plain, never()).executeUpdate(anyString());
+        verify(jdbcTemplate, times(1)).execute(any(ConnectionCallback.class));
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+    }
+
+    /** Runs {@code ConnectionCallback}s against a connection reporting {@code product}. */
+    @SuppressWarnings("unchecked")
+    private Connection connection(String product, Statement statement) throws Exception {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getDatabaseProductName()).thenReturn(product);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(connection.createStatement()).thenReturn(statement);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation ->
+                ((ConnectionCallback<Object>) invocation.getArgument(0)).doInConnection(connection));
+        return connection;
+    }
+
+    private static String statement(int rows) {
+        String row = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        return "insert into source_data_records (batch_id, external_reference, canonical_key, payload_json,"
+                + " metadata_json, match_fingerprint, match_plan, content_hash, ingested_at) values "
+                + String.join(", ", Collections.nCopies(rows, row));
+    }
+
+    private static SourceDataBatch batch(Long id) {
+        SourceDataBatch batch = new SourceDataBatch();
+        batch.setId(id);
+        return batch;
+    }
+
+    private static StagedRecord record(int index) {
+        return new StagedRecord("K" + index, "K" + index, "{}", "{}", "hash", "fp", "plan");
+    }
+
+    /** Driver statement exposing the MariaDB/MySQL stream setter the writer looks up reflectively. */
+    abstract static class LocalInfileStatement implements Statement {
+
+        public abstract void setLocalInfileInputStream(InputStream stream);
+    }
+}
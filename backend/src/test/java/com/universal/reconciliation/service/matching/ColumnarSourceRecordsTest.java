@@ -0,0 +1,119 @@
+package com.universal.reconciliation.service.matching;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.domain.entity.CanonicalField;
+import com.universal.reconciliation.domain.enums.ComparisonLogic;
+import com.universal.reconciliation.domain.enums.FieldDataType;
+import com.universal.reconciliation.domain.enums.FieldRole;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ColumnarSourceRecordsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<CanonicalField> fields = List.of(
+            field("tradeId", FieldRole.KEY, FieldDataType.STRING, ComparisonLogic.EXACT_MATCH),
+            field("amount", FieldRole.COMPARE, FieldDataType.DECIMAL, ComparisonLogic.NUMERIC_THRESHOLD),
+            field("valueDate", FieldRole.COMPARE, FieldDataType.DATE, ComparisonLogic.EXACT_MATCH),
+            field("settled", FieldRole.DISPLAY, FieldDataType.BOOLEAN, ComparisonLogic.EXACT_MATCH),
+            field("currency", FieldRole.COMPARE, FieldDataType.STRING, ComparisonLogic.CASE_INSENSITIVE));
+
+    @Test
+    void rowsRoundTripWithOriginalJavaTypes() throws Exception {
+        List<Map<String, Object>> payloads = List.of(
+                payload("T-1", 100, "2024-01-31", true, "USD"),
+                payload("T-2", 1234.5d, "2024-02-01", false, "EUR"),
+                payload("T-3", 9_000_000_000L, "31/01/2024", null, "USD"),
+                payload("T-4", new BigInteger("123456789012345678901234567890"), null, true, 42),
+                payload("T-5", -0.0d, "2024-02-29", "yes", null),
+                payload("T-6", new BigDecimal("1.0E+10"), "2024-03-01", false, "usd"));
+
+        ComparisonPlan plan = ComparisonPlan.compile(compareFields());
+        ColumnarSourceRecords.Builder builder = ColumnarSourceRecords.builder(fields, plan, false, 2);
+        for (Map<String, Object> payload : payloads) {
+            builder.add((String) payload.get("tradeId"), payload);
+        }
+        ColumnarSourceRecords records = builder.build();
+
+        assertThat(records).hasSize(payloads.size());
+        assertThat(records.keySet()).containsExactly("T-1", "T-2", "T-3", "T-4", "T-5", "T-6");
+        for (Map<String, Object> payload : payloads) {
+            Map<String, Object> row = records.get(payload.get("tradeId"));
+            assertThat(row).isEqualTo(payload);
+            assertThat(objectMapper.writeValueAsString(row)).isEqualTo(objectMapper.writeValueAsString(payload));
+            payload.forEach((key, value) -> assertThat(row.get(key)).isEqualTo(value));
+        }
+        assertThat(records.get("missing")).isNull();
+        assertThat(records.containsKey("T-3")).isTrue();
+    }
+
+    @Test
+    void duplicateKeysReplaceInPlaceAndIrregularRowsAreKeptVerbatim() {
+        ComparisonPlan plan = ComparisonPlan.compile(compareFields());
+        Map<String, Object> irregular = new LinkedHashMap<>();
+        irregular.put("tradeId", "T-2");
+        irregular.put("legacyColumn", "kept");
+
+        ColumnarSourceRecords records = ColumnarSourceRecords.builder(fields, plan, true, 0)
+                .add("T-1", payload("T-1", 10, "2024-01-01", true, "USD"))
+                .add("T-2", irregular)
+                .add("T-1", payload("T-1", 11, "2024-01-02", false, "GBP"))
+                .build();
+
+        assertThat(records.keySet()).containsExactly("T-1", "T-2");
+        assertThat(records.get("T-1")).isEqualTo(payload("T-1", 11, "2024-01-02", false, "GBP"));
+        assertThat(records.get("T-2")).isEqualTo(irregular);
+    }
+
+    @Test
+    void comparisonsReadDirectlyFromSlotColumns() {
+        ComparisonPlan plan = ComparisonPlan.compile(compareFields());
+        ColumnarSourceRecords anchor = ColumnarSourceRecords.builder(fields, plan, true, 0)
+                .add("T-1", payload("T-1", 100, "2024-01-31", true, "USD"))
+                .add("T-2", payload("T-2", 200, "2024-01-31", true, "USD"))
+                .build();
+        ColumnarSourceRecords other = ColumnarSourceRecords.builder(fields, plan, false, 0)
+                .add("T-1", payload("T-1", 100.0d, "2024-01-31", false, "usd"))
+                .add("T-2", payload("T-2", 201, "2024-01-31", true, "USD"))
+                .build();
+
+        assertThat(plan.matches(slots(anchor, "T-1"), slots(other, "T-1"))).isTrue();
+        assertThat(plan.matches(slots(anchor, "T-2"), slots(other, "T-2"))).isFalse();
+    }
+
+    private ComparisonSlots slots(ColumnarSourceRecords records, String key) {
+        return ((ComparableRecord) records.get(key)).comparisonSlots();
+    }
+
+    private List<CanonicalField> compareFields() {
+        return fields.stream().filter(field -> field.getRole() == FieldRole.COMPARE).toList();
+    }
+
+    private Map<String, Object> payload(
+            String tradeId, Object amount, Object valueDate, Object settled, Object currency) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("tradeId", tradeId);
+        payload.put("amount", amount);
+        payload.put("valueDate", valueDate);
+        payload.put("settled", settled);
+        payload.put("currency", currency);
+        return payload;
+    }
+
+    private CanonicalField field(String name, FieldRole role, FieldDataType dataType, ComparisonLogic logic) {
+        CanonicalField field = new CanonicalField();
+        field.setCanonicalName(name);
+        field.setDisplayName(name);
+        field.setRole(role);
+        field.setDataType(dataType);
+        field.setComparisonLogic(logic);
+        return field;
+    }
+}
@@ -0,0 +1,109 @@
+package com.universal.reconciliation.service.matching;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.universal.reconciliation.domain.entity.CanonicalField;
+import com.universal.reconciliation.domain.enums.ComparisonLogic;
+import com.universal.reconciliation.domain.enums.FieldDataType;
+import com.universal.reconciliation.domain.enums.FieldRole;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ComparisonPlanTest {
+
+    @Test
+    void exactDecimalIgnoresScaleAndHandlesOverflow() {
+        ComparisonPlan plan = plan(field("amount", FieldDataType.DECIMAL, ComparisonLogic.EXACT_MATCH, null));
+
+        assertThat(matches(plan, Map.of("amount", "100.00"), Map.of("amount", 100))).isTrue();
+        assertThat(matches(plan, Map.of("amount", 0.0d), Map.of("amount", "0"))).isTrue();
+        assertThat(matches(plan, Map.of("amount", "100.01"), Map.of("amount", 100))).isFalse();
+        assertThat(matches(
+                        plan,
+                        Map.of("amount", "123456789012345678901234567890.50"),
+                        Map.of("amount", new BigDecimal("123456789012345678901234567890.5"))))
+                .isTrue();
+        assertThat(matches(plan, Map.of("amount", "123456789012345678901234567890"), Map.of("amount", "1")))
+                .isFalse();
+    }
+
+    @Test
+    void numericThresholdUsesAnchorRelativeTolerance() {
+        ComparisonPlan plan = plan(
+                field("amount", FieldDataType.DECIMAL, ComparisonLogic.NUMERIC_THRESHOLD, new BigDecimal("1.5")));
+
+        assertThat(matches(plan, Map.of("amount", "200"), Map.of("amount", "197.00"))).isTrue();
+        assertThat(matches(plan, Map.of("amount", "200"), Map.of("amount", "196.99"))).isFalse();
+        assertThat(matches(plan, Map.of("amount", "197"), Map.of("amount", "200"))).isFalse();
+        assertThat(matches(
+                        plan,
+                        Map.of("amount", "92233720368547758070"),
+                        Map.of("amount", "91000000000000000000")))
+                .isTrue();
+
+        ComparisonSlots anchorEncodedAsCandidate = plan.encode(Map.of("amount", "200"), false);
+        assertThat(plan.matches(anchorEncodedAsCandidate, plan.encode(Map.of("amount", "197"), false)))
+                .isTrue();
+    }
+
+    @Test
+    void dateOnlyTruncatesDateTimesAndStringCompareHonoursCase() {
+        ComparisonPlan plan = plan(
+                field("tradeDate", FieldDataType.DATETIME, ComparisonLogic.DATE_ONLY, null),
+                field("currency", FieldDataType.STRING, ComparisonLogic.CASE_INSENSITIVE, null),
+                field("flag", FieldDataType.BOOLEAN, ComparisonLogic.EXACT_MATCH, null));
+
+        assertThat(matches(
+                        plan,
+                        Map.of("tradeDate", "2024-03-01", "currency", "usd", "flag", "yes"),
+                        Map.of("tradeDate", java.time.LocalDateTime.parse("2024-03-01T10:15:00"),
+                                "currency", "USD",
+                                "flag", true)))
+                .isTrue();
+        assertThat(matches(
+                        plan,
+                        Map.of("tradeDate", "2024-03-01", "currency", "usd", "flag", "yes"),
+                        Map.of("tradeDate", "2024-03-02", "currency", "usd", "flag", true)))
+                .isFalse();
+    }
+
+    @Test
+    void nullsOnlyMatchNullsAndInvalidValuesFailWhenCompared() {
+        ComparisonPlan plan = plan(field("valueDate", FieldDataType.DATE, ComparisonLogic.EXACT_MATCH, null));
+        Map<String, Object> missing = new HashMap<>();
+        missing.put("valueDate", null);
+
+        assertThat(matches(plan, missing, Map.of())).isTrue();
+        assertThat(matches(plan, missing, Map.of("valueDate", "2024-01-01"))).isFalse();
+
+        ComparisonSlots invalid = plan.encode(Map.of("valueDate", "not-a-date"), true);
+        assertThat(plan.matches(invalid, plan.encode(missing, false))).isFalse();
+        assertThatThrownBy(() -> plan.matches(invalid, plan.encode(Map.of("valueDate", "2024-01-01"), false)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not-a-date");
+    }
+
+    private boolean matches(ComparisonPlan plan, Map<String, Object> anchor, Map<String, Object> candidate) {
+        return plan.matches(plan.encode(anchor, true), plan.encode(candidate, false));
+    }
+
+    private ComparisonPlan plan(CanonicalField... fields) {
+        return ComparisonPlan.compile(List.of(fields));
+    }
+
+    private CanonicalField field(
+            String name, FieldDataType dataType, ComparisonLogic logic, BigDecimal thresholdPercentage) {
+        CanonicalField field = new CanonicalField();
+        field.setCanonicalName(name);
+        field.setDisplayName(name);
+        field.setRole(FieldRole.COMPARE);
+        field.setDataType(dataType);
+        field.setComparisonLogic(logic);
+        field.setThresholdPercentage(thresholdPercentage);
+        return field;
+    }
+}
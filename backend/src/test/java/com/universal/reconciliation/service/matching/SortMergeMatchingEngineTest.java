@@ -0,0 +1,203 @@
+package com.universal.reconciliation.service.matching;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.config.MatchingProperties;
+import com.universal.reconciliation.domain.entity.CanonicalField;
+import com.universal.reconciliation.domain.entity.ReconciliationDefinition;
+import com.universal.reconciliation.domain.entity.ReconciliationSource;
+import com.universal.reconciliation.domain.entity.SourceDataBatch;
+import com.universal.reconciliation.domain.enums.ComparisonLogic;
+import com.universal.reconciliation.domain.enums.DataBatchStatus;
+import com.universal.reconciliation.domain.enums.FieldDataType;
+import com.universal.reconciliation.domain.enums.FieldRole;
+import com.universal.reconciliation.domain.enums.MatchingStrategy;
+import com.universal.reconciliation.repository.ReconciliationSourceRepository;
+import com.universal.reconciliation.repository.SourceDataBatchRepository;
+import com.universal.reconciliation.repository.SourceDataRecordRepository;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SortMergeMatchingEngineTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DynamicReconciliationContextLoader contextLoader = mock(DynamicReconciliationContextLoader.class);
+    private final SourceDataRecordRepository recordRepository = mock(SourceDataRecordRepository.class);
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void execute_producesSameOutcomeAsInMemoryEngineWhileSpilling() throws Exception {
+        ReconciliationDefinition definition = new ReconciliationDefinition();
+        definition.setCode("GL_SUBLEDGER");
+
+        CanonicalField tradeId = field("tradeId", FieldRole.KEY, FieldDataType.STRING, ComparisonLogic.EXACT_MATCH);
+        CanonicalField amount = field("amount", FieldRole.COMPARE, FieldDataType.DECIMAL, ComparisonLogic.NUMERIC_THRESHOLD);
+        amount.setThresholdPercentage(BigDecimal.ONE);
+        CanonicalField currency = field("currency", FieldRole.COMPARE, FieldDataType.STRING, ComparisonLogic.CASE_INSENSITIVE);
+        CanonicalField product = field("product", FieldRole.PRODUCT, FieldDataType.STRING, ComparisonLogic.EXACT_MATCH);
+        List<CanonicalField> canonicalFields = List.of(tradeId, amount, currency, product);
+
+        ReconciliationSource gl = source("GL", true);
+        ReconciliationSource subledger = source("SUBLEDGER", false);
+        ReconciliationSource bank = source("BANK", false);
+        List<ReconciliationSource> sources = List.of(gl, subledger, bank);
+
+        Random random = new Random(42);
+        List<List<String[]>> rows = new ArrayList<>();
+        for (int sourceIndex = 0; sourceIndex < sources.size(); sourceIndex++) {
+            List<String[]> sourceRows = new ArrayList<>();
+            for (int index = 0; index < 1500; index++) {
+                int keyNumber = random.nextInt(1200);
+                if (random.nextInt(10) == 0) {
+                    continue;
+                }
+                String key = "T-" + keyNumber;
+                int amountValue = 1000 + keyNumber + (random.nextInt(25) == 0 ? 50 : 0);
+                String payload = objectMapper.writeValueAsString(Map.of(
+                        "tradeId", key,
+                        "amount", amountValue,
+                        "currency", random.nextBoolean() ? "USD" : "usd",
+                        "product", "P" + (keyNumber % 4)));
+                sourceRows.add(new String[] {key, payload});
+            }
+            rows.add(sourceRows);
+        }
+
+        List<DynamicSourceDataset> datasets = new ArrayList<>();
+        for (int sourceIndex = 0; sourceIndex < sources.size(); sourceIndex++) {
+            SourceDataBatch batch = new SourceDataBatch();
+            List<String[]> sourceRows = rows.get(sourceIndex);
+            Map<String, Map<String, Object>> records = new LinkedHashMap<>();
+            for (String[] row : sourceRows) {
+                records.put(row[0], objectMapper.readValue(row[1], Map.class));
+            }
+            datasets.add(new DynamicSourceDataset(sources.get(sourceIndex), batch, records));
+            when(contextLoader.latestBatch(definition, sources.get(sourceIndex))).thenReturn(batch);
+            when(recordRepository.streamPayloadsByBatch(batch)).thenAnswer(invocation -> sourceRows.stream()
+                    .map(row -> (SourceDataRecordRepository.CanonicalPayload) new Payload(row[0], row[1])));
+        }
+
+        List<CanonicalField> compareFields = List.of(amount, currency);
+        List<CanonicalField> classifierFields = List.of(product);
+        when(contextLoader.resolveLayout(definition)).thenReturn(new DynamicReconciliationContextLoader.DefinitionLayout(
+                canonicalFields,
+                List.of(tradeId),
+                compareFields,
+                classifierFields,
+                gl,
+                List.of(subledger, bank),
+                ComparisonPlan.compile(compareFields)));
+        when(contextLoader.load(definition)).thenReturn(new DynamicReconciliationContext(
+                definition,
+                canonicalFields,
+                List.of(tradeId),
+                compareFields,
+                classifierFields,
+                datasets.get(0),
+                datasets.subList(1, 3)));
+
+        MatchingProperties properties = new MatchingProperties();
+        properties.setSortRunSize(16);
+        properties.setSpillDirectory(spillDirectory.toString());
+
+        MatchingResult expected = new DynamicMatchingEngine(contextLoader, new MatchingProperties()).execute(definition);
+        MatchingResult actual =
+                new SortMergeMatchingEngine(contextLoader, recordRepository, objectMapper, properties).execute(definition);
+
+        assertThat(actual.matchedCount()).isEqualTo(expected.matchedCount()).isPositive();
+        assertThat(actual.mismatchedCount()).isEqualTo(expected.mismatchedCount()).isPositive();
+        assertThat(actual.missingCount()).isEqualTo(expected.missingCount()).isPositive();
+        assertThat(actual.breaks()).containsExactlyInAnyOrderElementsOf(expected.breaks());
+        try (var files = Files.list(spillDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void router_prefersDefinitionStrategyAndFallsBackToStagedVolume() {
+        ReconciliationSourceRepository sourceRepository = mock(ReconciliationSourceRepository.class);
+        SourceDataBatchRepository batchRepository = mock(SourceDataBatchRepository.class);
+        MatchingProperties properties = new MatchingProperties();
+        properties.setSortMergeThreshold(1000);
+        MatchingEngineRouter router = new MatchingEngineRouter(
+                mock(DynamicMatchingEngine.class),
+                mock(SortMergeMatchingEngine.class),
+                mock(PushdownMatchingEngine.class),
+                sourceRepository,
+                batchRepository,
+                recordRepository,
+                properties);
+
+        ReconciliationDefinition definition = new ReconciliationDefinition();
+        ReconciliationSource gl = source("GL", true);
+        ReconciliationSource bank = source("BANK", false);
+        SourceDataBatch glBatch = new SourceDataBatch();
+        glBatch.setRecordCount(600L);
+        SourceDataBatch bankBatch = new SourceDataBatch();
+        when(sourceRepository.findByDefinition(definition)).thenReturn(List.of(gl, bank));
+        when(batchRepository.findFirstBySourceAndStatusOrderByIngestedAtDesc(gl, DataBatchStatus.COMPLETE))
+                .thenReturn(Optional.of(glBatch));
+        when(batchRepository.findFirstBySourceAndStatusOrderByIngestedAtDesc(bank, DataBatchStatus.COMPLETE))
+                .thenReturn(Optional.of(bankBatch));
+        when(recordRepository.countByBatch(any())).thenReturn(300L);
+
+        assertThat(router.resolveStrategy(definition)).isEqualTo(MatchingStrategy.IN_MEMORY);
+
+        when(recordRepository.countByBatch(bankBatch)).thenReturn(400L);
+        assertThat(router.resolveStrategy(definition)).isEqualTo(MatchingStrategy.SORT_MERGE);
+
+        definition.setMatchingStrategy(MatchingStrategy.IN_MEMORY);
+        assertThat(router.resolveStrategy(definition)).isEqualTo(MatchingStrategy.IN_MEMORY);
+
+        properties.setSortMergeThreshold(0);
+        definition.setMatchingStrategy(MatchingStrategy.SORT_MERGE);
+        assertThat(router.resolveStrategy(definition)).isEqualTo(MatchingStrategy.SORT_MERGE);
+        definition.setMatchingStrategy(null);
+        assertThat(router.resolveStrategy(definition)).isEqualTo(MatchingStrategy.IN_MEMORY);
+    }
+
+    private record Payload(String canonicalKey, String payloadJson) implements SourceDataRecordRepository.CanonicalPayload {
+
+        @Override
+        public String getCanonicalKey() {
+            return canonicalKey;
+        }
+
+        @Override
+        public String getPayloadJson() {
+            return payloadJson;
+        }
+    }
+
+    private ReconciliationSource source(String code, boolean anchor) {
+        ReconciliationSource source = new ReconciliationSource();
+        source.setCode(code);
+        source.setAnchor(anchor);
+        return source;
+    }
+
+    private CanonicalField field(String name, FieldRole role, FieldDataType dataType, ComparisonLogic logic) {
+        CanonicalField field = new CanonicalField();
+        field.setCanonicalName(name);
+        field.setDisplayName(name);
+        field.setRole(role);
+        field.setDataType(dataType);
+        field.setComparisonLogic(logic);
+        return field;
+    }
+}
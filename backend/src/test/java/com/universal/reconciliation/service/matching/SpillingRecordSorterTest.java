@@ -0,0 +1,82 @@
+package com.universal.reconciliation.service.matching;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpillingRecordSorterTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void sortsInMemoryWhenInputFitsInOneRun() throws Exception {
+        try (SpillingRecordSorter sorter = new SpillingRecordSorter(spillDirectory, 10)) {
+            sorter.add("C", "{\"v\":1}");
+            sorter.add("A", "{\"v\":2}");
+            sorter.add("B", "{\"v\":3}");
+            sorter.add("A", "{\"v\":4}");
+
+            Map<String, String> drained = drain(sorter.finish());
+
+            assertThat(sorter.spilledRuns()).isZero();
+            assertThat(drained).containsExactly(
+                    Map.entry("A", "{\"v\":4}"), Map.entry("B", "{\"v\":3}"), Map.entry("C", "{\"v\":1}"));
+        }
+        try (var files = Files.list(spillDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void spillsAndMergesRunsKeepingTheLastRecordPerKey() throws Exception {
+        Random random = new Random(7);
+        TreeMap<String, String> expected = new TreeMap<>();
+        try (SpillingRecordSorter sorter = new SpillingRecordSorter(spillDirectory, 3)) {
+            for (int index = 0; index < 600; index++) {
+                String key = "K-" + random.nextInt(250);
+                String payload = "{\"seq\":" + index + ",\"text\":\"é\"}";
+                sorter.add(key, payload);
+                expected.put(key, payload);
+            }
+
+            SpillingRecordSorter.Cursor cursor = sorter.finish();
+            assertThat(sorter.spilledRuns()).isGreaterThan(SpillingRecordSorter.MERGE_FAN_IN);
+            assertThat(drain(cursor)).containsExactlyEntriesOf(expected);
+        }
+        try (var files = Files.list(spillDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void presortedInputIsReadBackUnchanged() {
+        try (SpillingRecordSorter sorter = new SpillingRecordSorter(spillDirectory, 4)) {
+            for (int index = 0; index < 20; index++) {
+                sorter.add(String.format("K-%03d", index), "{}");
+            }
+
+            Map<String, String> drained = drain(sorter.finish());
+
+            assertThat(drained).hasSize(20);
+            assertThat(List.copyOf(drained.keySet())).isSorted();
+        }
+    }
+
+    private Map<String, String> drain(SpillingRecordSorter.Cursor cursor) {
+        Map<String, String> drained = new LinkedHashMap<>();
+        while (cursor.next()) {
+            assertThat(drained).doesNotContainKey(cursor.key());
+            drained.put(cursor.key(), cursor.payloadJson());
+        }
+        return drained;
+    }
+}
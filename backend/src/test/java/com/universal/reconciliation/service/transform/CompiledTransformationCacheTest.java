@@ -0,0 +1,77 @@
+package com.universal.reconciliation.service.transform;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class CompiledTransformationCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger compilations = new AtomicInteger();
+    private final CompiledTransformationCache<String> cache =
+            new CompiledTransformationCache<>("groovy", 2, 800, meterRegistry, clock::get);
+
+    @Test
+    void get_compilesOnceAndCountsHitsAndMisses() {
+        assertThat(cache.get("a", this::compile)).isEqualTo("compiled:a");
+        assertThat(cache.get("a", this::compile)).isEqualTo("compiled:a");
+
+        assertThat(compilations).hasValue(1);
+        assertThat(counter("transformation.groovy.cache.gets", "result", "hit")).isEqualTo(1);
+        assertThat(counter("transformation.groovy.cache.gets", "result", "miss")).isEqualTo(1);
+        assertThat(meterRegistry.get("transformation.groovy.compile").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedEntryBeyondMaxEntries() {
+        cache.get("a", this::compile);
+        cache.get("b", this::compile);
+        cache.get("a", this::compile);
+        cache.get("c", this::compile);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(meterRegistry.get("transformation.groovy.cache.size").gauge().value()).isEqualTo(2);
+        assertThat(counter("transformation.groovy.cache.evictions", "cause", "size")).isEqualTo(1);
+        cache.get("a", this::compile);
+        assertThat(compilations).hasValue(3);
+        cache.get("b", this::compile);
+        assertThat(compilations).hasValue(4);
+    }
+
+    @Test
+    void get_evictsEntriesIdleLongerThanTimeout() {
+        cache.get("a", this::compile);
+        clock.set(500);
+        cache.get("b", this::compile);
+        clock.set(900);
+        cache.get("b", this::compile);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(counter("transformation.groovy.cache.evictions", "cause", "idle")).isEqualTo(1);
+    }
+
+    @Test
+    void get_doesNotCacheFailedCompilations() {
+        assertThatThrownBy(() -> cache.get("bad", key -> {
+                    throw new TransformationEvaluationException("Groovy compilation error: " + key);
+                }))
+                .isInstanceOf(TransformationEvaluationException.class);
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("bad", this::compile)).isEqualTo("compiled:bad");
+    }
+
+    private String compile(String key) {
+        compilations.incrementAndGet();
+        return "compiled:" + key;
+    }
+
+    private double counter(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+}
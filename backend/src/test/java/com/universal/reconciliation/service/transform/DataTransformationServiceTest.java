@@ -1,12 +1,18 @@
 package com.universal.reconciliation.service.transform;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.config.FunctionPipelineCacheProperties;
 import com.universal.reconciliation.domain.entity.CanonicalFieldMapping;
 import com.universal.reconciliation.domain.entity.CanonicalFieldTransformation;
 import com.universal.reconciliation.domain.enums.TransformationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -62,6 +68,43 @@ class DataTransformationServiceTest {
         assertThat(result).isEqualTo("code-X");
     }
 
+    @Test
+    void compile_reusesStaticallyCompiledGroovyScriptsAcrossValues() {
+        CanonicalFieldMapping mapping = new CanonicalFieldMapping();
+        mapping.setTransformations(new LinkedHashSet<>());
+        mapping.getTransformations().add(groovy(mapping, 1, true, "value.toString().trim().toUpperCase()"));
+        mapping.getTransformations().add(groovy(mapping, 2, true, "value = value + row.suffix; null"));
+
+        TransformationChain chain = transformationService.compile(mapping);
+
+        assertThat(chain.apply(" abc ", Map.of("suffix", "-1"))).isEqualTo("ABC-1");
+        assertThat(chain.apply("xyz", Map.of("suffix", "-2"))).isEqualTo("XYZ-2");
+        assertThat(chain.apply(null, Map.of("suffix", ""))).isEqualTo("NULL");
+    }
+
+    @Test
+    void compile_runsEachValueThroughTheScriptOnlyOnce() {
+        CanonicalFieldMapping mapping = new CanonicalFieldMapping();
+        mapping.setTransformations(new LinkedHashSet<>());
+        mapping.getTransformations().add(groovy(mapping, 1, true, "row.put('seen', row.size()); value.hashCode()"));
+        Map<String, Object> row = new HashMap<>();
+
+        TransformationChain chain = transformationService.compile(mapping);
+
+        assertThatThrownBy(() -> chain.apply(null, row)).isInstanceOf(TransformationEvaluationException.class);
+        assertThat(row).containsEntry("seen", 0);
+    }
+
+    @Test
+    void evaluateGroovyScript_evaluatesAChunkInOneCall() {
+        List<Object> results = transformationService.evaluateGroovyScript(
+                "row.desk + ':' + value.toString().substring(0, 3)",
+                List.of("alpha", "bravo", "charlie"),
+                List.of(Map.of("desk", "FX"), Map.of("desk", "MM"), Map.of("desk", "EQ")));
+
+        assertThat(results).containsExactly("FX:alp", "MM:bra", "EQ:cha");
+    }
+
     @Test
     void applyTransformations_executesExcelFormula() {
         CanonicalFieldMapping mapping = new CanonicalFieldMapping();
@@ -78,6 +121,45 @@ class DataTransformationServiceTest {
         assertThat(result).isEqualTo("10-suffix");
     }
 
+    @Test
+    void applyTransformations_rebindsCompiledExcelFormulaForEachRow() {
+        CanonicalFieldMapping mapping = new CanonicalFieldMapping();
+        mapping.setTransformations(new LinkedHashSet<>());
+
+        CanonicalFieldTransformation transformation = new CanonicalFieldTransformation();
+        transformation.setMapping(mapping);
+        transformation.setType(TransformationType.EXCEL_FORMULA);
+        transformation.setExpression("=IF(ISBLANK(Fx_Rate), VALUE, VALUE * FX_RATE)");
+        transformation.setActive(true);
+        mapping.getTransformations().add(transformation);
+
+        Map<String, Object> withoutRate = new HashMap<>();
+        withoutRate.put("fx_rate", null);
+        withoutRate.put("desk", "FX");
+        TransformationChain chain = transformationService.compile(mapping);
+
+        assertThat(chain.apply(10, Map.of("fx_rate", 2, "desk", "FX"))).isEqualTo(new BigDecimal("20.0"));
+        assertThat(chain.apply(10, withoutRate)).isEqualTo(new BigDecimal("10.0"));
+        assertThat(chain.apply(3, Map.of("FX Rate", "1.5"))).isEqualTo(new BigDecimal("4.5"));
+        assertThatThrownBy(() -> chain.apply(3, Map.of("desk", "FX")))
+                .isInstanceOf(TransformationEvaluationException.class)
+                .hasMessageContaining("FX_RATE");
+    }
+
+    @Test
+    void validate_rejectsExcelFormulasTheIngestEngineCannotCompile() {
+        CanonicalFieldTransformation transformation = new CanonicalFieldTransformation();
+        transformation.setType(TransformationType.EXCEL_FORMULA);
+        transformation.setExpression("=TEXTJOIN(\",\", TRUE, VALUE, \"x\")");
+        transformationService.validate(transformation);
+
+        // XFD is a valid .xlsx column but beyond the .xls grid the ingest workbook uses.
+        transformation.setExpression("=SUM(A1:XFD1)");
+        assertThatThrownBy(() -> transformationService.validate(transformation))
+                .isInstanceOf(TransformationEvaluationException.class)
+                .hasMessageContaining("XFD1");
+    }
+
     @Test
     void applyTransformations_executesFunctionPipeline() {
         CanonicalFieldMapping mapping = new CanonicalFieldMapping();
@@ -94,4 +176,93 @@ class DataTransformationServiceTest {
         assertThat(result).isEqualTo("HELLO");
     }
 
+    @Test
+    void compile_composesFunctionPipelineWithPreparedArguments() {
+        CanonicalFieldMapping mapping = new CanonicalFieldMapping();
+        mapping.setTransformations(new LinkedHashSet<>());
+
+        CanonicalFieldTransformation transformation = new CanonicalFieldTransformation();
+        transformation.setMapping(mapping);
+        transformation.setType(TransformationType.FUNCTION_PIPELINE);
+        transformation.setConfiguration("{\"steps\":["
+                + "{\"function\":\"substring\",\"args\":[\"0\",\"10\"]},"
+                + "{\"function\":\"FORMAT_DATE\",\"args\":[\"yyyy-MM-dd\",\"dd/MM/yyyy\"]},"
+                + "{\"function\":\"PREFIX\",\"args\":[\"{{desk}}\"]}]}");
+        transformation.setActive(true);
+        mapping.getTransformations().add(transformation);
+
+        TransformationChain chain = transformationService.compile(mapping);
+
+        assertThat(chain.apply("2024-03-01T10:00", Map.of("desk", "FX:"))).isEqualTo("FX:01/03/2024");
+        assertThat(chain.apply("2024-12-31", Map.of("desk", "MM:"))).isEqualTo("MM:31/12/2024");
+        assertThat(chain.apply(null, Map.of())).isEqualTo("null");
+    }
+
+    @Test
+    void compile_defersFunctionPipelineArgumentErrorsUntilAValueIsEvaluated() {
+        CanonicalFieldMapping mapping = new CanonicalFieldMapping();
+        mapping.setTransformations(new LinkedHashSet<>());
+
+        CanonicalFieldTransformation transformation = new CanonicalFieldTransformation();
+        transformation.setMapping(mapping);
+        transformation.setType(TransformationType.FUNCTION_PIPELINE);
+        transformation.setConfiguration("{\"steps\":[{\"function\":\"SUBSTRING\",\"args\":[\"x\"]}]}");
+        transformation.setActive(true);
+        mapping.getTransformations().add(transformation);
+
+        TransformationChain chain = transformationService.compile(mapping);
+
+        assertThat(chain.apply(null, Map.of())).isNull();
+        assertThatThrownBy(() -> chain.apply("abc", Map.of()))
+                .isInstanceOf(TransformationEvaluationException.class)
+                .hasMessage("SUBSTRING arguments must be numeric");
+    }
+
+    @Test
+    void compile_boundsTheCompiledFunctionPipelineCache() {
+        FunctionPipelineCacheProperties cacheProperties = new FunctionPipelineCacheProperties();
+        cacheProperties.setMaxEntries(2);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FunctionPipelineTransformationEvaluator evaluator =
+                new FunctionPipelineTransformationEvaluator(new ObjectMapper(), cacheProperties, meterRegistry);
+
+        for (int draft = 0; draft < 5; draft++) {
+            evaluator.compile("{\"steps\":[{\"function\":\"PREFIX\",\"args\":[\"" + draft + "\"]}]}");
+        }
+        CompiledTransformation latest =
+                evaluator.compile("{\"steps\":[{\"function\":\"PREFIX\",\"args\":[\"4\"]}]}");
+
+        assertThat(latest.apply("x", Map.of())).isEqualTo("4x");
+        assertThat(meterRegistry.get("transformation.pipeline.cache.size").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("transformation.pipeline.cache.evictions").tag("cause", "size").counter().count())
+                .isEqualTo(3);
+        assertThat(meterRegistry.get("transformation.pipeline.cache.gets").tag("result", "hit").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void compile_ordersActiveTransformationsOnce() {
+        CanonicalFieldMapping mapping = new CanonicalFieldMapping();
+        mapping.setTransformations(new LinkedHashSet<>());
+        mapping.getTransformations().add(groovy(mapping, 2, true, "value + 'b'"));
+        mapping.getTransformations().add(groovy(mapping, 3, false, "value + 'x'"));
+        mapping.getTransformations().add(groovy(mapping, 1, true, "value + 'a'"));
+
+        TransformationChain chain = transformationService.compile(mapping);
+
+        assertThat(chain.apply("", Map.of())).isEqualTo("ab");
+        assertThat(chain.apply("z", null)).isEqualTo("zab");
+        assertThat(transformationService.compile(new CanonicalFieldMapping()).isEmpty()).isTrue();
+    }
+
+    private CanonicalFieldTransformation groovy(
+            CanonicalFieldMapping mapping, int displayOrder, boolean active, String expression) {
+        CanonicalFieldTransformation transformation = new CanonicalFieldTransformation();
+        transformation.setMapping(mapping);
+        transformation.setType(TransformationType.GROOVY_SCRIPT);
+        transformation.setExpression(expression);
+        transformation.setDisplayOrder(displayOrder);
+        transformation.setActive(active);
+        return transformation;
+    }
 }
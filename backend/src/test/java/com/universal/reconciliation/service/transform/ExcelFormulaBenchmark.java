@@ -0,0 +1,133 @@
+package com.universal.reconciliation.service.transform;
+
+import com.universal.reconciliation.domain.entity.CanonicalFieldTransformation;
+import com.universal.reconciliation.domain.enums.TransformationType;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellValue;
+import org.apache.poi.ss.usermodel.Name;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the per-row cost of an {@code EXCEL_FORMULA} transformation over 20-column records when a
+ * fresh workbook is built for every value (the original evaluator) against the compiled formula reused
+ * from the thread's scratch workbook.
+ *
+ * <p>Lives beside the package-private evaluator rather than in the {@code benchmark} package. Benchmarks
+ * are not picked up by Surefire; run {@link #main(String[])} on the test classpath after
+ * {@code mvn test-compile}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExcelFormulaBenchmark {
+
+    private static final int COLUMNS = 20;
+    private static final int ROWS = 200;
+    private static final String FORMULA = "=IF(FX_RATE > 0, ROUND(VALUE * FX_RATE, 2), VALUE) & \"-\" & CCY";
+
+    private final ExcelFormulaTransformationEvaluator evaluator = new ExcelFormulaTransformationEvaluator();
+    private CanonicalFieldTransformation transformation;
+    private List<Map<String, Object>> rows;
+
+    @Setup
+    public void setUp() {
+        transformation = new CanonicalFieldTransformation();
+        transformation.setType(TransformationType.EXCEL_FORMULA);
+        transformation.setExpression(FORMULA);
+        transformation.setActive(true);
+
+        rows = new ArrayList<>(ROWS);
+        for (int row = 0; row < ROWS; row++) {
+            Map<String, Object> raw = new LinkedHashMap<>();
+            raw.put("fx_rate", new BigDecimal("1." + row % 10));
+            raw.put("ccy", row % 2 == 0 ? "USD" : "EUR");
+            for (int column = 2; column < COLUMNS; column++) {
+                raw.put("column" + column, "R" + row + "C" + column);
+            }
+            rows.add(raw);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void workbookPerValue(Blackhole blackhole) {
+        for (int row = 0; row < ROWS; row++) {
+            blackhole.consume(legacyEvaluate(row, rows.get(row)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void compiledFormula(Blackhole blackhole) {
+        for (int row = 0; row < ROWS; row++) {
+            blackhole.consume(evaluator.evaluate(transformation, row, rows.get(row)));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ExcelFormulaBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static Object legacyEvaluate(Object currentValue, Map<String, Object> rawRecord) {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Row row = workbook.createSheet("Transform").createRow(0);
+            Cell valueCell = row.createCell(0);
+            assign(valueCell, currentValue);
+            define(workbook, "VALUE", valueCell);
+            int columnIndex = 1;
+            for (Map.Entry<String, Object> entry : rawRecord.entrySet()) {
+                Cell cell = row.createCell(columnIndex++);
+                assign(cell, entry.getValue());
+                define(workbook, entry.getKey().toUpperCase(Locale.ROOT), cell);
+            }
+            Cell formulaCell = row.createCell(columnIndex + 1);
+            formulaCell.setCellFormula(FORMULA.substring(1));
+            CellValue evaluated = workbook.getCreationHelper().createFormulaEvaluator().evaluate(formulaCell);
+            return evaluated.getStringValue();
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void define(Workbook workbook, String name, Cell cell) {
+        Name definedName = workbook.createName();
+        definedName.setNameName(name);
+        definedName.setRefersToFormula("Transform!" + cell.getAddress().formatAsString());
+    }
+
+    private static void assign(Cell cell, Object value) {
+        if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value != null) {
+            cell.setCellValue(value.toString());
+        }
+    }
+}
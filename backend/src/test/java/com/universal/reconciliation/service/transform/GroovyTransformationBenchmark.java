@@ -0,0 +1,102 @@
+package com.universal.reconciliation.service.transform;
+
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.Script;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Rows per second for typical row-level Groovy transformations: a fresh dynamically dispatched script and
+ * binding per value (the original evaluator), the pooled compiled script used by transformation chains,
+ * and the chunk-at-a-time batch entry point. The first two scripts compile statically; the last one does
+ * not type-check and exercises pooled dynamic execution.
+ *
+ * <p>Benchmarks are not picked up by Surefire; run {@link #main(String[])} on the test classpath after
+ * {@code mvn test-compile}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroovyTransformationBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    @Param({
+        "value.toString().trim().toUpperCase()",
+        "value ? value.toString().substring(0, 3) : null",
+        "row.desk + ':' + value.toString().trim()"
+    })
+    public String script;
+
+    private final GroovyTransformationEvaluator evaluator = new GroovyTransformationEvaluator();
+    private Class<? extends Script> dynamicClass;
+    private CompiledTransformation pooled;
+    private List<Object> values;
+    private List<Map<String, Object>> rows;
+
+    @Setup
+    public void setUp() {
+        dynamicClass = new GroovyClassLoader().parseClass(script).asSubclass(Script.class);
+        pooled = evaluator.compile(script);
+        values = new ArrayList<>(ROWS);
+        rows = new ArrayList<>(ROWS);
+        for (int row = 0; row < ROWS; row++) {
+            values.add("  trade-" + row + "  ");
+            rows.add(Map.of("desk", row % 2 == 0 ? "FX" : "MM", "id", row));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void scriptPerValue(Blackhole blackhole) throws ReflectiveOperationException {
+        for (int row = 0; row < ROWS; row++) {
+            Script instance = dynamicClass.getDeclaredConstructor().newInstance();
+            Binding binding = new Binding();
+            binding.setVariable("value", values.get(row));
+            binding.setVariable("row", rows.get(row));
+            binding.setVariable("raw", rows.get(row));
+            instance.setBinding(binding);
+            blackhole.consume(instance.run());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void pooledCompiledScript(Blackhole blackhole) {
+        for (int row = 0; row < ROWS; row++) {
+            blackhole.consume(pooled.apply(values.get(row), rows.get(row)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void batchEvaluation(Blackhole blackhole) {
+        blackhole.consume(evaluator.evaluateBatch(script, values, rows));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GroovyTransformationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
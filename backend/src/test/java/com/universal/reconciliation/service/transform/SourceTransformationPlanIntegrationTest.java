@@ -3,6 +3,7 @@ package com.universal.reconciliation.service.transform;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.config.AggregationProperties;
 import com.universal.reconciliation.domain.dto.admin.SourceTransformationPreviewUploadRequest;
 import com.universal.reconciliation.domain.enums.TransformationSampleFileType;
 import com.universal.reconciliation.domain.transform.ColumnOperationConfig;
@@ -21,7 +22,8 @@ class SourceTransformationPlanIntegrationTest {
 
     private final SourceTransformationPlanProcessor processor = new SourceTransformationPlanProcessor(
             new GroovyTransformationEvaluator(),
-            new FunctionPipelineTransformationEvaluator(new ObjectMapper()));
+            new FunctionPipelineTransformationEvaluator(new ObjectMapper()),
+            new AggregationProperties());
 
     @Test
     void endToEndCsvPreviewAndPlanApplication() {
@@ -4,12 +4,19 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.config.AggregationProperties;
 import com.universal.reconciliation.domain.transform.ColumnOperationConfig;
 import com.universal.reconciliation.domain.transform.RowOperationConfig;
 import com.universal.reconciliation.domain.transform.SourceTransformationPlan;
+import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -21,7 +28,8 @@ class SourceTransformationPlanProcessorTest {
     void setUp() {
         processor = new SourceTransformationPlanProcessor(
                 new GroovyTransformationEvaluator(),
-                new FunctionPipelineTransformationEvaluator(new ObjectMapper()));
+                new FunctionPipelineTransformationEvaluator(new ObjectMapper()),
+                new AggregationProperties());
     }
 
     @Test
@@ -190,6 +198,80 @@ class SourceTransformationPlanProcessorTest {
                 });
     }
 
+    @Test
+    void applyAggregatesAStreamWithoutMaterialisingTheInput() {
+        SourceTransformationPlan plan = new SourceTransformationPlan();
+        RowOperationConfig aggregateConfig = new RowOperationConfig();
+        RowOperationConfig.AggregateOperation aggregate = new RowOperationConfig.AggregateOperation();
+        aggregate.getGroupBy().add("tradeId");
+        RowOperationConfig.Aggregation amountSum = new RowOperationConfig.Aggregation();
+        amountSum.setSourceColumn("amount");
+        amountSum.setResultColumn("amount");
+        aggregate.getAggregations().add(amountSum);
+        aggregateConfig.setType(RowOperationConfig.RowOperationType.AGGREGATE);
+        aggregateConfig.setAggregate(aggregate);
+        plan.getRowOperations().add(aggregateConfig);
+        AtomicInteger lastRead = new AtomicInteger(-1);
+
+        Stream<Map<String, Object>> rows = IntStream.range(0, 1_000).mapToObj(index -> {
+            assertThat(lastRead).as("rows read before row %d is produced", index).hasValue(index - 1);
+            Map<String, Object> row = new HashMap<>(Map.of("tradeId", "T" + index % 3, "amount", "1")) {
+                @Override
+                public Object get(Object key) {
+                    lastRead.set(index);
+                    return super.get(key);
+                }
+            };
+            return row;
+        });
+
+        List<Map<String, Object>> result = processor.apply(plan, rows);
+
+        assertThat(lastRead).hasValue(999);
+        assertThat(result).hasSize(3)
+                .allSatisfy(row -> assertThat(new BigDecimal(row.get("amount").toString())).isBetween(
+                        new BigDecimal("333"), new BigDecimal("334")));
+    }
+
+    @Test
+    void referencedColumnsListsTheColumnsOperationsRead() {
+        SourceTransformationPlan plan = new SourceTransformationPlan();
+        RowOperationConfig filterConfig = new RowOperationConfig();
+        RowOperationConfig.FilterOperation filter = new RowOperationConfig.FilterOperation();
+        filter.setColumn("status");
+        filterConfig.setType(RowOperationConfig.RowOperationType.FILTER);
+        filterConfig.setFilter(filter);
+        plan.getRowOperations().add(filterConfig);
+        ColumnOperationConfig combineConfig = new ColumnOperationConfig();
+        ColumnOperationConfig.CombineOperation combine = new ColumnOperationConfig.CombineOperation();
+        combine.setTargetColumn("matchingKey");
+        combine.getSources().addAll(List.of("tradeId", "curve"));
+        combineConfig.setType(ColumnOperationConfig.ColumnOperationType.COMBINE);
+        combineConfig.setCombine(combine);
+        plan.getColumnOperations().add(combineConfig);
+
+        assertThat(processor.referencedColumns(plan)).contains(Set.of("status", "tradeId", "curve"));
+        assertThat(processor.referencedColumns(null)).contains(Set.of());
+
+        plan.setDatasetGroovyScript("return rows");
+        assertThat(processor.referencedColumns(plan)).isEmpty();
+    }
+
+    @Test
+    void referencedColumnsToleratesMissingAggregateColumnLists() {
+        SourceTransformationPlan plan = new SourceTransformationPlan();
+        RowOperationConfig aggregateConfig = new RowOperationConfig();
+        RowOperationConfig.AggregateOperation aggregate = new RowOperationConfig.AggregateOperation();
+        aggregate.setGroupBy(null);
+        aggregate.setRetainColumns(null);
+        aggregate.setAggregations(null);
+        aggregateConfig.setType(RowOperationConfig.RowOperationType.AGGREGATE);
+        aggregateConfig.setAggregate(aggregate);
+        plan.getRowOperations().add(aggregateConfig);
+
+        assertThat(processor.referencedColumns(plan)).contains(Set.of());
+    }
+
     @Test
     void validateRejectsSplitWithoutSourceColumn() {
         SourceTransformationPlan plan = new SourceTransformationPlan();
@@ -216,4 +298,57 @@ class SourceTransformationPlanProcessorTest {
                 .singleElement()
                 .satisfies(row -> assertThat(row.get("amount")).isEqualTo(new java.math.BigDecimal("10")));
     }
+
+    @Test
+    void applyCopiesRowsOnlyWhenAStepWritesToThem() {
+        SourceTransformationPlan plan = new SourceTransformationPlan();
+        RowOperationConfig filterConfig = new RowOperationConfig();
+        RowOperationConfig.FilterOperation filter = new RowOperationConfig.FilterOperation();
+        filter.setColumn("amount");
+        filter.setOperator(RowOperationConfig.ComparisonOperator.IS_NOT_BLANK);
+        filterConfig.setType(RowOperationConfig.RowOperationType.FILTER);
+        filterConfig.setFilter(filter);
+        plan.getRowOperations().add(filterConfig);
+
+        Map<String, Object> numeric = new java.util.LinkedHashMap<>(Map.of("amount", "1.005"));
+        Map<String, Object> text = new java.util.LinkedHashMap<>(Map.of("amount", "n/a"));
+        List<Map<String, Object>> rows = List.of(numeric, text, Map.of("amount", ""));
+
+        assertThat(processor.apply(plan, rows)).containsExactly(numeric, text);
+        assertThat(processor.apply(plan, rows).get(0)).isSameAs(numeric);
+
+        ColumnOperationConfig roundConfig = new ColumnOperationConfig();
+        ColumnOperationConfig.RoundOperation round = new ColumnOperationConfig.RoundOperation();
+        round.setTargetColumn("amount");
+        round.setScale(2);
+        roundConfig.setType(ColumnOperationConfig.ColumnOperationType.ROUND);
+        roundConfig.setRound(round);
+        plan.getColumnOperations().add(roundConfig);
+
+        List<Map<String, Object>> result = processor.apply(plan, rows);
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0)).isNotSameAs(numeric).containsEntry("amount", new java.math.BigDecimal("1.01"));
+        assertThat(result.get(1)).isSameAs(text);
+        assertThat(numeric).containsEntry("amount", "1.005");
+    }
+
+    @Test
+    void isRowLocalOnlyWhenNoStepNeedsTheWholeDataset() {
+        SourceTransformationPlan plan = new SourceTransformationPlan();
+        RowOperationConfig split = new RowOperationConfig();
+        split.setType(RowOperationConfig.RowOperationType.SPLIT);
+        plan.getRowOperations().add(split);
+        assertThat(processor.isRowLocal(null)).isTrue();
+        assertThat(processor.isRowLocal(plan)).isTrue();
+
+        RowOperationConfig aggregate = new RowOperationConfig();
+        aggregate.setType(RowOperationConfig.RowOperationType.AGGREGATE);
+        plan.getRowOperations().add(aggregate);
+        assertThat(processor.isRowLocal(plan)).isFalse();
+
+        SourceTransformationPlan scripted = new SourceTransformationPlan();
+        scripted.setDatasetGroovyScript("rows");
+        assertThat(processor.isRowLocal(scripted)).isFalse();
+    }
 }
@@ -0,0 +1,119 @@
+package com.universal.reconciliation.service.transform;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.universal.reconciliation.domain.transform.RowOperationConfig;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpillingHashAggregatorTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void aggregatesInMemoryWhenGroupsFitTheBudget() throws Exception {
+        RowOperationConfig.AggregateOperation aggregate = aggregate(false);
+        try (SpillingHashAggregator aggregator = new SpillingHashAggregator(aggregate, Set.of(), 10, spillDirectory)) {
+            aggregator.add(row("B", "USD", "10.5", 1));
+            aggregator.add(row("A", "EUR", "2", 2));
+            aggregator.add(row("B", "USD", null, 3));
+            aggregator.add(row("B", "USD", "4.25", 4));
+
+            List<Map<String, Object>> result = aggregator.finish();
+
+            assertThat(aggregator.spilledPartitions()).isZero();
+            assertThat(result).hasSize(2);
+            assertThat(result.get(0))
+                    .containsEntry("book", "B")
+                    .containsEntry("total", new BigDecimal("14.75"))
+                    .containsEntry("average", new BigDecimal("7.38"))
+                    .containsEntry("fills", 2L)
+                    .containsEntry("firstSeq", 1)
+                    .containsEntry("lastSeq", 4)
+                    .containsEntry("smallest", "10.5")
+                    .containsEntry("largest", "4.25");
+            assertThat(result.get(1)).containsEntry("book", "A").containsEntry("total", new BigDecimal("2.00"));
+        }
+    }
+
+    @Test
+    void spilledAggregationMatchesInMemoryAggregationRowForRow() throws Exception {
+        Random random = new Random(11);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int index = 0; index < 5_000; index++) {
+            String book = random.nextInt(20) == 0 ? null : "BOOK-" + random.nextInt(400);
+            String currency = random.nextBoolean() ? "USD" : "EUR";
+            String amount = random.nextInt(10) == 0 ? null : random.nextInt(100_000) + "." + random.nextInt(100);
+            Map<String, Object> row = row(book, currency, amount, index);
+            row.put("tradeDate", LocalDate.of(2024, 1, 1).plusDays(random.nextInt(30)));
+            rows.add(row);
+        }
+
+        for (boolean sortByGroup : new boolean[] {false, true}) {
+            RowOperationConfig.AggregateOperation aggregate = aggregate(sortByGroup);
+            List<Map<String, Object>> expected;
+            try (SpillingHashAggregator inMemory =
+                    new SpillingHashAggregator(aggregate, Set.of("tradeDate"), Integer.MAX_VALUE, spillDirectory)) {
+                rows.forEach(inMemory::add);
+                expected = inMemory.finish();
+            }
+            try (SpillingHashAggregator spilling =
+                    new SpillingHashAggregator(aggregate, Set.of("tradeDate"), 3, spillDirectory)) {
+                rows.forEach(spilling::add);
+                List<Map<String, Object>> result = spilling.finish();
+
+                assertThat(spilling.spilledPartitions()).isEqualTo(SpillingHashAggregator.SPILL_PARTITIONS);
+                assertThat(result).hasSize(expected.size()).containsExactlyElementsOf(expected);
+            }
+            try (var files = Files.list(spillDirectory)) {
+                assertThat(files).isEmpty();
+            }
+        }
+    }
+
+    private static RowOperationConfig.AggregateOperation aggregate(boolean sortByGroup) {
+        RowOperationConfig.AggregateOperation aggregate = new RowOperationConfig.AggregateOperation();
+        aggregate.getGroupBy().addAll(List.of("book", "currency"));
+        aggregate.setSortByGroup(sortByGroup);
+        aggregate.getAggregations().add(aggregation("amount", "total", RowOperationConfig.AggregationFunction.SUM, 2));
+        aggregate.getAggregations().add(aggregation("amount", "average", RowOperationConfig.AggregationFunction.AVG, 2));
+        aggregate.getAggregations().add(aggregation("amount", "fills", RowOperationConfig.AggregationFunction.COUNT, null));
+        aggregate.getAggregations().add(aggregation("amount", "smallest", RowOperationConfig.AggregationFunction.MIN, null));
+        aggregate.getAggregations().add(aggregation("amount", "largest", RowOperationConfig.AggregationFunction.MAX, null));
+        aggregate.getAggregations().add(aggregation("seq", "firstSeq", RowOperationConfig.AggregationFunction.FIRST, null));
+        aggregate.getAggregations().add(aggregation("seq", "lastSeq", RowOperationConfig.AggregationFunction.LAST, null));
+        return aggregate;
+    }
+
+    private static RowOperationConfig.Aggregation aggregation(
+            String source, String result, RowOperationConfig.AggregationFunction function, Integer scale) {
+        RowOperationConfig.Aggregation aggregation = new RowOperationConfig.Aggregation();
+        aggregation.setSourceColumn(source);
+        aggregation.setResultColumn(result);
+        aggregation.setFunction(function);
+        aggregation.setScale(scale);
+        aggregation.setRoundingMode(RoundingMode.HALF_UP);
+        return aggregation;
+    }
+
+    private static Map<String, Object> row(String book, String currency, String amount, int seq) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("book", book);
+        row.put("currency", currency);
+        row.put("amount", amount);
+        row.put("seq", seq);
+        return row;
+    }
+}
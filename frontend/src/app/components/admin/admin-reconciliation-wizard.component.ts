@@ -161,6 +161,8 @@ export class AdminReconciliationWizardComponent implements OnInit, OnDestroy {
     'FIXED_WIDTH_FILE',
     'XML_FILE',
     'JSON_FILE',
+    'JSON_LINES',
+    'PARQUET_FILE',
     'DATABASE',
     'REST_API',
     'MESSAGE_QUEUE',
@@ -1332,6 +1334,7 @@ export class AdminReconciliationWizardComponent implements OnInit, OnDestroy {
       arrivalTimezone: [source?.arrivalTimezone ?? ''],
       arrivalSlaMinutes: [source?.arrivalSlaMinutes ?? null, [Validators.min(0)]],
       adapterOptions: [source?.adapterOptions ?? ''],
+      ingestionParallelism: [source?.ingestionParallelism ?? null, [Validators.min(1)]],
       availableColumns: [source?.availableColumns ?? []],
       llmOptions: this.createLlmAdapterOptionsGroup(),
       transformationPlan: this.createTransformationPlanGroup(source?.transformationPlan ?? null),
@@ -2858,6 +2861,7 @@ export class AdminReconciliationWizardComponent implements OnInit, OnDestroy {
       arrivalTimezone: this.normalize(value.arrivalTimezone),
       arrivalSlaMinutes: this.normalizeNumber(value.arrivalSlaMinutes),
       adapterOptions: this.normalize(value.adapterOptions) ?? null,
+      ingestionParallelism: this.normalizeNumber(value.ingestionParallelism),
       transformationPlan: this.buildTransformationPlanPayload(
         group.get('transformationPlan') as FormGroup
       ),
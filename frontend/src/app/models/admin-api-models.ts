@@ -1,5 +1,7 @@
 export type ReconciliationLifecycleStatus = 'DRAFT' | 'PUBLISHED' | 'RETIRED';
 
+export type MatchingStrategy = 'AUTO' | 'IN_MEMORY' | 'SORT_MERGE' | 'PUSHDOWN';
+
 export type FieldRole =
   | 'KEY'
   | 'COMPARE'
@@ -20,6 +22,8 @@ export type IngestionAdapterType =
   | 'FIXED_WIDTH_FILE'
   | 'XML_FILE'
   | 'JSON_FILE'
+  | 'JSON_LINES'
+  | 'PARQUET_FILE'
   | 'DATABASE'
   | 'REST_API'
   | 'MESSAGE_QUEUE'
@@ -171,6 +175,7 @@ export interface AdminSource {
   arrivalTimezone?: string | null;
   arrivalSlaMinutes?: number | null;
   adapterOptions?: string | null;
+  ingestionParallelism?: number | null;
   schemaFields?: AdminSourceSchemaField[] | null;
   availableColumns?: string[] | null;
   createdAt?: string | null;
@@ -336,6 +341,7 @@ export interface AdminReconciliationDetail {
   autoTriggerCron?: string | null;
   autoTriggerTimezone?: string | null;
   autoTriggerGraceMinutes?: number | null;
+  matchingStrategy?: MatchingStrategy | null;
   sources: AdminSource[];
   canonicalFields: AdminCanonicalField[];
   reportTemplates: AdminReportTemplate[];
@@ -355,6 +361,7 @@ export interface AdminReconciliationRequest {
   autoTriggerCron?: string | null;
   autoTriggerTimezone?: string | null;
   autoTriggerGraceMinutes?: number | null;
+  matchingStrategy?: MatchingStrategy | null;
   version?: number | null;
   sources: AdminSource[];
   canonicalFields: AdminCanonicalField[];
@@ -92,6 +92,23 @@ export interface TriggerRunPayload {
   correlationId?: string;
   comments?: string;
   initiatedBy?: string;
+  mode?: 'FULL' | 'INCREMENTAL';
+}
+
+export type RunStatus = 'QUEUED' | 'RUNNING' | 'SUCCESS' | 'FAILED' | 'CANCELLED';
+
+export interface RunProgress {
+  runId: number;
+  definitionId: number;
+  status: RunStatus;
+  phase: 'QUEUED' | 'MATCHING' | 'FINALISING' | 'COMPLETED';
+  keysProcessed: number;
+  breaksPersisted: number;
+  cancelRequested: boolean;
+  queuedAt: string | null;
+  startedAt: string | null;
+  completedAt: string | null;
+  message: string | null;
 }
 
 export interface BulkBreakUpdatePayload {
@@ -13,6 +13,7 @@ import {
   LoginResponse,
   ReconciliationListItem,
   RunDetail,
+  RunProgress,
   SavedView,
   SavedViewRequestPayload,
   SystemActivityEntry,
@@ -62,6 +63,18 @@ export class ApiService {
     return this.http.post<RunDetail>(`${BASE_URL}/reconciliations/${reconciliationId}/run`, payload);
   }
 
+  queueRun(reconciliationId: number, payload: TriggerRunPayload): Observable<RunProgress> {
+    return this.http.post<RunProgress>(`${BASE_URL}/reconciliations/${reconciliationId}/runs`, payload);
+  }
+
+  getRunProgress(runId: number): Observable<RunProgress> {
+    return this.http.get<RunProgress>(`${BASE_URL}/reconciliations/runs/${runId}/progress`);
+  }
+
+  cancelRun(runId: number): Observable<RunProgress> {
+    return this.http.post<RunProgress>(`${BASE_URL}/reconciliations/runs/${runId}/cancel`, {});
+  }
+
   getLatestRun(reconciliationId: number, filter?: BreakFilter): Observable<RunDetail> {
     return this.http.get<RunDetail>(`${BASE_URL}/reconciliations/${reconciliationId}/runs/latest`, {
       params: this.buildFilterParams(filter)
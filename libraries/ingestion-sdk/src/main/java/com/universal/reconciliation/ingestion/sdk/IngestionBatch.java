@@ -26,6 +26,7 @@ public final class IngestionBatch {
     private final long contentLength;
     private final String mediaType;
     private final Map<String, Object> options;
+    private final PayloadCompression compression;
 
     private IngestionBatch(Builder builder) {
         this.sourceCode = Objects.requireNonNull(builder.sourceCode, "sourceCode");
@@ -40,6 +41,7 @@ public final class IngestionBatch {
         this.mediaType = builder.mediaType != null ? builder.mediaType : "text/csv";
         this.options = builder.options != null ? Map.copyOf(builder.options) : Collections.emptyMap();
         this.contentLength = builder.contentLength;
+        this.compression = builder.compression;
     }
 
     public String getSourceCode() {
@@ -88,6 +90,13 @@ public final class IngestionBatch {
         return contentLength;
     }
 
+    /**
+     * Compression requested for this batch, or empty to use the client's default.
+     */
+    public Optional<PayloadCompression> getCompression() {
+        return Optional.ofNullable(compression);
+    }
+
     public void writePayload(OutputStream outputStream) throws IOException {
         Objects.requireNonNull(outputStream, "outputStream");
         if (payload != null) {
@@ -143,6 +152,7 @@ public final class IngestionBatch {
         private String mediaType;
         private Map<String, Object> options;
         private long contentLength = -1L;
+        private PayloadCompression compression;
 
         private Builder() {
         }
@@ -215,6 +225,14 @@ public final class IngestionBatch {
             return this;
         }
 
+        /**
+         * Compresses the payload while it is streamed to the platform, overriding the client's default.
+         */
+        public Builder compression(PayloadCompression compression) {
+            this.compression = compression;
+            return this;
+        }
+
         public IngestionBatch build() {
             return new IngestionBatch(this);
         }
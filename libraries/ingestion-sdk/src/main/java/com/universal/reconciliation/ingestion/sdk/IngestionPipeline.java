@@ -1,8 +1,14 @@
 package com.universal.reconciliation.ingestion.sdk;
 
+import com.universal.reconciliation.ingestion.sdk.ReconciliationIngestionClient.BatchStatus;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,11 +18,38 @@ import org.slf4j.LoggerFactory;
 public class IngestionPipeline {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(IngestionPipeline.class);
+    private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(1);
+    private static final Duration DEFAULT_LOAD_TIMEOUT = Duration.ofHours(1);
 
     private final ReconciliationIngestionClient client;
+    private final Duration pollInterval;
+    private final Duration loadTimeout;
 
     public IngestionPipeline(ReconciliationIngestionClient client) {
+        this(client, DEFAULT_POLL_INTERVAL);
+    }
+
+    /**
+     * @param pollInterval how long {@link #runConcurrently(List)} waits between status checks of loading batches
+     */
+    public IngestionPipeline(ReconciliationIngestionClient client, Duration pollInterval) {
+        this(client, pollInterval, DEFAULT_LOAD_TIMEOUT);
+    }
+
+    /**
+     * @param loadTimeout how long {@link #runConcurrently(List)} waits, once every batch is submitted, for all of
+     *                    them to finish loading
+     */
+    public IngestionPipeline(ReconciliationIngestionClient client, Duration pollInterval, Duration loadTimeout) {
         this.client = Objects.requireNonNull(client, "client");
+        this.pollInterval = Objects.requireNonNull(pollInterval, "pollInterval");
+        this.loadTimeout = Objects.requireNonNull(loadTimeout, "loadTimeout");
+        if (pollInterval.isNegative() || pollInterval.isZero()) {
+            throw new IllegalArgumentException("pollInterval must be positive");
+        }
+        if (loadTimeout.isNegative() || loadTimeout.isZero()) {
+            throw new IllegalArgumentException("loadTimeout must be positive");
+        }
     }
 
     public void run(IngestionScenario scenario) throws IOException {
@@ -35,4 +68,108 @@ public class IngestionPipeline {
             run(scenario);
         }
     }
+
+    /**
+     * Submits every batch of {@code scenarios} for asynchronous loading, then waits until the platform has finished
+     * all of them. Each upload returns once the payload is staged, so the batches load concurrently within the
+     * platform's per-reconciliation limits instead of one after another.
+     *
+     * @return the final status of every batch, in submission order
+     * @throws IncompleteIngestionException when a submission fails after other batches were submitted, or the
+     *                                      batches do not finish within the load timeout
+     * @throws IOException                  when the first batch cannot be submitted or any batch fails to load
+     */
+    public List<BatchStatus> runConcurrently(List<IngestionScenario> scenarios) throws IOException {
+        List<Long> reconciliationIds = new ArrayList<>();
+        List<BatchStatus> batches = new ArrayList<>();
+        try {
+            for (IngestionScenario scenario : scenarios) {
+                LOGGER.info("Submitting ingestion scenario '{}' for reconciliation '{}'",
+                        scenario.getKey(), scenario.getReconciliationCode());
+                long reconciliationId = client.resolveDefinitionId(scenario.getReconciliationCode());
+                for (IngestionBatch batch : scenario.getBatches()) {
+                    BatchStatus submitted = client.submitBatch(reconciliationId, batch);
+                    LOGGER.info("Submitted batch '{}' for source '{}' (batchId={}, status={})",
+                            batch.getLabel(), batch.getSourceCode(), submitted.batchId(), submitted.status());
+                    reconciliationIds.add(reconciliationId);
+                    batches.add(submitted);
+                }
+            }
+        } catch (IOException ex) {
+            if (batches.isEmpty()) {
+                throw ex;
+            }
+            List<Long> submitted = batches.stream().map(BatchStatus::batchId).toList();
+            throw new IncompleteIngestionException(
+                    "Submission failed after batches " + submitted + " were submitted: " + ex.getMessage(),
+                    submitted,
+                    ex);
+        }
+
+        long deadline = System.nanoTime() + loadTimeout.toNanos();
+        while (batches.stream().anyMatch(status -> !status.isTerminal())) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                List<Long> loading = batches.stream()
+                        .filter(status -> !status.isTerminal())
+                        .map(BatchStatus::batchId)
+                        .toList();
+                throw new IncompleteIngestionException(
+                        "Batches " + loading + " were still loading after " + loadTimeout, loading, null);
+            }
+            pause(Math.min(pollInterval.toNanos(), remaining));
+            for (int i = 0; i < batches.size(); i++) {
+                BatchStatus status = batches.get(i);
+                if (!status.isTerminal()) {
+                    batches.set(i, client.batchStatus(reconciliationIds.get(i), status.sourceCode(), status.batchId()));
+                }
+            }
+        }
+
+        List<String> failures = new ArrayList<>();
+        for (BatchStatus status : batches) {
+            LOGGER.info("Batch {} for source '{}' finished (status={}, rowsPersisted={})",
+                    status.batchId(), status.sourceCode(), status.status(), status.rowsPersisted());
+            if (!status.isComplete()) {
+                failures.add(String.format(Locale.ROOT, "batch %d for source %s is %s%s",
+                        status.batchId(),
+                        status.sourceCode(),
+                        status.status(),
+                        status.failure() != null ? " (" + status.failure() + ")" : ""));
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new IOException("Ingestion did not complete: " + String.join("; ", failures));
+        }
+        return batches;
+    }
+
+    private static void pause(long nanos) throws IOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for batches to load");
+        }
+    }
+
+    /**
+     * Thrown by {@link #runConcurrently(List)} when it stops while batches it submitted may still be loading:
+     * after a later submission failed, or when the load timeout passed. The platform keeps loading them; poll
+     * their ids with {@link ReconciliationIngestionClient#batchStatus}.
+     */
+    public static final class IncompleteIngestionException extends IOException {
+
+        private final List<Long> batchIds;
+
+        IncompleteIngestionException(String message, List<Long> batchIds, Throwable cause) {
+            super(message, cause);
+            this.batchIds = List.copyOf(batchIds);
+        }
+
+        /** The submitted batches when a submission failed, otherwise the batches still loading. */
+        public List<Long> getBatchIds() {
+            return batchIds;
+        }
+    }
 }
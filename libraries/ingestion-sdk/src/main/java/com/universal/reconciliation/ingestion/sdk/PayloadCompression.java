@@ -0,0 +1,82 @@
+package com.universal.reconciliation.ingestion.sdk;
+
+import com.github.luben.zstd.ZstdOutputStreamNoFinalizer;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content encodings the client can apply to batch payloads while streaming them to the platform, which
+ * decompresses uploads declaring a {@code Content-Encoding} before handing them to the ingestion adapter.
+ *
+ * <p>{@link #ZSTD} needs the optional {@code com.github.luben:zstd-jni} dependency on the classpath.</p>
+ */
+public enum PayloadCompression {
+
+    NONE(null),
+    GZIP("gzip"),
+    ZSTD("zstd");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String contentEncoding;
+
+    PayloadCompression(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * The {@code Content-Encoding} header value declared on the file part, or {@code null} for {@link #NONE}.
+     */
+    public String contentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * Wraps {@code target} in an encoder. Closing the returned stream completes the encoded stream but leaves
+     * {@code target} open, so the caller can keep writing the surrounding request body.
+     */
+    public OutputStream encode(OutputStream target) throws IOException {
+        OutputStream retained = new RetainedOutputStream(target);
+        return switch (this) {
+            case NONE -> retained;
+            case GZIP -> new GZIPOutputStream(retained, BUFFER_SIZE);
+            case ZSTD -> zstd(retained);
+        };
+    }
+
+    private static OutputStream zstd(OutputStream target) throws IOException {
+        try {
+            return ZstdEncoder.open(target);
+        } catch (NoClassDefFoundError ex) {
+            throw new IllegalStateException(
+                    "ZSTD payload compression requires com.github.luben:zstd-jni on the classpath", ex);
+        }
+    }
+
+    /** Keeps zstd-jni out of the enum's linkage so it is only needed when {@link #ZSTD} is used. */
+    private static final class ZstdEncoder {
+
+        private static OutputStream open(OutputStream target) throws IOException {
+            return new ZstdOutputStreamNoFinalizer(target);
+        }
+    }
+
+    private static final class RetainedOutputStream extends FilterOutputStream {
+
+        private RetainedOutputStream(OutputStream target) {
+            super(target);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -11,6 +12,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
@@ -36,16 +38,31 @@ public class ReconciliationIngestionClient implements Closeable {
     private final String username;
     private final String password;
     private final Map<String, Long> definitionCache;
+    private final PayloadCompression defaultCompression;
 
     private volatile String token;
 
     public ReconciliationIngestionClient(OkHttpClient client, String baseUrl, String username, String password) {
+        this(client, baseUrl, username, password, PayloadCompression.NONE);
+    }
+
+    /**
+     * @param defaultCompression applied to batches that do not request a {@link IngestionBatch#getCompression()
+     *                           compression} of their own
+     */
+    public ReconciliationIngestionClient(
+            OkHttpClient client,
+            String baseUrl,
+            String username,
+            String password,
+            PayloadCompression defaultCompression) {
         this.client = Objects.requireNonNull(client, "client");
         this.mapper = new ObjectMapper();
         this.baseUrl = normalizeBaseUrl(baseUrl);
         this.username = Objects.requireNonNull(username, "username");
         this.password = Objects.requireNonNull(password, "password");
         this.definitionCache = new ConcurrentHashMap<>();
+        this.defaultCompression = Objects.requireNonNull(defaultCompression, "defaultCompression");
     }
 
     public ReconciliationIngestionClient(String baseUrl, String username, String password) {
@@ -110,6 +127,42 @@ public class ReconciliationIngestionClient implements Closeable {
     }
 
     public IngestionResult ingestBatch(long reconciliationId, IngestionBatch batch) throws IOException {
+        JsonNode result = postBatch(reconciliationId, batch, false);
+        return new IngestionResult(result.path("status").asText("UNKNOWN"), result.path("recordCount").asLong(0));
+    }
+
+    /**
+     * Uploads a batch for asynchronous loading. The platform stages the payload and returns while the batch is still
+     * {@code LOADING}; follow it with {@link #batchStatus(long, String, long)}.
+     */
+    public BatchStatus submitBatch(long reconciliationId, IngestionBatch batch) throws IOException {
+        return toBatchStatus(batch.getSourceCode(), postBatch(reconciliationId, batch, true));
+    }
+
+    /**
+     * Reads the status of a batch, including its row counters while the platform is still loading it.
+     */
+    public BatchStatus batchStatus(long reconciliationId, String sourceCode, long batchId) throws IOException {
+        Objects.requireNonNull(sourceCode, "sourceCode");
+        String url = String.format(Locale.ROOT,
+                "%s/api/admin/reconciliations/%d/sources/%s/batches/%d",
+                baseUrl,
+                reconciliationId,
+                sourceCode,
+                batchId);
+        try (Response response = executeAuthorized(new Request.Builder().url(url).get())) {
+            if (!response.isSuccessful()) {
+                throw new IOException(String.format(Locale.ROOT,
+                        "Failed to read status of batch %d for source %s (status %d)",
+                        batchId,
+                        sourceCode,
+                        response.code()));
+            }
+            return toBatchStatus(sourceCode, mapper.readTree(Objects.requireNonNull(response.body()).bytes()));
+        }
+    }
+
+    private JsonNode postBatch(long reconciliationId, IngestionBatch batch, boolean async) throws IOException {
         Objects.requireNonNull(batch, "batch");
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("adapterType", deriveAdapterType(batch));
@@ -122,11 +175,12 @@ public class ReconciliationIngestionClient implements Closeable {
 
         RequestBody metadataBody = RequestBody.create(mapper.writeValueAsBytes(metadata), JSON);
         MediaType contentType = MediaType.get(batch.getMediaType());
+        PayloadCompression compression = batch.getCompression().orElse(defaultCompression);
         String url = String.format(Locale.ROOT,
                 "%s/api/admin/reconciliations/%d/sources/%s/batches",
                 baseUrl,
                 reconciliationId,
-                batch.getSourceCode());
+                batch.getSourceCode()) + (async ? "?async=true" : "");
 
         IOException lastFailure = null;
         for (int attempt = 0; attempt < 2; attempt++) {
@@ -138,19 +192,25 @@ public class ReconciliationIngestionClient implements Closeable {
 
                 @Override
                 public long contentLength() {
-                    return batch.getContentLength();
+                    return compression == PayloadCompression.NONE ? batch.getContentLength() : -1L;
                 }
 
                 @Override
                 public void writeTo(BufferedSink sink) throws IOException {
-                    batch.writePayload(sink.outputStream());
+                    if (compression == PayloadCompression.NONE) {
+                        batch.writePayload(sink.outputStream());
+                        return;
+                    }
+                    try (OutputStream encoder = compression.encode(sink.outputStream())) {
+                        batch.writePayload(encoder);
+                    }
                 }
             };
 
             MultipartBody requestBody = new MultipartBody.Builder()
                     .setType(MultipartBody.FORM)
                     .addFormDataPart("metadata", "metadata.json", metadataBody)
-                    .addFormDataPart("file", buildFilename(batch), fileBody)
+                    .addPart(filePart(batch, compression, fileBody))
                     .build();
 
             Request request = new Request.Builder()
@@ -178,7 +238,7 @@ public class ReconciliationIngestionClient implements Closeable {
 
                 JsonNode result = mapper.readTree(Objects.requireNonNull(response.body()).bytes());
                 batch.discardPayload();
-                return new IngestionResult(result.path("status").asText("UNKNOWN"), result.path("recordCount").asLong(0));
+                return result;
             } catch (IOException ioException) {
                 lastFailure = ioException;
                 break;
@@ -192,6 +252,36 @@ public class ReconciliationIngestionClient implements Closeable {
         throw new IOException("Authentication failed after retry while ingesting batch for source " + batch.getSourceCode());
     }
 
+    /**
+     * Executes {@code request} with the current token, authenticating again once when the token is rejected. The
+     * caller closes the returned response.
+     */
+    Response executeAuthorized(Request.Builder request) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            Response response = client.newCall(request.header("Authorization", "Bearer " + ensureToken()).build())
+                    .execute();
+            if (response.code() != 401 || attempt > 0) {
+                return response;
+            }
+            response.close();
+            synchronized (this) {
+                this.token = null;
+            }
+        }
+    }
+
+    ObjectMapper mapper() {
+        return mapper;
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    PayloadCompression defaultCompression() {
+        return defaultCompression;
+    }
+
     private synchronized String ensureToken() throws IOException {
         if (token == null || token.isBlank()) {
             token = authenticate();
@@ -223,16 +313,54 @@ public class ReconciliationIngestionClient implements Closeable {
         }
     }
 
+    /**
+     * The {@code file} part; compressed payloads declare their {@code Content-Encoding} so the platform
+     * decompresses them while reading.
+     */
+    private static MultipartBody.Part filePart(
+            IngestionBatch batch, PayloadCompression compression, RequestBody fileBody) {
+        MultipartBody.Part plain = MultipartBody.Part.createFormData("file", buildFilename(batch), fileBody);
+        if (compression == PayloadCompression.NONE) {
+            return plain;
+        }
+        Headers headers = Objects.requireNonNull(plain.headers()).newBuilder()
+                .add("Content-Encoding", compression.contentEncoding())
+                .build();
+        return MultipartBody.Part.create(headers, fileBody);
+    }
+
+    private static BatchStatus toBatchStatus(String sourceCode, JsonNode batch) {
+        JsonNode failure = batch.path("failure");
+        return new BatchStatus(
+                batch.path("id").asLong(),
+                sourceCode,
+                batch.path("status").asText("UNKNOWN"),
+                batch.path("rowsRead").asLong(0),
+                batch.path("rowsPersisted").asLong(batch.path("recordCount").asLong(0)),
+                failure.isTextual() ? failure.asText() : null);
+    }
+
     private static String buildFilename(IngestionBatch batch) {
         String label = batch.getLabel();
         if (label == null || label.isBlank()) {
-            return batch.getSourceCode() + "-batch.csv";
+            return batch.getSourceCode() + "-batch" + fileExtension(batch);
         }
-        return label.replaceAll("[^A-Za-z0-9._-]", "_") + ".csv";
+        return label.replaceAll("[^A-Za-z0-9._-]", "_") + fileExtension(batch);
     }
 
-    private static String deriveAdapterType(IngestionBatch batch) {
+    private static String fileExtension(IngestionBatch batch) {
+        return isJsonLines(batch.getMediaType().toLowerCase(Locale.ROOT)) ? ".ndjson" : ".csv";
+    }
+
+    private static boolean isJsonLines(String mediaType) {
+        return mediaType.contains("ndjson") || mediaType.contains("jsonl");
+    }
+
+    static String deriveAdapterType(IngestionBatch batch) {
         String mediaType = batch.getMediaType().toLowerCase(Locale.ROOT);
+        if (isJsonLines(mediaType)) {
+            return "JSON_LINES";
+        }
         if (mediaType.contains("json")) {
             return "JSON_FILE";
         }
@@ -258,4 +386,21 @@ public class ReconciliationIngestionClient implements Closeable {
 
     public record IngestionResult(String status, long recordCount) {
     }
+
+    /**
+     * A batch submitted with {@link #submitBatch(long, IngestionBatch)}. {@code failure} explains a {@code FAILED}
+     * batch while the platform still holds its live progress.
+     */
+    public record BatchStatus(
+            long batchId, String sourceCode, String status, long rowsRead, long rowsPersisted, String failure) {
+
+        /** Whether the platform has stopped loading the batch, successfully or not. */
+        public boolean isTerminal() {
+            return !"LOADING".equals(status) && !"PENDING".equals(status);
+        }
+
+        public boolean isComplete() {
+            return "COMPLETE".equals(status);
+        }
+    }
 }
@@ -0,0 +1,451 @@
+package com.universal.reconciliation.ingestion.sdk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.ingestion.sdk.ReconciliationIngestionClient.IngestionResult;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Uploads batches through the platform's resumable upload sessions. The payload is split into fixed-size chunks
+ * that are sent in parallel over the client's pooled connections, each with its SHA-256 so corrupted chunks are
+ * rejected, and the session is committed once every chunk has arrived. When an upload fails part way,
+ * {@link #resume} sends only the chunks the platform has not received yet.
+ *
+ * <p>Payload files are read in place; other payloads are spooled to a temporary file first so chunks can be
+ * re-read for retries. With compression, every chunk is compressed on its own and the platform decodes the
+ * concatenated gzip members or zstd frames as one payload.</p>
+ *
+ * <p>A chunk rejected with 429 or a 5xx status is retried after an exponentially growing, jittered delay, or
+ * after the delay the platform asks for in a {@code Retry-After} header.</p>
+ */
+public final class ResumableBatchUploader {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+    public static final int DEFAULT_PARALLELISM = 4;
+    public static final Duration DEFAULT_RETRY_BACKOFF = Duration.ofMillis(500);
+
+    static final String CHECKSUM_HEADER = "X-Chunk-SHA256";
+
+    private static final int MAX_ATTEMPTS_PER_CHUNK = 3;
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_RETRY_AFTER = Duration.ofMinutes(5);
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final MediaType OCTET_STREAM = MediaType.get("application/octet-stream");
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final ReconciliationIngestionClient client;
+    private final ObjectMapper mapper;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Duration retryBackoff;
+
+    public ResumableBatchUploader(ReconciliationIngestionClient client) {
+        this(client, DEFAULT_CHUNK_SIZE, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * @param chunkSize   bytes of payload per chunk, before compression
+     * @param parallelism chunks sent at the same time
+     */
+    public ResumableBatchUploader(ReconciliationIngestionClient client, int chunkSize, int parallelism) {
+        this(client, chunkSize, parallelism, DEFAULT_RETRY_BACKOFF);
+    }
+
+    /**
+     * @param retryBackoff delay before the first retry of a chunk; it doubles with every further attempt
+     */
+    public ResumableBatchUploader(
+            ReconciliationIngestionClient client, int chunkSize, int parallelism, Duration retryBackoff) {
+        this.client = Objects.requireNonNull(client, "client");
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.retryBackoff = Objects.requireNonNull(retryBackoff, "retryBackoff");
+        if (retryBackoff.isNegative() || retryBackoff.isZero()) {
+            throw new IllegalArgumentException("retryBackoff must be positive");
+        }
+        this.mapper = client.mapper();
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Opens an upload session for the batch, sends its chunks and commits it.
+     *
+     * @throws UploadFailedException when the session was opened but not committed; pass its
+     *                               {@link UploadFailedException#getUploadId() upload id} to {@link #resume}
+     */
+    public IngestionResult upload(long reconciliationId, IngestionBatch batch) throws IOException {
+        Objects.requireNonNull(batch, "batch");
+        PayloadCompression compression = batch.getCompression().orElse(client.defaultCompression());
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("adapterType", ReconciliationIngestionClient.deriveAdapterType(batch));
+        if (batch.getLabel() != null && !batch.getLabel().isBlank()) {
+            metadata.put("label", batch.getLabel());
+        }
+        if (!batch.getOptions().isEmpty()) {
+            metadata.put("options", batch.getOptions());
+        }
+        if (compression != PayloadCompression.NONE) {
+            metadata.put("contentEncoding", compression.contentEncoding());
+        }
+        metadata.put("chunkSize", chunkSize);
+
+        String sessionsUrl = sessionsUrl(reconciliationId, batch);
+        Request.Builder request = new Request.Builder()
+                .url(sessionsUrl)
+                .post(RequestBody.create(mapper.writeValueAsBytes(metadata), JSON));
+        JsonNode session;
+        try (Response response = client.executeAuthorized(request)) {
+            if (!response.isSuccessful()) {
+                throw failure("Failed to open upload session for source " + batch.getSourceCode(), response);
+            }
+            session = mapper.readTree(Objects.requireNonNull(response.body()).bytes());
+        }
+        String uploadId = session.path("uploadId").asText();
+        return transfer(sessionsUrl + "/" + uploadId, uploadId, chunkSize, compression, new BitSet(), batch);
+    }
+
+    /**
+     * Continues an upload that failed after its session was opened. The chunk size and compression are taken from
+     * the session, so {@code batch} must carry the same payload as the original upload.
+     */
+    public IngestionResult resume(long reconciliationId, IngestionBatch batch, String uploadId) throws IOException {
+        Objects.requireNonNull(batch, "batch");
+        Objects.requireNonNull(uploadId, "uploadId");
+        String uploadUrl = sessionsUrl(reconciliationId, batch) + "/" + uploadId;
+        JsonNode session;
+        try (Response response = client.executeAuthorized(new Request.Builder().url(uploadUrl).get())) {
+            if (!response.isSuccessful()) {
+                throw failure("Failed to look up upload session " + uploadId, response);
+            }
+            session = mapper.readTree(Objects.requireNonNull(response.body()).bytes());
+        }
+        BitSet received = new BitSet();
+        for (JsonNode range : session.path("receivedRanges")) {
+            received.set(range.path("first").asInt(), range.path("last").asInt() + 1);
+        }
+        long sessionChunkSize = session.path("chunkSize").asLong(chunkSize);
+        if (sessionChunkSize <= 0 || sessionChunkSize > Integer.MAX_VALUE) {
+            throw new IOException("Upload session " + uploadId + " has an unsupported chunk size " + sessionChunkSize);
+        }
+        PayloadCompression compression = compressionFor(session.path("contentEncoding").asText(""));
+        return transfer(uploadUrl, uploadId, (int) sessionChunkSize, compression, received, batch);
+    }
+
+    private IngestionResult transfer(
+            String uploadUrl,
+            String uploadId,
+            int chunkSize,
+            PayloadCompression compression,
+            BitSet received,
+            IngestionBatch batch) throws IOException {
+        try (ChunkSource source = ChunkSource.open(batch, chunkSize)) {
+            List<Integer> pending = new ArrayList<>();
+            for (int index = received.nextClearBit(0); index < source.count(); index = received.nextClearBit(index + 1)) {
+                pending.add(index);
+            }
+            sendChunks(uploadUrl, uploadId, source, pending, compression);
+            IngestionResult result = commit(uploadUrl, source.count());
+            batch.discardPayload();
+            return result;
+        } catch (UploadFailedException ex) {
+            throw ex;
+        } catch (IOException ex) {
+            throw new UploadFailedException(uploadId, "Upload " + uploadId + " failed: " + ex.getMessage(), ex);
+        }
+    }
+
+    private void sendChunks(
+            String uploadUrl,
+            String uploadId,
+            ChunkSource source,
+            List<Integer> pending,
+            PayloadCompression compression) throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, pending.size()), task -> {
+            Thread thread = new Thread(task, "recon-upload-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int index : pending) {
+                futures.add(executor.submit(() -> {
+                    sendChunk(uploadUrl, index, source, compression);
+                    return null;
+                }));
+            }
+            // Let every chunk finish even after a failure, so a resume has as little left to send as possible.
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    failures.add(ex.getCause());
+                }
+            }
+            if (!failures.isEmpty()) {
+                UploadFailedException failure = new UploadFailedException(uploadId, String.format(Locale.ROOT,
+                        "Upload %s failed: %d of %d chunks could not be sent", uploadId, failures.size(), pending.size()),
+                        failures.get(0));
+                failures.subList(1, failures.size()).forEach(failure::addSuppressed);
+                throw failure;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new UploadFailedException(uploadId, "Interrupted while sending upload " + uploadId, ex);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void sendChunk(String uploadUrl, int index, ChunkSource source, PayloadCompression compression)
+            throws IOException {
+        byte[] chunk = encode(source.read(index), compression);
+        Request.Builder request = new Request.Builder()
+                .url(uploadUrl + "/chunks/" + index)
+                .header(CHECKSUM_HEADER, sha256(chunk))
+                .put(RequestBody.create(chunk, OCTET_STREAM));
+        IOException lastFailure = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS_PER_CHUNK; attempt++) {
+            Duration delay = backoff(attempt);
+            try (Response response = client.executeAuthorized(request)) {
+                if (response.isSuccessful()) {
+                    return;
+                }
+                lastFailure = failure("Chunk " + index + " was rejected", response);
+                if (response.code() < 500 && response.code() != 429) {
+                    break;
+                }
+                delay = retryAfter(response).orElse(delay);
+            } catch (IOException ex) {
+                lastFailure = ex;
+            }
+            if (attempt + 1 < MAX_ATTEMPTS_PER_CHUNK) {
+                pause(delay, index);
+            }
+        }
+        throw lastFailure;
+    }
+
+    /** Equal jitter: half of the doubled backoff plus a random share of the other half, so retries spread out. */
+    private Duration backoff(int attempt) {
+        long ceiling = Math.min(retryBackoff.toNanos() << Math.min(attempt, 20), MAX_BACKOFF.toNanos());
+        long half = ceiling / 2;
+        return Duration.ofNanos(half + ThreadLocalRandom.current().nextLong(ceiling - half + 1));
+    }
+
+    /** Reads a {@code Retry-After} header given in seconds or as an HTTP date. */
+    private static Optional<Duration> retryAfter(Response response) {
+        String value = response.header("Retry-After");
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        Duration delay;
+        try {
+            delay = Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                delay = Duration.between(Instant.now(), at.toInstant());
+            } catch (DateTimeParseException notADate) {
+                return Optional.empty();
+            }
+        }
+        if (delay.isNegative()) {
+            return Optional.of(Duration.ZERO);
+        }
+        return Optional.of(delay.compareTo(MAX_RETRY_AFTER) > 0 ? MAX_RETRY_AFTER : delay);
+    }
+
+    private static void pause(Duration delay, int index) throws IOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay.toNanos());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry chunk " + index);
+        }
+    }
+
+    private IngestionResult commit(String uploadUrl, int chunkCount) throws IOException {
+        Request.Builder request = new Request.Builder()
+                .url(uploadUrl + "/commit")
+                .post(RequestBody.create(mapper.writeValueAsBytes(Map.of("chunkCount", chunkCount)), JSON));
+        try (Response response = client.executeAuthorized(request)) {
+            if (!response.isSuccessful()) {
+                throw failure("Commit failed", response);
+            }
+            JsonNode result = mapper.readTree(Objects.requireNonNull(response.body()).bytes());
+            return new IngestionResult(result.path("status").asText("UNKNOWN"), result.path("recordCount").asLong(0));
+        }
+    }
+
+    private String sessionsUrl(long reconciliationId, IngestionBatch batch) {
+        return String.format(Locale.ROOT,
+                "%s/api/admin/reconciliations/%d/sources/%s/uploads",
+                client.baseUrl(),
+                reconciliationId,
+                batch.getSourceCode());
+    }
+
+    private static PayloadCompression compressionFor(String contentEncoding) throws IOException {
+        if (contentEncoding.isEmpty() || contentEncoding.equals("identity")) {
+            return PayloadCompression.NONE;
+        }
+        for (PayloadCompression compression : PayloadCompression.values()) {
+            if (contentEncoding.equals(compression.contentEncoding())) {
+                return compression;
+            }
+        }
+        throw new IOException("Upload session uses unsupported content encoding " + contentEncoding);
+    }
+
+    private static byte[] encode(byte[] chunk, PayloadCompression compression) throws IOException {
+        if (compression == PayloadCompression.NONE) {
+            return chunk;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(chunk.length / 2 + 64);
+        try (OutputStream encoder = compression.encode(buffer)) {
+            encoder.write(chunk);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static IOException failure(String message, Response response) throws IOException {
+        String body = response.body() != null ? response.body().string() : "<no body>";
+        return new IOException(String.format(Locale.ROOT, "%s (%d): %s", message, response.code(), body));
+    }
+
+    /**
+     * Thrown when an upload session was opened but could not be completed; the chunks that did arrive are kept by
+     * the platform until the session expires.
+     */
+    public static final class UploadFailedException extends IOException {
+
+        private final String uploadId;
+
+        UploadFailedException(String uploadId, String message, Throwable cause) {
+            super(message, cause);
+            this.uploadId = uploadId;
+        }
+
+        public String getUploadId() {
+            return uploadId;
+        }
+    }
+
+    /** Positional reads of fixed-size chunks from the payload file, safe to use from several threads. */
+    private static final class ChunkSource implements Closeable {
+
+        private final FileChannel channel;
+        private final Path spooledFile;
+        private final long length;
+        private final int chunkSize;
+
+        private ChunkSource(FileChannel channel, Path spooledFile, int chunkSize) throws IOException {
+            this.channel = channel;
+            this.spooledFile = spooledFile;
+            this.length = channel.size();
+            this.chunkSize = chunkSize;
+        }
+
+        static ChunkSource open(IngestionBatch batch, int chunkSize) throws IOException {
+            Optional<Path> payloadFile = batch.getPayloadFile();
+            if (payloadFile.isPresent()) {
+                return new ChunkSource(FileChannel.open(payloadFile.get(), StandardOpenOption.READ), null, chunkSize);
+            }
+            Path spooled = Files.createTempFile("recon-upload-", ".payload");
+            try {
+                try (OutputStream output = Files.newOutputStream(spooled)) {
+                    batch.writePayload(output);
+                }
+                return new ChunkSource(FileChannel.open(spooled, StandardOpenOption.READ), spooled, chunkSize);
+            } catch (IOException | RuntimeException ex) {
+                Files.deleteIfExists(spooled);
+                throw ex;
+            }
+        }
+
+        /** An empty payload is still sent as one empty chunk. */
+        int count() {
+            long count = Math.max(1, (length + chunkSize - 1) / chunkSize);
+            if (count > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Payload has too many chunks for chunk size " + chunkSize);
+            }
+            return (int) count;
+        }
+
+        byte[] read(int index) throws IOException {
+            long offset = (long) index * chunkSize;
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(chunkSize, length - offset));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new EOFException("Payload ended before chunk " + index);
+                }
+            }
+            return buffer.array();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                channel.close();
+            } finally {
+                if (spooledFile != null) {
+                    Files.deleteIfExists(spooledFile);
+                }
+            }
+        }
+    }
+}
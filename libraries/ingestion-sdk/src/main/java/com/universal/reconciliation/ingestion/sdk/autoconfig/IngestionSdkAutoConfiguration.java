@@ -32,7 +32,12 @@ public class IngestionSdkAutoConfiguration {
     public ReconciliationIngestionClient reconciliationIngestionClient(
             OkHttpClient client,
             ReconciliationIngestionProperties properties) {
-        return new ReconciliationIngestionClient(client, properties.getBaseUrl(), properties.getUsername(), properties.getPassword());
+        return new ReconciliationIngestionClient(
+                client,
+                properties.getBaseUrl(),
+                properties.getUsername(),
+                properties.getPassword(),
+                properties.getCompression());
     }
 
     @Bean
@@ -1,5 +1,6 @@
 package com.universal.reconciliation.ingestion.sdk.autoconfig;
 
+import com.universal.reconciliation.ingestion.sdk.PayloadCompression;
 import jakarta.validation.constraints.NotBlank;
 import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -19,6 +20,7 @@ public class ReconciliationIngestionProperties {
     private final Duration connectTimeout;
     private final Duration readTimeout;
     private final Duration writeTimeout;
+    private final PayloadCompression compression;
 
     public ReconciliationIngestionProperties(
             @DefaultValue("http://localhost:8080") String baseUrl,
@@ -26,13 +28,15 @@ public class ReconciliationIngestionProperties {
             @NotBlank String password,
             @DefaultValue("30s") Duration connectTimeout,
             @DefaultValue("60s") Duration readTimeout,
-            @DefaultValue("60s") Duration writeTimeout) {
+            @DefaultValue("60s") Duration writeTimeout,
+            @DefaultValue("NONE") PayloadCompression compression) {
         this.baseUrl = baseUrl;
         this.username = username;
         this.password = password;
         this.connectTimeout = connectTimeout;
         this.readTimeout = readTimeout;
         this.writeTimeout = writeTimeout;
+        this.compression = compression;
     }
 
     public String getBaseUrl() {
@@ -59,4 +63,11 @@ public class ReconciliationIngestionProperties {
         return writeTimeout;
     }
 
+    /**
+     * Compression applied to batch payloads that do not choose their own.
+     */
+    public PayloadCompression getCompression() {
+        return compression;
+    }
+
 }
@@ -1,21 +1,26 @@
 package com.universal.reconciliation.ingestion.sdk.batch;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.universal.reconciliation.ingestion.sdk.IngestionBatch;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -37,9 +42,13 @@ import org.springframework.util.StringUtils;
 
 /**
  * Builder for converting structured file formats (JSON arrays, spreadsheets, delimited text) into CSV batches.
+ * JSON Lines payloads and in-memory records can instead be submitted as {@code application/x-ndjson} batches for
+ * sources configured with the {@code JSON_LINES} adapter, keeping numbers and booleans typed end to end.
  */
 public final class StructuredDataBatchBuilder {
 
+    public static final String JSON_LINES_MEDIA_TYPE = "application/x-ndjson";
+
     private final ObjectMapper objectMapper;
     private final DataFormatter dataFormatter;
 
@@ -104,6 +113,62 @@ public final class StructuredDataBatchBuilder {
                 .build();
     }
 
+    /**
+     * Submits a JSON Lines payload as is; the stream is copied to a temporary file so the batch can be replayed
+     * on authentication retries.
+     */
+    public IngestionBatch fromJsonLines(
+            String sourceCode,
+            String label,
+            InputStream jsonLinesStream,
+            Map<String, Object> options)
+            throws IOException {
+        Objects.requireNonNull(jsonLinesStream, "jsonLinesStream");
+        Path tempFile = Files.createTempFile("ingestion-jsonl-", ".ndjson");
+        tempFile.toFile().deleteOnExit();
+        try (InputStream in = jsonLinesStream) {
+            Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(tempFile, e);
+            throw e;
+        }
+        return IngestionBatch.builder(sourceCode, label)
+                .mediaType(JSON_LINES_MEDIA_TYPE)
+                .payloadFile(tempFile, true)
+                .options(options == null ? Map.of() : options)
+                .build();
+    }
+
+    /**
+     * Writes records as JSON Lines, one object per line, rather than rendering them to CSV.
+     */
+    public IngestionBatch fromRecordsAsJsonLines(
+            String sourceCode,
+            String label,
+            Iterable<Map<String, Object>> records,
+            Map<String, Object> options)
+            throws IOException {
+        Objects.requireNonNull(records, "records");
+        Path tempFile = Files.createTempFile("ingestion-jsonl-", ".ndjson");
+        tempFile.toFile().deleteOnExit();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile));
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            for (Map<String, Object> record : records) {
+                objectMapper.writeValue(generator, record);
+            }
+            generator.writeRaw('\n');
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(tempFile, e);
+            throw e;
+        }
+        return IngestionBatch.builder(sourceCode, label)
+                .mediaType(JSON_LINES_MEDIA_TYPE)
+                .payloadFile(tempFile, true)
+                .options(options == null ? Map.of() : options)
+                .build();
+    }
+
     public IngestionBatch fromDelimitedText(
             String sourceCode,
             String label,
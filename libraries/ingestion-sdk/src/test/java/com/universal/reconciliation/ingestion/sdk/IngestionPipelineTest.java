@@ -0,0 +1,169 @@
+package com.universal.reconciliation.ingestion.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.universal.reconciliation.ingestion.sdk.ReconciliationIngestionClient.BatchStatus;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.Test;
+
+class IngestionPipelineTest {
+
+    private static final String SOURCES = "/api/admin/reconciliations/7/sources/";
+
+    @Test
+    void runConcurrentlySubmitsEveryBatchBeforeAwaitingTheirCompletion() throws Exception {
+        BatchServer batches = new BatchServer("COMPLETE", null);
+        try (MockWebServer server = batches.start();
+             ReconciliationIngestionClient client = client(server)) {
+            List<BatchStatus> statuses = new IngestionPipeline(client, Duration.ofMillis(10))
+                    .runConcurrently(List.of(scenario()));
+
+            assertThat(statuses).extracting(BatchStatus::batchId).containsExactly(11L, 12L);
+            assertThat(statuses).allSatisfy(status -> {
+                assertThat(status.status()).isEqualTo("COMPLETE");
+                assertThat(status.rowsPersisted()).isEqualTo(2L);
+            });
+            assertThat(batches.requests).containsSubsequence(
+                    "POST " + SOURCES + "CASH/batches?async=true",
+                    "POST " + SOURCES + "GL/batches?async=true",
+                    "GET " + SOURCES + "CASH/batches/11");
+            assertThat(batches.polls.get(11L).get()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void runConcurrentlyReportsBatchesThatFailedToLoad() throws Exception {
+        BatchServer batches = new BatchServer("FAILED", "Row 2: amount is not a number");
+        try (MockWebServer server = batches.start();
+             ReconciliationIngestionClient client = client(server)) {
+            IngestionPipeline pipeline = new IngestionPipeline(client, Duration.ofMillis(10));
+
+            assertThatThrownBy(() -> pipeline.runConcurrently(List.of(scenario())))
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("Ingestion did not complete: batch 12 for source GL is FAILED"
+                            + " (Row 2: amount is not a number)");
+        }
+    }
+
+    @Test
+    void runConcurrentlyGivesUpAfterTheLoadTimeoutNamingTheBatchesStillLoading() throws Exception {
+        BatchServer batches = new BatchServer("LOADING", null);
+        try (MockWebServer server = batches.start();
+             ReconciliationIngestionClient client = client(server)) {
+            IngestionPipeline pipeline = new IngestionPipeline(client, Duration.ofMillis(10), Duration.ofMillis(200));
+
+            assertThatThrownBy(() -> pipeline.runConcurrently(List.of(scenario())))
+                    .isInstanceOfSatisfying(IngestionPipeline.IncompleteIngestionException.class, ex -> {
+                        assertThat(ex.getBatchIds()).containsExactly(12L);
+                        assertThat(ex).hasMessage("Batches [12] were still loading after PT0.2S");
+                    });
+        }
+    }
+
+    @Test
+    void runConcurrentlyReportsTheBatchesSubmittedBeforeASubmissionFailed() throws Exception {
+        BatchServer batches = new BatchServer("COMPLETE", null);
+        batches.rejectGl = true;
+        try (MockWebServer server = batches.start();
+             ReconciliationIngestionClient client = client(server)) {
+            IngestionPipeline pipeline = new IngestionPipeline(client, Duration.ofMillis(10));
+
+            assertThatThrownBy(() -> pipeline.runConcurrently(List.of(scenario())))
+                    .isInstanceOfSatisfying(IngestionPipeline.IncompleteIngestionException.class, ex -> {
+                        assertThat(ex.getBatchIds()).containsExactly(11L);
+                        assertThat(ex).hasMessageStartingWith("Submission failed after batches [11] were submitted");
+                        assertThat(ex.getCause()).isInstanceOf(IOException.class);
+                    });
+        }
+    }
+
+    private static IngestionScenario scenario() {
+        return IngestionScenario.builder("daily")
+                .reconciliationCode("CASH_VS_GL")
+                .addBatch(IngestionBatch.builder("CASH", "cash").payloadFromString("id,amount\n1,10\n2,20\n").build())
+                .addBatch(IngestionBatch.builder("GL", "gl").payloadFromString("id,amount\n1,10\n2,20\n").build())
+                .build();
+    }
+
+    private static ReconciliationIngestionClient client(MockWebServer server) {
+        return new ReconciliationIngestionClient(new OkHttpClient(), server.url("/").toString(), "user", "pass");
+    }
+
+    /**
+     * Accepts batches 11 (CASH) and 12 (GL) as {@code LOADING}. CASH completes on its second poll and GL finishes
+     * with {@code glStatus} on its first.
+     */
+    private static final class BatchServer extends Dispatcher {
+
+        private final List<String> requests = new CopyOnWriteArrayList<>();
+        private final Map<Long, AtomicInteger> polls = new ConcurrentHashMap<>();
+        private final String glStatus;
+        private final String glFailure;
+        private volatile boolean rejectGl;
+
+        private BatchServer(String glStatus, String glFailure) {
+            this.glStatus = glStatus;
+            this.glFailure = glFailure;
+        }
+
+        MockWebServer start() throws IOException {
+            MockWebServer server = new MockWebServer();
+            server.setDispatcher(this);
+            server.start();
+            return server;
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            String path = request.getPath();
+            requests.add(request.getMethod() + " " + path);
+            if (path.equals("/api/auth/login")) {
+                return json(200, "{\"token\":\"token-1\"}");
+            }
+            if (path.startsWith("/api/admin/reconciliations?")) {
+                return json(200, "{\"items\":[{\"code\":\"CASH_VS_GL\",\"id\":7}]}");
+            }
+            if (path.equals(SOURCES + "CASH/batches?async=true")) {
+                return json(202, "{\"id\":11,\"status\":\"LOADING\"}");
+            }
+            if (path.equals(SOURCES + "GL/batches?async=true")) {
+                if (rejectGl) {
+                    return json(503, "{\"message\":\"Ingestion queue is full\"}");
+                }
+                return json(202, "{\"id\":12,\"status\":\"LOADING\"}");
+            }
+            if (path.equals(SOURCES + "CASH/batches/11")) {
+                int poll = polls.computeIfAbsent(11L, id -> new AtomicInteger()).incrementAndGet();
+                return poll == 1
+                        ? json(200, "{\"id\":11,\"status\":\"LOADING\",\"rowsRead\":2,\"rowsPersisted\":1}")
+                        : json(200, "{\"id\":11,\"status\":\"COMPLETE\",\"rowsRead\":2,\"rowsPersisted\":2}");
+            }
+            if (path.equals(SOURCES + "GL/batches/12")) {
+                polls.computeIfAbsent(12L, id -> new AtomicInteger()).incrementAndGet();
+                String failure = glFailure != null ? "\"" + glFailure + "\"" : "null";
+                return json(200, "{\"id\":12,\"status\":\"" + glStatus + "\",\"rowsRead\":2,\"rowsPersisted\":2,"
+                        + "\"failure\":" + failure + "}");
+            }
+            return new MockResponse().setResponseCode(404);
+        }
+    }
+
+    private static MockResponse json(int code, String body) {
+        return new MockResponse()
+                .setResponseCode(code)
+                .setHeader("Content-Type", "application/json")
+                .setBody(body);
+    }
+}
@@ -3,14 +3,22 @@ package com.universal.reconciliation.ingestion.sdk;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.github.luben.zstd.ZstdInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 import okhttp3.OkHttpClient;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class ReconciliationIngestionClientTest {
 
@@ -98,6 +106,65 @@ class ReconciliationIngestionClientTest {
         }
     }
 
+    @Test
+    void ingestBatchSubmitsJsonLinesBatchesToTheJsonLinesAdapter() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(jsonResponse("{\"token\":\"token-1\"}"));
+            server.enqueue(jsonResponse("{\"status\":\"ACCEPTED\",\"recordCount\":1}"));
+            server.start();
+
+            String baseUrl = server.url("/").toString();
+            try (ReconciliationIngestionClient client = new ReconciliationIngestionClient(new OkHttpClient(), baseUrl, "user", "pass")) {
+                IngestionBatch batch = IngestionBatch.builder("SRC", "feed")
+                        .mediaType("application/x-ndjson")
+                        .payload("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8))
+                        .build();
+
+                client.ingestBatch(55L, batch);
+
+                server.takeRequest();
+                String body = server.takeRequest().getBody().readUtf8();
+                assertThat(body)
+                        .contains("\"adapterType\":\"JSON_LINES\"")
+                        .contains("filename=\"feed.ndjson\"")
+                        .contains("Content-Type: application/x-ndjson");
+            }
+        }
+    }
+
+    @Test
+    void ingestBatchCompressesPayloadFilesWhileStreaming(@TempDir Path tempDir) throws Exception {
+        Path payloadFile = tempDir.resolve("trades.csv");
+        Files.writeString(payloadFile, "tradeId,amount\n" + "T-1,100.00\n".repeat(1_000));
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(jsonResponse("{\"token\":\"token-1\"}"));
+            server.enqueue(jsonResponse("{\"status\":\"COMPLETE\",\"recordCount\":1000}"));
+            server.enqueue(jsonResponse("{\"status\":\"COMPLETE\",\"recordCount\":1000}"));
+            server.start();
+
+            String baseUrl = server.url("/").toString();
+            try (ReconciliationIngestionClient client = new ReconciliationIngestionClient(
+                    new OkHttpClient(), baseUrl, "user", "pass", PayloadCompression.ZSTD)) {
+                client.ingestBatch(42L, IngestionBatch.builder("SRC", "trades")
+                        .payloadFile(payloadFile)
+                        .compression(PayloadCompression.GZIP)
+                        .build());
+                client.ingestBatch(42L, IngestionBatch.builder("SRC", "trades").payloadFile(payloadFile).build());
+            }
+
+            server.takeRequest();
+            byte[] gzipPart = filePart(server.takeRequest(), "gzip");
+            try (InputStream decoded = new GZIPInputStream(new ByteArrayInputStream(gzipPart))) {
+                assertThat(decoded.readAllBytes()).isEqualTo(Files.readAllBytes(payloadFile));
+            }
+            assertThat(gzipPart.length).isLessThan((int) Files.size(payloadFile) / 10);
+            byte[] zstdPart = filePart(server.takeRequest(), "zstd");
+            try (InputStream decoded = new ZstdInputStream(new ByteArrayInputStream(zstdPart))) {
+                assertThat(decoded.readAllBytes()).isEqualTo(Files.readAllBytes(payloadFile));
+            }
+        }
+    }
+
     @Test
     void ingestBatchSurfacesErrorResponse() throws Exception {
         try (MockWebServer server = new MockWebServer()) {
@@ -135,4 +202,15 @@ class ReconciliationIngestionClientTest {
                 .setHeader("Content-Type", "application/json")
                 .setBody(body);
     }
+
+    /** The bytes of the multipart {@code file} part, which must declare {@code contentEncoding}. */
+    private static byte[] filePart(RecordedRequest request, String contentEncoding) {
+        byte[] body = request.getBody().readByteArray();
+        String text = new String(body, StandardCharsets.ISO_8859_1);
+        int header = text.indexOf("Content-Encoding: " + contentEncoding + "\r\n");
+        assertThat(header).isPositive();
+        int start = text.indexOf("\r\n\r\n", header) + 4;
+        int end = text.lastIndexOf("\r\n--");
+        return Arrays.copyOfRange(body, start, end);
+    }
 }
@@ -0,0 +1,214 @@
+package com.universal.reconciliation.ingestion.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universal.reconciliation.ingestion.sdk.ReconciliationIngestionClient.IngestionResult;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResumableBatchUploaderTest {
+
+    private static final String UPLOADS = "/api/admin/reconciliations/7/sources/CASH/uploads";
+    private static final String PAYLOAD = "tradeId,amount\nT-1,100.00\nT-2,250.50\n";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void uploadSendsVerifiedChunksInParallelAndCommits(@TempDir Path tempDir) throws Exception {
+        Path payloadFile = Files.writeString(tempDir.resolve("trades.csv"), PAYLOAD);
+        UploadServer uploads = new UploadServer(index -> index == 1 ? 503 : 200);
+        try (MockWebServer server = uploads.start();
+             ReconciliationIngestionClient client = client(server)) {
+            IngestionResult result = new ResumableBatchUploader(client, 8, 3).upload(7L, IngestionBatch.builder("CASH")
+                    .label("cash")
+                    .payloadFile(payloadFile, true)
+                    .mediaType("text/csv")
+                    .build());
+
+            assertThat(result).isEqualTo(new IngestionResult("COMPLETE", 2));
+            assertThat(uploads.opened.path("adapterType").asText()).isEqualTo("CSV_FILE");
+            assertThat(uploads.opened.path("chunkSize").asInt()).isEqualTo(8);
+            assertThat(uploads.opened.has("contentEncoding")).isFalse();
+            assertThat(uploads.reassemble(Function.identity())).isEqualTo(PAYLOAD);
+            assertThat(uploads.attempts.get(1).get()).isEqualTo(2);
+            assertThat(uploads.committedChunkCount.get()).isEqualTo(5);
+            assertThat(payloadFile).doesNotExist();
+        }
+    }
+
+    @Test
+    void failedUploadsKeepTheirIdAndResumeWithTheMissingCompressedChunks() throws Exception {
+        UploadServer uploads = new UploadServer(index -> index == 2 ? 400 : 200);
+        try (MockWebServer server = uploads.start();
+             ReconciliationIngestionClient client = client(server)) {
+            ResumableBatchUploader uploader = new ResumableBatchUploader(client, 8, 2);
+            IngestionBatch batch = IngestionBatch.builder("CASH", "cash")
+                    .payloadFromString(PAYLOAD)
+                    .compression(PayloadCompression.GZIP)
+                    .build();
+
+            assertThatThrownBy(() -> uploader.upload(7L, batch))
+                    .isInstanceOfSatisfying(ResumableBatchUploader.UploadFailedException.class, ex -> {
+                        assertThat(ex.getUploadId()).isEqualTo("u-1");
+                        assertThat(ex).hasMessageContaining("1 of 5 chunks could not be sent");
+                    });
+            assertThat(uploads.attempts.get(2).get()).isEqualTo(1);
+            assertThat(uploads.committedChunkCount.get()).isZero();
+            assertThat(uploads.opened.path("contentEncoding").asText()).isEqualTo("gzip");
+
+            uploads.status = index -> 200;
+            uploads.puts.clear();
+            IngestionResult result = uploader.resume(7L, batch, "u-1");
+
+            assertThat(result.status()).isEqualTo("COMPLETE");
+            assertThat(uploads.puts).containsExactly(2);
+            assertThat(uploads.reassemble(ResumableBatchUploaderTest::gunzip)).isEqualTo(PAYLOAD);
+            assertThat(uploads.committedChunkCount.get()).isEqualTo(5);
+        }
+    }
+
+    @Test
+    void retriesHonourRetryAfterAndOtherwiseBackOff() throws Exception {
+        UploadServer uploads = new UploadServer(index -> index == 0 ? 429 : index == 1 ? 503 : 200);
+        try (MockWebServer server = uploads.start();
+             ReconciliationIngestionClient client = client(server)) {
+            IngestionResult result = new ResumableBatchUploader(client, 8, 2, Duration.ofMillis(200))
+                    .upload(7L, IngestionBatch.builder("CASH", "cash").payloadFromString(PAYLOAD).build());
+
+            assertThat(result.status()).isEqualTo("COMPLETE");
+            assertThat(uploads.reassemble(Function.identity())).isEqualTo(PAYLOAD);
+            assertThat(uploads.gap(0)).isGreaterThanOrEqualTo(Duration.ofMillis(950));
+            assertThat(uploads.gap(1)).isBetween(Duration.ofMillis(100), Duration.ofMillis(900));
+        }
+    }
+
+    private static ReconciliationIngestionClient client(MockWebServer server) {
+        return new ReconciliationIngestionClient(new OkHttpClient(), server.url("/").toString(), "user", "pass");
+    }
+
+    private static byte[] gunzip(byte[] chunk) {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(chunk))) {
+            return input.readAllBytes();
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /** Serves the upload session endpoints, keeping the chunks that pass their checksum. */
+    private final class UploadServer extends Dispatcher {
+
+        private final Map<Integer, byte[]> chunks = new ConcurrentHashMap<>();
+        private final Map<Integer, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        private final List<Integer> puts = new CopyOnWriteArrayList<>();
+        private final Map<Integer, List<Long>> arrivals = new ConcurrentHashMap<>();
+        private final AtomicInteger committedChunkCount = new AtomicInteger();
+        private volatile Function<Integer, Integer> status;
+        private volatile JsonNode opened;
+
+        private UploadServer(Function<Integer, Integer> firstAttemptStatus) {
+            this.status = firstAttemptStatus;
+        }
+
+        MockWebServer start() throws IOException {
+            MockWebServer server = new MockWebServer();
+            server.setDispatcher(this);
+            server.start();
+            return server;
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            String path = request.getPath();
+            try {
+                if (path.equals("/api/auth/login")) {
+                    return json(200, "{\"token\":\"token-1\"}");
+                }
+                if (request.getMethod().equals("POST") && path.equals(UPLOADS)) {
+                    opened = mapper.readTree(request.getBody().readByteArray());
+                    return json(201, "{\"uploadId\":\"u-1\",\"receivedRanges\":[]}");
+                }
+                if (request.getMethod().equals("GET") && path.equals(UPLOADS + "/u-1")) {
+                    String ranges = chunks.keySet().stream().sorted()
+                            .map(index -> "{\"first\":" + index + ",\"last\":" + index + "}")
+                            .reduce((left, right) -> left + "," + right)
+                            .orElse("");
+                    String encoding = opened.path("contentEncoding").asText("");
+                    return json(200, "{\"uploadId\":\"u-1\",\"chunkSize\":8,\"contentEncoding\":\"" + encoding
+                            + "\",\"receivedRanges\":[" + ranges + "]}");
+                }
+                if (path.startsWith(UPLOADS + "/u-1/chunks/")) {
+                    int index = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+                    puts.add(index);
+                    arrivals.computeIfAbsent(index, key -> new CopyOnWriteArrayList<>()).add(System.nanoTime());
+                    int attempt = attempts.computeIfAbsent(index, key -> new AtomicInteger()).incrementAndGet();
+                    int code = attempt == 1 ? status.apply(index) : 200;
+                    byte[] body = request.getBody().readByteArray();
+                    if (code == 429) {
+                        return json(code, "{\"message\":\"slow down\"}").setHeader("Retry-After", "1");
+                    }
+                    if (code != 200) {
+                        return json(code, "{\"message\":\"rejected\"}");
+                    }
+                    assertThat(request.getHeader(ResumableBatchUploader.CHECKSUM_HEADER)).isEqualTo(sha256(body));
+                    assertThat(request.getHeader("Authorization")).isEqualTo("Bearer token-1");
+                    chunks.put(index, body);
+                    return json(200, "{\"index\":" + index + "}");
+                }
+                if (path.equals(UPLOADS + "/u-1/commit")) {
+                    committedChunkCount.set(mapper.readTree(request.getBody().readByteArray()).path("chunkCount").asInt());
+                    return json(200, "{\"status\":\"COMPLETE\",\"recordCount\":2}");
+                }
+                return new MockResponse().setResponseCode(404);
+            } catch (Exception ex) {
+                return json(500, "{\"message\":\"" + ex.getMessage() + "\"}");
+            }
+        }
+
+        /** Time between the first and second attempt at chunk {@code index}. */
+        Duration gap(int index) {
+            List<Long> times = arrivals.get(index);
+            return Duration.ofNanos(times.get(1) - times.get(0));
+        }
+
+        String reassemble(Function<byte[], byte[]> decode) {
+            StringBuilder payload = new StringBuilder();
+            chunks.keySet().stream().sorted().forEach(index ->
+                    payload.append(new String(decode.apply(chunks.get(index)), StandardCharsets.UTF_8)));
+            return payload.toString();
+        }
+    }
+
+    private static MockResponse json(int code, String body) {
+        return new MockResponse()
+                .setResponseCode(code)
+                .setHeader("Content-Type", "application/json")
+                .setBody(body);
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
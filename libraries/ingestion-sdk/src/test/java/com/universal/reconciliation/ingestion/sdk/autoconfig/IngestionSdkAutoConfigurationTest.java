@@ -2,6 +2,7 @@ package com.universal.reconciliation.ingestion.sdk.autoconfig;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.universal.reconciliation.ingestion.sdk.PayloadCompression;
 import okhttp3.OkHttpClient;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -21,7 +22,8 @@ class IngestionSdkAutoConfigurationTest {
                         "reconciliation.ingestion.password=secret",
                         "reconciliation.ingestion.connect-timeout=5s",
                         "reconciliation.ingestion.read-timeout=11s",
-                        "reconciliation.ingestion.write-timeout=12s")
+                        "reconciliation.ingestion.write-timeout=12s",
+                        "reconciliation.ingestion.compression=gzip")
                 .run(context -> {
                     OkHttpClient client = context.getBean(OkHttpClient.class);
                     ReconciliationIngestionProperties properties =
@@ -31,6 +33,7 @@ class IngestionSdkAutoConfigurationTest {
                     assertThat(client.readTimeoutMillis()).isEqualTo(11000);
                     assertThat(client.writeTimeoutMillis()).isEqualTo(12000);
                     assertThat(properties.getBaseUrl()).isEqualTo("http://localhost:9999/api");
+                    assertThat(properties.getCompression()).isEqualTo(PayloadCompression.GZIP);
                 });
     }
 
@@ -49,6 +52,7 @@ class IngestionSdkAutoConfigurationTest {
                     assertThat(client.readTimeoutMillis()).isEqualTo(60_000);
                     assertThat(client.writeTimeoutMillis()).isEqualTo(60_000);
                     assertThat(properties.getBaseUrl()).isEqualTo("http://localhost:8080");
+                    assertThat(properties.getCompression()).isEqualTo(PayloadCompression.NONE);
                 });
     }
 }
@@ -7,6 +7,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringReader;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -115,6 +116,38 @@ class StructuredDataBatchBuilderTest {
         assertThat(csv).contains("R-2,32.10");
     }
 
+    @Test
+    void passesJsonLinesThroughAndWritesRecordsAsJsonLines() throws IOException {
+        String jsonLines = "{\"id\":1,\"amount\":100.5}\n{\"id\":2,\"amount\":50}\n";
+        IngestionBatch passthrough = builder.fromJsonLines(
+                "JSONL",
+                "feed",
+                new ByteArrayInputStream(jsonLines.getBytes(StandardCharsets.UTF_8)),
+                Map.of("recordPath", "/trade"));
+
+        assertThat(passthrough.getMediaType()).isEqualTo(StructuredDataBatchBuilder.JSON_LINES_MEDIA_TYPE);
+        assertThat(passthrough.getOptions()).containsEntry("recordPath", "/trade");
+        assertThat(readPayload(passthrough)).isEqualTo(jsonLines);
+
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("id", "R-1");
+        first.put("amount", new BigDecimal("15.00"));
+        first.put("settled", true);
+        IngestionBatch written = builder.fromRecordsAsJsonLines(
+                "JSONL", "records", List.of(first, Map.of("id", "R-2")), Map.of());
+
+        assertThat(written.getMediaType()).isEqualTo(StructuredDataBatchBuilder.JSON_LINES_MEDIA_TYPE);
+        assertThat(readPayload(written))
+                .isEqualTo("{\"id\":\"R-1\",\"amount\":15.00,\"settled\":true}\n{\"id\":\"R-2\"}\n");
+    }
+
+    private String readPayload(IngestionBatch batch) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        batch.writePayload(buffer);
+        batch.discardPayload();
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
     private String readCsv(IngestionBatch batch) throws IOException {
         ByteArrayOutputStream buffer = new ByteArrayOutputStream();
         batch.writePayload(buffer);